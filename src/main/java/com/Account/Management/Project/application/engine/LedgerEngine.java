@@ -0,0 +1,695 @@
+package com.Account.Management.Project.application.engine;
+
+import com.Account.Management.Project.domain.exception.AccountNotFoundException;
+import com.Account.Management.Project.domain.exception.InsufficientFundsException;
+import com.Account.Management.Project.domain.exception.LedgerUnavailableException;
+import com.Account.Management.Project.domain.exception.TransferQueueFullException;
+import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.model.LedgerCommand;
+import com.Account.Management.Project.domain.model.NetPositions;
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionStatus;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.LedgerJournalPort;
+import com.Account.Management.Project.port.output.LedgerJournalPort.AccountBalance;
+import com.Account.Management.Project.port.output.LedgerJournalPort.LedgerSnapshot;
+import com.Account.Management.Project.port.output.LedgerProjectionPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moteur de soldes en mémoire à écrivain unique (architecture LMAX).
+ *
+ * Tous les soldes vivent en mémoire et ne sont modifiés que par un seul
+ * thread métier, alimenté par un tampon circulaire: aucune contention ni
+ * verrou sur le chemin critique. Le thread traite les commandes par lots:
+ * journalisation (un seul fsync par lot), puis application dans l'ordre des
+ * séquences. L'application est déterministe, si bien que rejouer le journal
+ * depuis le dernier instantané reconstruit exactement le même état.
+ *
+ * PostgreSQL (soldes) et MongoDB (transactions, via l'outbox) deviennent des
+ * projections asynchrones, écrites par un second thread avec un point de
+ * reprise transactionnel. Un lot dont la projection échoue de façon répétée
+ * est rejoué commande par commande; une commande qui échoue encore est
+ * écartée (ledger_dead_letters) pour ne pas bloquer les suivantes.
+ *
+ * Toute erreur du thread métier arrête le moteur: les commandes en attente
+ * et les suivantes sont refusées (LedgerUnavailableException), et les
+ * appelants n'attendent jamais plus de engine.await-timeout-ms.
+ *
+ * Les comptes sont pris en charge à leur première utilisation, avec leur
+ * solde PostgreSQL: tant que le moteur ne les connaît pas, aucune projection
+ * ne les a modifiés. Le journal fait ensuite autorité: désactiver le moteur,
+ * modifier les soldes en base puis le réactiver impose de vider son répertoire.
+ *
+ * Les transferts asynchrones (PENDING) et les ordres permanents, exécutés dans
+ * une transaction PostgreSQL, ne sont pas disponibles dans ce mode.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.in-memory.enabled", havingValue = "true")
+public class LedgerEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerEngine.class);
+
+    private static final long IDLE_PARK_NANOS = 50_000;
+    private static final int IDLE_SPINS = 200;
+    private static final long MAX_PROJECTION_BACKOFF_MILLIS = 5_000;
+
+    private final LedgerJournalPort journal;
+    private final LedgerProjectionPort projection;
+    private final AccountRepositoryPort accountRepository;
+    private final RingBuffer<PendingCommand> ringBuffer;
+    private final BlockingQueue<ProjectionEvent> projectionQueue;
+    private final int batchSize;
+    private final int projectionBatchSize;
+    private final long snapshotInterval;
+    private final long submitTimeoutNanos;
+    private final long awaitTimeoutMillis;
+    private final int maxProjectionAttempts;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Lu par tous les threads, modifié uniquement par le thread métier
+    private final Map<UUID, LedgerAccount> accounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong journaledBatches = new AtomicLong();
+    private final AtomicLong journaledCommands = new AtomicLong();
+    private final AtomicLong snapshots = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+    private volatile long lastSequence;
+    private volatile long projectedSequence;
+    private volatile long lastSnapshotSequence;
+    private volatile LedgerUnavailableException failure;
+    private volatile boolean running = true;
+
+    private Thread writer;
+    private Thread projector;
+
+    public LedgerEngine(LedgerJournalPort journal,
+                        LedgerProjectionPort projection,
+                        AccountRepositoryPort accountRepository,
+                        @Value("${engine.ring-buffer-size:65536}") int ringBufferSize,
+                        @Value("${engine.batch-size:1024}") int batchSize,
+                        @Value("${engine.projection.batch-size:5000}") int projectionBatchSize,
+                        @Value("${engine.projection.queue-capacity:1000000}") int projectionQueueCapacity,
+                        @Value("${engine.snapshot.interval-commands:100000}") long snapshotInterval,
+                        @Value("${engine.submit-timeout-ms:5000}") long submitTimeoutMs,
+                        @Value("${engine.await-timeout-ms:30000}") long awaitTimeoutMs,
+                        @Value("${engine.projection.max-attempts:10}") int maxProjectionAttempts) {
+        this.journal = journal;
+        this.projection = projection;
+        this.accountRepository = accountRepository;
+        this.ringBuffer = new RingBuffer<>(ringBufferSize);
+        this.projectionQueue = new LinkedBlockingQueue<>(Math.max(1, projectionQueueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.projectionBatchSize = Math.max(1, projectionBatchSize);
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+        this.submitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(submitTimeoutMs);
+        this.awaitTimeoutMillis = Math.max(1, awaitTimeoutMs);
+        this.maxProjectionAttempts = Math.max(1, maxProjectionAttempts);
+    }
+
+    /**
+     * Reprise: dernier instantané déjà projeté, puis rejeu du journal.
+     * Les commandes postérieures au point de reprise de la projection
+     * sont projetées à nouveau: le thread de projection démarre avant le
+     * rejeu, qui attend quand la file est pleine. Une longue fin de journal
+     * non projetée (bases indisponibles avant l'arrêt) ne dépasse donc
+     * jamais la capacité de la file.
+     */
+    @PostConstruct
+    public void start() {
+        long projected = projection.lastProjectedSequence();
+        Optional<LedgerSnapshot> snapshot = journal.readSnapshot(projected);
+        long sequence = 0;
+        if (snapshot.isPresent()) {
+            for (AccountBalance account : snapshot.get().accounts()) {
+                accounts.put(account.accountId(), new LedgerAccount(account.accountId(),
+                        account.userId(), account.currency(), account.balanceMinor()));
+            }
+            sequence = snapshot.get().sequence();
+        }
+        lastSnapshotSequence = sequence;
+        projectedSequence = projected;
+
+        projector = new Thread(this::runProjector, "ledger-projector");
+        projector.start();
+
+        long[] replayed = {sequence, 0};
+        try {
+            journal.replay(sequence, command -> {
+                LedgerResult result = apply(command);
+                replayed[0] = command.sequence();
+                replayed[1]++;
+                if (command.sequence() > projected) {
+                    enqueueProjection(new ProjectionEvent(command, result.success()));
+                }
+            });
+        } catch (RuntimeException e) {
+            running = false;
+            projector.interrupt();
+            throw e;
+        }
+        lastSequence = replayed[0];
+        logger.info("Moteur de soldes repris: {} comptes, instantané {}, {} commandes rejouées, séquence {}",
+                accounts.size(), sequence, replayed[1], lastSequence);
+
+        writer = new Thread(this::runWriter, "ledger-writer");
+        writer.start();
+    }
+
+    /**
+     * Arrêt: les commandes publiées sont traitées et projetées, puis un
+     * instantané est écrit pour accélérer la reprise
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (projector != null) {
+            projector.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (failure == null && lastSequence > lastSnapshotSequence) {
+            takeSnapshot();
+        }
+    }
+
+    /**
+     * Publie une commande; le futur est complété après journalisation et application
+     * @throws TransferQueueFullException si le tampon reste plein
+     * @throws LedgerUnavailableException si le moteur est arrêté ou en échec
+     */
+    public CompletableFuture<LedgerResult> submit(LedgerCommand command) {
+        checkAvailable();
+        PendingCommand pending = new PendingCommand(command);
+        if (!ringBuffer.offer(pending, submitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            throw new TransferQueueFullException(0);
+        }
+        // Arrêt pendant la publication: le thread métier terminé ne lira plus le tampon
+        if (!running && !writer.isAlive()) {
+            pending.result.completeExceptionally(unavailable());
+        }
+        return pending.result;
+    }
+
+    /**
+     * Attend le résultat d'une commande publiée au plus engine.await-timeout-ms
+     * @throws LedgerUnavailableException si le délai est dépassé: la commande a pu être appliquée
+     */
+    public <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new LedgerUnavailableException("Échec du moteur de soldes", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LedgerUnavailableException("Attente du moteur de soldes interrompue", e);
+        } catch (TimeoutException e) {
+            throw new LedgerUnavailableException(
+                    "Pas de réponse du moteur de soldes dans le délai imparti: l'opération a pu être appliquée, "
+                            + "consultez le solde avant de réessayer.");
+        }
+    }
+
+    /**
+     * Compte connu du moteur, pris en charge depuis PostgreSQL s'il ne l'est pas encore
+     * @throws AccountNotFoundException si le compte n'existe pas
+     */
+    public LedgerAccount resolveAccount(UUID accountId) {
+        LedgerAccount account = accounts.get(accountId);
+        if (account != null) {
+            return account;
+        }
+        BankAccount stored = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        // Un compte fractionné est pris en charge avec ses sous-soldes: la consolidation
+        // ultérieure ne fait que les déplacer vers le solde principal en base
+        Money balance = stored.isSharded()
+                ? accountRepository.findTotalBalance(accountId)
+                        .orElseThrow(() -> new AccountNotFoundException(accountId))
+                : stored.getBalance();
+        await(submit(LedgerCommand.registerAccount(accountId, stored.getUserId(),
+                balance.getMinorAmount(), balance.getCurrency())));
+        return accounts.get(accountId);
+    }
+
+    public Optional<LedgerAccount> findAccount(UUID accountId) {
+        return Optional.ofNullable(accounts.get(accountId));
+    }
+
+    public EngineStatistics getStatistics() {
+        long sequence = lastSequence;
+        long batches = journaledBatches.get();
+        return new EngineStatistics(
+                accounts.size(),
+                sequence,
+                projectedSequence,
+                sequence - projectedSequence,
+                lastSnapshotSequence,
+                snapshots.get(),
+                ringBuffer.capacity(),
+                ringBuffer.size(),
+                batches,
+                batches == 0 ? 0.0 : (double) journaledCommands.get() / batches,
+                deadLetters.get(),
+                failure != null
+        );
+    }
+
+    /**
+     * Transaction correspondant à une commande de transfert appliquée
+     */
+    public Transaction toTransaction(LedgerCommand command) {
+        Money sourceAmount = Money.ofMinor(command.sourceAmountMinor(), command.sourceCurrency());
+        Money targetAmount = Money.ofMinor(command.targetAmountMinor(), command.targetCurrency());
+        Transaction transaction = command.isForex()
+                ? Transaction.createForexTransaction(command.sourceAccountId(), command.targetAccountId(),
+                sourceAmount, targetAmount, command.exchangeRate(),
+                command.rateVersion() > 0 ? command.rateVersion() : null, command.description())
+                : Transaction.createLocalTransaction(command.sourceAccountId(), command.targetAccountId(),
+                sourceAmount, command.description());
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(command.timestampMillis()), zone);
+        transaction.setId(command.transactionId());
+        transaction.setType(command.isForex() ? TransactionType.FOREX : TransactionType.LOCAL);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setCreatedAt(timestamp);
+        transaction.setProcessedAt(timestamp);
+        return transaction;
+    }
+
+    // Thread métier
+
+    private void runWriter() {
+        List<PendingCommand> batch = new ArrayList<>(batchSize);
+        try {
+            writeLoop(batch);
+        } catch (RuntimeException | Error e) {
+            // État en mémoire incertain: le moteur s'arrête plutôt que de confirmer d'autres commandes
+            logger.error("Échec inattendu du thread métier, arrêt du moteur de soldes", e);
+            fail(e, batch);
+            return;
+        }
+        // Commandes publiées après la dernière lecture du tampon
+        failPending(unavailable());
+    }
+
+    private void writeLoop(List<PendingCommand> batch) {
+        List<LedgerCommand> commands = new ArrayList<>(batchSize);
+        int idle = 0;
+        long sinceSnapshot = 0;
+
+        while (running || ringBuffer.size() > 0) {
+            if (ringBuffer.drainTo(batch, batchSize) == 0) {
+                if (++idle < IDLE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                continue;
+            }
+            idle = 0;
+
+            long sequence = lastSequence;
+            for (PendingCommand pending : batch) {
+                pending.command = pending.command.withSequence(++sequence);
+                commands.add(pending.command);
+            }
+
+            // Journaliser avant d'appliquer: une commande non durable n'est jamais visible
+            try {
+                journal.append(commands);
+            } catch (RuntimeException e) {
+                logger.error("Journal indisponible, arrêt du moteur de soldes", e);
+                fail(e, batch);
+                return;
+            }
+            journaledBatches.incrementAndGet();
+            journaledCommands.addAndGet(batch.size());
+
+            for (PendingCommand pending : batch) {
+                LedgerResult result = apply(pending.command);
+                enqueueProjection(new ProjectionEvent(pending.command, result.success()));
+                pending.result.complete(result);
+            }
+            lastSequence = sequence;
+            sinceSnapshot += batch.size();
+            batch.clear();
+            commands.clear();
+
+            if (sinceSnapshot >= snapshotInterval) {
+                takeSnapshot();
+                sinceSnapshot = 0;
+            }
+        }
+    }
+
+    /**
+     * Applique une commande à l'état en mémoire; déterministe, sans effet de bord.
+     * Un crédit qui dépasserait la capacité d'un long est refusé, sans rien modifier
+     */
+    private LedgerResult apply(LedgerCommand command) {
+        switch (command.type()) {
+            case REGISTER_ACCOUNT -> {
+                accounts.computeIfAbsent(command.sourceAccountId(), id -> new LedgerAccount(id,
+                        command.targetAccountId(), command.sourceCurrency(), command.sourceAmountMinor()));
+                return LedgerResult.ok(accounts.get(command.sourceAccountId()).balanceMinor, 0);
+            }
+            case DEPOSIT -> {
+                LedgerAccount account = accounts.get(command.sourceAccountId());
+                if (account == null) {
+                    return LedgerResult.failed(new AccountNotFoundException(command.sourceAccountId()));
+                }
+                long balance;
+                try {
+                    balance = Math.addExact(account.balanceMinor, command.sourceAmountMinor());
+                } catch (ArithmeticException e) {
+                    return LedgerResult.failed(balanceOutOfRange(account));
+                }
+                account.balanceMinor = balance;
+                return LedgerResult.ok(balance, 0);
+            }
+            case WITHDRAW -> {
+                LedgerAccount account = accounts.get(command.sourceAccountId());
+                if (account == null) {
+                    return LedgerResult.failed(new AccountNotFoundException(command.sourceAccountId()));
+                }
+                if (account.balanceMinor < command.sourceAmountMinor()) {
+                    return LedgerResult.failed(insufficientFunds(account, command.sourceAmountMinor()));
+                }
+                account.balanceMinor = account.balanceMinor - command.sourceAmountMinor();
+                return LedgerResult.ok(account.balanceMinor, 0);
+            }
+            case TRANSFER -> {
+                LedgerAccount source = accounts.get(command.sourceAccountId());
+                LedgerAccount target = accounts.get(command.targetAccountId());
+                if (source == null) {
+                    return LedgerResult.failed(new AccountNotFoundException(command.sourceAccountId()));
+                }
+                if (target == null) {
+                    return LedgerResult.failed(new AccountNotFoundException(command.targetAccountId()));
+                }
+                if (source.currency != command.sourceCurrency() || target.currency != command.targetCurrency()) {
+                    return LedgerResult.failed(new IllegalArgumentException(
+                            "La devise du montant ne correspond pas à celle du compte"));
+                }
+                if (source.balanceMinor < command.sourceAmountMinor()) {
+                    return LedgerResult.failed(insufficientFunds(source, command.sourceAmountMinor()));
+                }
+                // Crédit calculé avant toute modification (après le débit si les comptes sont confondus)
+                long sourceBalance = source.balanceMinor - command.sourceAmountMinor();
+                long targetBalance;
+                try {
+                    targetBalance = Math.addExact(source == target ? sourceBalance : target.balanceMinor,
+                            command.targetAmountMinor());
+                } catch (ArithmeticException e) {
+                    return LedgerResult.failed(balanceOutOfRange(target));
+                }
+                source.balanceMinor = sourceBalance;
+                target.balanceMinor = targetBalance;
+                return LedgerResult.ok(source.balanceMinor, target.balanceMinor);
+            }
+            default -> throw new IllegalStateException("Commande inconnue: " + command.type());
+        }
+    }
+
+    private void takeSnapshot() {
+        long sequence = lastSequence;
+        List<AccountBalance> balances = new ArrayList<>(accounts.size());
+        for (LedgerAccount account : accounts.values()) {
+            balances.add(new AccountBalance(account.id, account.userId, account.currency, account.balanceMinor));
+        }
+        try {
+            journal.writeSnapshot(new LedgerSnapshot(sequence, balances));
+            lastSnapshotSequence = sequence;
+            snapshots.incrementAndGet();
+            journal.compact(projectedSequence);
+        } catch (RuntimeException e) {
+            logger.warn("Instantané du moteur de soldes reporté: {}", e.getMessage());
+        }
+    }
+
+    private void enqueueProjection(ProjectionEvent event) {
+        try {
+            // File pleine (bases indisponibles): le thread métier ralentit plutôt que de perdre la projection
+            projectionQueue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkAvailable() {
+        if (failure != null || !running) {
+            throw unavailable();
+        }
+    }
+
+    private LedgerUnavailableException unavailable() {
+        LedgerUnavailableException failed = failure;
+        return failed != null ? failed : new LedgerUnavailableException("Le moteur de soldes est arrêté");
+    }
+
+    /**
+     * Arrête le moteur: le lot en cours et les commandes en attente sont refusés
+     */
+    private void fail(Throwable cause, List<PendingCommand> batch) {
+        LedgerUnavailableException e = new LedgerUnavailableException("Le moteur de soldes est arrêté", cause);
+        failure = e;
+        running = false;
+        batch.forEach(pending -> pending.result.completeExceptionally(e));
+        failPending(e);
+    }
+
+    private void failPending(RuntimeException e) {
+        List<PendingCommand> remaining = new ArrayList<>();
+        while (ringBuffer.drainTo(remaining, batchSize) > 0) {
+            remaining.forEach(pending -> pending.result.completeExceptionally(e));
+            remaining.clear();
+        }
+    }
+
+    private static ArithmeticException balanceOutOfRange(LedgerAccount account) {
+        return new ArithmeticException("Montant hors limites: le solde du compte " + account.id
+                + " dépasserait " + Long.MAX_VALUE + " unités mineures");
+    }
+
+    private InsufficientFundsException insufficientFunds(LedgerAccount account, long requestedMinor) {
+        return new InsufficientFundsException("Solde insuffisant. Disponible: "
+                + Money.ofMinor(account.balanceMinor, account.currency)
+                + ", Requis: " + Money.ofMinor(requestedMinor, account.currency));
+    }
+
+    // Thread de projection
+
+    private void runProjector() {
+        List<ProjectionEvent> batch = new ArrayList<>(projectionBatchSize);
+        while (running || (writer != null && writer.isAlive()) || !projectionQueue.isEmpty()) {
+            try {
+                ProjectionEvent first = projectionQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                projectionQueue.drainTo(batch, projectionBatchSize - 1);
+                if (!tryProject(batch)) {
+                    // Lot en échec persistant: isoler la ou les commandes en cause
+                    for (ProjectionEvent event : batch) {
+                        projectOrDeadLetter(event);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Projette le lot, en réessayant au plus engine.projection.max-attempts fois
+     * @return false si toutes les tentatives ont échoué
+     */
+    private boolean tryProject(List<ProjectionEvent> batch) throws InterruptedException {
+        long backoff = 100;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                project(batch);
+                return true;
+            } catch (RuntimeException e) {
+                logger.warn("Projection de {} commandes reportée (tentative {}/{}): {}",
+                        batch.size(), attempt, maxProjectionAttempts, e.getMessage());
+                if (attempt >= maxProjectionAttempts) {
+                    return false;
+                }
+                TimeUnit.MILLISECONDS.sleep(backoff);
+                backoff = Math.min(MAX_PROJECTION_BACKOFF_MILLIS, backoff * 2);
+            }
+        }
+    }
+
+    /**
+     * Projette une commande seule; après maxProjectionAttempts échecs elle est écartée.
+     * La projection est retentée avant chaque mise à l'écart: une panne de la base
+     * ne fait écarter aucune commande, elle retarde seulement la projection
+     */
+    private void projectOrDeadLetter(ProjectionEvent event) throws InterruptedException {
+        List<ProjectionEvent> single = List.of(event);
+        long backoff = 100;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                project(single);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxProjectionAttempts) {
+                    try {
+                        projection.deadLetter(event.command(), e.getMessage());
+                        projectedSequence = event.command().sequence();
+                        deadLetters.incrementAndGet();
+                        logger.error("Commande {} écartée de la projection après {} tentatives: {}",
+                                event.command().sequence(), attempt, e.getMessage());
+                        return;
+                    } catch (RuntimeException deadLetterFailure) {
+                        logger.warn("Mise à l'écart de la commande {} reportée: {}",
+                                event.command().sequence(), deadLetterFailure.getMessage());
+                    }
+                }
+                TimeUnit.MILLISECONDS.sleep(backoff);
+                backoff = Math.min(MAX_PROJECTION_BACKOFF_MILLIS, backoff * 2);
+            }
+        }
+    }
+
+    private void project(List<ProjectionEvent> batch) {
+        NetPositions positions = new NetPositions();
+        List<Transaction> transactions = new ArrayList<>();
+        for (ProjectionEvent event : batch) {
+            if (!event.success()) {
+                continue;
+            }
+            LedgerCommand command = event.command();
+            switch (command.type()) {
+                case DEPOSIT -> positions.credit(command.sourceAccountId(),
+                        Money.ofMinor(command.sourceAmountMinor(), command.sourceCurrency()));
+                case WITHDRAW -> positions.debit(command.sourceAccountId(),
+                        Money.ofMinor(command.sourceAmountMinor(), command.sourceCurrency()));
+                case TRANSFER -> {
+                    positions.debit(command.sourceAccountId(),
+                            Money.ofMinor(command.sourceAmountMinor(), command.sourceCurrency()));
+                    positions.credit(command.targetAccountId(),
+                            Money.ofMinor(command.targetAmountMinor(), command.targetCurrency()));
+                    transactions.add(toTransaction(command));
+                }
+                default -> {
+                    // La prise en charge d'un compte ne modifie pas les bases
+                }
+            }
+        }
+
+        long upTo = batch.get(batch.size() - 1).command().sequence();
+        projection.project(upTo, positions.toMutations(), transactions);
+        projectedSequence = upTo;
+    }
+
+    // Types internes
+
+    /**
+     * État d'un compte dans le moteur; le solde n'est écrit que par le thread métier
+     */
+    public static final class LedgerAccount {
+        private final UUID id;
+        private final UUID userId;
+        private final Currency currency;
+        private volatile long balanceMinor;
+
+        LedgerAccount(UUID id, UUID userId, Currency currency, long balanceMinor) {
+            this.id = id;
+            this.userId = userId;
+            this.currency = currency;
+            this.balanceMinor = balanceMinor;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public Currency getCurrency() {
+            return currency;
+        }
+
+        public Money getBalance() {
+            return Money.ofMinor(balanceMinor, currency);
+        }
+    }
+
+    public record LedgerResult(boolean success, RuntimeException error,
+                               long sourceBalanceMinor, long targetBalanceMinor) {
+
+        static LedgerResult ok(long sourceBalanceMinor, long targetBalanceMinor) {
+            return new LedgerResult(true, null, sourceBalanceMinor, targetBalanceMinor);
+        }
+
+        static LedgerResult failed(RuntimeException error) {
+            return new LedgerResult(false, error, 0, 0);
+        }
+    }
+
+    public record EngineStatistics(
+            int accounts,
+            long sequence,
+            long projectedSequence,
+            long projectionLag,
+            long lastSnapshotSequence,
+            long snapshots,
+            int ringBufferCapacity,
+            int ringBufferQueued,
+            long journaledBatches,
+            double averageBatchSize,
+            long deadLetters,
+            boolean failed
+    ) {}
+
+    private static final class PendingCommand {
+        LedgerCommand command;
+        final CompletableFuture<LedgerResult> result = new CompletableFuture<>();
+
+        PendingCommand(LedgerCommand command) {
+            this.command = command;
+        }
+    }
+
+    private record ProjectionEvent(LedgerCommand command, boolean success) {}
+}
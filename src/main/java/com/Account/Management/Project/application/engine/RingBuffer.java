@@ -0,0 +1,98 @@
+package com.Account.Management.Project.application.engine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tampon circulaire borné, plusieurs producteurs et un seul consommateur
+ * (à la manière du Disruptor LMAX).
+ *
+ * Les emplacements sont préalloués; un producteur réserve une séquence par CAS,
+ * écrit son élément puis le publie en inscrivant la séquence dans l'emplacement.
+ * Le consommateur lit les séquences publiées dans l'ordre, par lots, sans verrou.
+ */
+public final class RingBuffer<E> {
+
+    private final Object[] entries;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final int capacity;
+
+    private final AtomicLong claimed = new AtomicLong(0);
+    private volatile long consumed = -1;
+
+    public RingBuffer(int requestedCapacity) {
+        int size = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.entries = new Object[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Publie un élément, en attendant au plus timeout qu'un emplacement se libère
+     * @return false si le tampon est resté plein
+     */
+    public boolean offer(E element, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long sequence;
+        while (true) {
+            sequence = claimed.get();
+            if (sequence - capacity > consumed) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(1_000);
+                continue;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+        int index = (int) (sequence & mask);
+        entries[index] = element;
+        published.lazySet(index, sequence);
+        return true;
+    }
+
+    /**
+     * Consommateur unique: transfère au plus max éléments publiés, dans l'ordre
+     * @return Le nombre d'éléments transférés
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(List<E> target, int max) {
+        long next = consumed + 1;
+        int count = 0;
+        while (count < max) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                break;
+            }
+            target.add((E) entries[index]);
+            entries[index] = null;
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed = next - 1;
+        }
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Nombre approximatif d'éléments en attente
+     */
+    public int size() {
+        return (int) Math.max(0, claimed.get() - 1 - consumed);
+    }
+}
@@ -0,0 +1,172 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.domain.exception.AccountNotFoundException;
+import com.Account.Management.Project.domain.exception.BlockedUserException;
+import com.Account.Management.Project.domain.exception.InsufficientFundsException;
+import com.Account.Management.Project.domain.exception.UserNotFoundException;
+import com.Account.Management.Project.domain.model.AccountOwnerView;
+import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.BalanceTablePort;
+import com.Account.Management.Project.port.output.BalanceTablePort.FundsCheck;
+import com.Account.Management.Project.port.output.UserRepositoryPort;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Débits et crédits conditionnels communs aux services de comptes et de transactions.
+ *
+ * Chaque écriture vérifie elle-même l'existence du compte, sa devise, l'état
+ * de son propriétaire et le solde (UPDATE ... RETURNING): le compte n'est lu
+ * qu'après un refus, pour en établir la cause. Les méthodes doivent être
+ * appelées dans une transaction, les comptes débités étant verrouillés.
+ *
+ * La table des soldes hors tas, si elle est activée, ne sert qu'à éviter du
+ * travail: elle ne prononce jamais seule un refus.
+ */
+@Component
+public class AccountBalanceUpdater {
+
+    private final AccountRepositoryPort accountRepository;
+    private final UserRepositoryPort userRepository;
+    private final Optional<BalanceTablePort> balanceTable;
+
+    public AccountBalanceUpdater(AccountRepositoryPort accountRepository,
+                                 UserRepositoryPort userRepository,
+                                 Optional<BalanceTablePort> balanceTable) {
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.balanceTable = balanceTable;
+    }
+
+    /**
+     * Pré-contrôle des fonds, avant tout verrou. Quand la table des soldes
+     * annonce un solde insuffisant, le refus n'est prononcé que si le solde
+     * validé en base le confirme (lecture sans verrou): une entrée périmée
+     * coûte une lecture, jamais un refus à tort. Dans tous les autres cas,
+     * le débit conditionnel reste seul juge.
+     */
+    public void rejectIfKnownInsufficient(UUID accountId, Double amount) {
+        if (balanceTable.isEmpty() || amount == null) {
+            return;
+        }
+        BigDecimal requested = Money.roundAmount(amount);
+        if (balanceTable.get().checkFunds(accountId, requested) != FundsCheck.INSUFFICIENT) {
+            return;
+        }
+        AccountOwnerView view = findViewOrThrow(accountId);
+        checkOwnerNotBlocked(view);
+        if (!view.isSharded() && view.balance().getAmount().compareTo(requested) < 0) {
+            throw new InsufficientFundsException(
+                    view.accountNumber(), requested.doubleValue(), view.balance().getAmountAsDouble());
+        }
+    }
+
+    /**
+     * Débite un compte. Pour un compte fractionné, les sous-soldes sont
+     * consolidés avant de conclure à un solde insuffisant.
+     * @param currency Devise exigée, ou null pour celle du compte
+     * @param currencyMismatch Exception à lever si la devise du compte diffère
+     * @return Le compte après débit
+     * @throws InsufficientFundsException avec le solde lu après le refus
+     */
+    public BankAccount debitOrThrow(UUID accountId, BigDecimal amount, Currency currency,
+                                    Supplier<? extends RuntimeException> currencyMismatch) {
+        Optional<BankAccount> debited = accountRepository.debitIfAllowed(accountId, amount, currency);
+        if (debited.isPresent()) {
+            return debited.get();
+        }
+
+        // Refusé: compte absent, propriétaire bloqué, autre devise ou solde insuffisant
+        AccountOwnerView view = findViewOrThrow(accountId);
+        checkOwnerNotBlocked(view);
+        checkCurrency(view, currency, currencyMismatch);
+        Money available = view.balance();
+        if (view.isSharded()) {
+            // Solde principal insuffisant: rapatrier les sous-soldes puis réessayer
+            available = accountRepository.consolidateShards(accountId, view.currency())
+                    .orElseThrow(() -> new AccountNotFoundException(accountId));
+            debited = accountRepository.debitIfAllowed(accountId, amount, view.currency());
+            if (debited.isPresent()) {
+                return debited.get();
+            }
+        }
+        throw new InsufficientFundsException(
+                view.accountNumber(), amount.doubleValue(), available.getAmountAsDouble());
+    }
+
+    /**
+     * Crédite le solde principal d'un compte, ou un sous-solde choisi au
+     * hasard (sans verrouiller le compte) s'il est fractionné
+     * @param currency Devise exigée, ou null pour celle du compte
+     * @param currencyMismatch Exception à lever si la devise du compte diffère
+     * @return Le compte après crédit (solde principal inchangé s'il est fractionné)
+     */
+    public BankAccount creditOrThrow(UUID accountId, BigDecimal amount, Currency currency,
+                                     Supplier<? extends RuntimeException> currencyMismatch) {
+        Optional<BankAccount> credited = accountRepository.creditIfAllowed(accountId, amount, currency);
+        if (credited.isPresent()) {
+            return credited.get();
+        }
+
+        // Refusé: compte absent, propriétaire bloqué, autre devise ou compte fractionné
+        AccountOwnerView view = findViewOrThrow(accountId);
+        checkOwnerNotBlocked(view);
+        checkCurrency(view, currency, currencyMismatch);
+        if (!view.isSharded() || !accountRepository.creditShard(accountId,
+                ThreadLocalRandom.current().nextInt(view.balanceShards()), new Money(amount, view.currency()))) {
+            // Fractionnement ou propriétaire modifié depuis la lecture: rejouer
+            throw new OptimisticLockingFailureException(
+                    "Compte " + accountId + " modifié pendant le crédit");
+        }
+        // Le solde principal est inchangé jusqu'à la prochaine consolidation
+        BankAccount account = view.toAccount();
+        account.setUpdatedAt(LocalDateTime.now());
+        return account;
+    }
+
+    /**
+     * Compte et état de son propriétaire, en une requête
+     * @throws AccountNotFoundException si le compte n'existe pas
+     */
+    public AccountOwnerView findViewOrThrow(UUID accountId) {
+        return accountRepository.findWithOwnerStatus(List.of(accountId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    /**
+     * Vérifie l'état du propriétaire lu avec le compte; l'utilisateur n'est
+     * chargé que pour construire le message d'un refus
+     */
+    public void checkOwnerNotBlocked(AccountOwnerView account) {
+        UUID userId = account.userId();
+        if (!account.ownerFound()) {
+            throw new UserNotFoundException(userId);
+        }
+        if (account.ownerBlocked()) {
+            throw userRepository.findById(userId)
+                    .map(user -> new BlockedUserException(userId, user.getEmail()))
+                    .orElseGet(() -> new BlockedUserException(userId));
+        }
+    }
+
+    // méthodes utilitaires privées
+
+    private static void checkCurrency(AccountOwnerView account, Currency currency,
+                                      Supplier<? extends RuntimeException> currencyMismatch) {
+        if (currency != null && account.currency() != currency) {
+            throw currencyMismatch.get();
+        }
+    }
+}
@@ -6,12 +6,19 @@ import com.Account.Management.Project.domain.model.BankAccount;
 import com.Account.Management.Project.domain.model.User;
 import com.Account.Management.Project.domain.valueObject.Currency;
 import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.infrastructure.annotation.RetryOnConflict;
 import com.Account.Management.Project.port.input.AccountUseCase;
+import com.Account.Management.Project.port.output.AccountLockPort;
 import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.BalanceTablePort;
 import com.Account.Management.Project.port.output.UserRepositoryPort;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,11 +33,23 @@ public class AccountService implements AccountUseCase {
 
     private final AccountRepositoryPort accountRepository;
     private final UserRepositoryPort userRepository;
+    private final AccountLockPort accountLock;
+    private final AccountBalanceUpdater balanceUpdater;
+    private final Optional<BalanceTablePort> balanceTable;
+    private final int maxBalanceShards;
 
     public AccountService(AccountRepositoryPort accountRepository,
-                          UserRepositoryPort userRepository) {
+                          UserRepositoryPort userRepository,
+                          AccountLockPort accountLock,
+                          AccountBalanceUpdater balanceUpdater,
+                          Optional<BalanceTablePort> balanceTable,
+                          @Value("${account.shards.max:64}") int maxBalanceShards) {
         this.accountRepository = accountRepository;
         this.userRepository = userRepository;
+        this.accountLock = accountLock;
+        this.balanceUpdater = balanceUpdater;
+        this.balanceTable = balanceTable;
+        this.maxBalanceShards = maxBalanceShards;
     }
 
     @Override
@@ -75,51 +94,61 @@ public class AccountService implements AccountUseCase {
         return accountRepository.findByUserId(userId);
     }
 
+    /**
+     * Servi par la table des soldes hors tas quand elle connaît le compte,
+     * sans transaction ni connexion; sinon (ou pour une lecture fortement
+     * cohérente) lu en base et inséré dans la table.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Money getBalance(UUID accountId) {
+        Optional<Money> known = balanceTable.flatMap(table -> table.findBalance(accountId));
+        if (known.isPresent()) {
+            return known.get();
+        }
         BankAccount account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
+        if (account.isSharded()) {
+            // Solde principal et sous-soldes en une requête
+            return accountRepository.findTotalBalance(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException(accountId));
+        }
+        // Dans une transaction, l'état lu peut ne pas être validé: ne pas le publier
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            balanceTable.ifPresent(table -> table.record(accountId, account.getBalance(),
+                    account.getVersion(), account.isActive(), false));
+        }
         return account.getBalance();
     }
 
     /**
      * dépose de l'argent sur un compte.
-     * Vérifie que le propriétaire du compte n'est pas bloqué.
+     * Le crédit conditionnel vérifie lui-même le compte et son propriétaire,
+     * qui ne sont lus qu'en cas de refus. Sur un compte fractionné, le dépôt
+     * crédite un sous-solde au hasard sans verrouiller le compte.
      */
     @Override
+    @RetryOnConflict
     public BankAccount deposit(UUID accountId, Double amount) {
-        BankAccount account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException(accountId));
-
-        // Vérifier que l'utilisateur n'est pas bloqué
-        checkUserNotBlocked(account.getUserId());
-
-        Money depositAmount = new Money(amount, account.getCurrency());
-        account.credit(depositAmount);
-
-        return accountRepository.save(account);
+        return balanceUpdater.creditOrThrow(accountId, Money.roundAmount(amount), null, null);
     }
 
     /**
      * retire de l'argent d'un compte.
-     * Vérifie le solde suffisant et que l'utilisateur n'est pas bloqué.
+     * Le débit conditionnel vérifie le solde et le propriétaire sans lecture
+     * préalable; un refus est expliqué avec le solde lu après coup.
      */
     @Override
+    @RetryOnConflict
     public BankAccount withdraw(UUID accountId, Double amount) {
-        BankAccount account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException(accountId));
-
-        // Vérifier que l'utilisateur n'est pas bloqué
-        checkUserNotBlocked(account.getUserId());
+        balanceUpdater.rejectIfKnownInsufficient(accountId, amount);
+        accountLock.lockUntilTransactionEnd(List.of(accountId));
 
-        Money withdrawAmount = new Money(amount, account.getCurrency());
-        account.debit(withdrawAmount); // Lève InsufficientFundsException si solde insuffisant
-
-        return accountRepository.save(account);
+        return balanceUpdater.debitOrThrow(accountId, Money.roundAmount(amount), null, null);
     }
 
     @Override
+    @RetryOnConflict
     public BankAccount deactivateAccount(UUID accountId) {
         BankAccount account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
@@ -129,6 +158,7 @@ public class AccountService implements AccountUseCase {
     }
 
     @Override
+    @RetryOnConflict
     public BankAccount activateAccount(UUID accountId) {
         BankAccount account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
@@ -138,15 +168,50 @@ public class AccountService implements AccountUseCase {
     }
 
     /**
-     * vérifie que l'utilisateur n'est pas bloqué.
-     * Méthode utilitaire utilisée avant toute opération bancaire.
+     * Active, redimensionne ou désactive (0) le fractionnement du solde d'un compte.
+     * Les sous-soldes existants sont reportés sur le solde principal.
      */
-    private void checkUserNotBlocked(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+    @Override
+    @RetryOnConflict
+    public BankAccount configureBalanceShards(UUID accountId, int shardCount) {
+        if (shardCount < 0 || shardCount > maxBalanceShards) {
+            throw new IllegalArgumentException(String.format(
+                    "Le nombre de sous-soldes doit être compris entre 0 et %d", maxBalanceShards));
+        }
+        accountLock.lockUntilTransactionEnd(List.of(accountId));
 
-        if (user.isBlocked()) {
-            throw new BlockedUserException(userId, user.getEmail());
+        BankAccount account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+
+        Money balance = accountRepository.resizeShards(accountId, shardCount, account.getCurrency())
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+
+        account.setBalance(balance);
+        account.setBalanceShards(shardCount);
+        account.setUpdatedAt(LocalDateTime.now());
+        return account;
+    }
+
+    /**
+     * Reporte les sous-soldes d'un compte fractionné sur son solde principal
+     */
+    @Override
+    @RetryOnConflict
+    public Money consolidateBalanceShards(UUID accountId) {
+        accountLock.lockUntilTransactionEnd(List.of(accountId));
+
+        BankAccount account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        if (!account.isSharded()) {
+            return account.getBalance();
         }
+        return accountRepository.consolidateShards(accountId, account.getCurrency())
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> getShardedAccountIds() {
+        return accountRepository.findShardedAccountIds();
     }
 }
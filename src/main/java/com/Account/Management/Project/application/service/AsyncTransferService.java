@@ -0,0 +1,256 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.domain.exception.AccountNotFoundException;
+import com.Account.Management.Project.domain.exception.BlockedUserException;
+import com.Account.Management.Project.domain.exception.InsufficientFundsException;
+import com.Account.Management.Project.domain.exception.InvalidCurrencyException;
+import com.Account.Management.Project.domain.exception.InvalidTransactionStateException;
+import com.Account.Management.Project.domain.exception.OperationNotSupportedException;
+import com.Account.Management.Project.domain.exception.TransferQueueFullException;
+import com.Account.Management.Project.domain.exception.TransferRejectedException;
+import com.Account.Management.Project.domain.exception.UserNotFoundException;
+import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionStatus;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.ExchangeRateSnapshot;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.input.AsyncTransferUseCase;
+import com.Account.Management.Project.port.input.TransactionUseCase;
+import com.Account.Management.Project.port.input.TransactionUseCase.TransferCommand;
+import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.CurrencyConversionPort;
+import com.Account.Management.Project.port.output.TransactionRepositoryPort;
+import com.Account.Management.Project.port.output.TransferDispatcherPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gère les transferts soumis en mode asynchrone.
+ * Implémente le port d'entrée AsyncTransferUseCase.
+ *
+ * La soumission ne fait que valider les comptes, enregistrer la transaction
+ * PENDING et la confier au pool de travailleurs (partitionné par compte source):
+ * le thread HTTP et la connexion sont libérés immédiatement.
+ * L'exécution passe par TransactionUseCase.executePendingTransfer
+ * (mêmes verrous, mêmes règles et même rejeu que les transferts synchrones).
+ *
+ * Le travailleur réserve d'abord la transaction dans MongoDB (PENDING ->
+ * PROCESSING): l'annulation et l'exécution sont ainsi arbitrées avant la
+ * transaction PostgreSQL, qui ne fait elle-même aucune écriture MongoDB.
+ *
+ * Seul un refus métier (solde, utilisateur bloqué, devise, compte ou
+ * utilisateur introuvable, règle de risque) marque la transaction FAILED.
+ * Un échec transitoire (base indisponible, délai de verrou, conflits
+ * persistants) la laisse PROCESSING: elle est à nouveau confiée au pool
+ * après un délai croissant, l'exécution relisant l'outbox avant tout.
+ *
+ * Ce service n'est volontairement pas transactionnel: chaque exécution
+ * ouvre sa propre transaction dans un thread travailleur.
+ */
+@Service
+public class AsyncTransferService implements AsyncTransferUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncTransferService.class);
+
+    private final TransactionUseCase transactionUseCase;
+    private final TransactionRepositoryPort transactionRepository;
+    private final AccountRepositoryPort accountRepository;
+    private final CurrencyConversionPort currencyConversion;
+    private final TransferDispatcherPort dispatcher;
+    private final long retryInitialDelayMillis;
+    private final long retryMaxDelayMillis;
+
+    // Nouvelles tentatives en cours par transaction (échecs transitoires)
+    private final Map<String, Integer> retryAttempts = new ConcurrentHashMap<>();
+
+    public AsyncTransferService(TransactionUseCase transactionUseCase,
+                                TransactionRepositoryPort transactionRepository,
+                                AccountRepositoryPort accountRepository,
+                                CurrencyConversionPort currencyConversion,
+                                TransferDispatcherPort dispatcher,
+                                @Value("${transaction.async.retry.initial-delay-ms:500}") long retryInitialDelayMillis,
+                                @Value("${transaction.async.retry.max-delay-ms:30000}") long retryMaxDelayMillis) {
+        this.transactionUseCase = transactionUseCase;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.currencyConversion = currencyConversion;
+        this.dispatcher = dispatcher;
+        this.retryInitialDelayMillis = Math.max(1, retryInitialDelayMillis);
+        this.retryMaxDelayMillis = Math.max(this.retryInitialDelayMillis, retryMaxDelayMillis);
+    }
+
+    @Override
+    public Transaction submitTransfer(TransferCommand command) {
+        if (command.type() == null || command.sourceAccountId() == null
+                || command.targetAccountId() == null || command.amount() == null) {
+            throw new IllegalArgumentException(
+                    "Type, comptes source/destination et montant sont obligatoires");
+        }
+
+        BankAccount sourceAccount = getAccountOrThrow(command.sourceAccountId());
+        BankAccount targetAccount = getAccountOrThrow(command.targetAccountId());
+        Currency sourceCurrency = sourceAccount.getCurrency();
+        Currency targetCurrency = targetAccount.getCurrency();
+        Money sourceAmount = new Money(command.amount(), sourceCurrency);
+
+        Transaction pending;
+        if (command.type() == TransactionType.LOCAL) {
+            if (!sourceCurrency.equals(targetCurrency)) {
+                throw new InvalidCurrencyException(
+                        "Transfert local impossible entre devises différentes. " +
+                                "Utilisez transferForex pour les conversions de devises.");
+            }
+            pending = Transaction.createLocalTransaction(
+                    command.sourceAccountId(), command.targetAccountId(),
+                    sourceAmount, command.description());
+        } else {
+            ExchangeRateSnapshot rates = currencyConversion.currentRates();
+            if (!rates.supports(sourceCurrency, targetCurrency)) {
+                throw new InvalidCurrencyException(sourceCurrency.getCode(), targetCurrency.getCode());
+            }
+            // Montant cible indicatif: recalculé au taux courant lors de l'exécution
+            pending = Transaction.createForexTransaction(
+                    command.sourceAccountId(), command.targetAccountId(),
+                    sourceAmount, rates.convert(sourceAmount, targetCurrency),
+                    rates.rate(sourceCurrency, targetCurrency), rates.version(),
+                    command.description());
+        }
+
+        transactionRepository.save(pending);
+        try {
+            dispatch(pending);
+        } catch (TransferQueueFullException e) {
+            pending.fail(e.getMessage());
+            transactionRepository.updateIfPending(pending);
+            throw e;
+        }
+        return pending;
+    }
+
+    @Override
+    public Optional<Transaction> cancelTransfer(String transactionId) {
+        Optional<Transaction> found = transactionRepository.findById(transactionId);
+        found.ifPresent(transaction -> {
+            transaction.cancel();
+            if (!transactionRepository.updateIfPending(transaction)) {
+                throw new InvalidTransactionStateException(
+                        "La transaction " + transactionId + " est en cours d'exécution ou déjà traitée");
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Reprend au démarrage les transferts restés PENDING, ou réservés
+     * (PROCESSING) par un travailleur interrompu: ceux-ci sont exécutés
+     * sans nouvelle réservation, sauf s'ils figurent déjà dans l'outbox
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingTransfers() {
+        List<Transaction> processing = transactionRepository.findByStatus(TransactionStatus.PROCESSING);
+        List<Transaction> pending = transactionRepository.findByStatus(TransactionStatus.PENDING);
+        if (processing.isEmpty() && pending.isEmpty()) {
+            return;
+        }
+        logger.info("Reprise de {} transferts asynchrones réservés et {} en attente",
+                processing.size(), pending.size());
+        try {
+            for (Transaction transaction : processing) {
+                String transactionId = transaction.getId();
+                UUID sourceAccountId = transaction.getSourceAccountId();
+                dispatcher.dispatch(sourceAccountId, () -> execute(transactionId, sourceAccountId));
+            }
+            for (Transaction transaction : pending) {
+                dispatch(transaction);
+            }
+        } catch (TransferQueueFullException e) {
+            logger.warn("Reprise interrompue: {}", e.getMessage());
+        }
+    }
+
+    // méthodes utilitaires privées
+
+    private void dispatch(Transaction pending) {
+        String transactionId = pending.getId();
+        UUID sourceAccountId = pending.getSourceAccountId();
+        dispatcher.dispatch(sourceAccountId, () -> process(transactionId, sourceAccountId));
+    }
+
+    /**
+     * Exécuté par un travailleur: réserve la transaction, sauf si elle a été
+     * annulée entre-temps
+     */
+    private void process(String transactionId, UUID sourceAccountId) {
+        if (!transactionRepository.markProcessing(transactionId)) {
+            return;
+        }
+        execute(transactionId, sourceAccountId);
+    }
+
+    /**
+     * Exécute une transaction réservée: une erreur métier la marque FAILED,
+     * tout autre échec la laisse PROCESSING et la reprogramme
+     */
+    private void execute(String transactionId, UUID sourceAccountId) {
+        try {
+            transactionUseCase.executePendingTransfer(transactionId);
+            retryAttempts.remove(transactionId);
+        } catch (RuntimeException e) {
+            if (!isBusinessFailure(e)) {
+                retryLater(transactionId, sourceAccountId, e);
+                return;
+            }
+            retryAttempts.remove(transactionId);
+            logger.warn("Échec du transfert asynchrone {}: {}", transactionId, e.getMessage());
+            transactionRepository.findById(transactionId)
+                    .filter(transaction -> transaction.getStatus() == TransactionStatus.PROCESSING)
+                    .ifPresent(transaction -> {
+                        transaction.fail(e.getMessage());
+                        transactionRepository.updateIfProcessing(transaction);
+                    });
+        }
+    }
+
+    /**
+     * Délai doublé à chaque tentative, plafonné à transaction.async.retry.max-delay-ms
+     */
+    private void retryLater(String transactionId, UUID sourceAccountId, RuntimeException cause) {
+        int attempt = retryAttempts.merge(transactionId, 1, Integer::sum);
+        long delay = Math.min(retryMaxDelayMillis, retryInitialDelayMillis << Math.min(attempt - 1, 20));
+        logger.warn("Transfert asynchrone {} reporté de {} ms (tentative {}): {}",
+                transactionId, delay, attempt, cause.getMessage());
+        dispatcher.dispatchLater(sourceAccountId, () -> execute(transactionId, sourceAccountId), delay);
+    }
+
+    /**
+     * Refus définitif: une nouvelle tentative donnerait le même résultat
+     */
+    private static boolean isBusinessFailure(RuntimeException e) {
+        return e instanceof InsufficientFundsException
+                || e instanceof BlockedUserException
+                || e instanceof InvalidCurrencyException
+                || e instanceof AccountNotFoundException
+                || e instanceof UserNotFoundException
+                || e instanceof TransferRejectedException
+                || e instanceof OperationNotSupportedException
+                || e instanceof ArithmeticException
+                || e instanceof IllegalArgumentException;
+    }
+
+    private BankAccount getAccountOrThrow(UUID accountId) {
+        return accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+}
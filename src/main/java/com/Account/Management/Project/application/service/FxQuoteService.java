@@ -0,0 +1,82 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.domain.exception.AccountNotFoundException;
+import com.Account.Management.Project.domain.exception.InvalidCurrencyException;
+import com.Account.Management.Project.domain.model.FxQuote;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.ExchangeRateSnapshot;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.input.FxQuoteUseCase;
+import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.CurrencyConversionPort;
+import com.Account.Management.Project.port.output.FxQuoteStorePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * gère les cotations de change.
+ * Implémente le port d'entrée FxQuoteUseCase.
+ *
+ * Le montant converti, le taux et sa version proviennent du même instantané
+ * de taux; la cotation est gardée en mémoire pendant fx.quotes.ttl-ms.
+ * Elle est liée au compte source, dont elle prend la devise.
+ */
+@Service
+public class FxQuoteService implements FxQuoteUseCase {
+
+    private final AccountRepositoryPort accountRepository;
+    private final CurrencyConversionPort currencyConversion;
+    private final FxQuoteStorePort quoteStore;
+    private final Duration ttl;
+
+    public FxQuoteService(AccountRepositoryPort accountRepository,
+                          CurrencyConversionPort currencyConversion,
+                          FxQuoteStorePort quoteStore,
+                          @Value("${fx.quotes.ttl-ms:30000}") long ttlMillis) {
+        this.accountRepository = accountRepository;
+        this.currencyConversion = currencyConversion;
+        this.quoteStore = quoteStore;
+        this.ttl = Duration.ofMillis(Math.max(1, ttlMillis));
+    }
+
+    @Override
+    public FxQuote createQuote(UUID sourceAccountId, Currency targetCurrency, Double sourceAmount) {
+        if (sourceAccountId == null || targetCurrency == null) {
+            throw new IllegalArgumentException("Le compte source et la devise cible sont obligatoires");
+        }
+        if (sourceAmount == null || sourceAmount <= 0) {
+            throw new IllegalArgumentException("Le montant doit être strictement positif");
+        }
+        Currency sourceCurrency = accountRepository.findById(sourceAccountId)
+                .orElseThrow(() -> new AccountNotFoundException(sourceAccountId))
+                .getCurrency();
+        ExchangeRateSnapshot rates = currencyConversion.currentRates();
+        if (sourceCurrency == targetCurrency || !rates.supports(sourceCurrency, targetCurrency)) {
+            throw new InvalidCurrencyException(sourceCurrency.getCode(), targetCurrency.getCode());
+        }
+
+        Money source = new Money(sourceAmount, sourceCurrency);
+        LocalDateTime now = LocalDateTime.now();
+        FxQuote quote = new FxQuote(
+                UUID.randomUUID(),
+                sourceAccountId,
+                source,
+                rates.convert(source, targetCurrency),
+                rates.rate(sourceCurrency, targetCurrency),
+                rates.version(),
+                now,
+                now.plus(ttl));
+        quoteStore.save(quote);
+        return quote;
+    }
+
+    @Override
+    public Optional<FxQuote> getQuote(UUID quoteId) {
+        return quoteStore.findById(quoteId);
+    }
+}
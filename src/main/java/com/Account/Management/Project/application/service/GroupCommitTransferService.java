@@ -0,0 +1,288 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.domain.exception.TransferUnavailableException;
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.infrastructure.annotation.LogTransaction;
+import com.Account.Management.Project.port.input.GroupCommitTransferUseCase;
+import com.Account.Management.Project.port.input.TransactionUseCase;
+import com.Account.Management.Project.port.input.TransactionUseCase.BatchItemResult;
+import com.Account.Management.Project.port.input.TransactionUseCase.TransferCommand;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Regroupe les petits transferts locaux concurrents dans une même transaction
+ * PostgreSQL ("group commit"): le coût du commit (fsync du WAL) est partagé
+ * entre tous les appelants du groupe.
+ * Implémente le port d'entrée GroupCommitTransferUseCase.
+ *
+ * Les appels sont mis en file; un thread unique forme un groupe dès qu'il
+ * atteint la taille maximale ou que la fenêtre est écoulée, puis l'exécute
+ * via TransactionUseCase.executeBatch. Chaque appelant attend son propre
+ * CompletableFuture, complété au commit du groupe.
+ *
+ * Isolation des échecs: un transfert invalide (fonds insuffisants, compte
+ * bloqué, etc.) est rejeté seul par executeBatch. Si c'est le groupe entier
+ * qui échoue (conflit persistant, erreur base), chaque transfert est rejoué
+ * individuellement.
+ *
+ * Chaque appelant attend au plus transaction.group-commit.timeout-millis:
+ * un transfert encore en file est alors retiré et refusé; un transfert déjà
+ * pris par le groupe a une issue inconnue (TransferUnavailableException dans
+ * les deux cas). À l'arrêt ou à l'interruption du thread de groupe, les
+ * transferts restés en file sont refusés et les nouveaux sont exécutés
+ * directement.
+ *
+ * Ce service n'est volontairement pas transactionnel: la transaction est
+ * ouverte par le thread de groupe, pas par l'appelant.
+ */
+@Service
+public class GroupCommitTransferService implements GroupCommitTransferUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitTransferService.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final TransactionUseCase transactionUseCase;
+    private final IdempotencyBinder idempotencyBinder;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxGroupSize;
+    private final long timeoutMillis;
+    private final BlockingQueue<PendingTransfer> queue;
+
+    private final LongAdder groups = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    private final Thread committer;
+    private volatile boolean running = true;
+
+    public GroupCommitTransferService(TransactionUseCase transactionUseCase,
+                                      IdempotencyBinder idempotencyBinder,
+                                      @Value("${transaction.group-commit.enabled:false}") boolean enabled,
+                                      @Value("${transaction.group-commit.window-micros:2000}") long windowMicros,
+                                      @Value("${transaction.group-commit.max-size:256}") int maxGroupSize,
+                                      @Value("${transaction.group-commit.queue-capacity:10000}") int queueCapacity,
+                                      @Value("${transaction.group-commit.timeout-millis:30000}") long timeoutMillis) {
+        this.transactionUseCase = transactionUseCase;
+        this.idempotencyBinder = idempotencyBinder;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, windowMicros));
+        this.maxGroupSize = Math.max(1, maxGroupSize);
+        this.timeoutMillis = Math.max(1, timeoutMillis);
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+
+        if (enabled) {
+            committer = new Thread(this::runCommitter, "transfer-group-commit");
+            committer.setDaemon(true);
+            committer.start();
+        } else {
+            committer = null;
+        }
+    }
+
+    @Override
+    @LogTransaction
+    public Transaction transferLocal(UUID sourceAccountId, UUID targetAccountId,
+                                     Double amount, String description) {
+        // Dans une transaction déjà ouverte, l'appelant doit rester dans son unité de travail.
+        // Requête idempotente: la clé réservée est portée par ce thread et doit être liée
+        // dans la transaction du transfert, le thread de groupe ne la voit pas
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()
+                || idempotencyBinder.isActive()) {
+            return transactionUseCase.transferLocal(sourceAccountId, targetAccountId, amount, description);
+        }
+
+        PendingTransfer pending = new PendingTransfer(new TransferCommand(
+                TransactionType.LOCAL, sourceAccountId, targetAccountId, amount, description));
+        boolean queued = running && queue.offer(pending);
+        // Arrêt survenu pendant la mise en file: le thread de groupe a pu se terminer sans la vider
+        if (queued && !running && queue.remove(pending)) {
+            queued = false;
+        }
+        if (!queued) {
+            // File saturée ou service arrêté: exécution directe plutôt qu'un rejet
+            fallbacks.increment();
+            return transactionUseCase.transferLocal(sourceAccountId, targetAccountId, amount, description);
+        }
+        return await(pending);
+    }
+
+    @Override
+    public GroupCommitStatistics getStatistics() {
+        return new GroupCommitStatistics(
+                enabled,
+                TimeUnit.NANOSECONDS.toMicros(windowNanos),
+                maxGroupSize,
+                queue.size(),
+                groups.sum(),
+                items.sum(),
+                fallbacks.sum()
+        );
+    }
+
+    /**
+     * Arrêt: les transferts déjà en file sont encore validés pendant 10 s,
+     * ceux qui restent ensuite sont refusés
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (committer != null) {
+            committer.join(TimeUnit.SECONDS.toMillis(10));
+            committer.interrupt();
+        }
+    }
+
+    // méthodes utilitaires privées
+
+    /**
+     * Attend le commit du groupe au plus timeoutMillis
+     */
+    private Transaction await(PendingTransfer pending) {
+        try {
+            return pending.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unconfirmed(pending);
+        } catch (TimeoutException e) {
+            throw unconfirmed(pending);
+        }
+    }
+
+    private TransferUnavailableException unconfirmed(PendingTransfer pending) {
+        if (queue.remove(pending)) {
+            return new TransferUnavailableException(
+                    "Le transfert n'a pas été traité dans le délai imparti et a été annulé. Veuillez réessayer.");
+        }
+        return new TransferUnavailableException(
+                "Le transfert n'a pas été confirmé dans le délai imparti: il a pu être exécuté, "
+                        + "consultez l'historique du compte avant de réessayer.");
+    }
+
+    private void runCommitter() {
+        List<PendingTransfer> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTransfer first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandon(group);
+                return;
+            } catch (RuntimeException e) {
+                // Ne jamais laisser un appelant sans réponse
+                group.forEach(pending -> pending.result.completeExceptionally(e));
+                logger.error("Échec inattendu du group commit", e);
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Thread de groupe interrompu: plus aucun transfert n'est mis en file,
+     * et ceux qui y restent (ou en cours de constitution du groupe) sont refusés
+     */
+    private void abandon(List<PendingTransfer> group) {
+        running = false;
+        queue.drainTo(group);
+        logger.warn("Thread de group commit interrompu, {} transferts refusés", group.size());
+        TransferUnavailableException error = new TransferUnavailableException(
+                "Le service de transferts regroupés est arrêté. Veuillez réessayer.");
+        group.forEach(pending -> pending.result.completeExceptionally(error));
+    }
+
+    /**
+     * Complète le groupe jusqu'à la taille maximale ou la fin de la fenêtre
+     */
+    private void collect(List<PendingTransfer> group) throws InterruptedException {
+        long deadline = System.nanoTime() + windowNanos;
+        while (group.size() < maxGroupSize) {
+            queue.drainTo(group, maxGroupSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxGroupSize || remaining <= 0) {
+                return;
+            }
+            PendingTransfer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    private void commit(List<PendingTransfer> group) {
+        List<TransferCommand> commands = new ArrayList<>(group.size());
+        group.forEach(pending -> commands.add(pending.command));
+
+        List<BatchItemResult> results;
+        try {
+            results = transactionUseCase.executeBatch(commands);
+        } catch (RuntimeException e) {
+            logger.warn("Échec du groupe de {} transferts, exécution individuelle: {}",
+                    group.size(), e.getMessage());
+            fallbacks.add(group.size());
+            group.forEach(this::commitAlone);
+            return;
+        }
+
+        groups.increment();
+        items.add(group.size());
+        for (BatchItemResult result : results) {
+            PendingTransfer pending = group.get(result.index());
+            if (result.isSuccess()) {
+                pending.result.complete(result.transaction());
+            } else {
+                pending.result.completeExceptionally(result.error());
+            }
+        }
+    }
+
+    private void commitAlone(PendingTransfer pending) {
+        TransferCommand command = pending.command;
+        try {
+            pending.result.complete(transactionUseCase.transferLocal(
+                    command.sourceAccountId(), command.targetAccountId(),
+                    command.amount(), command.description()));
+        } catch (RuntimeException e) {
+            pending.result.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingTransfer {
+        final TransferCommand command;
+        final CompletableFuture<Transaction> result = new CompletableFuture<>();
+
+        PendingTransfer(TransferCommand command) {
+            this.command = command;
+        }
+    }
+}
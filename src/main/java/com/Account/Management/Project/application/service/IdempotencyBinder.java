@@ -0,0 +1,94 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.domain.exception.IdempotencyConflictException;
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.port.output.IdempotencyStorePort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Lie la clé d'idempotence réservée par la requête en cours à la transaction
+ * produite, dans la transaction PostgreSQL du transfert (à côté de la ligne
+ * d'outbox): la clé est complétée si et seulement si le transfert est validé.
+ *
+ * La réservation est portée par le thread de la requête: un transfert
+ * idempotent s'exécute donc dans ce thread, hors du group commit.
+ * Une liaison refusée (réservation reprise à l'issue de son bail) annule
+ * le transfert.
+ */
+@Component
+public class IdempotencyBinder {
+
+    private final ThreadLocal<Reservation> current = new ThreadLocal<>();
+    private final Optional<IdempotencyStorePort> sharedStore;
+
+    public IdempotencyBinder(Optional<IdempotencyStorePort> sharedStore) {
+        this.sharedStore = sharedStore;
+    }
+
+    /**
+     * true si le thread exécute une requête dont la clé est réservée
+     */
+    public boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Lie la clé réservée à la transaction, dans la transaction en cours.
+     * Sans réservation en cours, ne fait rien
+     * @throws IdempotencyConflictException si la réservation a été reprise
+     */
+    public void bind(Transaction transaction) {
+        Reservation reservation = current.get();
+        if (reservation == null || sharedStore.isEmpty()) {
+            return;
+        }
+        if (!sharedStore.get().bind(reservation.key, reservation.id, transaction.getId(), reservation.expiresAt)) {
+            throw IdempotencyConflictException.stillInFlight(reservation.key);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reservation.bound = true;
+                }
+            });
+        } else {
+            reservation.bound = true;
+        }
+    }
+
+    /**
+     * Exécute l'opération avec la réservation attachée au thread
+     */
+    <T> T runReserved(Reservation reservation, Supplier<T> operation) {
+        current.set(reservation);
+        try {
+            return operation.get();
+        } finally {
+            current.remove();
+        }
+    }
+
+    /**
+     * Réservation d'une clé dans le stockage partagé.
+     * bound: liaison validée avec la transaction du transfert
+     */
+    static final class Reservation {
+        final String key;
+        final String id;
+        final LocalDateTime expiresAt;
+        volatile boolean bound;
+
+        Reservation(String key, String id, LocalDateTime expiresAt) {
+            this.key = key;
+            this.id = id;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.application.service.IdempotencyBinder.Reservation;
+import com.Account.Management.Project.domain.exception.IdempotencyConflictException;
+import com.Account.Management.Project.domain.exception.LedgerUnavailableException;
+import com.Account.Management.Project.domain.exception.TransferUnavailableException;
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.port.input.IdempotencyUseCase;
+import com.Account.Management.Project.port.input.TransactionUseCase;
+import com.Account.Management.Project.port.output.IdempotencyStorePort;
+import com.Account.Management.Project.port.output.IdempotencyStorePort.StoredKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Déduplique les requêtes d'écriture portant une clé d'idempotence.
+ * Implémente le port d'entrée IdempotencyUseCase.
+ *
+ * Les clés sont conservées en mémoire (ConcurrentHashMap, accès O(1))
+ * avec une durée de vie et un nombre maximal d'entrées: une file d'insertion
+ * permet d'évincer les plus anciennes sans parcourir la table.
+ * Chaque entrée porte un CompletableFuture sur lequel les doublons
+ * concurrents attendent la fin de la première exécution.
+ *
+ * Si un IdempotencyStorePort est disponible (table PostgreSQL), la clé y est
+ * aussi réservée afin de dédupliquer entre plusieurs instances. La réservation
+ * n'est qu'un bail (idempotency.postgres.lease-ms): le transfert lie la clé à
+ * sa transaction dans sa propre transaction PostgreSQL (IdempotencyBinder),
+ * et une réservation jamais liée (arrêt brutal) peut être reprise à l'issue
+ * du bail. Une liaison après reprise échoue et annule le transfert: une clé
+ * n'est jamais liée à deux transferts.
+ *
+ * Une erreur d'issue inconnue (délai dépassé, échec de la base au commit)
+ * ne libère jamais la clé: soit le transfert est validé et la clé lui est
+ * liée, soit le bail expire et un nouvel essai l'exécute. Sans stockage
+ * partagé, la clé reste alors associée à l'erreur jusqu'à son expiration.
+ *
+ * Ce service n'est volontairement pas transactionnel: l'attente d'un doublon
+ * ne doit pas retenir de connexion, et l'opération ouvre sa propre transaction.
+ */
+@Service
+public class IdempotencyService implements IdempotencyUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    // Intervalle d'interrogation du stockage partagé quand une autre instance exécute la requête
+    private static final long SHARED_POLL_MILLIS = 50;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Optional<IdempotencyStorePort> sharedStore;
+    private final IdempotencyBinder binder;
+    private final TransactionUseCase transactionUseCase;
+    private final Duration ttl;
+    private final long ttlNanos;
+    private final Duration lease;
+    private final int maxEntries;
+    private final long waitTimeoutNanos;
+
+    public IdempotencyService(Optional<IdempotencyStorePort> sharedStore,
+                              IdempotencyBinder binder,
+                              TransactionUseCase transactionUseCase,
+                              @Value("${idempotency.ttl-minutes:1440}") long ttlMinutes,
+                              @Value("${idempotency.postgres.lease-ms:30000}") long leaseMs,
+                              @Value("${idempotency.max-entries:100000}") int maxEntries,
+                              @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.sharedStore = sharedStore;
+        this.binder = binder;
+        this.transactionUseCase = transactionUseCase;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.ttlNanos = ttl.toNanos();
+        this.lease = Duration.ofMillis(Math.max(1, leaseMs));
+        this.maxEntries = Math.max(1, maxEntries);
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+    }
+
+    @Override
+    public IdempotentResult execute(String idempotencyKey, String fingerprint,
+                                    Supplier<Transaction> operation) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(idempotencyKey);
+
+        while (true) {
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(idempotencyKey, entry);
+                entry = null;
+            }
+            if (entry != null) {
+                return awaitFirst(entry, fingerprint);
+            }
+
+            Entry created = new Entry(idempotencyKey, fingerprint, now + ttlNanos);
+            entry = entries.putIfAbsent(idempotencyKey, created);
+            if (entry == null) {
+                register(created, now);
+                return executeFirst(created, operation);
+            }
+        }
+    }
+
+    // méthodes utilitaires privées
+
+    /**
+     * Doublon: attend le résultat de la première exécution
+     */
+    private IdempotentResult awaitFirst(Entry entry, String fingerprint) {
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw IdempotencyConflictException.payloadMismatch(entry.key);
+        }
+        try {
+            Transaction transaction = entry.result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            return new IdempotentResult(transaction, true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw IdempotencyConflictException.stillInFlight(entry.key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw IdempotencyConflictException.stillInFlight(entry.key);
+        }
+    }
+
+    /**
+     * Première exécution: le résultat (ou l'erreur) est publié aux doublons en attente.
+     * En cas d'échec la clé est libérée pour permettre au client de réessayer,
+     * sauf si l'issue est inconnue et qu'aucun stockage partagé ne peut la trancher.
+     */
+    private IdempotentResult executeFirst(Entry entry, Supplier<Transaction> operation) {
+        try {
+            IdempotentResult result = sharedStore.isPresent()
+                    ? executeShared(sharedStore.get(), entry, operation)
+                    : new IdempotentResult(operation.get(), false);
+            entry.result.complete(result.transaction());
+            return result;
+        } catch (RuntimeException e) {
+            // Avec stockage partagé, un nouvel essai y relit l'issue (clé liée ou bail expiré)
+            if (sharedStore.isPresent() || !isOutcomeUnknown(e)) {
+                entries.remove(entry.key, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Réserve la clé dans le stockage partagé pour la durée du bail, puis
+     * exécute l'opération, qui y lie sa transaction. Si une autre instance
+     * la détient, attend qu'elle y associe sa transaction puis la relit.
+     */
+    private IdempotentResult executeShared(IdempotencyStorePort store, Entry entry,
+                                           Supplier<Transaction> operation) {
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+
+        while (true) {
+            String reservationId = UUID.randomUUID().toString();
+            if (store.tryReserve(entry.key, entry.fingerprint, reservationId, LocalDateTime.now().plus(lease))) {
+                Reservation reservation = new Reservation(entry.key, reservationId, LocalDateTime.now().plus(ttl));
+                Transaction transaction;
+                try {
+                    transaction = binder.runReserved(reservation, operation);
+                } catch (RuntimeException e) {
+                    // Issue inconnue: la réservation court jusqu'à la fin de son bail
+                    if (!isOutcomeUnknown(e)) {
+                        store.release(entry.key, reservationId);
+                    }
+                    throw e;
+                }
+                if (!reservation.bound) {
+                    bindAfterTransfer(store, reservation, transaction);
+                }
+                return new IdempotentResult(transaction, false);
+            }
+
+            Optional<StoredKey> stored = store.find(entry.key);
+            if (stored.isPresent()) {
+                if (!stored.get().fingerprint().equals(entry.fingerprint)) {
+                    throw IdempotencyConflictException.payloadMismatch(entry.key);
+                }
+                if (stored.get().isCompleted()) {
+                    String transactionId = stored.get().transactionId();
+                    Transaction transaction = transactionUseCase.getTransactionById(transactionId)
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "Transaction " + transactionId + " introuvable pour la clé " + entry.key));
+                    return new IdempotentResult(transaction, true);
+                }
+            }
+            // Clé absente: libérée ou expirée entre-temps, nouvelle tentative de réservation
+
+            if (System.nanoTime() - deadline >= 0) {
+                throw IdempotencyConflictException.stillInFlight(entry.key);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(SHARED_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw IdempotencyConflictException.stillInFlight(entry.key);
+            }
+        }
+    }
+
+    /**
+     * Transfert validé hors transaction PostgreSQL (moteur de soldes en mémoire):
+     * la clé est liée après coup, pendant le bail
+     */
+    private void bindAfterTransfer(IdempotencyStorePort store, Reservation reservation, Transaction transaction) {
+        try {
+            if (!store.bind(reservation.key, reservation.id, transaction.getId(), reservation.expiresAt)) {
+                logger.warn("Clé d'idempotence {} reprise avant sa liaison à la transaction {}",
+                        reservation.key, transaction.getId());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Liaison de la clé d'idempotence {} à la transaction {} impossible: {}",
+                    reservation.key, transaction.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Issue inconnue: le transfert a pu être validé (délai du group commit ou
+     * du moteur dépassé, échec de la base pendant ou après le commit)
+     */
+    private static boolean isOutcomeUnknown(RuntimeException e) {
+        return e instanceof TransferUnavailableException
+                || e instanceof LedgerUnavailableException
+                || e instanceof TransactionException
+                || e instanceof DataAccessException;
+    }
+
+    /**
+     * Enregistre la nouvelle entrée dans la file d'insertion et évince
+     * les plus anciennes si elles sont expirées ou si la capacité est dépassée.
+     * Les entrées étant insérées avec la même durée de vie, la tête de file
+     * est toujours la première à expirer: le coût amorti est O(1).
+     */
+    private void register(Entry entry, long now) {
+        insertionOrder.offer(entry);
+        queued.incrementAndGet();
+
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (queued.get() > maxEntries || head.isExpired(now))) {
+            if (insertionOrder.remove(head)) {
+                queued.decrementAndGet();
+                if (entries.remove(head.key, head) && !head.result.isDone()) {
+                    logger.warn("Clé d'idempotence {} évincée avant la fin de son exécution", head.key);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final String fingerprint;
+        final long expiresAt;
+        final CompletableFuture<Transaction> result = new CompletableFuture<>();
+
+        Entry(String key, String fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt - now < 0;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.application.engine.LedgerEngine;
+import com.Account.Management.Project.application.engine.LedgerEngine.LedgerAccount;
+import com.Account.Management.Project.application.engine.LedgerEngine.LedgerResult;
+import com.Account.Management.Project.domain.exception.AccountNotFoundException;
+import com.Account.Management.Project.domain.exception.BlockedUserException;
+import com.Account.Management.Project.domain.exception.OperationNotSupportedException;
+import com.Account.Management.Project.domain.exception.UserNotFoundException;
+import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.model.LedgerCommand;
+import com.Account.Management.Project.domain.model.User;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.input.AccountUseCase;
+import com.Account.Management.Project.port.output.BlockedUserRegistryPort;
+import com.Account.Management.Project.port.output.UserRepositoryPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Opérations sur les comptes avec le moteur de soldes en mémoire
+ * (engine.in-memory.enabled). Dépôts, retraits et soldes passent par le moteur;
+ * les comptes lus depuis PostgreSQL portent le solde du moteur, la projection
+ * pouvant avoir un léger retard. Le reste est délégué à AccountService.
+ *
+ * Ce service n'est volontairement pas transactionnel, pour les mêmes raisons
+ * que LedgerTransactionService.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "engine.in-memory.enabled", havingValue = "true")
+public class LedgerAccountService implements AccountUseCase {
+
+    private final LedgerEngine engine;
+    private final AccountService accountService;
+    private final UserRepositoryPort userRepository;
+    private final BlockedUserRegistryPort blockedUsers;
+
+    public LedgerAccountService(LedgerEngine engine,
+                                AccountService accountService,
+                                UserRepositoryPort userRepository,
+                                BlockedUserRegistryPort blockedUsers) {
+        this.engine = engine;
+        this.accountService = accountService;
+        this.userRepository = userRepository;
+        this.blockedUsers = blockedUsers;
+    }
+
+    @Override
+    public BankAccount createAccount(UUID userId, String currencyCode, Double initialDeposit) {
+        return accountService.createAccount(userId, currencyCode, initialDeposit);
+    }
+
+    @Override
+    public Optional<BankAccount> getAccountById(UUID accountId) {
+        return accountService.getAccountById(accountId).map(this::withEngineBalance);
+    }
+
+    @Override
+    public Optional<BankAccount> getAccountByNumber(String accountNumber) {
+        return accountService.getAccountByNumber(accountNumber).map(this::withEngineBalance);
+    }
+
+    @Override
+    public List<BankAccount> getAccountsByUserId(UUID userId) {
+        List<BankAccount> accounts = accountService.getAccountsByUserId(userId);
+        accounts.forEach(this::withEngineBalance);
+        return accounts;
+    }
+
+    @Override
+    public Money getBalance(UUID accountId) {
+        return engine.resolveAccount(accountId).getBalance();
+    }
+
+    @Override
+    public BankAccount deposit(UUID accountId, Double amount) {
+        LedgerAccount account = engine.resolveAccount(accountId);
+        checkUserNotBlocked(account.getUserId());
+
+        Money depositAmount = positiveAmount(amount, account);
+        LedgerResult result = engine.await(engine.submit(LedgerCommand.deposit(
+                accountId, depositAmount.getMinorAmount(), account.getCurrency())));
+        return withBalance(accountId, result);
+    }
+
+    @Override
+    public BankAccount withdraw(UUID accountId, Double amount) {
+        LedgerAccount account = engine.resolveAccount(accountId);
+        checkUserNotBlocked(account.getUserId());
+
+        Money withdrawAmount = positiveAmount(amount, account);
+        LedgerResult result = engine.await(engine.submit(LedgerCommand.withdraw(
+                accountId, withdrawAmount.getMinorAmount(), account.getCurrency())));
+        return withBalance(accountId, result);
+    }
+
+    @Override
+    public BankAccount deactivateAccount(UUID accountId) {
+        return withEngineBalance(accountService.deactivateAccount(accountId));
+    }
+
+    @Override
+    public BankAccount activateAccount(UUID accountId) {
+        return withEngineBalance(accountService.activateAccount(accountId));
+    }
+
+    /**
+     * Non supporté: le moteur élimine déjà la contention sur les comptes chauds
+     */
+    @Override
+    public BankAccount configureBalanceShards(UUID accountId, int shardCount) {
+        throw new OperationNotSupportedException(
+                "Le fractionnement des soldes n'est pas disponible avec le moteur de soldes en mémoire");
+    }
+
+    @Override
+    public Money consolidateBalanceShards(UUID accountId) {
+        accountService.consolidateBalanceShards(accountId);
+        return getBalance(accountId);
+    }
+
+    @Override
+    public List<UUID> getShardedAccountIds() {
+        return accountService.getShardedAccountIds();
+    }
+
+    // Méthodes utilitaires privées
+
+    private BankAccount withEngineBalance(BankAccount account) {
+        engine.findAccount(account.getId())
+                .ifPresent(ledgerAccount -> account.setBalance(ledgerAccount.getBalance()));
+        return account;
+    }
+
+    private BankAccount withBalance(UUID accountId, LedgerResult result) {
+        if (!result.success()) {
+            throw result.error();
+        }
+        BankAccount account = accountService.getAccountById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        account.setBalance(Money.ofMinor(result.sourceBalanceMinor(), account.getCurrency()));
+        account.setUpdatedAt(LocalDateTime.now());
+        return account;
+    }
+
+    private static Money positiveAmount(Double amount, LedgerAccount account) {
+        if (amount == null || amount <= 0) {
+            throw new IllegalArgumentException("Le montant doit être strictement positif");
+        }
+        return new Money(amount, account.getCurrency());
+    }
+
+
+    private void checkUserNotBlocked(UUID userId) {
+        // Cas courant résolu en mémoire: la base n'est relue que pour un utilisateur signalé
+        if (!blockedUsers.isRestricted(userId)) {
+            return;
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+
+        if (user.isBlocked()) {
+            throw new BlockedUserException(userId, user.getEmail());
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.application.engine.LedgerEngine;
+import com.Account.Management.Project.application.engine.LedgerEngine.LedgerAccount;
+import com.Account.Management.Project.domain.exception.BlockedUserException;
+import com.Account.Management.Project.domain.exception.FxQuoteNotFoundException;
+import com.Account.Management.Project.domain.exception.InvalidCurrencyException;
+import com.Account.Management.Project.domain.exception.LedgerUnavailableException;
+import com.Account.Management.Project.domain.exception.OperationNotSupportedException;
+import com.Account.Management.Project.domain.exception.UserNotFoundException;
+import com.Account.Management.Project.domain.model.FxQuote;
+import com.Account.Management.Project.domain.model.LedgerCommand;
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.domain.model.User;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.ExchangeRateSnapshot;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.input.TransactionUseCase;
+import com.Account.Management.Project.port.output.CurrencyConversionPort;
+import com.Account.Management.Project.port.output.FxQuoteStorePort;
+import com.Account.Management.Project.port.output.TransferRiskPort;
+import com.Account.Management.Project.port.output.BlockedUserRegistryPort;
+import com.Account.Management.Project.port.output.UserRepositoryPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transferts exécutés par le moteur de soldes en mémoire (engine.in-memory.enabled).
+ * Remplace TransactionService pour les écritures; les lectures lui sont déléguées.
+ *
+ * La validation (comptes, propriétaires bloqués, devises, taux de change) est
+ * faite ici, avant publication: le thread métier n'applique que des commandes
+ * complètes et déterministes. Un transfert est confirmé une fois journalisé et
+ * appliqué en mémoire; PostgreSQL et MongoDB sont mis à jour par la projection.
+ *
+ * Ce service n'est volontairement pas transactionnel: aucune connexion n'est
+ * retenue pendant l'attente du moteur, et le journal remplace la transaction
+ * PostgreSQL comme point de durabilité.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "engine.in-memory.enabled", havingValue = "true")
+public class LedgerTransactionService implements TransactionUseCase {
+
+    private final LedgerEngine engine;
+    private final TransactionService transactionService;
+    private final UserRepositoryPort userRepository;
+    private final BlockedUserRegistryPort blockedUsers;
+    private final CurrencyConversionPort currencyConversion;
+    private final FxQuoteStorePort fxQuoteStore;
+    private final Optional<TransferRiskPort> transferRisk;
+    private final int maxBatchItems;
+
+    public LedgerTransactionService(LedgerEngine engine,
+                                    TransactionService transactionService,
+                                    UserRepositoryPort userRepository,
+                                    BlockedUserRegistryPort blockedUsers,
+                                    CurrencyConversionPort currencyConversion,
+                                    FxQuoteStorePort fxQuoteStore,
+                                    Optional<TransferRiskPort> transferRisk,
+                                    @Value("${transaction.batch.max-items:100000}") int maxBatchItems) {
+        this.engine = engine;
+        this.transactionService = transactionService;
+        this.userRepository = userRepository;
+        this.blockedUsers = blockedUsers;
+        this.currencyConversion = currencyConversion;
+        this.fxQuoteStore = fxQuoteStore;
+        this.transferRisk = transferRisk;
+        this.maxBatchItems = maxBatchItems;
+    }
+
+    @Override
+    public Transaction transferLocal(UUID sourceAccountId, UUID targetAccountId,
+                                     Double amount, String description) {
+        return engine.await(submitTransfer(TransactionType.LOCAL, sourceAccountId, targetAccountId,
+                amount, null, description));
+    }
+
+    @Override
+    public Transaction transferForex(UUID sourceAccountId, UUID targetAccountId,
+                                     Double sourceAmount, String description) {
+        return engine.await(submitTransfer(TransactionType.FOREX, sourceAccountId, targetAccountId,
+                sourceAmount, null, description));
+    }
+
+    /**
+     * Hors transaction PostgreSQL: la cotation est rendue si la commande est rejetée,
+     * mais pas si son issue est inconnue (moteur sans réponse): elle expire alors
+     */
+    @Override
+    public Transaction transferForexWithQuote(UUID sourceAccountId, UUID targetAccountId,
+                                              UUID quoteId, String description) {
+        if (quoteId == null) {
+            throw new IllegalArgumentException("L'identifiant de cotation est obligatoire");
+        }
+        FxQuote quote = fxQuoteStore.take(quoteId, sourceAccountId)
+                .orElseThrow(() -> new FxQuoteNotFoundException(quoteId));
+        try {
+            return engine.await(submitTransfer(TransactionType.FOREX, sourceAccountId, targetAccountId,
+                    quote.sourceAmount().getAmountAsDouble(), quote, description));
+        } catch (LedgerUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            fxQuoteStore.release(quote);
+            throw e;
+        }
+    }
+
+    /**
+     * Non supporté: un transfert PENDING est enregistré dans MongoDB avant son
+     * exécution, ce que le moteur ne sait pas finaliser de façon atomique
+     */
+    @Override
+    public Transaction executePendingTransfer(String transactionId) {
+        throw new OperationNotSupportedException(
+                "Les transferts asynchrones ne sont pas disponibles avec le moteur de soldes en mémoire");
+    }
+
+    /**
+     * Chaque élément est publié séparément puis attendu: le moteur regroupe
+     * déjà les commandes par lot de journalisation.
+     * Refusé au sein d'une transaction PostgreSQL, dont un rollback ne pourrait
+     * pas annuler des commandes déjà journalisées.
+     */
+    @Override
+    public List<BatchItemResult> executeBatch(List<TransferCommand> commands) {
+        if (commands.size() > maxBatchItems) {
+            throw new IllegalArgumentException(String.format(
+                    "Lot trop volumineux: %d éléments (maximum %d)", commands.size(), maxBatchItems));
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(
+                    "Le moteur de soldes en mémoire ne participe pas aux transactions PostgreSQL");
+        }
+
+        List<CompletableFuture<Transaction>> submitted = new ArrayList<>(commands.size());
+        for (TransferCommand command : commands) {
+            try {
+                if (command.type() == null || command.sourceAccountId() == null
+                        || command.targetAccountId() == null || command.amount() == null) {
+                    throw new IllegalArgumentException(
+                            "Type, comptes source/destination et montant sont obligatoires");
+                }
+                submitted.add(submitTransfer(command.type(), command.sourceAccountId(),
+                        command.targetAccountId(), command.amount(), null, command.description()));
+            } catch (RuntimeException e) {
+                submitted.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(commands.size());
+        for (int i = 0; i < submitted.size(); i++) {
+            try {
+                results.add(new BatchItemResult(i, engine.await(submitted.get(i)), null));
+            } catch (RuntimeException e) {
+                results.add(new BatchItemResult(i, null, e));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Optional<Transaction> getTransactionById(String transactionId) {
+        return transactionService.getTransactionById(transactionId);
+    }
+
+    @Override
+    public List<Transaction> getTransactionsByAccountId(UUID accountId) {
+        return transactionService.getTransactionsByAccountId(accountId);
+    }
+
+    @Override
+    public List<Transaction> getTransactionsByAccountIdAndPeriod(
+            UUID accountId, LocalDateTime start, LocalDateTime end) {
+        return transactionService.getTransactionsByAccountIdAndPeriod(accountId, start, end);
+    }
+
+    @Override
+    public List<Transaction> getTransactionsByUserId(UUID userId) {
+        return transactionService.getTransactionsByUserId(userId);
+    }
+
+    @Override
+    public List<Transaction> getRecentTransactions(UUID accountId, int limit) {
+        return transactionService.getRecentTransactions(accountId, limit);
+    }
+
+    // Méthodes utilitaires privées
+
+    /**
+     * Valide le transfert et publie la commande correspondante
+     * @param quote Cotation à appliquer à un transfert FOREX, ou null pour le taux courant
+     * @return La transaction, complétée une fois la commande appliquée
+     */
+    private CompletableFuture<Transaction> submitTransfer(TransactionType type, UUID sourceAccountId,
+                                                          UUID targetAccountId, Double amount,
+                                                          FxQuote quote, String description) {
+        if (amount == null || amount <= 0) {
+            throw new IllegalArgumentException("Le montant doit être strictement positif");
+        }
+        LedgerAccount sourceAccount = engine.resolveAccount(sourceAccountId);
+        LedgerAccount targetAccount = engine.resolveAccount(targetAccountId);
+
+        // Vérifier que les utilisateurs ne sont pas bloqués
+        checkUserNotBlocked(sourceAccount.getUserId());
+        checkUserNotBlocked(targetAccount.getUserId());
+
+        Currency sourceCurrency = sourceAccount.getCurrency();
+        Currency targetCurrency = targetAccount.getCurrency();
+        Money sourceAmount = new Money(amount, sourceCurrency);
+        Money targetAmount = sourceAmount;
+        double exchangeRate = Double.NaN;
+        long rateVersion = 0;
+
+        if (type == TransactionType.LOCAL) {
+            if (!sourceCurrency.equals(targetCurrency)) {
+                throw new InvalidCurrencyException(
+                        "Transfert local impossible entre devises différentes. " +
+                                "Utilisez transferForex pour les conversions de devises.");
+            }
+        } else {
+            if (quote != null) {
+                if (quote.sourceCurrency() != sourceCurrency || quote.targetCurrency() != targetCurrency) {
+                    throw new InvalidCurrencyException(String.format(
+                            "La cotation porte sur %s -> %s, les comptes sont en %s -> %s",
+                            quote.sourceCurrency().getCode(), quote.targetCurrency().getCode(),
+                            sourceCurrency.getCode(), targetCurrency.getCode()));
+                }
+                targetAmount = quote.targetAmount();
+                exchangeRate = quote.exchangeRate();
+                rateVersion = quote.rateVersion();
+            } else {
+                ExchangeRateSnapshot rates = currencyConversion.currentRates();
+                if (!rates.supports(sourceCurrency, targetCurrency)) {
+                    throw new InvalidCurrencyException(sourceCurrency.getCode(), targetCurrency.getCode());
+                }
+                targetAmount = rates.convert(sourceAmount, targetCurrency);
+                exchangeRate = rates.rate(sourceCurrency, targetCurrency);
+                rateVersion = rates.version();
+            }
+            // Taux figé dans la commande: le rejeu du journal produit le même résultat
+        }
+
+        // Règles de vélocité et de fraude; hors transaction, un transfert refusé ensuite reste compté
+        boolean forex = type != TransactionType.LOCAL;
+        transferRisk.ifPresent(risk -> risk.checkAndRecord(new TransferRiskPort.TransferAttempt(
+                sourceAccountId, sourceAccount.getUserId(), targetAccountId, sourceAmount, forex)));
+
+        LedgerCommand command = LedgerCommand.transfer(UUID.randomUUID().toString(),
+                sourceAccountId, targetAccountId,
+                sourceAmount.getMinorAmount(), sourceCurrency,
+                targetAmount.getMinorAmount(), targetCurrency,
+                exchangeRate, rateVersion, description, System.currentTimeMillis());
+
+        return engine.submit(command).thenApply(result -> {
+            if (!result.success()) {
+                throw result.error();
+            }
+            return engine.toTransaction(command);
+        });
+    }
+
+
+    private void checkUserNotBlocked(UUID userId) {
+        // Cas courant résolu en mémoire: la base n'est relue que pour un utilisateur signalé
+        if (!blockedUsers.isRestricted(userId)) {
+            return;
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+
+        if (user.isBlocked()) {
+            throw new BlockedUserException(userId, user.getEmail());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.application.engine.LedgerEngine;
+import com.Account.Management.Project.domain.exception.InvalidCurrencyException;
+import com.Account.Management.Project.domain.exception.UserNotFoundException;
+import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.model.NetWorth;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.ExchangeRateSnapshot;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.input.PortfolioValuationUseCase;
+import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.CurrencyConversionPort;
+import com.Account.Management.Project.port.output.UserRepositoryPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * valorise les comptes des utilisateurs.
+ * Implémente le port d'entrée PortfolioValuationUseCase.
+ *
+ * Les comptes d'un utilisateur sont lus en une requête, puis chaque solde
+ * (sous-soldes compris pour un compte fractionné, solde du moteur en mémoire
+ * s'il connaît le compte) est converti avec un seul instantané de taux.
+ *
+ * La valorisation en masse répartit les utilisateurs sur un ForkJoinPool
+ * dédié de valuation.parallelism threads, chacun lisant les comptes avec sa
+ * propre connexion: le parallélisme doit rester inférieur à la taille du
+ * pool de connexions.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PortfolioValuationService implements PortfolioValuationUseCase {
+
+    private final AccountRepositoryPort accountRepository;
+    private final UserRepositoryPort userRepository;
+    private final CurrencyConversionPort currencyConversion;
+    private final Optional<LedgerEngine> engine;
+    private final int maxBulkUsers;
+    private final ForkJoinPool valuationPool;
+
+    public PortfolioValuationService(AccountRepositoryPort accountRepository,
+                                     UserRepositoryPort userRepository,
+                                     CurrencyConversionPort currencyConversion,
+                                     Optional<LedgerEngine> engine,
+                                     @Value("${valuation.parallelism:8}") int parallelism,
+                                     @Value("${valuation.bulk.max-users:10000}") int maxBulkUsers) {
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.currencyConversion = currencyConversion;
+        this.engine = engine;
+        this.maxBulkUsers = maxBulkUsers;
+        this.valuationPool = new ForkJoinPool(Math.max(1, parallelism), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("net-worth-valuation-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    void stop() {
+        valuationPool.shutdownNow();
+    }
+
+    @Override
+    public NetWorth getNetWorth(UUID userId, Currency currency) {
+        List<BankAccount> accounts = accountRepository.findByUserId(userId);
+        // Sans compte, ne vérifier l'utilisateur que dans ce cas
+        if (accounts.isEmpty() && !userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        return value(userId, accounts, currency, currencyConversion.currentRates());
+    }
+
+    /**
+     * Hors transaction: chaque thread du pool lit avec sa propre connexion
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<NetWorth> getNetWorths(Collection<UUID> userIds, Currency currency) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("La liste des utilisateurs ne peut pas être vide");
+        }
+        List<UUID> distinctIds = userIds.stream().distinct().toList();
+        if (distinctIds.size() > maxBulkUsers) {
+            throw new IllegalArgumentException(
+                    "Trop d'utilisateurs à valoriser: " + distinctIds.size() + " (maximum " + maxBulkUsers + ")");
+        }
+        ExchangeRateSnapshot rates = currencyConversion.currentRates();
+        try {
+            return valuationPool.submit(() -> distinctIds.parallelStream()
+                    .map(userId -> value(userId, accountRepository.findByUserId(userId), currency, rates))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Valorisation interrompue", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Valorisation impossible", e.getCause());
+        }
+    }
+
+    // méthodes utilitaires privées
+
+    /**
+     * Soldes convertis en lot (arrondi identique à une conversion par compte)
+     * puis sommés en unités mineures
+     */
+    private NetWorth value(UUID userId, List<BankAccount> accounts, Currency currency,
+                           ExchangeRateSnapshot rates) {
+        int count = accounts.size();
+        long[] minorAmounts = new long[count];
+        Currency[] currencies = new Currency[count];
+        for (int i = 0; i < count; i++) {
+            BankAccount account = accounts.get(i);
+            if (!rates.supports(account.getCurrency(), currency)) {
+                throw new InvalidCurrencyException(account.getCurrency().getCode(), currency.getCode());
+            }
+            minorAmounts[i] = balanceOf(account).getMinorAmount();
+            currencies[i] = account.getCurrency();
+        }
+        rates.convertAll(minorAmounts, currencies, currency, minorAmounts);
+        long total = 0;
+        for (long converted : minorAmounts) {
+            total = Math.addExact(total, converted);
+        }
+        return new NetWorth(userId, Money.ofMinor(total, currency), count, rates.version());
+    }
+
+    /**
+     * Solde du moteur s'il a pris le compte en charge, sinon solde en base
+     * et sous-soldes lus en une requête (même calcul que LedgerEngine.resolveAccount)
+     */
+    private Money balanceOf(BankAccount account) {
+        Optional<Money> engineBalance = engine
+                .flatMap(e -> e.findAccount(account.getId()))
+                .map(LedgerEngine.LedgerAccount::getBalance);
+        if (engineBalance.isPresent()) {
+            return engineBalance.get();
+        }
+        if (!account.isSharded()) {
+            return account.getBalance();
+        }
+        return accountRepository.findTotalBalance(account.getId()).orElse(account.getBalance());
+    }
+}
@@ -0,0 +1,199 @@
+package com.Account.Management.Project.application.service;
+
+import com.Account.Management.Project.domain.exception.AccountNotFoundException;
+import com.Account.Management.Project.domain.exception.InvalidCurrencyException;
+import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.model.StandingOrder;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.infrastructure.annotation.RetryOnConflict;
+import com.Account.Management.Project.port.input.StandingOrderUseCase;
+import com.Account.Management.Project.port.input.TransactionUseCase;
+import com.Account.Management.Project.port.input.TransactionUseCase.BatchItemResult;
+import com.Account.Management.Project.port.input.TransactionUseCase.TransferCommand;
+import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.CurrencyConversionPort;
+import com.Account.Management.Project.port.output.StandingOrderRepositoryPort;
+import com.Account.Management.Project.port.output.StandingOrderRepositoryPort.ScheduledOrder;
+import com.Account.Management.Project.port.output.StandingOrderTimerPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service gérant les ordres permanents.
+ * Implémente le port d'entrée StandingOrderUseCase.
+ *
+ * Les échéances de l'horizon à venir sont chargées dans une minuterie en
+ * mémoire (roue temporelle): la table n'est parcourue que sur l'index des
+ * échéances, jamais intégralement. Les ordres arrivés à terme sont exécutés
+ * par lots via TransactionUseCase.executeBatch; le transfert, son inscription
+ * dans l'outbox et l'avancement de l'échéance sont validés dans la même
+ * transaction PostgreSQL, si bien qu'une échéance n'est jamais exécutée deux
+ * fois, même après un redémarrage.
+ */
+@Service
+@Transactional
+public class StandingOrderService implements StandingOrderUseCase {
+
+    private final StandingOrderRepositoryPort standingOrderRepository;
+    private final StandingOrderTimerPort timer;
+    private final AccountRepositoryPort accountRepository;
+    private final CurrencyConversionPort currencyConversion;
+    private final TransactionUseCase transactionUseCase;
+    private final int loadPageSize;
+
+    public StandingOrderService(StandingOrderRepositoryPort standingOrderRepository,
+                                StandingOrderTimerPort timer,
+                                AccountRepositoryPort accountRepository,
+                                CurrencyConversionPort currencyConversion,
+                                TransactionUseCase transactionUseCase,
+                                @Value("${standing-orders.load-page-size:1000}") int loadPageSize) {
+        this.standingOrderRepository = standingOrderRepository;
+        this.timer = timer;
+        this.accountRepository = accountRepository;
+        this.currencyConversion = currencyConversion;
+        this.transactionUseCase = transactionUseCase;
+        this.loadPageSize = Math.max(1, loadPageSize);
+    }
+
+    @Override
+    public StandingOrder createStandingOrder(CreateStandingOrderCommand command) {
+        if (command.sourceAccountId() == null || command.targetAccountId() == null
+                || command.amount() == null || command.frequency() == null) {
+            throw new IllegalArgumentException(
+                    "Comptes source/destination, montant et périodicité sont obligatoires");
+        }
+        if (command.sourceAccountId().equals(command.targetAccountId())) {
+            throw new IllegalArgumentException("Les comptes source et destination doivent être différents");
+        }
+
+        BankAccount sourceAccount = getAccountOrThrow(command.sourceAccountId());
+        BankAccount targetAccount = getAccountOrThrow(command.targetAccountId());
+        TransactionType type = command.type() != null ? command.type() : TransactionType.LOCAL;
+        if (type == TransactionType.LOCAL) {
+            if (!sourceAccount.getCurrency().equals(targetAccount.getCurrency())) {
+                throw new InvalidCurrencyException(
+                        "Ordre local impossible entre devises différentes. " +
+                                "Utilisez le type FOREX pour les conversions de devises.");
+            }
+        } else if (!currencyConversion.isConversionSupported(
+                sourceAccount.getCurrency(), targetAccount.getCurrency())) {
+            throw new InvalidCurrencyException(
+                    sourceAccount.getCurrency().getCode(), targetAccount.getCurrency().getCode());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (command.firstExecutionAt() != null && command.firstExecutionAt().isBefore(now)) {
+            throw new IllegalArgumentException("La première exécution ne peut pas être dans le passé");
+        }
+        LocalDateTime firstExecutionAt = command.firstExecutionAt() != null
+                ? command.firstExecutionAt()
+                : now;
+        StandingOrder order = StandingOrder.create(
+                command.sourceAccountId(), command.targetAccountId(), type,
+                new Money(command.amount(), sourceAccount.getCurrency()).getAmount(), command.description(),
+                command.frequency(), firstExecutionAt, command.endAt());
+
+        standingOrderRepository.insert(order);
+        // Une échéance manquée ici (commit tardif) est rattrapée au prochain chargement
+        timer.schedule(order.getId(), order.getNextExecutionAt());
+        return order;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StandingOrder> getStandingOrder(UUID orderId) {
+        return standingOrderRepository.findById(orderId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StandingOrder> getStandingOrdersByAccountId(UUID accountId) {
+        return standingOrderRepository.findByAccountId(accountId);
+    }
+
+    @Override
+    public Optional<StandingOrder> cancelStandingOrder(UUID orderId) {
+        // Verrouillé: ni exécution ni annulation concurrente avant le commit
+        Optional<StandingOrder> found = standingOrderRepository.lockById(orderId);
+        found.ifPresent(order -> {
+            order.cancel();
+            standingOrderRepository.deactivate(orderId);
+        });
+        return found;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int scheduleUpcoming() {
+        // Horizon repoussé avant la lecture: un ordre créé pendant le chargement
+        // est programmé par sa création ou par la lecture, jamais perdu
+        LocalDateTime until = timer.extendHorizon(LocalDateTime.now());
+
+        int loaded = 0;
+        ScheduledOrder after = null;
+        List<ScheduledOrder> page;
+        do {
+            page = standingOrderRepository.findUpcoming(until, after, loadPageSize);
+            for (ScheduledOrder scheduled : page) {
+                timer.schedule(scheduled.id(), scheduled.nextExecutionAt());
+            }
+            loaded += page.size();
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == loadPageSize);
+        return loaded;
+    }
+
+    @Override
+    @RetryOnConflict
+    public int executeDueOrders(Collection<UUID> orderIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StandingOrder> due = standingOrderRepository.lockDue(orderIds, now);
+        due.removeIf(order -> !order.isDue(now));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<TransferCommand> commands = new ArrayList<>(due.size());
+        for (StandingOrder order : due) {
+            commands.add(new TransferCommand(order.getType(), order.getSourceAccountId(),
+                    order.getTargetAccountId(), order.getAmount().doubleValue(), order.getDescription()));
+        }
+
+        // Même transaction: un échec global annule aussi l'avancement des échéances
+        List<BatchItemResult> results = transactionUseCase.executeBatch(commands);
+        for (BatchItemResult result : results) {
+            StandingOrder order = due.get(result.index());
+            if (result.isSuccess()) {
+                order.recordExecution(result.transaction().getId(), null, now);
+            } else {
+                order.recordExecution(null, result.error().getMessage(), now);
+            }
+        }
+        standingOrderRepository.updateExecutionState(due);
+
+        for (StandingOrder order : due) {
+            if (order.getNextExecutionAt() != null) {
+                timer.schedule(order.getId(), order.getNextExecutionAt());
+            }
+        }
+        return due.size();
+    }
+
+    // méthodes utilitaires privées
+
+    private BankAccount getAccountOrThrow(UUID accountId) {
+        return accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+}
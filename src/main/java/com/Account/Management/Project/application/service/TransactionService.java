@@ -2,19 +2,29 @@ package com.Account.Management.Project.application.service;
 
 
 import com.Account.Management.Project.domain.exception.*;
+import com.Account.Management.Project.domain.model.AccountOwnerView;
+import com.Account.Management.Project.domain.model.BalanceMutation;
 import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.model.FxQuote;
+import com.Account.Management.Project.domain.model.NetPositions;
 import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionStatus;
+import com.Account.Management.Project.domain.model.TransactionType;
 import com.Account.Management.Project.domain.model.User;
 import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.ExchangeRateSnapshot;
 import com.Account.Management.Project.domain.valueObject.Money;
 import com.Account.Management.Project.infrastructure.annotation.LogTransaction;
+import com.Account.Management.Project.infrastructure.annotation.RetryOnConflict;
 import com.Account.Management.Project.port.input.TransactionUseCase;
 import com.Account.Management.Project.port.output.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * gerr les transactions bancaires.
@@ -27,19 +37,44 @@ import java.util.*;
 @Transactional
 public class TransactionService implements TransactionUseCase {
 
+    private static final String LOCAL_CURRENCY_MISMATCH =
+            "Transfert local impossible entre devises différentes. " +
+                    "Utilisez transferForex pour les conversions de devises.";
+
     private final TransactionRepositoryPort transactionRepository;
     private final AccountRepositoryPort accountRepository;
     private final UserRepositoryPort userRepository;
     private final CurrencyConversionPort currencyConversion;
+    private final AccountLockPort accountLock;
+    private final AccountBalanceUpdater balanceUpdater;
+    private final TransactionOutboxPort transactionOutbox;
+    private final FxQuoteStorePort fxQuoteStore;
+    private final Optional<TransferRiskPort> transferRisk;
+    private final IdempotencyBinder idempotencyBinder;
+    private final int maxBatchItems;
 
     public TransactionService(TransactionRepositoryPort transactionRepository,
                               AccountRepositoryPort accountRepository,
                               UserRepositoryPort userRepository,
-                              CurrencyConversionPort currencyConversion) {
+                              CurrencyConversionPort currencyConversion,
+                              AccountLockPort accountLock,
+                              AccountBalanceUpdater balanceUpdater,
+                              TransactionOutboxPort transactionOutbox,
+                              FxQuoteStorePort fxQuoteStore,
+                              Optional<TransferRiskPort> transferRisk,
+                              IdempotencyBinder idempotencyBinder,
+                              @Value("${transaction.batch.max-items:100000}") int maxBatchItems) {
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
         this.userRepository = userRepository;
         this.currencyConversion = currencyConversion;
+        this.accountLock = accountLock;
+        this.balanceUpdater = balanceUpdater;
+        this.transactionOutbox = transactionOutbox;
+        this.fxQuoteStore = fxQuoteStore;
+        this.transferRisk = transferRisk;
+        this.idempotencyBinder = idempotencyBinder;
+        this.maxBatchItems = maxBatchItems;
     }
 
     /**
@@ -49,40 +84,17 @@ public class TransactionService implements TransactionUseCase {
      */
     @Override
     @LogTransaction // Annotation AOP pour logging automatique
+    @RetryOnConflict
     public Transaction transferLocal(UUID sourceAccountId, UUID targetAccountId,
                                      Double amount, String description) {
-        // Récupérer les comptes
-        BankAccount sourceAccount = getAccountOrThrow(sourceAccountId);
-        BankAccount targetAccount = getAccountOrThrow(targetAccountId);
-
-        // Vérifier que les utilisateurs ne sont pas bloqués
-        checkUserNotBlocked(sourceAccount.getUserId());
-        checkUserNotBlocked(targetAccount.getUserId());
-
-        // Vérifier que les devises sont identiques pour un transfert local
-        if (!sourceAccount.getCurrency().equals(targetAccount.getCurrency())) {
-            throw new InvalidCurrencyException(
-                    "Transfert local impossible entre devises différentes. " +
-                            "Utilisez transferForex pour les conversions de devises.");
-        }
-
-        // Créer le montant
-        Money transferAmount = new Money(amount, sourceAccount.getCurrency());
-
-        // Effectuer le transfert
-        sourceAccount.debit(transferAmount);
-        targetAccount.credit(transferAmount);
-
-        // Sauvegarder les comptes
-        accountRepository.save(sourceAccount);
-        accountRepository.save(targetAccount);
-
-        // Créer et sauvegarder la transaction
-        Transaction transaction = Transaction.createLocalTransaction(
-                sourceAccountId, targetAccountId, transferAmount, description);
-        transaction.complete();
-
-        return transactionRepository.save(transaction);
+        Transaction transaction = performLocalTransfer(
+                sourceAccountId, targetAccountId, amount, description);
+
+        // Écrite dans l'outbox avec les soldes, relayée ensuite vers MongoDB
+        transactionOutbox.append(List.of(transaction));
+        // Clé d'idempotence de la requête liée dans la même transaction
+        idempotencyBinder.bind(transaction);
+        return transaction;
     }
 
     /**
@@ -91,58 +103,157 @@ public class TransactionService implements TransactionUseCase {
      */
     @Override
     @LogTransaction // Annotation AOP pour logging automatique
+    @RetryOnConflict
     public Transaction transferForex(UUID sourceAccountId, UUID targetAccountId,
                                      Double sourceAmount, String description) {
-        // Récupérer les comptes
-        BankAccount sourceAccount = getAccountOrThrow(sourceAccountId);
-        BankAccount targetAccount = getAccountOrThrow(targetAccountId);
-
-        // Vérifier que les utilisateurs ne sont pas bloqués
-        checkUserNotBlocked(sourceAccount.getUserId());
-        checkUserNotBlocked(targetAccount.getUserId());
-
-        Currency sourceCurrency = sourceAccount.getCurrency();
-        Currency targetCurrency = targetAccount.getCurrency();
+        Transaction transaction = performForexTransfer(
+                sourceAccountId, targetAccountId, sourceAmount, null, description);
+
+        // Écrite dans l'outbox avec les soldes, relayée ensuite vers MongoDB
+        transactionOutbox.append(List.of(transaction));
+        // Clé d'idempotence de la requête liée dans la même transaction
+        idempotencyBinder.bind(transaction);
+        return transaction;
+    }
 
-        // Vérifier que la conversion est supportée
-        if (!currencyConversion.isConversionSupported(sourceCurrency, targetCurrency)) {
-            throw new InvalidCurrencyException(
-                    sourceCurrency.getCode(), targetCurrency.getCode());
+    /**
+     * Effectue un transfert Forex aux montants garantis par une cotation,
+     * sans nouvelle conversion.
+     */
+    @Override
+    @LogTransaction
+    @RetryOnConflict
+    public Transaction transferForexWithQuote(UUID sourceAccountId, UUID targetAccountId,
+                                              UUID quoteId, String description) {
+        if (quoteId == null) {
+            throw new IllegalArgumentException("L'identifiant de cotation est obligatoire");
         }
+        // Consommée avec la transaction: rendue si celle-ci est annulée
+        FxQuote quote = fxQuoteStore.take(quoteId, sourceAccountId)
+                .orElseThrow(() -> new FxQuoteNotFoundException(quoteId));
+        Transaction transaction = performForexTransfer(sourceAccountId, targetAccountId,
+                quote.sourceAmount().getAmountAsDouble(), quote, description);
+
+        transactionOutbox.append(List.of(transaction));
+        idempotencyBinder.bind(transaction);
+        return transaction;
+    }
 
-        // Créer le montant source
-        Money sourceMoneyAmount = new Money(sourceAmount, sourceCurrency);
+    /**
+     * Exécute un transfert asynchrone réservé par un travailleur (état PROCESSING):
+     * une transaction réservée ne peut plus être annulée.
+     * Comme pour un transfert synchrone, la transaction complétée est écrite
+     * dans l'outbox avec les soldes, puis le relais remplace le document
+     * MongoDB: aucune écriture MongoDB n'a lieu dans la transaction PostgreSQL.
+     */
+    @Override
+    @LogTransaction
+    @RetryOnConflict
+    public Transaction executePendingTransfer(String transactionId) {
+        // Déjà exécutée (reprise après un arrêt) mais pas encore relayée.
+        // Lue avant MongoDB: le relais publie dans MongoDB avant de supprimer la ligne
+        Optional<Transaction> executed = transactionOutbox.findById(transactionId);
+        if (executed.isPresent()) {
+            return executed.get();
+        }
+        Transaction pending = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Transaction introuvable: " + transactionId));
+        if (pending.getStatus() != TransactionStatus.PROCESSING) {
+            return pending;
+        }
 
-        // Convertir le montant vers la devise cible
-        Money targetMoneyAmount = currencyConversion.convert(
-                sourceMoneyAmount, targetCurrency);
+        UUID sourceAccountId = pending.getSourceAccountId();
+        UUID targetAccountId = pending.getTargetAccountId();
+        Double amount = pending.getSourceAmount().getAmountAsDouble();
+        Transaction transaction = pending.isForex()
+                ? performForexTransfer(sourceAccountId, targetAccountId, amount, null, pending.getDescription())
+                : performLocalTransfer(sourceAccountId, targetAccountId, amount, pending.getDescription());
+        transaction.setId(pending.getId());
+        transaction.setCreatedAt(pending.getCreatedAt());
+
+        transactionOutbox.append(List.of(transaction));
+        return transaction;
+    }
 
-        // Récupérer le taux de change pour l'historique
-        Double exchangeRate = currencyConversion.getExchangeRate(
-                sourceCurrency, targetCurrency);
+    /**
+     * Exécute un lot de transferts en une seule transaction.
+     *
+     * Tous les comptes du lot sont verrouillés puis chargés en une requête,
+     * les transferts sont simulés dans l'ordre sur les comptes en mémoire
+     * (mêmes règles que BankAccount.debit/credit), puis les variations retenues
+     * sont envoyées par lots JDBC et les transactions insérées en une fois.
+     */
+    @Override
+    @RetryOnConflict
+    public List<BatchItemResult> executeBatch(List<TransferCommand> commands) {
+        if (commands.size() > maxBatchItems) {
+            throw new IllegalArgumentException(String.format(
+                    "Lot trop volumineux: %d éléments (maximum %d)", commands.size(), maxBatchItems));
+        }
 
-        // Effectuer le transfert
-        sourceAccount.debit(sourceMoneyAmount);
-        targetAccount.credit(targetMoneyAmount);
+        // Verrouiller tous les comptes impliqués (ordre canonique)
+        Set<UUID> accountIds = new HashSet<>();
+        for (TransferCommand command : commands) {
+            if (command.sourceAccountId() != null) accountIds.add(command.sourceAccountId());
+            if (command.targetAccountId() != null) accountIds.add(command.targetAccountId());
+        }
+        accountLock.lockUntilTransactionEnd(accountIds);
+
+        // Charger les comptes puis leurs propriétaires, chacun en une requête.
+        // Propriétaires verrouillés en partage: un blocage concurrent attend le commit
+        // du lot, et un blocage déjà validé est vu et refuse l'élément concerné
+        Map<UUID, BankAccount> accounts = new HashMap<>();
+        accountRepository.findAllById(accountIds)
+                .forEach(account -> accounts.put(account.getId(), account));
+        Set<UUID> userIds = new HashSet<>();
+        accounts.values().forEach(account -> userIds.add(account.getUserId()));
+        Map<UUID, User> owners = new HashMap<>();
+        userRepository.findAllByIdForShare(userIds)
+                .forEach(user -> owners.put(user.getId(), user));
+
+        // Comptes fractionnés: rapatrier les sous-soldes pour simuler sur le solde complet
+        for (BankAccount account : accounts.values()) {
+            if (account.isSharded()) {
+                accountRepository.consolidateShards(account.getId(), account.getCurrency())
+                        .ifPresent(account::setBalance);
+            }
+        }
 
-        // Sauvegarder les comptes
-        accountRepository.save(sourceAccount);
-        accountRepository.save(targetAccount);
+        // Tout le lot est converti avec le même instantané de taux
+        ExchangeRateSnapshot rates = currencyConversion.currentRates();
+
+        List<BatchItemResult> results = new ArrayList<>(commands.size());
+        NetPositions positions = new NetPositions();
+        List<Transaction> transactions = new ArrayList<>(commands.size());
+
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                Transaction transaction = prepareBatchTransfer(commands.get(i), accounts, owners, rates);
+                positions.debit(transaction.getSourceAccountId(), transaction.getSourceAmount());
+                positions.credit(transaction.getTargetAccountId(), transaction.getTargetAmount());
+                transactions.add(transaction);
+                results.add(new BatchItemResult(i, transaction, null));
+            } catch (RuntimeException e) {
+                results.add(new BatchItemResult(i, null, e));
+            }
+        }
 
-        // Créer et sauvegarder la transaction Forex
-        Transaction transaction = Transaction.createForexTransaction(
-                sourceAccountId, targetAccountId,
-                sourceMoneyAmount, targetMoneyAmount,
-                exchangeRate, description);
-        transaction.complete();
+        // Persister: une variation nette par compte et toutes les transactions,
+        // par lots JDBC, dans la même transaction
+        List<BalanceMutation> mutations = positions.toMutations();
+        accountRepository.applyBalanceMutations(mutations);
+        transactionOutbox.append(transactions);
 
-        return transactionRepository.save(transaction);
+        return results;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Transaction> getTransactionById(String transactionId) {
-        return transactionRepository.findById(transactionId);
+        // Une transaction récente peut ne pas encore être relayée vers MongoDB
+        return transactionRepository.findById(transactionId)
+                .or(() -> transactionOutbox.findById(transactionId));
     }
 
     @Override
@@ -186,15 +297,212 @@ public class TransactionService implements TransactionUseCase {
 
     // Méthodes utilitaires privées
 
-    private BankAccount getAccountOrThrow(UUID accountId) {
-        return accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    /**
+     * Valide et applique un transfert local. Les deux comptes sont verrouillés
+     * (ordre canonique) jusqu'au commit, puis débités et crédités par des
+     * requêtes conditionnelles, sans lecture préalable.
+     * @return La transaction complétée, non encore sauvegardée
+     */
+    private Transaction performLocalTransfer(UUID sourceAccountId, UUID targetAccountId,
+                                             Double amount, String description) {
+        balanceUpdater.rejectIfKnownInsufficient(sourceAccountId, amount);
+        accountLock.lockUntilTransactionEnd(List.of(sourceAccountId, targetAccountId));
+
+        // Règles de vélocité et de fraude, avant tout mouvement
+        checkTransferRiskBeforeDebit(sourceAccountId, targetAccountId, amount, null, false);
+
+        // Débit: existence, propriétaire et solde vérifiés par la requête
+        BankAccount sourceAccount = balanceUpdater.debitOrThrow(
+                sourceAccountId, Money.roundAmount(amount), null, null);
+        Money transferAmount = new Money(amount, sourceAccount.getCurrency());
+
+        // Crédit dans la devise du compte source, seule admise pour un transfert local
+        balanceUpdater.creditOrThrow(targetAccountId, transferAmount.getAmount(), transferAmount.getCurrency(),
+                () -> new InvalidCurrencyException(LOCAL_CURRENCY_MISMATCH));
+
+        Transaction transaction = Transaction.createLocalTransaction(
+                sourceAccountId, targetAccountId, transferAmount, description);
+        transaction.complete();
+        return transaction;
+    }
+
+    /**
+     * Valide et applique un transfert Forex, comme un transfert local.
+     * Au taux courant, le compte destinataire est lu après le débit pour
+     * connaître sa devise.
+     * @param quote Cotation à appliquer, ou null pour convertir au taux courant
+     * @return La transaction complétée, non encore sauvegardée
+     */
+    private Transaction performForexTransfer(UUID sourceAccountId, UUID targetAccountId,
+                                             Double sourceAmount, FxQuote quote, String description) {
+        balanceUpdater.rejectIfKnownInsufficient(sourceAccountId, sourceAmount);
+        accountLock.lockUntilTransactionEnd(List.of(sourceAccountId, targetAccountId));
+
+        // Règles de vélocité et de fraude, avant tout mouvement
+        checkTransferRiskBeforeDebit(sourceAccountId, targetAccountId, sourceAmount,
+                quote != null ? quote.sourceAmount() : null, true);
+
+        BankAccount sourceAccount;
+        Money sourceMoneyAmount;
+        Money targetMoneyAmount;
+        double exchangeRate;
+        long rateVersion;
+        if (quote != null) {
+            // Montants et taux garantis par la cotation, pour les devises cotées
+            Supplier<InvalidCurrencyException> quoteMismatch = () -> new InvalidCurrencyException(String.format(
+                    "La cotation porte sur %s -> %s, devises différentes de celles des comptes",
+                    quote.sourceCurrency().getCode(), quote.targetCurrency().getCode()));
+            sourceMoneyAmount = quote.sourceAmount();
+            targetMoneyAmount = quote.targetAmount();
+            exchangeRate = quote.exchangeRate();
+            rateVersion = quote.rateVersion();
+
+            sourceAccount = balanceUpdater.debitOrThrow(sourceAccountId,
+                    sourceMoneyAmount.getAmount(), sourceMoneyAmount.getCurrency(), quoteMismatch);
+            balanceUpdater.creditOrThrow(targetAccountId,
+                    targetMoneyAmount.getAmount(), targetMoneyAmount.getCurrency(), quoteMismatch);
+        } else {
+            sourceAccount = balanceUpdater.debitOrThrow(
+                    sourceAccountId, Money.roundAmount(sourceAmount), null, null);
+            Currency sourceCurrency = sourceAccount.getCurrency();
+
+            // Devise et propriétaire du compte destinataire
+            AccountOwnerView targetAccount = balanceUpdater.findViewOrThrow(targetAccountId);
+            balanceUpdater.checkOwnerNotBlocked(targetAccount);
+            Currency targetCurrency = targetAccount.currency();
+
+            // Un seul instantané de taux pour le contrôle, la conversion et l'historique
+            ExchangeRateSnapshot rates = currencyConversion.currentRates();
+
+            // Vérifier que la conversion est supportée
+            checkConversionSupported(rates, sourceCurrency, targetCurrency);
+
+            // Convertir le montant vers la devise cible
+            sourceMoneyAmount = new Money(sourceAmount, sourceCurrency);
+            targetMoneyAmount = rates.convert(sourceMoneyAmount, targetCurrency);
+
+            // Récupérer le taux de change pour l'historique
+            exchangeRate = rates.rate(sourceCurrency, targetCurrency);
+            rateVersion = rates.version();
+
+            balanceUpdater.creditOrThrow(targetAccountId, targetMoneyAmount.getAmount(), targetCurrency,
+                    () -> new InvalidCurrencyException(sourceCurrency.getCode(), targetCurrency.getCode()));
+        }
+
+        Transaction transaction = Transaction.createForexTransaction(
+                sourceAccountId, targetAccountId,
+                sourceMoneyAmount, targetMoneyAmount,
+                exchangeRate, rateVersion, description);
+        transaction.complete();
+        return transaction;
+    }
+
+    /**
+     * Valide un élément de lot et l'applique aux comptes en mémoire.
+     * En cas d'erreur, les comptes en mémoire ne sont pas modifiés.
+     */
+    private Transaction prepareBatchTransfer(TransferCommand command,
+                                             Map<UUID, BankAccount> accounts,
+                                             Map<UUID, User> owners,
+                                             ExchangeRateSnapshot rates) {
+        if (command.type() == null || command.sourceAccountId() == null
+                || command.targetAccountId() == null || command.amount() == null) {
+            throw new IllegalArgumentException(
+                    "Type, comptes source/destination et montant sont obligatoires");
+        }
+
+        BankAccount sourceAccount = accounts.get(command.sourceAccountId());
+        if (sourceAccount == null) {
+            throw new AccountNotFoundException(command.sourceAccountId());
+        }
+        BankAccount targetAccount = accounts.get(command.targetAccountId());
+        if (targetAccount == null) {
+            throw new AccountNotFoundException(command.targetAccountId());
+        }
+
+        checkUserNotBlocked(owners, sourceAccount.getUserId());
+        checkUserNotBlocked(owners, targetAccount.getUserId());
+
+        Money sourceAmount = new Money(command.amount(), sourceAccount.getCurrency());
+        Transaction transaction;
+
+        if (command.type() == TransactionType.LOCAL) {
+            checkSameCurrency(sourceAccount.getCurrency(), targetAccount.getCurrency());
+            // Seuls les transferts réalisables sont soumis aux règles (et comptés)
+            if (sourceAccount.hasSufficientFunds(sourceAmount)) {
+                checkTransferRisk(sourceAccount.getId(), sourceAccount.getUserId(), targetAccount.getId(),
+                        sourceAmount, false);
+            }
+            sourceAccount.debit(sourceAmount);
+            targetAccount.credit(sourceAmount);
+            transaction = Transaction.createLocalTransaction(
+                    command.sourceAccountId(), command.targetAccountId(),
+                    sourceAmount, command.description());
+        } else {
+            Currency targetCurrency = targetAccount.getCurrency();
+            checkConversionSupported(rates, sourceAccount.getCurrency(), targetCurrency);
+            Money targetAmount = rates.convert(sourceAmount, targetCurrency);
+            Double exchangeRate = rates.rate(sourceAccount.getCurrency(), targetCurrency);
+            if (sourceAccount.hasSufficientFunds(sourceAmount)) {
+                checkTransferRisk(sourceAccount.getId(), sourceAccount.getUserId(), targetAccount.getId(),
+                        sourceAmount, true);
+            }
+            sourceAccount.debit(sourceAmount);
+            targetAccount.credit(targetAmount);
+            transaction = Transaction.createForexTransaction(
+                    command.sourceAccountId(), command.targetAccountId(),
+                    sourceAmount, targetAmount, exchangeRate, rates.version(), command.description());
+        }
+
+        transaction.complete();
+        return transaction;
+    }
+
+    /**
+     * Évalue les règles d'un transfert unitaire avant sa première écriture:
+     * un refus ne débite ni ne crédite rien. Le compte source (propriétaire
+     * et devise) n'est lu que si les règles sont actives.
+     * @param quotedAmount Montant coté, ou null pour amount dans la devise du compte source
+     */
+    private void checkTransferRiskBeforeDebit(UUID sourceAccountId, UUID targetAccountId,
+                                              Double amount, Money quotedAmount, boolean forex) {
+        if (transferRisk.isEmpty()) {
+            return;
+        }
+        AccountOwnerView source = balanceUpdater.findViewOrThrow(sourceAccountId);
+        Money sourceAmount = quotedAmount != null ? quotedAmount : new Money(amount, source.currency());
+        checkTransferRisk(sourceAccountId, source.userId(), targetAccountId, sourceAmount, forex);
+    }
+
+    /**
+     * Évalue les règles de vélocité et de fraude; le transfert est retiré
+     * des compteurs si la transaction est annulée
+     */
+    private void checkTransferRisk(UUID sourceAccountId, UUID sourceUserId, UUID targetAccountId,
+                                   Money sourceAmount, boolean forex) {
+        transferRisk.ifPresent(risk -> risk.checkAndRecord(new TransferRiskPort.TransferAttempt(
+                sourceAccountId, sourceUserId, targetAccountId, sourceAmount, forex)));
     }
 
-    private void checkUserNotBlocked(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+    private void checkSameCurrency(Currency sourceCurrency, Currency targetCurrency) {
+        if (!sourceCurrency.equals(targetCurrency)) {
+            throw new InvalidCurrencyException(LOCAL_CURRENCY_MISMATCH);
+        }
+    }
 
+    private void checkConversionSupported(ExchangeRateSnapshot rates,
+                                          Currency sourceCurrency, Currency targetCurrency) {
+        if (!rates.supports(sourceCurrency, targetCurrency)) {
+            throw new InvalidCurrencyException(
+                    sourceCurrency.getCode(), targetCurrency.getCode());
+        }
+    }
+
+    private void checkUserNotBlocked(Map<UUID, User> owners, UUID userId) {
+        User user = owners.get(userId);
+        if (user == null) {
+            throw new UserNotFoundException(userId);
+        }
         if (user.isBlocked()) {
             throw new BlockedUserException(userId, user.getEmail());
         }
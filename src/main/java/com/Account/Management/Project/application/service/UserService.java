@@ -7,6 +7,7 @@ import com.Account.Management.Project.domain.model.User;
 import com.Account.Management.Project.domain.valueObject.Currency;
 import com.Account.Management.Project.port.input.UserUseCase;
 import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.BlockedUserRegistryPort;
 import com.Account.Management.Project.port.output.UserRepositoryPort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,12 +28,15 @@ public class UserService implements UserUseCase {
 
     private final UserRepositoryPort userRepository;
     private final AccountRepositoryPort accountRepository;
+    private final Optional<BlockedUserRegistryPort> blockedUsers;
 
     // Injection de dépendances via constructeur
     public UserService(UserRepositoryPort userRepository,
-                       AccountRepositoryPort accountRepository) {
+                       AccountRepositoryPort accountRepository,
+                       Optional<BlockedUserRegistryPort> blockedUsers) {
         this.userRepository = userRepository;
         this.accountRepository = accountRepository;
+        this.blockedUsers = blockedUsers;
     }
 
     /**
@@ -81,6 +85,7 @@ public class UserService implements UserUseCase {
     /**
      * Bloque un utilisateur. Un utilisateur bloqué ne peut plus effectuer
      * d'opérations bancaires (transferts, retraits, etc.)
+     * Le registre en mémoire le refuse dès maintenant, les autres nœuds au commit.
      */
     @Override
     public User blockUser(UUID userId) {
@@ -88,11 +93,14 @@ public class UserService implements UserUseCase {
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         user.block();
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        blockedUsers.ifPresent(registry -> registry.markBlocked(userId));
+        return saved;
     }
 
     /**
      * Débloque un utilisateur, lui permettant de reprendre ses opérations.
+     * Le registre en mémoire n'est mis à jour qu'au commit.
      */
     @Override
     public User unblockUser(UUID userId) {
@@ -100,7 +108,9 @@ public class UserService implements UserUseCase {
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         user.unblock();
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        blockedUsers.ifPresent(registry -> registry.markUnblocked(userId));
+        return saved;
     }
 
     @Override
@@ -127,5 +137,6 @@ public class UserService implements UserUseCase {
             throw new UserNotFoundException(userId);
         }
         userRepository.deleteById(userId);
+        blockedUsers.ifPresent(registry -> registry.markDeleted(userId));
     }
 }
\ No newline at end of file
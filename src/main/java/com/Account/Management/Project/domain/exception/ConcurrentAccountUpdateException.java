@@ -0,0 +1,33 @@
+package com.Account.Management.Project.domain.exception;
+
+import java.util.UUID;
+
+/**
+ * levée lorsqu'un compte est modifié de manière concurrente et que
+ * l'opération n'a pas pu obtenir un accès exclusif à temps.
+ */
+public class ConcurrentAccountUpdateException extends RuntimeException {
+
+    private final UUID accountId;
+
+    public ConcurrentAccountUpdateException(String message) {
+        super(message);
+        this.accountId = null;
+    }
+
+    public ConcurrentAccountUpdateException(String message, Throwable cause) {
+        super(message, cause);
+        this.accountId = null;
+    }
+
+    public ConcurrentAccountUpdateException(UUID accountId) {
+        super(String.format(
+                "Le compte %s est en cours de modification par une autre opération. Veuillez réessayer.",
+                accountId));
+        this.accountId = accountId;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+}
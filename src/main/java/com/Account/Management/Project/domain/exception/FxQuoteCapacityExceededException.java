@@ -0,0 +1,21 @@
+package com.Account.Management.Project.domain.exception;
+
+/**
+ * levée lorsqu'une cotation de change ne peut pas être enregistrée:
+ * le nombre maximal de cotations actives est atteint.
+ */
+public class FxQuoteCapacityExceededException extends RuntimeException {
+
+    private final int maxActive;
+
+    public FxQuoteCapacityExceededException(int maxActive) {
+        super(String.format(
+                "Trop de cotations de change actives (maximum %d). Veuillez réessayer plus tard.",
+                maxActive));
+        this.maxActive = maxActive;
+    }
+
+    public int getMaxActive() {
+        return maxActive;
+    }
+}
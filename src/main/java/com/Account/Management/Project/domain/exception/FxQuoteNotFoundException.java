@@ -0,0 +1,20 @@
+package com.Account.Management.Project.domain.exception;
+
+import java.util.UUID;
+
+/**
+ * levée lorsqu'une cotation de change est inconnue, expirée ou déjà utilisée.
+ */
+public class FxQuoteNotFoundException extends RuntimeException {
+
+    private final UUID quoteId;
+
+    public FxQuoteNotFoundException(UUID quoteId) {
+        super(String.format("Cotation de change introuvable, expirée ou déjà utilisée: %s", quoteId));
+        this.quoteId = quoteId;
+    }
+
+    public UUID getQuoteId() {
+        return quoteId;
+    }
+}
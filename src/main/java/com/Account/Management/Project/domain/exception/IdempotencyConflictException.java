@@ -0,0 +1,32 @@
+package com.Account.Management.Project.domain.exception;
+
+/**
+ * levée lorsqu'une clé d'idempotence ne peut pas être honorée:
+ * clé réutilisée avec une requête différente, ou requête originale
+ * toujours en cours au-delà du délai d'attente.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    private final String idempotencyKey;
+
+    public IdempotencyConflictException(String idempotencyKey, String message) {
+        super(message);
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public static IdempotencyConflictException payloadMismatch(String idempotencyKey) {
+        return new IdempotencyConflictException(idempotencyKey, String.format(
+                "La clé d'idempotence %s a déjà été utilisée pour une requête différente.",
+                idempotencyKey));
+    }
+
+    public static IdempotencyConflictException stillInFlight(String idempotencyKey) {
+        return new IdempotencyConflictException(idempotencyKey, String.format(
+                "La requête associée à la clé d'idempotence %s est toujours en cours. Veuillez réessayer.",
+                idempotencyKey));
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,13 @@
+package com.Account.Management.Project.domain.exception;
+
+/**
+ * levée lorsqu'une opération est incompatible avec l'état courant d'un
+ * transfert: annulation d'une transaction déjà traitée, ordre permanent
+ * qui n'est plus actif.
+ */
+public class InvalidTransactionStateException extends RuntimeException {
+
+    public InvalidTransactionStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.Account.Management.Project.domain.exception;
+
+/**
+ * levée lorsque le moteur de soldes en mémoire ne peut pas traiter ou
+ * confirmer une opération: moteur arrêté, en échec, ou pas de réponse dans
+ * le délai d'attente.
+ */
+public class LedgerUnavailableException extends RuntimeException {
+
+    public LedgerUnavailableException(String message) {
+        super(message);
+    }
+
+    public LedgerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
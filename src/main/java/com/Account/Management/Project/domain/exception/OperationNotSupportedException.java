@@ -0,0 +1,12 @@
+package com.Account.Management.Project.domain.exception;
+
+/**
+ * levée lorsqu'une opération n'est pas disponible dans le mode de
+ * fonctionnement configuré (ex: avec le moteur de soldes en mémoire).
+ */
+public class OperationNotSupportedException extends RuntimeException {
+
+    public OperationNotSupportedException(String message) {
+        super(message);
+    }
+}
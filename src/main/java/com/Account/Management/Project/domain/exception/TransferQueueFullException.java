@@ -0,0 +1,21 @@
+package com.Account.Management.Project.domain.exception;
+
+/**
+ * levée lorsqu'un transfert asynchrone ne peut pas être mis en file:
+ * la partition de traitement du compte source est saturée.
+ */
+public class TransferQueueFullException extends RuntimeException {
+
+    private final int partition;
+
+    public TransferQueueFullException(int partition) {
+        super(String.format(
+                "La file de traitement des transferts (partition %d) est saturée. Veuillez réessayer plus tard.",
+                partition));
+        this.partition = partition;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+}
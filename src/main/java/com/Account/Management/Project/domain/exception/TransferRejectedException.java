@@ -0,0 +1,19 @@
+package com.Account.Management.Project.domain.exception;
+
+/**
+ * levée lorsqu'un transfert est refusé par une règle de vélocité ou de fraude.
+ * Le message et l'identifiant de la règle sont repris dans le journal d'audit.
+ */
+public class TransferRejectedException extends RuntimeException {
+
+    private final String ruleId;
+
+    public TransferRejectedException(String ruleId, String detail) {
+        super(String.format("Transfert refusé par la règle %s: %s", ruleId, detail));
+        this.ruleId = ruleId;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+}
@@ -0,0 +1,13 @@
+package com.Account.Management.Project.domain.exception;
+
+/**
+ * levée lorsqu'un transfert mis en file n'a pas pu être confirmé: service
+ * arrêté, ou pas de réponse dans le délai d'attente. Le message précise si
+ * le transfert a pu être exécuté malgré tout.
+ */
+public class TransferUnavailableException extends RuntimeException {
+
+    public TransferUnavailableException(String message) {
+        super(message);
+    }
+}
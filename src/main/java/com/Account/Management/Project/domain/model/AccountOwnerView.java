@@ -0,0 +1,53 @@
+package com.Account.Management.Project.domain.model;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection légère d'un compte et de l'état de son propriétaire.
+ * Lue en une seule requête (jointure), elle suffit à valider une opération
+ * sans charger les entités compte et utilisateur.
+ *
+ * ownerFound est faux si l'utilisateur propriétaire a été supprimé.
+ */
+public record AccountOwnerView(
+        UUID id,
+        String accountNumber,
+        UUID userId,
+        Money balance,
+        boolean active,
+        int balanceShards,
+        long version,
+        LocalDateTime createdAt,
+        boolean ownerFound,
+        boolean ownerBlocked
+) {
+
+    public Currency currency() {
+        return balance.getCurrency();
+    }
+
+    /**
+     * Vérifie si les crédits sont répartis sur des sous-soldes
+     */
+    public boolean isSharded() {
+        return balanceShards > 0;
+    }
+
+    /**
+     * Reconstruit le compte pour les réponses des cas d'utilisation
+     */
+    public BankAccount toAccount() {
+        BankAccount account = new BankAccount(userId, balance);
+        account.setId(id);
+        account.setAccountNumber(accountNumber);
+        account.setActive(active);
+        account.setBalanceShards(balanceShards);
+        account.setVersion(version);
+        account.setCreatedAt(createdAt);
+        return account;
+    }
+}
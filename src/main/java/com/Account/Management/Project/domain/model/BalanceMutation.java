@@ -0,0 +1,11 @@
+package com.Account.Management.Project.domain.model;
+
+import com.Account.Management.Project.domain.valueObject.Money;
+
+import java.util.UUID;
+
+/**
+ * Variation de solde à appliquer sur un compte.
+ * Un montant négatif est un débit: il n'est appliqué que si le solde reste positif ou nul.
+ */
+public record BalanceMutation(UUID accountId, Money delta) {}
@@ -17,6 +17,8 @@ public class BankAccount {
     private UUID userId;              // Référence vers l'utilisateur propriétaire
     private Money balance;            // Solde du compte avec devise
     private boolean active;           // État du compte
+    private Long version;             // Version pour le contrôle de concurrence optimiste (null si nouveau)
+    private int balanceShards;        // Nombre de sous-soldes (0: compte non fractionné)
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -43,6 +45,26 @@ public class BankAccount {
         this.balance = initialBalance;
     }
 
+    // Constructeur de copie (sans génération de numéro)
+    private BankAccount(BankAccount source) {
+        this.id = source.id;
+        this.accountNumber = source.accountNumber;
+        this.userId = source.userId;
+        this.balance = source.balance;
+        this.active = source.active;
+        this.version = source.version;
+        this.balanceShards = source.balanceShards;
+        this.createdAt = source.createdAt;
+        this.updatedAt = source.updatedAt;
+    }
+
+    /**
+     * Copie indépendante du compte: modifier la copie ne modifie pas l'original
+     */
+    public BankAccount copy() {
+        return new BankAccount(this);
+    }
+
     /**
      * Génère un numéro de compte unique au format simplifié
      */
@@ -91,6 +113,14 @@ public class BankAccount {
         return balance.isGreaterOrEqual(amount);
     }
 
+    /**
+     * Vérifie si les crédits sont répartis sur des sous-soldes (compte "chaud").
+     * Le solde principal exclut alors les montants non encore consolidés.
+     */
+    public boolean isSharded() {
+        return balanceShards > 0;
+    }
+
     /**
      * Récupère la devise du compte
      */
@@ -109,6 +139,10 @@ public class BankAccount {
     public void setBalance(Money balance) { this.balance = balance; }
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    public int getBalanceShards() { return balanceShards; }
+    public void setBalanceShards(int balanceShards) { this.balanceShards = balanceShards; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
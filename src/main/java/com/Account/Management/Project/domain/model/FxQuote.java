@@ -0,0 +1,41 @@
+package com.Account.Management.Project.domain.model;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cotation de change: taux et montant converti garantis jusqu'à expiresAt.
+ * Un transfert Forex exécuté sur la cotation applique exactement ces montants,
+ * sans nouvelle conversion; une cotation ne sert qu'une fois, et seulement
+ * pour un transfert depuis le compte pour lequel elle a été demandée.
+ */
+public record FxQuote(
+        UUID id,
+        UUID sourceAccountId,           // Seul compte source autorisé à l'utiliser
+        Money sourceAmount,
+        Money targetAmount,
+        double exchangeRate,
+        long rateVersion,               // Version de l'instantané de taux utilisé
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt
+) {
+
+    public Currency sourceCurrency() {
+        return sourceAmount.getCurrency();
+    }
+
+    public Currency targetCurrency() {
+        return targetAmount.getCurrency();
+    }
+
+    public boolean isOwnedBy(UUID accountId) {
+        return sourceAccountId.equals(accountId);
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,72 @@
+package com.Account.Management.Project.domain.model;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+
+import java.util.UUID;
+
+/**
+ * Commande journalisée du moteur de soldes en mémoire.
+ *
+ * Une commande porte tout ce qui est nécessaire à son application
+ * (montants en unités mineures, taux de change déjà résolu, identifiant
+ * et date de la transaction): rejouer le journal dans l'ordre des séquences
+ * reproduit exactement le même état et les mêmes transactions.
+ *
+ * Pour REGISTER_ACCOUNT, sourceAccountId est le compte, targetAccountId
+ * son propriétaire et sourceAmountMinor son solde initial.
+ */
+public record LedgerCommand(
+        long sequence,
+        LedgerCommandType type,
+        String transactionId,
+        UUID sourceAccountId,
+        UUID targetAccountId,
+        long sourceAmountMinor,
+        Currency sourceCurrency,
+        long targetAmountMinor,
+        Currency targetCurrency,
+        double exchangeRate,            // NaN pour un transfert local
+        long rateVersion,               // Version de l'instantané de taux (0 pour un transfert local)
+        String description,
+        long timestampMillis
+) {
+
+    public static LedgerCommand registerAccount(UUID accountId, UUID userId,
+                                                long balanceMinor, Currency currency) {
+        return new LedgerCommand(0, LedgerCommandType.REGISTER_ACCOUNT, null,
+                accountId, userId, balanceMinor, currency, 0, currency,
+                Double.NaN, 0, null, System.currentTimeMillis());
+    }
+
+    public static LedgerCommand transfer(String transactionId, UUID sourceAccountId, UUID targetAccountId,
+                                         long sourceAmountMinor, Currency sourceCurrency,
+                                         long targetAmountMinor, Currency targetCurrency,
+                                         double exchangeRate, long rateVersion,
+                                         String description, long timestampMillis) {
+        return new LedgerCommand(0, LedgerCommandType.TRANSFER, transactionId,
+                sourceAccountId, targetAccountId, sourceAmountMinor, sourceCurrency,
+                targetAmountMinor, targetCurrency, exchangeRate, rateVersion, description, timestampMillis);
+    }
+
+    public static LedgerCommand deposit(UUID accountId, long amountMinor, Currency currency) {
+        return new LedgerCommand(0, LedgerCommandType.DEPOSIT, null,
+                accountId, null, amountMinor, currency, 0, currency,
+                Double.NaN, 0, null, System.currentTimeMillis());
+    }
+
+    public static LedgerCommand withdraw(UUID accountId, long amountMinor, Currency currency) {
+        return new LedgerCommand(0, LedgerCommandType.WITHDRAW, null,
+                accountId, null, amountMinor, currency, 0, currency,
+                Double.NaN, 0, null, System.currentTimeMillis());
+    }
+
+    public LedgerCommand withSequence(long sequence) {
+        return new LedgerCommand(sequence, type, transactionId, sourceAccountId, targetAccountId,
+                sourceAmountMinor, sourceCurrency, targetAmountMinor, targetCurrency,
+                exchangeRate, rateVersion, description, timestampMillis);
+    }
+
+    public boolean isForex() {
+        return !Double.isNaN(exchangeRate);
+    }
+}
@@ -0,0 +1,11 @@
+package com.Account.Management.Project.domain.model;
+
+/**
+ * Types de commandes traitées par le moteur de soldes en mémoire
+ */
+public enum LedgerCommandType {
+    REGISTER_ACCOUNT,   // Prise en charge d'un compte avec son solde initial
+    TRANSFER,           // Transfert local ou Forex (montant cible précalculé)
+    DEPOSIT,
+    WITHDRAW
+}
@@ -0,0 +1,55 @@
+package com.Account.Management.Project.domain.model;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compensation multilatérale des variations de solde d'un lot.
+ * Cumule, par compte et par devise, les débits et crédits de tous les
+ * transferts afin de n'appliquer qu'une seule variation nette par compte.
+ *
+ * La compensation ne remplace pas les règles métier: chaque transfert est
+ * d'abord simulé sur le compte (BankAccount.debit/credit), ce qui garantit
+ * que le solde final, donc la variation nette, ne le rend pas négatif.
+ */
+public class NetPositions {
+
+    private final Map<PositionKey, Money> positions = new HashMap<>();
+
+    public void debit(UUID accountId, Money amount) {
+        add(accountId, Money.zero(amount.getCurrency()).subtract(amount));
+    }
+
+    public void credit(UUID accountId, Money amount) {
+        add(accountId, amount);
+    }
+
+    /**
+     * Variations nettes non nulles, triées par compte (ordre canonique
+     * des verrous de ligne pour éviter les interblocages)
+     */
+    public List<BalanceMutation> toMutations() {
+        List<BalanceMutation> mutations = new ArrayList<>(positions.size());
+        positions.forEach((key, net) -> {
+            if (!net.isZero()) {
+                mutations.add(new BalanceMutation(key.accountId(), net));
+            }
+        });
+        mutations.sort(Comparator.comparing(BalanceMutation::accountId)
+                .thenComparing(mutation -> mutation.delta().getCurrency()));
+        return mutations;
+    }
+
+    private void add(UUID accountId, Money delta) {
+        positions.merge(new PositionKey(accountId, delta.getCurrency()), delta, Money::add);
+    }
+
+    private record PositionKey(UUID accountId, Currency currency) {}
+}
@@ -0,0 +1,17 @@
+package com.Account.Management.Project.domain.model;
+
+import com.Account.Management.Project.domain.valueObject.Money;
+
+import java.util.UUID;
+
+/**
+ * Valorisation de l'ensemble des comptes d'un utilisateur dans une devise.
+ * Chaque solde est converti avec le même instantané de taux, dont la
+ * version est conservée.
+ */
+public record NetWorth(
+        UUID userId,
+        Money total,
+        int accountCount,
+        long rateVersion                // Version de l'instantané de taux utilisé
+) {}
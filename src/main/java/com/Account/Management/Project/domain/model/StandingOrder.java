@@ -0,0 +1,244 @@
+package com.Account.Management.Project.domain.model;
+
+import com.Account.Management.Project.domain.exception.InvalidTransactionStateException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ordre permanent: transfert récurrent (quotidien, hebdomadaire, mensuel)
+ * ou programmé à une date donnée.
+ * Stocké dans PostgreSQL; l'échéance suivante n'avance qu'avec l'exécution,
+ * dans la même transaction, pour ne jamais exécuter deux fois la même échéance.
+ */
+public class StandingOrder {
+    private UUID id;
+    private UUID sourceAccountId;
+    private UUID targetAccountId;
+    private TransactionType type;               // LOCAL ou FOREX
+    private BigDecimal amount;                  // Montant dans la devise du compte source
+    private String description;
+    private StandingOrderFrequency frequency;
+    private LocalDateTime firstExecutionAt;     // Ancre du calcul des échéances
+    private LocalDateTime endAt;                // Pas d'exécution après cette date (optionnelle)
+    private LocalDateTime nextExecutionAt;      // null une fois l'ordre terminé
+    private long executions;                    // Nombre d'échéances traitées
+    private long skippedOccurrences;            // Échéances manquées (service arrêté), non exécutées
+    private boolean active;
+    private String lastTransactionId;
+    private String lastFailureReason;
+    private LocalDateTime lastExecutedAt;
+    private LocalDateTime createdAt;
+
+    // Constructeur par défaut
+    public StandingOrder() {
+        this.id = UUID.randomUUID();
+        this.active = true;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Factory method
+    public static StandingOrder create(UUID sourceAccountId, UUID targetAccountId,
+                                       TransactionType type, BigDecimal amount,
+                                       String description, StandingOrderFrequency frequency,
+                                       LocalDateTime firstExecutionAt, LocalDateTime endAt) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Le montant d'un ordre permanent doit être positif");
+        }
+        if (endAt != null && endAt.isBefore(firstExecutionAt)) {
+            throw new IllegalArgumentException("La date de fin précède la première exécution");
+        }
+        StandingOrder order = new StandingOrder();
+        order.sourceAccountId = sourceAccountId;
+        order.targetAccountId = targetAccountId;
+        order.type = type;
+        order.amount = amount;
+        order.description = description;
+        order.frequency = frequency;
+        order.firstExecutionAt = firstExecutionAt;
+        order.endAt = endAt;
+        order.nextExecutionAt = firstExecutionAt;
+        return order;
+    }
+
+    // Méthodes métier
+
+    /**
+     * Enregistre le traitement de l'échéance courante (réussi ou non)
+     * et passe à la suivante postérieure à l'exécution: après une interruption,
+     * les échéances manquées sont sautées plutôt qu'exécutées en rafale.
+     * L'ordre se termine après sa dernière échéance.
+     */
+    public void recordExecution(String transactionId, String failureReason, LocalDateTime executedAt) {
+        this.lastTransactionId = transactionId;
+        this.lastFailureReason = failureReason;
+        this.lastExecutedAt = executedAt;
+        this.executions++;
+
+        LocalDateTime next = frequency.occurrence(firstExecutionAt, executions + skippedOccurrences);
+        while (next != null && !next.isAfter(executedAt)) {
+            this.skippedOccurrences++;
+            next = frequency.occurrence(firstExecutionAt, executions + skippedOccurrences);
+        }
+        if (next == null || (endAt != null && next.isAfter(endAt))) {
+            this.nextExecutionAt = null;
+            this.active = false;
+        } else {
+            this.nextExecutionAt = next;
+        }
+    }
+
+    /**
+     * Désactive l'ordre: plus aucune échéance ne sera exécutée
+     */
+    public void cancel() {
+        if (!active) {
+            throw new InvalidTransactionStateException("L'ordre permanent " + id + " n'est plus actif");
+        }
+        this.active = false;
+        this.nextExecutionAt = null;
+    }
+
+    public boolean isDue(LocalDateTime now) {
+        return active && nextExecutionAt != null && !nextExecutionAt.isAfter(now);
+    }
+
+    // Getters et Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public void setSourceAccountId(UUID sourceAccountId) {
+        this.sourceAccountId = sourceAccountId;
+    }
+
+    public UUID getTargetAccountId() {
+        return targetAccountId;
+    }
+
+    public void setTargetAccountId(UUID targetAccountId) {
+        this.targetAccountId = targetAccountId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public StandingOrderFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(StandingOrderFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDateTime getFirstExecutionAt() {
+        return firstExecutionAt;
+    }
+
+    public void setFirstExecutionAt(LocalDateTime firstExecutionAt) {
+        this.firstExecutionAt = firstExecutionAt;
+    }
+
+    public LocalDateTime getEndAt() {
+        return endAt;
+    }
+
+    public void setEndAt(LocalDateTime endAt) {
+        this.endAt = endAt;
+    }
+
+    public LocalDateTime getNextExecutionAt() {
+        return nextExecutionAt;
+    }
+
+    public void setNextExecutionAt(LocalDateTime nextExecutionAt) {
+        this.nextExecutionAt = nextExecutionAt;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public void setExecutions(long executions) {
+        this.executions = executions;
+    }
+
+    public long getSkippedOccurrences() {
+        return skippedOccurrences;
+    }
+
+    public void setSkippedOccurrences(long skippedOccurrences) {
+        this.skippedOccurrences = skippedOccurrences;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public void setLastTransactionId(String lastTransactionId) {
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    public String getLastFailureReason() {
+        return lastFailureReason;
+    }
+
+    public void setLastFailureReason(String lastFailureReason) {
+        this.lastFailureReason = lastFailureReason;
+    }
+
+    public LocalDateTime getLastExecutedAt() {
+        return lastExecutedAt;
+    }
+
+    public void setLastExecutedAt(LocalDateTime lastExecutedAt) {
+        this.lastExecutedAt = lastExecutedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
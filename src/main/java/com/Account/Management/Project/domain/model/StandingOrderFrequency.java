@@ -0,0 +1,29 @@
+package com.Account.Management.Project.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Périodicité d'un ordre permanent.
+ * Les échéances sont calculées depuis la première date d'exécution
+ * (et non depuis l'échéance précédente) afin qu'un ordre mensuel du 31
+ * revienne au 31 après un mois plus court.
+ */
+public enum StandingOrderFrequency {
+    ONCE,       // Transfert programmé à une date donnée
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * Échéance de rang n (0 = première exécution)
+     * @return La date d'exécution, null si l'ordre n'a pas d'échéance de ce rang
+     */
+    public LocalDateTime occurrence(LocalDateTime firstExecutionAt, long n) {
+        return switch (this) {
+            case ONCE -> n == 0 ? firstExecutionAt : null;
+            case DAILY -> firstExecutionAt.plusDays(n);
+            case WEEKLY -> firstExecutionAt.plusWeeks(n);
+            case MONTHLY -> firstExecutionAt.plusMonths(n);
+        };
+    }
+}
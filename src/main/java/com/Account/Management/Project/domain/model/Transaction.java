@@ -1,11 +1,7 @@
 package com.Account.Management.Project.domain.model;
 
 
-import com.Account.Management.Project.domain.valueObject.Money;
-
-import java.time.LocalDateTime;
-import java.util.UUID;
-
+import com.Account.Management.Project.domain.exception.InvalidTransactionStateException;
 import com.Account.Management.Project.domain.valueObject.Money;
 
 import java.time.LocalDateTime;
@@ -27,15 +23,52 @@ public class Transaction {
     private TransactionType type;           // LOCAL ou FOREX
     private TransactionStatus status;       // État de la transaction
     private Double exchangeRate;            // Taux de change (null si LOCAL)
+    private Long rateVersion;               // Version de l'instantané de taux utilisé (null si LOCAL)
     private String description;             // Description/motif
     private LocalDateTime createdAt;
     private LocalDateTime processedAt;
+    private String failureReason;           // Motif d'échec (traitement asynchrone)
 
     // Constructeur par défaut
     public Transaction() {
-        this.id = UUID.randomUUID().toString();
-        this.status = TransactionStatus.PENDING;
-        this.createdAt = LocalDateTime.now();
+        this(UUID.randomUUID().toString(), TransactionStatus.PENDING, LocalDateTime.now());
+    }
+
+    private Transaction(String id, TransactionStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Reconstitue une transaction persistée à partir de tous ses champs,
+     * sans générer d'ID ni lire l'horloge
+     */
+    public static Transaction restore(String id,
+                                      UUID sourceAccountId,
+                                      UUID targetAccountId,
+                                      Money sourceAmount,
+                                      Money targetAmount,
+                                      TransactionType type,
+                                      TransactionStatus status,
+                                      Double exchangeRate,
+                                      Long rateVersion,
+                                      String description,
+                                      LocalDateTime createdAt,
+                                      LocalDateTime processedAt,
+                                      String failureReason) {
+        Transaction tx = new Transaction(id, status, createdAt);
+        tx.sourceAccountId = sourceAccountId;
+        tx.targetAccountId = targetAccountId;
+        tx.sourceAmount = sourceAmount;
+        tx.targetAmount = targetAmount;
+        tx.type = type;
+        tx.exchangeRate = exchangeRate;
+        tx.rateVersion = rateVersion;
+        tx.description = description;
+        tx.processedAt = processedAt;
+        tx.failureReason = failureReason;
+        return tx;
     }
 
     // Factory method pour transaction locale
@@ -61,6 +94,7 @@ public class Transaction {
             Money sourceAmount,
             Money targetAmount,
             Double exchangeRate,
+            Long rateVersion,
             String description) {
         Transaction tx = new Transaction();
         tx.sourceAccountId = sourceAccountId;
@@ -69,6 +103,7 @@ public class Transaction {
         tx.targetAmount = targetAmount;
         tx.type = TransactionType.FOREX;
         tx.exchangeRate = exchangeRate;
+        tx.rateVersion = rateVersion;
         tx.description = description;
         return tx;
     }
@@ -91,12 +126,20 @@ public class Transaction {
         this.processedAt = LocalDateTime.now();
     }
 
+    /**
+     * Marque la transaction comme échouée en conservant le motif
+     */
+    public void fail(String reason) {
+        fail();
+        this.failureReason = reason;
+    }
+
     /**
      * Annule la transaction (seulement si PENDING)
      */
     public void cancel() {
         if (!this.status.isCancellable()) {
-            throw new IllegalStateException(
+            throw new InvalidTransactionStateException(
                     "La transaction ne peut pas être annulée dans l'état: " + this.status);
         }
         this.status = TransactionStatus.CANCELLED;
@@ -134,10 +177,14 @@ public class Transaction {
     public void setStatus(TransactionStatus status) { this.status = status; }
     public Double getExchangeRate() { return exchangeRate; }
     public void setExchangeRate(Double exchangeRate) { this.exchangeRate = exchangeRate; }
+    public Long getRateVersion() { return rateVersion; }
+    public void setRateVersion(Long rateVersion) { this.rateVersion = rateVersion; }
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getProcessedAt() { return processedAt; }
     public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
 }
\ No newline at end of file
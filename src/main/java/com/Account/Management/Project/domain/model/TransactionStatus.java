@@ -6,7 +6,8 @@ public enum TransactionStatus {
     PENDING("En attente", "Transaction en cours de traitement"),
     COMPLETED("Terminée", "Transaction complétée avec succès"),
     FAILED("Échouée", "Transaction échouée"),
-    CANCELLED("Annulée", "Transaction annulée");
+    CANCELLED("Annulée", "Transaction annulée"),
+    PROCESSING("En exécution", "Transaction asynchrone réservée par un travailleur, non annulable");
 
     private final String displayName;
     private final String description;
@@ -0,0 +1,125 @@
+package com.Account.Management.Project.domain.valueObject;
+
+import java.util.Map;
+
+/**
+ * Value object immuable: matrice des taux croisés entre toutes les devises,
+ * indexée par Currency.ordinal().
+ *
+ * Les taux sont précalculés à la construction à partir des taux par rapport
+ * à une devise pivot, avec la même formule (1 / taux source) × taux cible:
+ * une conversion ne fait plus qu'un accès au tableau et une multiplication.
+ * Une devise sans taux a une ligne et une colonne NaN (conversion non supportée).
+ *
+ * Chaque instantané porte un numéro de version croissant, enregistré dans les
+ * transactions de change: un instantané n'est jamais modifié, une mise à jour
+ * des taux en publie un nouveau.
+ */
+public final class ExchangeRateSnapshot {
+
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private final long version;
+    private final double[][] rates;
+
+    private ExchangeRateSnapshot(long version, double[][] rates) {
+        this.version = version;
+        this.rates = rates;
+    }
+
+    /**
+     * Construit la matrice à partir des taux exprimés pour 1 unité de la devise pivot
+     * @param version Version de l'instantané
+     * @param ratesPerBase Taux (1 pivot = X devise), le pivot inclus à 1.0
+     */
+    public static ExchangeRateSnapshot fromBaseRates(long version, Map<Currency, Double> ratesPerBase) {
+        int n = CURRENCIES.length;
+        double[][] rates = new double[n][n];
+        for (Currency source : CURRENCIES) {
+            Double sourceRate = ratesPerBase.get(source);
+            for (Currency target : CURRENCIES) {
+                Double targetRate = ratesPerBase.get(target);
+                double rate;
+                if (sourceRate == null || targetRate == null) {
+                    rate = Double.NaN;
+                } else if (source == target) {
+                    rate = 1.0;
+                } else {
+                    // source -> pivot -> cible
+                    double sourceToBase = 1.0 / sourceRate;
+                    rate = sourceToBase * targetRate;
+                }
+                rates[source.ordinal()][target.ordinal()] = rate;
+            }
+        }
+        return new ExchangeRateSnapshot(version, rates);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Taux de change source -> cible (NaN si non supporté)
+     */
+    public double rate(Currency source, Currency target) {
+        return rates[source.ordinal()][target.ordinal()];
+    }
+
+    public boolean supports(Currency source, Currency target) {
+        return !Double.isNaN(rates[source.ordinal()][target.ordinal()]);
+    }
+
+    /**
+     * Convertit un montant; seul le résultat est alloué
+     * @throws IllegalArgumentException si la conversion n'est pas supportée
+     */
+    public Money convert(Money amount, Currency target) {
+        Currency source = amount.getCurrency();
+        if (source == target) {
+            return amount;
+        }
+        double rate = rates[source.ordinal()][target.ordinal()];
+        if (Double.isNaN(rate)) {
+            throw new IllegalArgumentException(
+                    "Conversion non supportée: " + source.getCode() + " -> " + target.getCode());
+        }
+        return new Money(amount.getAmountAsDouble() * rate, target);
+    }
+
+    /**
+     * Convertit des montants en unités mineures (centimes) vers une même
+     * devise, avec un résultat identique à convert() pour chaque montant,
+     * sans allouer d'objet par montant.
+     * @param minorAmounts Montants en unités mineures
+     * @param sourceCurrencies Devise de chaque montant
+     * @param result Montants convertis en unités mineures (peut être minorAmounts)
+     * @throws IllegalArgumentException si une conversion n'est pas supportée
+     * @throws ArithmeticException si un montant converti dépasse un long
+     */
+    public void convertAll(long[] minorAmounts, Currency[] sourceCurrencies, Currency target, long[] result) {
+        int count = minorAmounts.length;
+        if (sourceCurrencies.length != count || result.length < count) {
+            throw new IllegalArgumentException("Tableaux de montants et de devises de tailles différentes");
+        }
+        // Taux de chaque devise vers la cible, lus une fois hors de la boucle
+        double[] toTarget = new double[CURRENCIES.length];
+        for (Currency source : CURRENCIES) {
+            toTarget[source.ordinal()] = rates[source.ordinal()][target.ordinal()];
+        }
+        for (int i = 0; i < count; i++) {
+            Currency source = sourceCurrencies[i];
+            if (source == target) {
+                result[i] = minorAmounts[i];
+                continue;
+            }
+            double rate = toTarget[source.ordinal()];
+            if (Double.isNaN(rate)) {
+                throw new IllegalArgumentException(
+                        "Conversion non supportée: " + source.getCode() + " -> " + target.getCode());
+            }
+            // Même calcul que convert(): montant en double (à 2 décimales) × taux
+            result[i] = Money.roundToMinor(minorAmounts[i] / 100.0 * rate);
+        }
+    }
+}
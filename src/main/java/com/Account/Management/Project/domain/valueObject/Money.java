@@ -2,47 +2,59 @@ package com.Account.Management.Project.domain.valueObject;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Objects;
 
 /**
  * Value Object représentant une somme d'argent avec sa devise
  * Immuable - toute opération retourne une nouvelle instance
- * Utilise BigDecimal pour éviter les erreurs d'arrondi
+ *
+ * Le montant est stocké en unités mineures (centimes) dans un long: additions,
+ * soustractions et comparaisons ne font qu'une opération entière, avec
+ * contrôle exact du dépassement (ArithmeticException). BigDecimal n'est
+ * utilisé qu'aux frontières (API, base de données) et pour multiply/divide.
  */
 public class Money {
-    private final BigDecimal amount;    // Montant avec précision
+    private final long minorAmount;     // Montant en unités mineures (centimes)
     private final Currency currency;    // Devise associée
 
     // Constante pour le nombre de décimales
-    private static final int SCALE = 2;
-    private static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+    static final int SCALE = 2;
+    static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+
+    // 10^SCALE, et limite du calcul en double (entiers exacts jusqu'à 2^52)
+    private static final double MINOR_PER_UNIT = 100.0;
+    private static final double MAX_EXACT_MINOR = 0x1p52;
+    // Marge relative autour d'une demi-unité mineure, en deçà de laquelle
+    // l'arrondi est fait en BigDecimal (très supérieure à l'erreur du double)
+    private static final double TIE_MARGIN = 1e-12;
 
     /**
-     * Constructeur avec BigDecimal
+     * Constructeur avec BigDecimal, arrondi à SCALE décimales
+     * @throws ArithmeticException si le montant dépasse la capacité d'un long en centimes
      */
     public Money(BigDecimal amount, Currency currency) {
-        if (amount == null) {
-            throw new IllegalArgumentException("Le montant ne peut pas être null");
-        }
-        if (currency == null) {
-            throw new IllegalArgumentException("La devise ne peut pas être null");
-        }
-        this.amount = amount.setScale(SCALE, ROUNDING);
-        this.currency = currency;
+        this(toMinor(amount), currency);
     }
 
     /**
-     * Constructeur avec double (converti en BigDecimal)
+     * Constructeur avec double, arrondi comme BigDecimal.valueOf(amount)
      */
     public Money(double amount, Currency currency) {
-        this(BigDecimal.valueOf(amount), currency);
+        this(roundToMinor(amount), currency);
+    }
+
+    private Money(long minorAmount, Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("La devise ne peut pas être null");
+        }
+        this.minorAmount = minorAmount;
+        this.currency = currency;
     }
 
     /**
      * Factory method pour créer un montant de zéro
      */
     public static Money zero(Currency currency) {
-        return new Money(BigDecimal.ZERO, currency);
+        return new Money(0L, currency);
     }
 
     /**
@@ -52,6 +64,21 @@ public class Money {
         return new Money(new BigDecimal(amount), currency);
     }
 
+    /**
+     * Factory method à partir d'un montant en unités mineures (centimes)
+     */
+    public static Money ofMinor(long minorAmount, Currency currency) {
+        return new Money(minorAmount, currency);
+    }
+
+    /**
+     * Montant décimal arrondi exactement comme par le constructeur, pour une
+     * écriture en base dont la devise n'est connue qu'au retour
+     */
+    public static BigDecimal roundAmount(double amount) {
+        return BigDecimal.valueOf(roundToMinor(amount), SCALE);
+    }
+
     // Opérations arithmétiques (retournent de nouvelles instances)
 
     /**
@@ -59,7 +86,11 @@ public class Money {
      */
     public Money add(Money other) {
         validateSameCurrency(other);
-        return new Money(this.amount.add(other.amount), this.currency);
+        try {
+            return new Money(Math.addExact(this.minorAmount, other.minorAmount), this.currency);
+        } catch (ArithmeticException e) {
+            throw outOfRange();
+        }
     }
 
     /**
@@ -67,7 +98,11 @@ public class Money {
      */
     public Money subtract(Money other) {
         validateSameCurrency(other);
-        return new Money(this.amount.subtract(other.amount), this.currency);
+        try {
+            return new Money(Math.subtractExact(this.minorAmount, other.minorAmount), this.currency);
+        } catch (ArithmeticException e) {
+            throw outOfRange();
+        }
     }
 
     /**
@@ -75,7 +110,7 @@ public class Money {
      */
     public Money multiply(double factor) {
         return new Money(
-                this.amount.multiply(BigDecimal.valueOf(factor)),
+                getAmount().multiply(BigDecimal.valueOf(factor)),
                 this.currency
         );
     }
@@ -88,11 +123,34 @@ public class Money {
             throw new ArithmeticException("Division par zéro");
         }
         return new Money(
-                this.amount.divide(BigDecimal.valueOf(divisor), SCALE, ROUNDING),
+                getAmount().divide(BigDecimal.valueOf(divisor), SCALE, ROUNDING),
                 this.currency
         );
     }
 
+    /**
+     * Montant en unités mineures (centimes) arrondi exactement comme
+     * BigDecimal.valueOf(amount).setScale(SCALE, HALF_UP), sans allouer de
+     * BigDecimal hors des cas proches d'une demi-unité mineure.
+     *
+     * Loin d'une demi-unité, l'arrondi de l'écriture décimale la plus courte
+     * du double est celui du double lui-même, calculé ici en arithmétique
+     * flottante.
+     * @throws ArithmeticException si le montant dépasse la capacité d'un long en centimes
+     */
+    static long roundToMinor(double amount) {
+        double scaled = Math.abs(amount) * MINOR_PER_UNIT;
+        if (scaled < MAX_EXACT_MINOR) {
+            double floor = Math.floor(scaled);
+            double fraction = scaled - floor;
+            if (Math.abs(fraction - 0.5) > TIE_MARGIN * (1.0 + scaled)) {
+                long minor = (long) floor + (fraction > 0.5 ? 1 : 0);
+                return amount < 0 ? -minor : minor;
+            }
+        }
+        return toMinor(BigDecimal.valueOf(amount));
+    }
+
     // Méthodes de comparaison
 
     /**
@@ -100,7 +158,7 @@ public class Money {
      */
     public boolean isGreaterOrEqual(Money other) {
         validateSameCurrency(other);
-        return this.amount.compareTo(other.amount) >= 0;
+        return this.minorAmount >= other.minorAmount;
     }
 
     /**
@@ -108,7 +166,7 @@ public class Money {
      */
     public boolean isGreaterThan(Money other) {
         validateSameCurrency(other);
-        return this.amount.compareTo(other.amount) > 0;
+        return this.minorAmount > other.minorAmount;
     }
 
     /**
@@ -116,45 +174,67 @@ public class Money {
      */
     public boolean isLessOrEqual(Money other) {
         validateSameCurrency(other);
-        return this.amount.compareTo(other.amount) <= 0;
+        return this.minorAmount <= other.minorAmount;
     }
 
     /**
      * Vérifie si le montant est positif
      */
     public boolean isPositive() {
-        return this.amount.compareTo(BigDecimal.ZERO) > 0;
+        return this.minorAmount > 0;
     }
 
     /**
      * Vérifie si le montant est négatif
      */
     public boolean isNegative() {
-        return this.amount.compareTo(BigDecimal.ZERO) < 0;
+        return this.minorAmount < 0;
     }
 
     /**
      * Vérifie si le montant est zéro
      */
     public boolean isZero() {
-        return this.amount.compareTo(BigDecimal.ZERO) == 0;
+        return this.minorAmount == 0;
     }
 
     /**
      * Valide que deux montants ont la même devise
      */
     private void validateSameCurrency(Money other) {
-        if (!this.currency.equals(other.currency)) {
+        if (this.currency != other.currency) {
             throw new IllegalArgumentException(
                     String.format("Devises incompatibles: %s et %s",
                             this.currency, other.currency));
         }
     }
 
+    private static long toMinor(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Le montant ne peut pas être null");
+        }
+        try {
+            return amount.setScale(SCALE, ROUNDING).scaleByPowerOfTen(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw outOfRange();
+        }
+    }
+
+    private static ArithmeticException outOfRange() {
+        return new ArithmeticException("Montant hors limites: au plus " + Long.MAX_VALUE + " unités mineures");
+    }
+
     // Getters
 
+    /**
+     * Montant décimal, à SCALE décimales (alloué à chaque appel)
+     */
     public BigDecimal getAmount() {
-        return amount;
+        return BigDecimal.valueOf(minorAmount, SCALE);
+    }
+
+    public long getMinorAmount() {
+        return minorAmount;
     }
 
     public Currency getCurrency() {
@@ -162,7 +242,10 @@ public class Money {
     }
 
     public double getAmountAsDouble() {
-        return amount.doubleValue();
+        // Même valeur que BigDecimal.doubleValue() tant que le montant est exact en double
+        return Math.abs(minorAmount) < MAX_EXACT_MINOR
+                ? minorAmount / MINOR_PER_UNIT
+                : getAmount().doubleValue();
     }
 
     // equals, hashCode, toString
@@ -172,19 +255,19 @@ public class Money {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Money money = (Money) o;
-        return amount.compareTo(money.amount) == 0 &&
+        return minorAmount == money.minorAmount &&
                 currency == money.currency;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(amount, currency);
+        return 31 * Long.hashCode(minorAmount) + currency.hashCode();
     }
 
     @Override
     public String toString() {
         return String.format("%s %s",
-                amount.setScale(SCALE, ROUNDING).toPlainString(),
+                getAmount().toPlainString(),
                 currency.getSymbol());
     }
 
@@ -192,6 +275,6 @@ public class Money {
      * Format pour affichage avec code devise
      */
     public String toFormattedString() {
-        return String.format("%,.2f %s", amount, currency.getCode());
+        return String.format("%,.2f %s", getAmount(), currency.getCode());
     }
 }
@@ -3,6 +3,7 @@ package com.Account.Management.Project.infrastructure.adapter.api;
 
 import com.Account.Management.Project.domain.model.BankAccount;
 import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.infrastructure.adapter.cache.ConsistentReads;
 import com.Account.Management.Project.port.input.AccountUseCase;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -37,6 +38,17 @@ public class AccountController {
             Double amount
     ) {}
 
+    /**
+     * dto pour le fractionnement du solde (0 pour désactiver)
+     */
+    public record BalanceShardsRequest(
+            Integer shards
+    ) {}
+
+    /**
+     * balance: solde principal; pour un compte fractionné (balanceShards > 0),
+     * le solde total est exposé par /{id}/balance
+     */
     public record AccountResponse(
             UUID id,
             String accountNumber,
@@ -44,6 +56,7 @@ public class AccountController {
             String balance,
             String currency,
             boolean active,
+            int balanceShards,
             String createdAt
     ) {
         public static AccountResponse fromDomain(BankAccount account) {
@@ -54,6 +67,7 @@ public class AccountController {
                     account.getBalance().toFormattedString(),
                     account.getCurrency().getCode(),
                     account.isActive(),
+                    account.getBalanceShards(),
                     account.getCreatedAt().toString()
             );
         }
@@ -91,10 +105,13 @@ public class AccountController {
 
     /**
      * GET /api/v1/accounts/{id} - Récupérer un compte par ID
+     * (consistent=true: lecture en base, sans le cache de proximité)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AccountResponse> getAccountById(@PathVariable UUID id) {
-        return accountUseCase.getAccountById(id)
+    public ResponseEntity<AccountResponse> getAccountById(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "false") boolean consistent) {
+        return ConsistentReads.run(consistent, () -> accountUseCase.getAccountById(id))
                 .map(account -> ResponseEntity.ok(AccountResponse.fromDomain(account)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -103,8 +120,10 @@ public class AccountController {
      * GET /api/v1/accounts/number/{accountNumber} - Récupérer par numéro de compte
      */
     @GetMapping("/number/{accountNumber}")
-    public ResponseEntity<AccountResponse> getAccountByNumber(@PathVariable String accountNumber) {
-        return accountUseCase.getAccountByNumber(accountNumber)
+    public ResponseEntity<AccountResponse> getAccountByNumber(
+            @PathVariable String accountNumber,
+            @RequestParam(defaultValue = "false") boolean consistent) {
+        return ConsistentReads.run(consistent, () -> accountUseCase.getAccountByNumber(accountNumber))
                 .map(account -> ResponseEntity.ok(AccountResponse.fromDomain(account)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -126,8 +145,10 @@ public class AccountController {
      * GET /api/v1/accounts/{id}/balance - Récupérer le solde d'un compte
      */
     @GetMapping("/{id}/balance")
-    public ResponseEntity<BalanceResponse> getBalance(@PathVariable UUID id) {
-        Money balance = accountUseCase.getBalance(id);
+    public ResponseEntity<BalanceResponse> getBalance(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "false") boolean consistent) {
+        Money balance = ConsistentReads.run(consistent, () -> accountUseCase.getBalance(id));
         return ResponseEntity.ok(BalanceResponse.fromMoney(balance));
     }
 
@@ -170,4 +191,27 @@ public class AccountController {
         BankAccount account = accountUseCase.activateAccount(id);
         return ResponseEntity.ok(AccountResponse.fromDomain(account));
     }
-}
\ No newline at end of file
+
+    /**
+     * PUT /api/v1/accounts/{id}/shards - Fractionner le solde d'un compte "chaud"
+     */
+    @PutMapping("/{id}/shards")
+    public ResponseEntity<AccountResponse> configureBalanceShards(
+            @PathVariable UUID id,
+            @RequestBody BalanceShardsRequest request) {
+        if (request.shards() == null) {
+            throw new IllegalArgumentException("Le nombre de sous-soldes est obligatoire");
+        }
+        BankAccount account = accountUseCase.configureBalanceShards(id, request.shards());
+        return ResponseEntity.ok(AccountResponse.fromDomain(account));
+    }
+
+    /**
+     * POST /api/v1/accounts/{id}/shards/consolidate - Reporter les sous-soldes sur le solde principal
+     */
+    @PostMapping("/{id}/shards/consolidate")
+    public ResponseEntity<BalanceResponse> consolidateBalanceShards(@PathVariable UUID id) {
+        Money balance = accountUseCase.consolidateBalanceShards(id);
+        return ResponseEntity.ok(BalanceResponse.fromMoney(balance));
+    }
+}
@@ -0,0 +1,93 @@
+package com.Account.Management.Project.infrastructure.adapter.api;
+
+import com.Account.Management.Project.domain.model.FxQuote;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.port.input.FxQuoteUseCase;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Cotations de change: un transfert Forex exécuté avec le quoteId
+ * (POST /api/v1/transactions/forex) applique exactement les montants cotés.
+ * Une cotation n'est utilisable que depuis le compte source pour lequel
+ * elle a été demandée.
+ */
+@RestController
+@RequestMapping("/api/v1/fx/quotes")
+@CrossOrigin(origins = "*")
+public class FxQuoteController {
+
+    private final FxQuoteUseCase fxQuoteUseCase;
+
+    public FxQuoteController(FxQuoteUseCase fxQuoteUseCase) {
+        this.fxQuoteUseCase = fxQuoteUseCase;
+    }
+
+    // DTOs
+
+    public record QuoteRequest(
+            UUID sourceAccountId,
+            String targetCurrency,
+            Double sourceAmount
+    ) {}
+
+    public record QuoteResponse(
+            UUID quoteId,
+            UUID sourceAccountId,
+            String sourceAmount,
+            String targetAmount,
+            double exchangeRate,
+            long rateVersion,
+            String createdAt,
+            String expiresAt
+    ) {
+        public static QuoteResponse fromDomain(FxQuote quote) {
+            return new QuoteResponse(
+                    quote.id(),
+                    quote.sourceAccountId(),
+                    quote.sourceAmount().toFormattedString(),
+                    quote.targetAmount().toFormattedString(),
+                    quote.exchangeRate(),
+                    quote.rateVersion(),
+                    quote.createdAt().toString(),
+                    quote.expiresAt().toString()
+            );
+        }
+    }
+
+    //Endpoints
+
+    /**
+     * POST /api/v1/fx/quotes - Coter une conversion, valable jusqu'à expiresAt
+     */
+    @PostMapping
+    public ResponseEntity<QuoteResponse> createQuote(@RequestBody QuoteRequest request) {
+        if (request.targetCurrency() == null) {
+            throw new IllegalArgumentException("La devise cible est obligatoire");
+        }
+        FxQuote quote = fxQuoteUseCase.createQuote(
+                request.sourceAccountId(),
+                Currency.fromCode(request.targetCurrency()),
+                request.sourceAmount()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .location(URI.create("/api/v1/fx/quotes/" + quote.id()))
+                .body(QuoteResponse.fromDomain(quote));
+    }
+
+    /**
+     * GET /api/v1/fx/quotes/{id} - Cotation encore valable et non utilisée
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<QuoteResponse> getQuote(@PathVariable UUID id) {
+        return fxQuoteUseCase.getQuote(id)
+                .map(quote -> ResponseEntity.ok(QuoteResponse.fromDomain(quote)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,296 @@
+package com.Account.Management.Project.infrastructure.adapter.api;
+
+import com.Account.Management.Project.application.engine.LedgerEngine;
+import com.Account.Management.Project.infrastructure.adapter.cache.CachingAccountRepositoryAdapter;
+import com.Account.Management.Project.infrastructure.adapter.currency.CurrencyConversionAdapter;
+import com.Account.Management.Project.infrastructure.adapter.currency.ExchangeRateHistory;
+import com.Account.Management.Project.infrastructure.adapter.outbox.TransactionOutboxRelay;
+import com.Account.Management.Project.infrastructure.annotation.OptimisticRetryAspect;
+import com.Account.Management.Project.port.input.GroupCommitTransferUseCase;
+import com.Account.Management.Project.port.output.AccountLockPort;
+import com.Account.Management.Project.port.output.BalanceTablePort;
+import com.Account.Management.Project.port.output.BlockedUserRegistryPort;
+import com.Account.Management.Project.port.output.FxQuoteStorePort;
+import com.Account.Management.Project.port.output.StandingOrderTimerPort;
+import com.Account.Management.Project.port.output.TransferDispatcherPort;
+import com.Account.Management.Project.port.output.TransferRiskPort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Expose les métriques internes de performance (verrous, rejeux, etc.)
+ */
+@RestController
+@RequestMapping("/api/v1/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    private final AccountLockPort accountLock;
+    private final OptimisticRetryAspect retryAspect;
+    private final TransferDispatcherPort transferDispatcher;
+    private final TransactionOutboxRelay outboxRelay;
+    private final GroupCommitTransferUseCase groupCommitTransferUseCase;
+    private final StandingOrderTimerPort standingOrderTimer;
+    private final Optional<LedgerEngine> ledgerEngine;
+    private final Optional<BalanceTablePort> balanceTable;
+    private final Optional<TransferRiskPort> transferRisk;
+    private final Optional<BlockedUserRegistryPort> blockedUsers;
+    private final Optional<CachingAccountRepositoryAdapter> accountCache;
+    private final CurrencyConversionAdapter currencyConversion;
+    private final FxQuoteStorePort fxQuoteStore;
+    private final ExchangeRateHistory rateHistory;
+
+    public MetricsController(AccountLockPort accountLock,
+                             OptimisticRetryAspect retryAspect,
+                             TransferDispatcherPort transferDispatcher,
+                             TransactionOutboxRelay outboxRelay,
+                             GroupCommitTransferUseCase groupCommitTransferUseCase,
+                             StandingOrderTimerPort standingOrderTimer,
+                             Optional<LedgerEngine> ledgerEngine,
+                             Optional<BalanceTablePort> balanceTable,
+                             Optional<TransferRiskPort> transferRisk,
+                             Optional<BlockedUserRegistryPort> blockedUsers,
+                             Optional<CachingAccountRepositoryAdapter> accountCache,
+                             CurrencyConversionAdapter currencyConversion,
+                             FxQuoteStorePort fxQuoteStore,
+                             ExchangeRateHistory rateHistory) {
+        this.accountLock = accountLock;
+        this.retryAspect = retryAspect;
+        this.transferDispatcher = transferDispatcher;
+        this.outboxRelay = outboxRelay;
+        this.groupCommitTransferUseCase = groupCommitTransferUseCase;
+        this.standingOrderTimer = standingOrderTimer;
+        this.ledgerEngine = ledgerEngine;
+        this.balanceTable = balanceTable;
+        this.transferRisk = transferRisk;
+        this.blockedUsers = blockedUsers;
+        this.accountCache = accountCache;
+        this.currencyConversion = currencyConversion;
+        this.fxQuoteStore = fxQuoteStore;
+        this.rateHistory = rateHistory;
+    }
+
+    // dto
+
+    public record LockMetricsResponse(
+            int stripes,
+            long acquisitions,
+            long contended,
+            long timeouts,
+            double contentionRate,
+            double averageWaitMicros,
+            double maxWaitMicros
+    ) {
+        public static LockMetricsResponse fromStatistics(AccountLockPort.LockStatistics stats) {
+            return new LockMetricsResponse(
+                    stats.stripes(),
+                    stats.acquisitions(),
+                    stats.contended(),
+                    stats.timeouts(),
+                    stats.contentionRate(),
+                    stats.averageWaitMicros(),
+                    stats.maxWaitNanos() / 1_000.0
+            );
+        }
+    }
+
+    public record RetryMetricsResponse(
+            String operation,
+            long invocations,
+            long conflicts,
+            long retries,
+            long exhausted,
+            double conflictRate
+    ) {
+        public static RetryMetricsResponse fromStatistics(
+                OptimisticRetryAspect.OperationRetryStatistics stats) {
+            return new RetryMetricsResponse(
+                    stats.operation(),
+                    stats.invocations(),
+                    stats.conflicts(),
+                    stats.retries(),
+                    stats.exhausted(),
+                    stats.conflictRate()
+            );
+        }
+    }
+
+    public record GroupCommitMetricsResponse(
+            boolean enabled,
+            long windowMicros,
+            int maxGroupSize,
+            int queued,
+            long groups,
+            long items,
+            long fallbacks,
+            double averageGroupSize
+    ) {
+        public static GroupCommitMetricsResponse fromStatistics(
+                GroupCommitTransferUseCase.GroupCommitStatistics stats) {
+            return new GroupCommitMetricsResponse(
+                    stats.enabled(),
+                    stats.windowMicros(),
+                    stats.maxGroupSize(),
+                    stats.queued(),
+                    stats.groups(),
+                    stats.items(),
+                    stats.fallbacks(),
+                    stats.averageGroupSize()
+            );
+        }
+    }
+
+    // endpoints
+
+    /**
+     * GET /api/v1/metrics/locks - Contention et temps d'attente des verrous de comptes
+     */
+    @GetMapping("/locks")
+    public ResponseEntity<LockMetricsResponse> getLockMetrics() {
+        return ResponseEntity.ok(LockMetricsResponse.fromStatistics(accountLock.getStatistics()));
+    }
+
+    /**
+     * GET /api/v1/metrics/retries - Conflits optimistes et rejeux par opération
+     */
+    @GetMapping("/retries")
+    public ResponseEntity<List<RetryMetricsResponse>> getRetryMetrics() {
+        List<RetryMetricsResponse> metrics = retryAspect.getOperationStatistics()
+                .stream()
+                .map(RetryMetricsResponse::fromStatistics)
+                .toList();
+
+        return ResponseEntity.ok(metrics);
+    }
+
+    /**
+     * GET /api/v1/metrics/retries/hot-accounts - Comptes les plus sujets aux conflits
+     */
+    @GetMapping("/retries/hot-accounts")
+    public ResponseEntity<List<OptimisticRetryAspect.AccountConflictStatistics>> getHotAccounts(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(retryAspect.getHotAccounts(limit));
+    }
+
+    /**
+     * GET /api/v1/metrics/transfers/async - Files du pool de travailleurs asynchrones
+     */
+    @GetMapping("/transfers/async")
+    public ResponseEntity<TransferDispatcherPort.DispatcherStatistics> getAsyncTransferMetrics() {
+        return ResponseEntity.ok(transferDispatcher.getStatistics());
+    }
+
+    /**
+     * GET /api/v1/metrics/outbox - Relais de l'outbox des transactions vers MongoDB
+     */
+    @GetMapping("/outbox")
+    public ResponseEntity<TransactionOutboxRelay.RelayStatistics> getOutboxMetrics() {
+        return ResponseEntity.ok(outboxRelay.getStatistics());
+    }
+
+    /**
+     * GET /api/v1/metrics/transfers/group-commit - Groupes de transferts validés ensemble
+     */
+    @GetMapping("/transfers/group-commit")
+    public ResponseEntity<GroupCommitMetricsResponse> getGroupCommitMetrics() {
+        return ResponseEntity.ok(GroupCommitMetricsResponse.fromStatistics(
+                groupCommitTransferUseCase.getStatistics()));
+    }
+
+    /**
+     * GET /api/v1/metrics/standing-orders - Échéances chargées dans la minuterie
+     */
+    @GetMapping("/standing-orders")
+    public ResponseEntity<StandingOrderTimerPort.TimerStatistics> getStandingOrderMetrics() {
+        return ResponseEntity.ok(standingOrderTimer.getStatistics());
+    }
+
+    /**
+     * GET /api/v1/metrics/engine - Moteur de soldes en mémoire (404 s'il est désactivé)
+     */
+    @GetMapping("/engine")
+    public ResponseEntity<LedgerEngine.EngineStatistics> getEngineMetrics() {
+        return ledgerEngine
+                .map(engine -> ResponseEntity.ok(engine.getStatistics()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/v1/metrics/balance-table - Table des soldes hors tas (404 si elle est désactivée)
+     */
+    @GetMapping("/balance-table")
+    public ResponseEntity<BalanceTablePort.TableStatistics> getBalanceTableMetrics() {
+        return balanceTable
+                .map(table -> ResponseEntity.ok(table.getStatistics()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/v1/metrics/rules - Règles de vélocité et de fraude (404 si elles sont désactivées)
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<TransferRiskPort.RiskStatistics> getRuleMetrics() {
+        return transferRisk
+                .map(risk -> ResponseEntity.ok(risk.getStatistics()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/v1/metrics/rules/audit - Derniers déclenchements de règles
+     */
+    @GetMapping("/rules/audit")
+    public ResponseEntity<List<TransferRiskPort.RuleFiring>> getRuleAudit(
+            @RequestParam(defaultValue = "50") int limit) {
+        return transferRisk
+                .map(risk -> ResponseEntity.ok(risk.getRecentFirings(limit)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/v1/metrics/blocked-users - Registre en mémoire des utilisateurs bloqués
+     * (404 sans le moteur en mémoire)
+     */
+    @GetMapping("/blocked-users")
+    public ResponseEntity<BlockedUserRegistryPort.RegistryStatistics> getBlockedUserMetrics() {
+        return blockedUsers
+                .map(registry -> ResponseEntity.ok(registry.getStatistics()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/v1/metrics/account-cache - Cache de proximité des comptes (404 s'il est désactivé)
+     */
+    @GetMapping("/account-cache")
+    public ResponseEntity<CachingAccountRepositoryAdapter.NearCacheStatistics> getAccountCacheMetrics() {
+        return accountCache
+                .map(cache -> ResponseEntity.ok(cache.getStatistics()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/v1/metrics/fx-rates - Version et rafraîchissements des taux de change
+     */
+    @GetMapping("/fx-rates")
+    public ResponseEntity<CurrencyConversionAdapter.FxRateStatistics> getFxRateMetrics() {
+        return ResponseEntity.ok(currencyConversion.getStatistics());
+    }
+
+    /**
+     * GET /api/v1/metrics/fx-history - Historique des instantanés de taux
+     */
+    @GetMapping("/fx-history")
+    public ResponseEntity<ExchangeRateHistory.HistoryStatistics> getFxHistoryMetrics() {
+        return ResponseEntity.ok(rateHistory.getStatistics());
+    }
+
+    /**
+     * GET /api/v1/metrics/fx-quotes - Cotations de change actives, utilisées et expirées
+     */
+    @GetMapping("/fx-quotes")
+    public ResponseEntity<FxQuoteStorePort.QuoteStoreStatistics> getFxQuoteMetrics() {
+        return ResponseEntity.ok(fxQuoteStore.getStatistics());
+    }
+}
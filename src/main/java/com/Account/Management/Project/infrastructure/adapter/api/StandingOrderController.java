@@ -0,0 +1,140 @@
+package com.Account.Management.Project.infrastructure.adapter.api;
+
+import com.Account.Management.Project.domain.model.StandingOrder;
+import com.Account.Management.Project.domain.model.StandingOrderFrequency;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.port.input.StandingOrderUseCase;
+import com.Account.Management.Project.port.input.StandingOrderUseCase.CreateStandingOrderCommand;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Contrôleur REST pour les ordres permanents (transferts récurrents ou programmés).
+ */
+@RestController
+@RequestMapping("/api/v1/standing-orders")
+@CrossOrigin(origins = "*")
+public class StandingOrderController {
+
+    private final StandingOrderUseCase standingOrderUseCase;
+
+    public StandingOrderController(StandingOrderUseCase standingOrderUseCase) {
+        this.standingOrderUseCase = standingOrderUseCase;
+    }
+
+    // dto
+
+    public record CreateStandingOrderRequest(
+            UUID sourceAccountId,
+            UUID targetAccountId,
+            TransactionType type,
+            Double amount,
+            String description,
+            StandingOrderFrequency frequency,
+            LocalDateTime firstExecutionAt,
+            LocalDateTime endAt
+    ) {}
+
+    public record StandingOrderResponse(
+            UUID id,
+            UUID sourceAccountId,
+            UUID targetAccountId,
+            String type,
+            String amount,
+            String description,
+            String frequency,
+            String firstExecutionAt,
+            String endAt,
+            String nextExecutionAt,
+            long executions,
+            long skippedOccurrences,
+            boolean active,
+            String lastTransactionId,
+            String lastFailureReason,
+            String lastExecutedAt,
+            String createdAt
+    ) {
+        public static StandingOrderResponse fromDomain(StandingOrder order) {
+            return new StandingOrderResponse(
+                    order.getId(),
+                    order.getSourceAccountId(),
+                    order.getTargetAccountId(),
+                    order.getType().name(),
+                    order.getAmount().toPlainString(),
+                    order.getDescription(),
+                    order.getFrequency().name(),
+                    order.getFirstExecutionAt().toString(),
+                    order.getEndAt() != null ? order.getEndAt().toString() : null,
+                    order.getNextExecutionAt() != null ? order.getNextExecutionAt().toString() : null,
+                    order.getExecutions(),
+                    order.getSkippedOccurrences(),
+                    order.isActive(),
+                    order.getLastTransactionId(),
+                    order.getLastFailureReason(),
+                    order.getLastExecutedAt() != null ? order.getLastExecutedAt().toString() : null,
+                    order.getCreatedAt().toString()
+            );
+        }
+    }
+
+    // endpoints
+
+    /**
+     * POST /api/v1/standing-orders - Créer un ordre permanent
+     */
+    @PostMapping
+    public ResponseEntity<StandingOrderResponse> createStandingOrder(
+            @RequestBody CreateStandingOrderRequest request) {
+        StandingOrder order = standingOrderUseCase.createStandingOrder(new CreateStandingOrderCommand(
+                request.sourceAccountId(),
+                request.targetAccountId(),
+                request.type(),
+                request.amount(),
+                request.description(),
+                request.frequency(),
+                request.firstExecutionAt(),
+                request.endAt()
+        ));
+        return ResponseEntity
+                .created(URI.create("/api/v1/standing-orders/" + order.getId()))
+                .body(StandingOrderResponse.fromDomain(order));
+    }
+
+    /**
+     * GET /api/v1/standing-orders/{id} - Consulter un ordre permanent
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<StandingOrderResponse> getStandingOrder(@PathVariable UUID id) {
+        return standingOrderUseCase.getStandingOrder(id)
+                .map(order -> ResponseEntity.ok(StandingOrderResponse.fromDomain(order)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/v1/standing-orders/account/{accountId} - Ordres permanents d'un compte
+     */
+    @GetMapping("/account/{accountId}")
+    public ResponseEntity<List<StandingOrderResponse>> getStandingOrdersByAccount(
+            @PathVariable UUID accountId) {
+        List<StandingOrderResponse> orders = standingOrderUseCase.getStandingOrdersByAccountId(accountId)
+                .stream()
+                .map(StandingOrderResponse::fromDomain)
+                .toList();
+        return ResponseEntity.ok(orders);
+    }
+
+    /**
+     * POST /api/v1/standing-orders/{id}/cancel - Désactiver un ordre permanent
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<StandingOrderResponse> cancelStandingOrder(@PathVariable UUID id) {
+        return standingOrderUseCase.cancelStandingOrder(id)
+                .map(order -> ResponseEntity.ok(StandingOrderResponse.fromDomain(order)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
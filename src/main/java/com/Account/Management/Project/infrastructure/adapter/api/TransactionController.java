@@ -1,14 +1,26 @@
 package com.Account.Management.Project.infrastructure.adapter.api;
 
+import com.Account.Management.Project.domain.exception.*;
 import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.infrastructure.config.GlobalExceptionHandler;
+import com.Account.Management.Project.port.input.AsyncTransferUseCase;
+import com.Account.Management.Project.port.input.GroupCommitTransferUseCase;
+import com.Account.Management.Project.port.input.IdempotencyUseCase;
+import com.Account.Management.Project.port.input.IdempotencyUseCase.IdempotentResult;
 import com.Account.Management.Project.port.input.TransactionUseCase;
+import com.Account.Management.Project.port.input.TransactionUseCase.BatchItemResult;
+import com.Account.Management.Project.port.input.TransactionUseCase.TransferCommand;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
   pour les opérations de transaction.
@@ -19,10 +31,23 @@ import java.util.UUID;
 @CrossOrigin(origins = "*")
 public class TransactionController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final TransactionUseCase transactionUseCase;
+    private final IdempotencyUseCase idempotencyUseCase;
+    private final AsyncTransferUseCase asyncTransferUseCase;
+    private final GroupCommitTransferUseCase groupCommitTransferUseCase;
 
-    public TransactionController(TransactionUseCase transactionUseCase) {
+    public TransactionController(TransactionUseCase transactionUseCase,
+                                 IdempotencyUseCase idempotencyUseCase,
+                                 AsyncTransferUseCase asyncTransferUseCase,
+                                 GroupCommitTransferUseCase groupCommitTransferUseCase) {
         this.transactionUseCase = transactionUseCase;
+        this.idempotencyUseCase = idempotencyUseCase;
+        this.asyncTransferUseCase = asyncTransferUseCase;
+        this.groupCommitTransferUseCase = groupCommitTransferUseCase;
     }
 
    //dtos
@@ -34,11 +59,24 @@ public class TransactionController {
             String description
     ) {}
 
+    /**
+     * Avec quoteId (transfert synchrone uniquement), le transfert applique les
+     * montants de la cotation et sourceAmount n'est pas fourni
+     */
     public record ForexTransferRequest(
             UUID sourceAccountId,
             UUID targetAccountId,
             Double sourceAmount,
-            String description
+            String description,
+            UUID quoteId
+    ) {}
+
+    /**
+     * dto pour un lot de transferts (fichier de règlement)
+     */
+    public record BatchTransferRequest(
+            List<LocalTransferRequest> localTransfers,
+            List<ForexTransferRequest> forexTransfers
     ) {}
 
     /**
@@ -54,6 +92,7 @@ public class TransactionController {
             String type,
             String status,
             Double exchangeRate,
+            Long rateVersion,
             String description,
             String createdAt,
             String processedAt
@@ -68,6 +107,7 @@ public class TransactionController {
                     tx.getType().name(),      // CORRECTION: fonctionne maintenant
                     tx.getStatus().name(),    // CORRECTION: fonctionne maintenant
                     tx.getExchangeRate(),
+                    tx.getRateVersion(),
                     tx.getDescription(),
                     tx.getCreatedAt().toString(),
                     tx.getProcessedAt() != null ? tx.getProcessedAt().toString() : null
@@ -75,40 +115,192 @@ public class TransactionController {
         }
     }
 
+    /**
+     * dto pour le suivi d'un transfert asynchrone
+     */
+    public record TransactionStatusResponse(
+            String id,
+            String status,
+            boolean finalized,
+            String failureReason,
+            String createdAt,
+            String processedAt
+    ) {
+        public static TransactionStatusResponse fromDomain(Transaction tx) {
+            return new TransactionStatusResponse(
+                    tx.getId(),
+                    tx.getStatus().name(),
+                    tx.isFinalized(),
+                    tx.getFailureReason(),
+                    tx.getCreatedAt().toString(),
+                    tx.getProcessedAt() != null ? tx.getProcessedAt().toString() : null
+            );
+        }
+    }
+
+    /**
+     * dto pour le résultat d'un élément de lot
+     * index: position de l'élément dans sa liste d'origine (locale ou forex)
+     */
+    public record BatchItemResponse(
+            String type,
+            int index,
+            boolean success,
+            TransactionResponse transaction,
+            String error,
+            String message
+    ) {}
+
+    public record BatchTransferResponse(
+            int total,
+            int succeeded,
+            int failed,
+            List<BatchItemResponse> items
+    ) {}
+
     //endpoints
 
     /**
      * POST /api/v1/transactions/local - Transfert local (même devise)
+     * Avec l'en-tête Idempotency-Key, une requête rejouée renvoie la transaction d'origine.
      */
     @PostMapping("/local")
-    public ResponseEntity<TransactionResponse> transferLocal(@RequestBody LocalTransferRequest request) {
-        Transaction transaction = transactionUseCase.transferLocal(
+    public ResponseEntity<TransactionResponse> transferLocal(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody LocalTransferRequest request) {
+        return executeTransfer(idempotencyKey, request.toString(), () -> groupCommitTransferUseCase.transferLocal(
                 request.sourceAccountId(),
                 request.targetAccountId(),
                 request.amount(),
                 request.description()
-        );
-
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(TransactionResponse.fromDomain(transaction));
+        ));
     }
 
     /**
      * POST /api/v1/transactions/forex - Transfert Forex (devises différentes)
+     * Avec l'en-tête Idempotency-Key, une requête rejouée renvoie la transaction d'origine.
      */
     @PostMapping("/forex")
-    public ResponseEntity<TransactionResponse> transferForex(@RequestBody ForexTransferRequest request) {
-        Transaction transaction = transactionUseCase.transferForex(
+    public ResponseEntity<TransactionResponse> transferForex(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody ForexTransferRequest request) {
+        if (request.quoteId() != null) {
+            if (request.sourceAmount() != null) {
+                throw new IllegalArgumentException(
+                        "Le montant est fixé par la cotation: sourceAmount ne doit pas être fourni avec quoteId");
+            }
+            return executeTransfer(idempotencyKey, request.toString(), () -> transactionUseCase.transferForexWithQuote(
+                    request.sourceAccountId(),
+                    request.targetAccountId(),
+                    request.quoteId(),
+                    request.description()
+            ));
+        }
+        return executeTransfer(idempotencyKey, request.toString(), () -> transactionUseCase.transferForex(
                 request.sourceAccountId(),
                 request.targetAccountId(),
                 request.sourceAmount(),
                 request.description()
-        );
+        ));
+    }
 
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(TransactionResponse.fromDomain(transaction));
+    /**
+     * POST /api/v1/transactions/local/async - Transfert local asynchrone
+     * La transaction est renvoyée à l'état PENDING (202); suivre son état via /{id}/status
+     */
+    @PostMapping("/local/async")
+    public ResponseEntity<TransactionResponse> submitLocalTransfer(@RequestBody LocalTransferRequest request) {
+        return accepted(asyncTransferUseCase.submitTransfer(new TransferCommand(
+                TransactionType.LOCAL,
+                request.sourceAccountId(),
+                request.targetAccountId(),
+                request.amount(),
+                request.description()
+        )));
+    }
+
+    /**
+     * POST /api/v1/transactions/forex/async - Transfert Forex asynchrone
+     * Le montant cible renvoyé est indicatif: le taux est appliqué à l'exécution
+     */
+    @PostMapping("/forex/async")
+    public ResponseEntity<TransactionResponse> submitForexTransfer(@RequestBody ForexTransferRequest request) {
+        rejectQuote(request);
+        return accepted(asyncTransferUseCase.submitTransfer(new TransferCommand(
+                TransactionType.FOREX,
+                request.sourceAccountId(),
+                request.targetAccountId(),
+                request.sourceAmount(),
+                request.description()
+        )));
+    }
+
+    /**
+     * GET /api/v1/transactions/{id}/status - État d'un transfert (suivi asynchrone)
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<TransactionStatusResponse> getTransactionStatus(@PathVariable String id) {
+        return transactionUseCase.getTransactionById(id)
+                .map(tx -> ResponseEntity.ok(TransactionStatusResponse.fromDomain(tx)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/v1/transactions/{id}/cancel - Annuler un transfert encore en attente
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<TransactionResponse> cancelTransaction(@PathVariable String id) {
+        return asyncTransferUseCase.cancelTransfer(id)
+                .map(tx -> ResponseEntity.ok(TransactionResponse.fromDomain(tx)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/v1/transactions/batch - Lot de transferts locaux et Forex
+     * Le lot est traité en une seule unité de travail; chaque élément
+     * est rapporté individuellement (succès ou erreur).
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransferResponse> transferBatch(@RequestBody BatchTransferRequest request) {
+        List<LocalTransferRequest> locals = request.localTransfers() != null
+                ? request.localTransfers() : List.of();
+        List<ForexTransferRequest> forex = request.forexTransfers() != null
+                ? request.forexTransfers() : List.of();
+
+        List<TransferCommand> commands = new ArrayList<>(locals.size() + forex.size());
+        for (LocalTransferRequest item : locals) {
+            commands.add(new TransferCommand(TransactionType.LOCAL,
+                    item.sourceAccountId(), item.targetAccountId(),
+                    item.amount(), item.description()));
+        }
+        for (ForexTransferRequest item : forex) {
+            rejectQuote(item);
+            commands.add(new TransferCommand(TransactionType.FOREX,
+                    item.sourceAccountId(), item.targetAccountId(),
+                    item.sourceAmount(), item.description()));
+        }
+
+        List<BatchItemResult> results = transactionUseCase.executeBatch(commands);
+
+        List<BatchItemResponse> items = new ArrayList<>(results.size());
+        int succeeded = 0;
+        for (BatchItemResult result : results) {
+            boolean local = result.index() < locals.size();
+            String type = local ? TransactionType.LOCAL.name() : TransactionType.FOREX.name();
+            int index = local ? result.index() : result.index() - locals.size();
+
+            if (result.isSuccess()) {
+                succeeded++;
+                items.add(new BatchItemResponse(type, index, true,
+                        TransactionResponse.fromDomain(result.transaction()), null, null));
+            } else {
+                items.add(new BatchItemResponse(type, index, false, null,
+                        GlobalExceptionHandler.errorCode(result.error()), result.error().getMessage()));
+            }
+        }
+
+        return ResponseEntity.ok(new BatchTransferResponse(
+                results.size(), succeeded, results.size() - succeeded, items));
     }
 
     /**
@@ -186,4 +378,47 @@ public class TransactionController {
 
         return ResponseEntity.ok(transactions);
     }
+
+    /**
+     * Exécute le transfert, au plus une fois par clé d'idempotence si elle est fournie.
+     * L'empreinte est la représentation du dto (record): elle inclut le type de
+     * transfert et tous les champs, une clé réutilisée pour une autre requête est rejetée.
+     */
+    private ResponseEntity<TransactionResponse> executeTransfer(String idempotencyKey,
+                                                                String fingerprint,
+                                                                Supplier<Transaction> transfer) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(TransactionResponse.fromDomain(transfer.get()));
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException(String.format(
+                    "La clé d'idempotence ne doit pas dépasser %d caractères", MAX_IDEMPOTENCY_KEY_LENGTH));
+        }
+
+        IdempotentResult result = idempotencyUseCase.execute(idempotencyKey, fingerprint, transfer);
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(TransactionResponse.fromDomain(result.transaction()));
+    }
+
+    private ResponseEntity<TransactionResponse> accepted(Transaction pending) {
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/v1/transactions/" + pending.getId() + "/status"))
+                .body(TransactionResponse.fromDomain(pending));
+    }
+
+    /**
+     * Les cotations ne s'appliquent qu'aux transferts Forex synchrones
+     */
+    private static void rejectQuote(ForexTransferRequest request) {
+        if (request.quoteId() != null) {
+            throw new IllegalArgumentException(
+                    "Une cotation ne s'utilise qu'avec POST /api/v1/transactions/forex");
+        }
+    }
 }
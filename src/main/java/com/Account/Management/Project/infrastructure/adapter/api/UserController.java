@@ -1,13 +1,17 @@
 package com.Account.Management.Project.infrastructure.adapter.api;
 
 
+import com.Account.Management.Project.domain.model.NetWorth;
 import com.Account.Management.Project.domain.model.Role;
 import com.Account.Management.Project.domain.model.User;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.port.input.PortfolioValuationUseCase;
 import com.Account.Management.Project.port.input.UserUseCase;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,9 +24,12 @@ import java.util.UUID;
 public class UserController {
 
     private final UserUseCase userUseCase;
+    private final PortfolioValuationUseCase portfolioValuation;
 
-    public UserController(UserUseCase userUseCase) {
+    public UserController(UserUseCase userUseCase,
+                          PortfolioValuationUseCase portfolioValuation) {
         this.userUseCase = userUseCase;
+        this.portfolioValuation = portfolioValuation;
     }
 
     // dto
@@ -73,6 +80,35 @@ public class UserController {
         }
     }
 
+    /**
+     * DTO pour la valorisation de plusieurs utilisateurs
+     */
+    public record NetWorthBatchRequest(
+            List<UUID> userIds,
+            String currency         // "EUR" par défaut
+    ) {}
+
+    /**
+     * DTO pour la valorisation des comptes d'un utilisateur
+     */
+    public record NetWorthResponse(
+            UUID userId,
+            BigDecimal netWorth,
+            String currency,
+            int accountCount,
+            long rateVersion
+    ) {
+        public static NetWorthResponse fromDomain(NetWorth netWorth) {
+            return new NetWorthResponse(
+                    netWorth.userId(),
+                    netWorth.total().getAmount(),
+                    netWorth.total().getCurrency().getCode(),
+                    netWorth.accountCount(),
+                    netWorth.rateVersion()
+            );
+        }
+    }
+
     // endpoints
 
     /**
@@ -120,6 +156,31 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * GET /api/v1/users/{id}/net-worth?currency=EUR - Valoriser tous les comptes
+     * d'un utilisateur dans une devise
+     */
+    @GetMapping("/{id}/net-worth")
+    public ResponseEntity<NetWorthResponse> getNetWorth(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "EUR") String currency) {
+        NetWorth netWorth = portfolioValuation.getNetWorth(id, Currency.fromCode(currency));
+        return ResponseEntity.ok(NetWorthResponse.fromDomain(netWorth));
+    }
+
+    /**
+     * POST /api/v1/users/net-worth - Valoriser plusieurs utilisateurs en parallèle
+     */
+    @PostMapping("/net-worth")
+    public ResponseEntity<List<NetWorthResponse>> getNetWorths(@RequestBody NetWorthBatchRequest request) {
+        Currency currency = Currency.fromCode(request.currency() != null ? request.currency() : "EUR");
+        List<NetWorthResponse> netWorths = portfolioValuation.getNetWorths(request.userIds(), currency)
+                .stream()
+                .map(NetWorthResponse::fromDomain)
+                .toList();
+        return ResponseEntity.ok(netWorths);
+    }
+
     /**
      * GET /api/v1/users/email/{email} - Récupérer un utilisateur par email
      */
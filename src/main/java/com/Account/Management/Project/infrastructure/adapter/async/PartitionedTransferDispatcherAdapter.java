@@ -0,0 +1,135 @@
+package com.Account.Management.Project.infrastructure.adapter.async;
+
+import com.Account.Management.Project.domain.exception.TransferQueueFullException;
+import com.Account.Management.Project.port.output.TransferDispatcherPort;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adapter implémentant le port de sortie TransferDispatcherPort
+ *
+ * Pool de travailleurs partitionné: chaque partition est un exécuteur
+ * mono-thread avec une file bornée. Un compte source est toujours associé
+ * à la même partition, ce qui préserve l'ordre des transferts par compte
+ * sans verrou supplémentaire. Une file pleine est rejetée immédiatement
+ * plutôt que de bloquer le thread HTTP.
+ *
+ * Les tâches différées attendent sur un planificateur séparé, sans occuper
+ * le travailleur de leur partition.
+ */
+@Component
+public class PartitionedTransferDispatcherAdapter implements TransferDispatcherPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedTransferDispatcherAdapter.class);
+
+    private final ThreadPoolExecutor[] partitions;
+    private final ScheduledExecutorService delayed;
+    private final int queueCapacity;
+    private final LongAdder rejected = new LongAdder();
+
+    public PartitionedTransferDispatcherAdapter(
+            @Value("${transaction.async.partitions:16}") int partitionCount,
+            @Value("${transaction.async.queue-capacity:10000}") int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        this.partitions = new ThreadPoolExecutor[Math.max(1, partitionCount)];
+        for (int i = 0; i < partitions.length; i++) {
+            String threadName = "transfer-worker-" + i;
+            partitions[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        this.delayed = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transfer-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void dispatch(UUID partitionKey, Runnable task) {
+        int partition = partitionOf(partitionKey);
+        try {
+            partitions[partition].execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TransferQueueFullException(partition);
+        }
+    }
+
+    @Override
+    public void dispatchLater(UUID partitionKey, Runnable task, long delayMillis) {
+        try {
+            delayed.schedule(() -> {
+                try {
+                    dispatch(partitionKey, task);
+                } catch (TransferQueueFullException e) {
+                    dispatchLater(partitionKey, task, delayMillis);
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Arrêt en cours: la tâche sera reprise au prochain démarrage
+            logger.warn("Tâche différée abandonnée à l'arrêt");
+        }
+    }
+
+    @Override
+    public DispatcherStatistics getStatistics() {
+        long queued = 0;
+        long maxQueued = 0;
+        long completed = 0;
+        for (ThreadPoolExecutor executor : partitions) {
+            int size = executor.getQueue().size();
+            queued += size;
+            maxQueued = Math.max(maxQueued, size);
+            completed += executor.getCompletedTaskCount();
+        }
+        return new DispatcherStatistics(partitions.length, queueCapacity,
+                queued, maxQueued, completed, rejected.sum());
+    }
+
+    /**
+     * Les transferts encore en file ou différés restent PENDING ou PROCESSING
+     * en base et seront repris au prochain démarrage.
+     */
+    @PreDestroy
+    public void shutdown() {
+        delayed.shutdownNow();
+        for (ThreadPoolExecutor executor : partitions) {
+            executor.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor executor : partitions) {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    logger.warn("{} transferts asynchrones non traités à l'arrêt", executor.shutdownNow().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // méthodes utilitaires privées
+
+    private int partitionOf(UUID key) {
+        long bits = key.getMostSignificantBits() ^ key.getLeastSignificantBits();
+        int hash = (int) (bits ^ (bits >>> 32));
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+}
@@ -0,0 +1,286 @@
+package com.Account.Management.Project.infrastructure.adapter.cache;
+
+import com.Account.Management.Project.domain.model.AccountOwnerView;
+import com.Account.Management.Project.domain.model.BalanceMutation;
+import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.infrastructure.adapter.persistence.postgres.JpaAccountRepositoryAdapter;
+import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Cache de proximité des comptes devant JpaAccountRepositoryAdapter
+ * (activé par account.cache.enabled).
+ *
+ * Lecture traversante pour findById et findByAccountNumber (index secondaire
+ * numéro → ID), écriture traversante après commit pour save. Toute autre
+ * écriture (débit, crédit, variations par lot, consolidation, suppression)
+ * invalide l'entrée, immédiatement puis après la fin de la transaction.
+ *
+ * Le cache ne sert que les lectures hors transaction ou en transaction en
+ * lecture seule: une lecture dans une transaction d'écriture doit voir la
+ * version courante, utilisée ensuite par le contrôle optimiste. Les entrées
+ * expirent après account.cache.ttl-ms, ce qui borne l'écart avec les
+ * écritures des autres nœuds; ConsistentReads permet de contourner le cache.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "account.cache.enabled", havingValue = "true")
+public class CachingAccountRepositoryAdapter implements AccountRepositoryPort {
+
+    // Estimation de l'empreinte d'un compte en cache (nœud, compte, Money, dates)
+    private static final int ENTRY_OVERHEAD_BYTES = 320;
+
+    private final JpaAccountRepositoryAdapter delegate;
+    private final WTinyLfuCache<UUID, BankAccount> cache;
+    private final ConcurrentHashMap<String, UUID> idsByNumber = new ConcurrentHashMap<>();
+    private final LongAdder bypassed = new LongAdder();
+
+    public CachingAccountRepositoryAdapter(JpaAccountRepositoryAdapter delegate,
+                                           @Value("${account.cache.max-entries:100000}") long maxEntries,
+                                           @Value("${account.cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                                           @Value("${account.cache.ttl-ms:5000}") long ttlMillis) {
+        this.delegate = delegate;
+        this.cache = new WTinyLfuCache<>(maxEntries, maxWeightBytes, ttlMillis,
+                account -> ENTRY_OVERHEAD_BYTES + 2 * account.getAccountNumber().length(),
+                account -> account.getVersion() != null ? account.getVersion() : -1L,
+                (id, account) -> idsByNumber.remove(account.getAccountNumber(), id));
+    }
+
+    @Override
+    public BankAccount save(BankAccount account) {
+        BankAccount saved = delegate.save(account);
+        cache.invalidate(saved.getId());
+        BankAccount snapshot = saved.copy();
+        afterCompletion(committed -> {
+            if (committed) {
+                cache.put(snapshot.getId(), snapshot);
+                idsByNumber.put(snapshot.getAccountNumber(), snapshot.getId());
+            } else {
+                cache.invalidate(snapshot.getId());
+            }
+        });
+        return saved;
+    }
+
+    @Override
+    public Optional<BankAccount> findById(UUID id) {
+        if (bypass()) {
+            return delegate.findById(id);
+        }
+        BankAccount cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of(cached.copy());
+        }
+        return load(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public List<BankAccount> findAllById(Collection<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public List<AccountOwnerView> findWithOwnerStatus(Collection<UUID> ids) {
+        return delegate.findWithOwnerStatus(ids);
+    }
+
+    @Override
+    public Optional<BankAccount> findByAccountNumber(String accountNumber) {
+        if (bypass()) {
+            return delegate.findByAccountNumber(accountNumber);
+        }
+        UUID id = idsByNumber.get(accountNumber);
+        if (id != null) {
+            BankAccount cached = cache.get(id);
+            if (cached != null && cached.getAccountNumber().equals(accountNumber)) {
+                return Optional.of(cached.copy());
+            }
+            return load(id, () -> delegate.findByAccountNumber(accountNumber));
+        }
+        Optional<BankAccount> account = delegate.findByAccountNumber(accountNumber);
+        // Génération relevée après coup: un compte lu ici n'est mis en cache qu'au prochain accès
+        account.ifPresent(found -> idsByNumber.put(accountNumber, found.getId()));
+        return account;
+    }
+
+    @Override
+    public List<BankAccount> findByUserId(UUID userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public List<BankAccount> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        delegate.deleteById(id);
+        invalidateOnWrite(id);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public boolean existsByAccountNumber(String accountNumber) {
+        return delegate.existsByAccountNumber(accountNumber);
+    }
+
+    @Override
+    public Optional<BankAccount> debitIfAllowed(UUID id, BigDecimal amount, Currency currency) {
+        Optional<BankAccount> account = delegate.debitIfAllowed(id, amount, currency);
+        invalidateOnWrite(id);
+        return account;
+    }
+
+    @Override
+    public Optional<BankAccount> creditIfAllowed(UUID id, BigDecimal amount, Currency currency) {
+        Optional<BankAccount> account = delegate.creditIfAllowed(id, amount, currency);
+        invalidateOnWrite(id);
+        return account;
+    }
+
+    @Override
+    public void applyBalanceMutations(List<BalanceMutation> mutations) {
+        delegate.applyBalanceMutations(mutations);
+        mutations.stream().map(BalanceMutation::accountId).distinct().forEach(this::invalidateOnWrite);
+    }
+
+    @Override
+    public boolean creditShard(UUID id, int shardIndex, Money amount) {
+        // Le solde principal et la version du compte sont inchangés
+        return delegate.creditShard(id, shardIndex, amount);
+    }
+
+    @Override
+    public Optional<Money> findTotalBalance(UUID id) {
+        return delegate.findTotalBalance(id);
+    }
+
+    @Override
+    public Optional<Money> consolidateShards(UUID id, Currency currency) {
+        Optional<Money> balance = delegate.consolidateShards(id, currency);
+        invalidateOnWrite(id);
+        return balance;
+    }
+
+    @Override
+    public Optional<Money> resizeShards(UUID id, int shardCount, Currency currency) {
+        Optional<Money> balance = delegate.resizeShards(id, shardCount, currency);
+        invalidateOnWrite(id);
+        return balance;
+    }
+
+    @Override
+    public List<UUID> findShardedAccountIds() {
+        return delegate.findShardedAccountIds();
+    }
+
+    public NearCacheStatistics getStatistics() {
+        WTinyLfuCache.CacheStatistics stats = cache.getStatistics();
+        return new NearCacheStatistics(
+                stats.entries(),
+                idsByNumber.size(),
+                stats.weight(),
+                stats.maxEntries(),
+                stats.maxWeight(),
+                stats.hits(),
+                stats.misses(),
+                stats.hitRate(),
+                stats.evictions(),
+                stats.evictedWeight(),
+                stats.expirations(),
+                stats.staleLoadsDiscarded(),
+                bypassed.sum());
+    }
+
+    /**
+     * Instantané des métriques du cache de proximité
+     * @param weightBytes Poids estimé des entrées
+     * @param staleLoadsDiscarded Chargements écartés car invalidés pendant la lecture
+     * @param bypassed Lectures fortement cohérentes servies par la base
+     */
+    public record NearCacheStatistics(
+            long entries,
+            long indexedNumbers,
+            long weightBytes,
+            long maxEntries,
+            long maxWeightBytes,
+            long hits,
+            long misses,
+            double hitRate,
+            long evictions,
+            long evictedWeightBytes,
+            long expirations,
+            long staleLoadsDiscarded,
+            long bypassed
+    ) {}
+
+    // méthodes utilitaires privées
+
+    /**
+     * Lecture traversante: la valeur n'est insérée que si le compte n'a pas
+     * été modifié pendant le chargement
+     */
+    private Optional<BankAccount> load(UUID id, Supplier<Optional<BankAccount>> loader) {
+        long generation = cache.generation(id);
+        Optional<BankAccount> account = loader.get();
+        account.ifPresent(found -> {
+            if (cache.putIfUnchanged(found.getId(), found.copy(), generation)) {
+                idsByNumber.put(found.getAccountNumber(), found.getId());
+            }
+        });
+        return account;
+    }
+
+    private boolean bypass() {
+        if (ConsistentReads.requested()) {
+            bypassed.increment();
+            return true;
+        }
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private void invalidateOnWrite(UUID id) {
+        cache.invalidate(id);
+        afterCompletion(committed -> cache.invalidate(id));
+    }
+
+    /**
+     * Exécute l'action à la fin de la transaction courante (commit ou rollback),
+     * ou immédiatement hors transaction
+     */
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.Account.Management.Project.infrastructure.adapter.cache;
+
+import java.util.function.Supplier;
+
+/**
+ * Demande de lecture fortement cohérente pour le thread courant: les lectures
+ * de comptes effectuées pendant l'appel contournent le cache de proximité
+ * et sont servies par la base.
+ */
+public final class ConsistentReads {
+
+    private static final ThreadLocal<Boolean> REQUESTED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private ConsistentReads() {
+    }
+
+    /**
+     * Exécute l'appel en contournant le cache si strong est vrai
+     */
+    public static <T> T run(boolean strong, Supplier<T> call) {
+        if (!strong || REQUESTED.get()) {
+            return call.get();
+        }
+        REQUESTED.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            REQUESTED.set(Boolean.FALSE);
+        }
+    }
+
+    static boolean requested() {
+        return REQUESTED.get();
+    }
+}
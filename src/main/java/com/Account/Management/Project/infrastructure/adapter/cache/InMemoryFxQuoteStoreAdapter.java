@@ -0,0 +1,144 @@
+package com.Account.Management.Project.infrastructure.adapter.cache;
+
+import com.Account.Management.Project.domain.exception.FxQuoteCapacityExceededException;
+import com.Account.Management.Project.domain.model.FxQuote;
+import com.Account.Management.Project.infrastructure.adapter.scheduling.HierarchicalTimingWheel;
+import com.Account.Management.Project.port.output.FxQuoteStorePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adapter implémentant le port de sortie FxQuoteStorePort en mémoire.
+ *
+ * Les cotations sont indexées par ID (lecture en O(1), sans verrou).
+ * Leur expiration est programmée dans une roue temporelle, avancée toutes
+ * les fx.quotes.tick-ms: seules les cotations arrivées à terme sont
+ * visitées, sans parcours de l'ensemble. Entre deux avancées, une cotation
+ * expirée est ignorée à la lecture.
+ */
+@Component
+public class InMemoryFxQuoteStoreAdapter implements FxQuoteStorePort {
+
+    private final ConcurrentHashMap<UUID, FxQuote> quotes = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel wheel;
+    private final long tickMillis;
+    private final int maxActive;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder used = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder restored = new LongAdder();
+
+    public InMemoryFxQuoteStoreAdapter(@Value("${fx.quotes.tick-ms:1000}") long tickMillis,
+                                       @Value("${fx.quotes.wheel-size:64}") int wheelSize,
+                                       @Value("${fx.quotes.max-active:100000}") int maxActive) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.wheel = new HierarchicalTimingWheel(this.tickMillis, Math.max(2, wheelSize),
+                toMillis(LocalDateTime.now()));
+        this.maxActive = maxActive;
+    }
+
+    @Override
+    public void save(FxQuote quote) {
+        if (quotes.size() >= maxActive) {
+            throw new FxQuoteCapacityExceededException(maxActive);
+        }
+        quotes.put(quote.id(), quote);
+        // Une case de la roue arrive à terme au début de son intervalle:
+        // un pas de plus garantit que la cotation est expirée à son retrait
+        synchronized (wheel) {
+            wheel.add(quote.id(), toMillis(quote.expiresAt()) + tickMillis);
+        }
+        created.increment();
+    }
+
+    @Override
+    public Optional<FxQuote> findById(UUID quoteId) {
+        FxQuote quote = quotes.get(quoteId);
+        if (quote == null || quote.isExpired(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(quote);
+    }
+
+    @Override
+    public Optional<FxQuote> take(UUID quoteId, UUID sourceAccountId) {
+        // Retrait conditionnel: la cotation d'un autre compte n'est pas consommée
+        FxQuote quote = quotes.get(quoteId);
+        if (quote == null || !quote.isOwnedBy(sourceAccountId) || !quotes.remove(quoteId, quote)) {
+            return Optional.empty();
+        }
+        if (quote.isExpired(LocalDateTime.now())) {
+            expired.increment();
+            return Optional.empty();
+        }
+        used.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // L'entrée de la roue est conservée: elle retirera la cotation rendue à son expiration
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(quote);
+                    }
+                }
+            });
+        }
+        return Optional.of(quote);
+    }
+
+    @Override
+    public void release(FxQuote quote) {
+        if (!quote.isExpired(LocalDateTime.now()) && quotes.putIfAbsent(quote.id(), quote) == null) {
+            used.decrement();
+            restored.increment();
+        }
+    }
+
+    /**
+     * Avance la roue et retire les cotations arrivées à terme
+     */
+    @Scheduled(fixedDelayString = "${fx.quotes.tick-ms:1000}")
+    public void expire() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> due;
+        synchronized (wheel) {
+            due = wheel.advance(toMillis(now));
+        }
+        for (UUID id : due) {
+            FxQuote quote = quotes.get(id);
+            if (quote != null && quote.isExpired(now) && quotes.remove(id, quote)) {
+                expired.increment();
+            }
+        }
+    }
+
+    @Override
+    public QuoteStoreStatistics getStatistics() {
+        return new QuoteStoreStatistics(
+                quotes.size(),
+                maxActive,
+                created.sum(),
+                used.sum(),
+                expired.sum(),
+                restored.sum());
+    }
+
+    // méthodes utilitaires privées
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+}
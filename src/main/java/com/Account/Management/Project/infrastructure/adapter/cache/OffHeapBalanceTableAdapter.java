@@ -0,0 +1,291 @@
+package com.Account.Management.Project.infrastructure.adapter.cache;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.output.BalanceTablePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adapter implémentant le port de sortie BalanceTablePort
+ * (activé par balance-table.enabled).
+ *
+ * Les soldes sont rangés hors du tas Java, dans des ByteBuffer directs
+ * découpés en segments: le ramasse-miettes ne voit que quelques dizaines
+ * d'objets, quel que soit le nombre de comptes. Chaque emplacement de
+ * 48 octets contient:
+ *   stamp (8) | UUID (16) | solde en centimes (8) | version (8) | devise et drapeaux (8)
+ *
+ * L'index est à adressage ouvert (sondage linéaire) sur les deux longs de
+ * l'UUID. Un emplacement n'est jamais libéré, ce qui rend la clé immuable
+ * une fois écrite. Les lectures sont sans verrou (seqlock sur le stamp:
+ * impair pendant une écriture); les écritures prennent l'emplacement par CAS.
+ * Quand le taux de remplissage maximal est atteint, les nouveaux comptes
+ * ne sont plus insérés et sont servis par la base.
+ *
+ * Une lecture fortement cohérente (ConsistentReads) n'est jamais servie par
+ * la table, qui peut ignorer les écritures des autres nœuds.
+ */
+@Component
+@ConditionalOnProperty(name = "balance-table.enabled", havingValue = "true")
+public class OffHeapBalanceTableAdapter implements BalanceTablePort {
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int SLOT_BYTES = 48;
+    private static final int STAMP = 0;
+    private static final int MSB = 8;
+    private static final int LSB = 16;
+    private static final int BALANCE = 24;
+    private static final int VERSION = 32;
+    private static final int META = 40;
+
+    private static final int ACTIVE = 1;
+    private static final int SHARDED = 2;
+    private static final int DELETED = 4;
+
+    // 65536 emplacements (3 Mo) par segment
+    private static final int SEGMENT_SHIFT = 16;
+    private static final int SEGMENT_SLOTS = 1 << SEGMENT_SHIFT;
+
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private final ByteBuffer[] segments;
+    private final long capacity;
+    private final long mask;
+    private final long maxSize;
+
+    private final AtomicLong size = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public OffHeapBalanceTableAdapter(@Value("${balance-table.capacity:1048576}") long requestedCapacity,
+                                      @Value("${balance-table.max-load-factor:0.75}") double maxLoadFactor) {
+        // Arrondi à la puissance de 2 supérieure, au moins un segment
+        long slots = Math.max(SEGMENT_SLOTS, Long.highestOneBit(Math.max(1, requestedCapacity - 1)) << 1);
+        int segmentCount = (int) (slots >>> SEGMENT_SHIFT);
+        this.segments = new ByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Alignement sur 8 octets requis par les accès atomiques
+            segments[i] = ByteBuffer.allocateDirect(SEGMENT_SLOTS * SLOT_BYTES + 7)
+                    .alignedSlice(8)
+                    .order(ByteOrder.nativeOrder());
+        }
+        this.capacity = slots;
+        this.mask = slots - 1;
+        this.maxSize = (long) (slots * Math.min(0.95, Math.max(0.1, maxLoadFactor)));
+    }
+
+    @Override
+    public Optional<Money> findBalance(UUID accountId) {
+        if (ConsistentReads.requested()) {
+            return Optional.empty();
+        }
+        long msb = accountId.getMostSignificantBits();
+        long lsb = accountId.getLeastSignificantBits();
+        long slot = lookup(msb, lsb);
+        if (slot >= 0) {
+            ByteBuffer segment = segment(slot);
+            int base = offset(slot);
+            while (true) {
+                long stamp = (long) LONGS.getAcquire(segment, base + STAMP);
+                if ((stamp & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                long balance = (long) LONGS.get(segment, base + BALANCE);
+                long meta = (long) LONGS.get(segment, base + META);
+                VarHandle.acquireFence();
+                if ((long) LONGS.get(segment, base + STAMP) != stamp) {
+                    continue;
+                }
+                if (((int) meta & (SHARDED | DELETED)) == 0) {
+                    hits.increment();
+                    return Optional.of(Money.ofMinor(balance, CURRENCIES[(int) (meta >>> 32)]));
+                }
+                break;
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    @Override
+    public FundsCheck checkFunds(UUID accountId, BigDecimal amount) {
+        long slot = lookup(accountId.getMostSignificantBits(), accountId.getLeastSignificantBits());
+        if (slot < 0) {
+            misses.increment();
+            return FundsCheck.UNKNOWN;
+        }
+        long requested = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        while (true) {
+            long stamp = (long) LONGS.getAcquire(segment, base + STAMP);
+            if ((stamp & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long balance = (long) LONGS.get(segment, base + BALANCE);
+            long meta = (long) LONGS.get(segment, base + META);
+            VarHandle.acquireFence();
+            if ((long) LONGS.get(segment, base + STAMP) != stamp) {
+                continue;
+            }
+            if (((int) meta & (SHARDED | DELETED)) != 0) {
+                misses.increment();
+                return FundsCheck.UNKNOWN;
+            }
+            hits.increment();
+            return balance >= requested ? FundsCheck.SUFFICIENT : FundsCheck.INSUFFICIENT;
+        }
+    }
+
+    @Override
+    public void record(UUID accountId, Money balance, long version, boolean active, boolean sharded) {
+        int flags = (active ? ACTIVE : 0) | (sharded ? SHARDED : 0);
+        write(accountId, balance.getMinorAmount(), version,
+                ((long) balance.getCurrency().ordinal() << 32) | flags);
+    }
+
+    @Override
+    public void remove(UUID accountId) {
+        // Version maximale: aucune publication tardive ne peut réinsérer le compte
+        write(accountId, 0, Long.MAX_VALUE, DELETED);
+    }
+
+    @Override
+    public TableStatistics getStatistics() {
+        return new TableStatistics(
+                capacity,
+                size.get(),
+                capacity * SLOT_BYTES,
+                hits.sum(),
+                misses.sum(),
+                rejected.sum()
+        );
+    }
+
+    // Méthodes utilitaires privées
+
+    /**
+     * Emplacement du compte, ou -1 s'il est absent
+     */
+    private long lookup(long msb, long lsb) {
+        for (long slot = hash(msb, lsb), probes = 0; probes < capacity; slot = (slot + 1) & mask, probes++) {
+            ByteBuffer segment = segment(slot);
+            int base = offset(slot);
+            long stamp = awaitKey(segment, base);
+            if (stamp == 0) {
+                return -1;
+            }
+            if ((long) LONGS.get(segment, base + MSB) == msb && (long) LONGS.get(segment, base + LSB) == lsb) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Met à jour l'emplacement du compte si la version est plus récente,
+     * ou en prend un libre
+     */
+    private void write(UUID accountId, long balance, long version, long meta) {
+        long msb = accountId.getMostSignificantBits();
+        long lsb = accountId.getLeastSignificantBits();
+
+        for (long slot = hash(msb, lsb), probes = 0; probes < capacity; ) {
+            ByteBuffer segment = segment(slot);
+            int base = offset(slot);
+            long stamp = awaitKey(segment, base);
+
+            if (stamp == 0) {
+                if (size.get() >= maxSize) {
+                    rejected.increment();
+                    return;
+                }
+                if (!LONGS.compareAndSet(segment, base + STAMP, 0L, 1L)) {
+                    // Emplacement pris entre-temps: réexaminer le même
+                    continue;
+                }
+                LONGS.set(segment, base + MSB, msb);
+                LONGS.set(segment, base + LSB, lsb);
+                LONGS.set(segment, base + BALANCE, balance);
+                LONGS.set(segment, base + VERSION, version);
+                LONGS.set(segment, base + META, meta);
+                LONGS.setRelease(segment, base + STAMP, 2L);
+                size.incrementAndGet();
+                return;
+            }
+
+            if ((long) LONGS.get(segment, base + MSB) == msb && (long) LONGS.get(segment, base + LSB) == lsb) {
+                update(segment, base, balance, version, meta);
+                return;
+            }
+            slot = (slot + 1) & mask;
+            probes++;
+        }
+        rejected.increment();
+    }
+
+    private void update(ByteBuffer segment, int base, long balance, long version, long meta) {
+        long stamp;
+        while (true) {
+            stamp = (long) LONGS.getVolatile(segment, base + STAMP);
+            if ((stamp & 1) == 0 && LONGS.compareAndSet(segment, base + STAMP, stamp, stamp + 1)) {
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        if (version <= (long) LONGS.get(segment, base + VERSION)) {
+            // Publication plus ancienne que l'état connu: rien n'a changé
+            LONGS.setRelease(segment, base + STAMP, stamp);
+            return;
+        }
+        LONGS.set(segment, base + BALANCE, balance);
+        LONGS.set(segment, base + VERSION, version);
+        LONGS.set(segment, base + META, meta);
+        LONGS.setRelease(segment, base + STAMP, stamp + 2);
+    }
+
+    /**
+     * Stamp de l'emplacement une fois sa clé écrite (0 s'il est libre)
+     */
+    private static long awaitKey(ByteBuffer segment, int base) {
+        long stamp;
+        while ((stamp = (long) LONGS.getAcquire(segment, base + STAMP)) == 1) {
+            Thread.onSpinWait();
+        }
+        return stamp;
+    }
+
+    private long hash(long msb, long lsb) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h & mask;
+    }
+
+    private ByteBuffer segment(long slot) {
+        return segments[(int) (slot >>> SEGMENT_SHIFT)];
+    }
+
+    private static int offset(long slot) {
+        return (int) (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+    }
+}
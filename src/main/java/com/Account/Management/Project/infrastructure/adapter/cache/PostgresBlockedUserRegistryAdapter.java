@@ -0,0 +1,276 @@
+package com.Account.Management.Project.infrastructure.adapter.cache;
+
+import com.Account.Management.Project.domain.model.User;
+import com.Account.Management.Project.port.output.BlockedUserRegistryPort;
+import com.Account.Management.Project.port.output.UserRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adapter implémentant le port de sortie BlockedUserRegistryPort
+ * (activé avec le moteur en mémoire, engine.in-memory.enabled, seul à le
+ * consulter: les écritures en base vérifient le propriétaire elles-mêmes).
+ *
+ * Le registre est chargé au démarrage (findAllBlocked, plus les propriétaires
+ * supprimés de comptes encore présents), puis tenu à jour par UserService.
+ *
+ * Invalidation entre nœuds par LISTEN/NOTIFY PostgreSQL: chaque modification
+ * émet pg_notify dans la transaction qui la porte, donc n'est diffusée qu'au
+ * commit. Un thread dédié écoute le canal sur une connexion réservée et relit
+ * l'utilisateur notifié. Après une perte de connexion, le registre est
+ * rechargé en entier pour rattraper les notifications manquées.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.in-memory.enabled", havingValue = "true")
+public class PostgresBlockedUserRegistryAdapter implements BlockedUserRegistryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresBlockedUserRegistryAdapter.class);
+
+    private static final String ORPHAN_OWNERS_SQL = """
+            SELECT DISTINCT a.user_id FROM bank_accounts a
+            WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = a.user_id)
+            """;
+
+    private final UserRepositoryPort userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final boolean invalidationEnabled;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+
+    private final Set<UUID> blocked = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> deleted = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder restricted = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listener;
+
+    public PostgresBlockedUserRegistryAdapter(UserRepositoryPort userRepository,
+                                              JdbcTemplate jdbcTemplate,
+                                              DataSource dataSource,
+                                              @Value("${users.blocked-registry.invalidation.enabled:true}") boolean invalidationEnabled,
+                                              @Value("${users.blocked-registry.invalidation.channel:user_status}") String channel,
+                                              @Value("${users.blocked-registry.invalidation.poll-timeout-ms:1000}") int pollTimeoutMs,
+                                              @Value("${users.blocked-registry.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Nom de canal invalide: " + channel);
+        }
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.invalidationEnabled = invalidationEnabled;
+        this.channel = channel;
+        this.pollTimeoutMs = Math.max(1, pollTimeoutMs);
+        this.reconnectDelayMs = Math.max(1, reconnectDelayMs);
+    }
+
+    @PostConstruct
+    void start() {
+        // Chargement synchrone: le registre est complet avant la première requête
+        reload();
+        if (invalidationEnabled) {
+            running = true;
+            listener = new Thread(this::listen, "blocked-user-listener");
+            listener.setDaemon(true);
+            listener.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRestricted(UUID userId) {
+        lookups.increment();
+        if (blocked.contains(userId) || deleted.contains(userId)) {
+            restricted.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void markBlocked(UUID userId) {
+        boolean added = blocked.add(userId);
+        notifyNodes(userId);
+        onCompletion(() -> blocked.add(userId), () -> {
+            if (added) {
+                blocked.remove(userId);
+            }
+        });
+    }
+
+    @Override
+    public void markUnblocked(UUID userId) {
+        notifyNodes(userId);
+        onCompletion(() -> blocked.remove(userId), () -> { });
+    }
+
+    @Override
+    public void markDeleted(UUID userId) {
+        boolean added = deleted.add(userId);
+        notifyNodes(userId);
+        onCompletion(() -> blocked.remove(userId), () -> {
+            if (added) {
+                deleted.remove(userId);
+            }
+        });
+    }
+
+    @Override
+    public RegistryStatistics getStatistics() {
+        return new RegistryStatistics(
+                blocked.size(),
+                deleted.size(),
+                lookups.sum(),
+                restricted.sum(),
+                invalidations.sum(),
+                reloads.sum(),
+                listening);
+    }
+
+    // méthodes utilitaires privées
+
+    /**
+     * Recharge le registre complet depuis la base
+     */
+    private void reload() {
+        Set<UUID> freshBlocked = new HashSet<>();
+        for (User user : userRepository.findAllBlocked()) {
+            freshBlocked.add(user.getId());
+        }
+        Set<UUID> freshDeleted = new HashSet<>(
+                jdbcTemplate.queryForList(ORPHAN_OWNERS_SQL, UUID.class));
+
+        blocked.addAll(freshBlocked);
+        blocked.retainAll(freshBlocked);
+        deleted.addAll(freshDeleted);
+        deleted.retainAll(freshDeleted);
+        reloads.increment();
+        logger.debug("Registre des utilisateurs bloqués chargé: {} bloqués, {} supprimés",
+                freshBlocked.size(), freshDeleted.size());
+    }
+
+    /**
+     * Relit un utilisateur et aligne le registre sur son état en base
+     */
+    private void refresh(UUID userId) {
+        Optional<User> user = userRepository.findById(userId);
+        if (user.isEmpty()) {
+            blocked.remove(userId);
+            deleted.add(userId);
+            return;
+        }
+        deleted.remove(userId);
+        if (user.get().isBlocked()) {
+            blocked.add(userId);
+        } else {
+            blocked.remove(userId);
+        }
+    }
+
+    /**
+     * Émet la notification dans la transaction courante: PostgreSQL ne la
+     * délivre qu'au commit, et jamais après un rollback
+     */
+    private void notifyNodes(UUID userId) {
+        if (invalidationEnabled) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { },
+                    channel, userId.toString());
+        }
+    }
+
+    /**
+     * Applique afterCommit après le commit, ou afterRollback pour annuler
+     * un marquage anticipé
+     */
+    private static void onCompletion(Runnable afterCommit, Runnable afterRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    afterCommit.run();
+                } else {
+                    afterRollback.run();
+                }
+            }
+        });
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                listening = true;
+                // Rattrape les modifications validées avant l'écoute
+                reload();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        invalidations.increment();
+                        refresh(UUID.fromString(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                listening = false;
+                if (!running) {
+                    return;
+                }
+                logger.warn("Écoute des invalidations interrompue, reconnexion dans {} ms: {}",
+                        reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        listening = false;
+    }
+}
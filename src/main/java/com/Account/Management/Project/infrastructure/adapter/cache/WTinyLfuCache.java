@@ -0,0 +1,429 @@
+package com.Account.Management.Project.infrastructure.adapter.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache borné à politique W-TinyLFU, borné en nombre d'entrées et en poids.
+ *
+ * Les nouvelles entrées passent par une petite fenêtre LRU (1 %), puis
+ * entrent dans la zone principale (LRU segmentée: probation et protégée).
+ * Quand la capacité est dépassée, le candidat sorti de la fenêtre n'est admis
+ * que s'il est plus fréquent que la victime de la probation; la fréquence est
+ * estimée par un count-min sketch de compteurs 4 bits, divisés par deux
+ * périodiquement pour oublier l'historique ancien.
+ *
+ * Les lectures se font sans verrou dans la ConcurrentHashMap; la mise à jour
+ * de la politique (sketch et ordre d'accès) prend le verrou par tryLock et
+ * est abandonnée en cas de contention, comme un tampon de lecture qui déborde.
+ * Les écritures prennent le verrou.
+ *
+ * Chaque clé appartient à une stripe de générations: un chargement depuis la
+ * base n'est inséré que si aucune invalidation de sa stripe n'a eu lieu
+ * pendant la lecture, ce qui évite de réinsérer une valeur périmée.
+ */
+final class WTinyLfuCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ToIntFunction<V> weigher;
+    private final ToLongFunction<V> versionOf;
+    private final BiConsumer<K, V> removalListener;
+    private final long maxEntries;
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final long windowMaxEntries;
+    private final long protectedMaxEntries;
+    private final FrequencySketch sketch;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    // Listes d'accès (tête: moins récent), modifiées sous verrou
+    private final AccessList<K, V> window = new AccessList<>();
+    private final AccessList<K, V> probation = new AccessList<>();
+    private final AccessList<K, V> protectedList = new AccessList<>();
+    private volatile long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder evictedWeight = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder staleLoads = new LongAdder();
+
+    WTinyLfuCache(long maxEntries, long maxWeight, long ttlMillis,
+                  ToIntFunction<V> weigher, ToLongFunction<V> versionOf,
+                  BiConsumer<K, V> removalListener) {
+        this.maxEntries = Math.max(2, maxEntries);
+        this.maxWeight = Math.max(1, maxWeight);
+        this.ttlNanos = ttlMillis <= 0 ? Long.MAX_VALUE : ttlMillis * 1_000_000L;
+        this.windowMaxEntries = Math.max(1, this.maxEntries / 100);
+        this.protectedMaxEntries = (long) ((this.maxEntries - windowMaxEntries) * 0.8);
+        this.weigher = weigher;
+        this.versionOf = versionOf;
+        this.removalListener = removalListener;
+        this.sketch = new FrequencySketch(this.maxEntries);
+    }
+
+    /**
+     * Valeur en cache, null si absente ou expirée
+     */
+    V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            recordAccess(key, null);
+            return null;
+        }
+        if (System.nanoTime() - node.writeNanos > ttlNanos) {
+            misses.increment();
+            expirations.increment();
+            lock.lock();
+            try {
+                if (data.get(key) == node) {
+                    remove(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        }
+        hits.increment();
+        recordAccess(key, node);
+        return node.value;
+    }
+
+    /**
+     * Génération courante de la clé, à relever avant un chargement depuis la base
+     */
+    long generation(K key) {
+        return generations.get(stripeOf(key));
+    }
+
+    /**
+     * Insère une valeur chargée, sauf si la clé a été invalidée depuis generation()
+     */
+    boolean putIfUnchanged(K key, V value, long expectedGeneration) {
+        lock.lock();
+        try {
+            if (generations.get(stripeOf(key)) != expectedGeneration) {
+                staleLoads.increment();
+                return false;
+            }
+            insert(key, value);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Écriture directe (write-through) d'une valeur validée; une valeur de
+     * version antérieure à celle en cache est ignorée
+     */
+    void put(K key, V value) {
+        lock.lock();
+        try {
+            generations.incrementAndGet(stripeOf(key));
+            insert(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(K key) {
+        lock.lock();
+        try {
+            generations.incrementAndGet(stripeOf(key));
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                remove(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    CacheStatistics getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new CacheStatistics(
+                data.size(),
+                weight,
+                maxEntries,
+                maxWeight,
+                hitCount,
+                missCount,
+                requests == 0 ? 0.0 : (double) hitCount / requests,
+                evictions.sum(),
+                evictedWeight.sum(),
+                expirations.sum(),
+                staleLoads.sum());
+    }
+
+    record CacheStatistics(
+            long entries,
+            long weight,
+            long maxEntries,
+            long maxWeight,
+            long hits,
+            long misses,
+            double hitRate,
+            long evictions,
+            long evictedWeight,
+            long expirations,
+            long staleLoadsDiscarded
+    ) {}
+
+    // méthodes utilitaires privées (verrou détenu sauf mention contraire)
+
+    /**
+     * Met à jour la politique après un accès, si le verrou est libre (sans verrou)
+     */
+    private void recordAccess(K key, Node<K, V> node) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(spread(key.hashCode()));
+            if (node != null && data.get(key) == node) {
+                onHit(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onHit(Node<K, V> node) {
+        switch (node.list) {
+            case WINDOW -> window.moveToTail(node);
+            case PROBATION -> {
+                // Deuxième accès: promotion vers la zone protégée
+                probation.unlink(node);
+                protectedList.append(node, PROTECTED);
+                while (protectedList.size > protectedMaxEntries) {
+                    Node<K, V> demoted = protectedList.head;
+                    protectedList.unlink(demoted);
+                    probation.append(demoted, PROBATION);
+                }
+            }
+            default -> protectedList.moveToTail(node);
+        }
+    }
+
+    private void insert(K key, V value) {
+        Node<K, V> existing = data.get(key);
+        if (existing != null) {
+            if (versionOf.applyAsLong(value) < versionOf.applyAsLong(existing.value)) {
+                return;
+            }
+            int newWeight = weigher.applyAsInt(value);
+            weight += newWeight - existing.weight;
+            existing.value = value;
+            existing.weight = newWeight;
+            existing.writeNanos = System.nanoTime();
+            evictIfNeeded();
+            return;
+        }
+
+        Node<K, V> node = new Node<>(key, value, weigher.applyAsInt(value));
+        data.put(key, node);
+        weight += node.weight;
+        window.append(node, WINDOW);
+
+        // La fenêtre déborde dans la probation: son plus ancien devient candidat
+        while (window.size > windowMaxEntries) {
+            Node<K, V> candidate = window.head;
+            window.unlink(candidate);
+            probation.append(candidate, PROBATION);
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * Admission TinyLFU: le candidat (dernier entré en probation) affronte la
+     * victime (plus ancien de la probation); le moins fréquent est évincé
+     */
+    private void evictIfNeeded() {
+        while (data.size() > maxEntries || weight > maxWeight) {
+            Node<K, V> victim = probation.head;
+            Node<K, V> candidate = probation.tail;
+            if (victim == null) {
+                evict(protectedList.head != null ? protectedList.head : window.head);
+            } else if (victim == candidate) {
+                evict(victim);
+            } else if (sketch.frequency(spread(candidate.key.hashCode()))
+                    > sketch.frequency(spread(victim.key.hashCode()))) {
+                evict(victim);
+            } else {
+                evict(candidate);
+            }
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        evictions.increment();
+        evictedWeight.add(node.weight);
+        remove(node);
+    }
+
+    private void remove(Node<K, V> node) {
+        data.remove(node.key, node);
+        weight -= node.weight;
+        switch (node.list) {
+            case WINDOW -> window.unlink(node);
+            case PROBATION -> probation.unlink(node);
+            default -> protectedList.unlink(node);
+        }
+        removalListener.accept(node.key, node.value);
+    }
+
+    private static int stripeOf(Object key) {
+        return spread(key.hashCode()) & (GENERATION_STRIPES - 1);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long writeNanos;
+        int weight;
+        int list;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Liste doublement chaînée intrusive, de la tête (moins récent) à la queue
+     */
+    private static final class AccessList<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        long size;
+
+        void append(Node<K, V> node, int list) {
+            node.list = list;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        void unlink(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToTail(Node<K, V> node) {
+            if (node != tail) {
+                int list = node.list;
+                unlink(node);
+                append(node, list);
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch à 4 lignes de compteurs 4 bits (16 compteurs par long).
+     * Les compteurs sont divisés par deux après 10 × taille incréments.
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int size;
+
+        FrequencySketch(long maxEntries) {
+            int length = (int) Math.min(1 << 24, Math.max(8, Long.highestOneBit(maxEntries - 1) << 1));
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = 10 * length;
+        }
+
+        int frequency(int hash) {
+            int start = (hash & 3) << 2;
+            int frequency = 15;
+            for (int i = 0; i < 4; i++) {
+                int count = (int) ((table[indexOf(hash, i)] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = (start + i) << 2;
+                long mask = 0xfL << offset;
+                if ((table[index] & mask) != mask) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++size >= sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            int odd = 0;
+            for (int i = 0; i < table.length; i++) {
+                odd += Long.bitCount(table[i] & ONE_MASK);
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size = (size >>> 1) - (odd >>> 2);
+        }
+
+        private int indexOf(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return (int) h & tableMask;
+        }
+    }
+}
@@ -2,67 +2,199 @@ package com.Account.Management.Project.infrastructure.adapter.currency;
 
 
 import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.ExchangeRateSnapshot;
 import com.Account.Management.Project.domain.valueObject.Money;
 import com.Account.Management.Project.port.output.CurrencyConversionPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Adapter implémentant le port de sortie CurrencyConversionPort
  *
- * Dans cette implémentation, les taux de change sont statiques
- * En production, cet adapter pourrait appeler une API externe
+ * Les taux proviennent d'une ExchangeRateSource (fixe, fichier local ou
+ * point d'accès HTTP), interrogée toutes les fx.refresh-interval-ms par un
+ * thread dédié. Des taux modifiés sont publiés dans un nouvel
+ * ExchangeRateSnapshot versionné, par une seule écriture volatile: les
+ * lectures ne prennent aucun verrou et voient toujours un instantané complet.
+ *
+ * Chaque instantané publié est ajouté à l'ExchangeRateHistory, qui sert
+ * les taux à un instant passé.
+ *
+ * Une source illisible ou invalide ne remplace pas les taux en vigueur.
+ * Si aucun taux n'a pu être lu au démarrage, les taux fixes par défaut sont
+ * utilisés jusqu'à la première lecture réussie.
  */
 @Component
 public class CurrencyConversionAdapter implements CurrencyConversionPort {
 
-    // Taux de change par rapport à l'EUR (devise de base)
-    // En production: charger depuis une API ou une base de données
-    private static final Map<Currency, Double> RATES_TO_EUR = new HashMap<>();
-
-    static {
-        // Taux de change fictifs (1 EUR = X devise)
-        RATES_TO_EUR.put(Currency.EUR, 1.0);
-        RATES_TO_EUR.put(Currency.USD, 1.08);    // 1 EUR = 1.08 USD
-        RATES_TO_EUR.put(Currency.GBP, 0.86);    // 1 EUR = 0.86 GBP
-        RATES_TO_EUR.put(Currency.MAD, 10.85);   // 1 EUR = 10.85 MAD
-        RATES_TO_EUR.put(Currency.JPY, 162.50);  // 1 EUR = 162.50 JPY
-        RATES_TO_EUR.put(Currency.CHF, 0.94);    // 1 EUR = 0.94 CHF
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyConversionAdapter.class);
+
+    private final ExchangeRateSource source;
+    private final ExchangeRateHistory history;
+    private final long refreshIntervalMs;
+
+    // Seul le thread de rafraîchissement écrit ces champs (hors current)
+    private volatile ExchangeRateSnapshot current;
+    private Map<Currency, Double> currentBaseRates;
+    private volatile Instant publishedAt;
+    private volatile String lastError;
+
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private ScheduledExecutorService refresher;
+
+    public CurrencyConversionAdapter(ExchangeRateSource source,
+                                     ExchangeRateHistory history,
+                                     @Value("${fx.refresh-interval-ms:250}") long refreshIntervalMs) {
+        this.source = source;
+        this.history = history;
+        this.refreshIntervalMs = refreshIntervalMs;
+        refresh();
+        if (current == null) {
+            logger.warn("Taux indisponibles depuis {}, taux par défaut utilisés", source.describe());
+            publish(StaticExchangeRateSource.DEFAULT_RATES, "défaut");
+        }
     }
 
-    @Override
-    public Money convert(Money amount, Currency targetCurrency) {
-        if (amount.getCurrency().equals(targetCurrency)) {
-            // Même devise, pas de conversion nécessaire
-            return amount;
+    @PostConstruct
+    void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-rate-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh,
+                refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
         }
+    }
 
-        Double rate = getExchangeRate(amount.getCurrency(), targetCurrency);
-        double convertedAmount = amount.getAmountAsDouble() * rate;
+    @Override
+    public Money convert(Money amount, Currency targetCurrency) {
+        // Même devise: le montant est retourné tel quel
+        return current.convert(amount, targetCurrency);
+    }
 
-        return new Money(convertedAmount, targetCurrency);
+    @Override
+    public long[] convertAll(long[] minorAmounts, Currency[] sourceCurrencies, Currency targetCurrency) {
+        long[] result = new long[minorAmounts.length];
+        current.convertAll(minorAmounts, sourceCurrencies, targetCurrency, result);
+        return result;
     }
 
     @Override
     public Double getExchangeRate(Currency source, Currency target) {
-        if (source.equals(target)) {
-            return 1.0;
-        }
-
-        // Convertir via EUR comme devise pivot
-        // source -> EUR -> target
-        Double sourceToEur = 1.0 / RATES_TO_EUR.get(source);
-        Double eurToTarget = RATES_TO_EUR.get(target);
+        // Convertir via EUR comme devise pivot (précalculé)
+        return current.rate(source, target);
+    }
 
-        return sourceToEur * eurToTarget;
+    @Override
+    public Double getExchangeRate(Currency source, Currency target, Instant at) {
+        return history.rateAt(source, target, at.toEpochMilli());
     }
 
     @Override
     public boolean isConversionSupported(Currency source, Currency target) {
-        // Toutes les devises définies dans l'enum sont supportées
-        return RATES_TO_EUR.containsKey(source) &&
-                RATES_TO_EUR.containsKey(target);
+        return current.supports(source, target);
+    }
+
+    @Override
+    public ExchangeRateSnapshot currentRates() {
+        return current;
+    }
+
+    public FxRateStatistics getStatistics() {
+        ExchangeRateSnapshot snapshot = current;
+        return new FxRateStatistics(
+                source.describe(),
+                snapshot.version(),
+                publishedAt != null ? publishedAt.toString() : null,
+                refreshIntervalMs,
+                polls.sum(),
+                swaps.sum(),
+                failures.sum(),
+                lastError);
+    }
+
+    /**
+     * Instantané des métriques du flux de taux
+     * @param version Version de l'instantané en vigueur
+     * @param swaps Instantanés publiés (démarrage compris)
+     * @param failures Lectures de la source en échec
+     * @param lastError Erreur de la dernière lecture, null si elle a réussi
+     */
+    public record FxRateStatistics(
+            String source,
+            long version,
+            String publishedAt,
+            long refreshIntervalMs,
+            long polls,
+            long swaps,
+            long failures,
+            String lastError
+    ) {}
+
+    // méthodes utilitaires privées
+
+    /**
+     * Interroge la source et publie un nouvel instantané si les taux ont changé
+     */
+    private void refresh() {
+        polls.increment();
+        try {
+            Optional<Map<Currency, Double>> rates = source.fetchIfChanged();
+            if (rates.isPresent() && !rates.get().equals(currentBaseRates)) {
+                publish(rates.get(), source.describe());
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            // Une même erreur répétée à chaque interrogation n'est journalisée qu'une fois
+            if (!String.valueOf(e.getMessage()).equals(lastError)) {
+                logger.warn("Lecture des taux depuis {} impossible, taux version {} conservés: {}",
+                        source.describe(), current != null ? current.version() : null, e.getMessage());
+            }
+            lastError = String.valueOf(e.getMessage());
+            return;
+        }
+        lastError = null;
+    }
+
+    /**
+     * Versions croissantes et dérivées de l'heure de publication, pour rester
+     * distinctes après un redémarrage
+     */
+    private void publish(Map<Currency, Double> ratesPerEur, String origin) {
+        Instant now = Instant.now();
+        long version = current != null
+                ? Math.max(current.version() + 1, now.toEpochMilli())
+                : now.toEpochMilli();
+        Map<Currency, Double> baseRates = new EnumMap<>(ratesPerEur);
+        ExchangeRateSnapshot snapshot = ExchangeRateSnapshot.fromBaseRates(version, baseRates);
+        currentBaseRates = baseRates;
+        publishedAt = now;
+        current = snapshot;
+        history.record(version, now.toEpochMilli(), baseRates);
+        swaps.increment();
+        logger.info("Taux de change version {} publiés ({})", version, origin);
     }
-}
\ No newline at end of file
+}
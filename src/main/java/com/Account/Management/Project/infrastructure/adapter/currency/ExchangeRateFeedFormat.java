@@ -0,0 +1,63 @@
+package com.Account.Management.Project.infrastructure.adapter.currency;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Format texte des taux, commun au fichier et au point d'accès HTTP:
+ * une ligne CODE=taux par devise (1 EUR = taux devise), lignes vides
+ * et commentaires (#) ignorés.
+ *
+ * <pre>
+ * # 1 EUR = X devise
+ * USD=1.08
+ * GBP=0.86
+ * </pre>
+ */
+final class ExchangeRateFeedFormat {
+
+    private ExchangeRateFeedFormat() {
+    }
+
+    /**
+     * Analyse un contenu complet; l'EUR est ajouté à 1.0 s'il est absent
+     * @throws IOException si une ligne ou un taux est invalide
+     */
+    static Map<Currency, Double> parse(String content) throws IOException {
+        Map<Currency, Double> rates = new EnumMap<>(Currency.class);
+        int lineNumber = 0;
+        for (String rawLine : content.split("\\R")) {
+            lineNumber++;
+            String line = rawLine.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                throw new IOException("Ligne " + lineNumber + " invalide: " + line);
+            }
+            String code = line.substring(0, separator).strip();
+            if (!Currency.isSupported(code)) {
+                throw new IOException("Ligne " + lineNumber + ": devise non supportée " + code);
+            }
+            double rate;
+            try {
+                rate = Double.parseDouble(line.substring(separator + 1).strip());
+            } catch (NumberFormatException e) {
+                throw new IOException("Ligne " + lineNumber + ": taux invalide pour " + code);
+            }
+            if (!(rate > 0) || Double.isInfinite(rate)) {
+                throw new IOException("Ligne " + lineNumber + ": taux non positif pour " + code);
+            }
+            rates.put(Currency.fromCode(code), rate);
+        }
+        Double base = rates.putIfAbsent(Currency.EUR, 1.0);
+        if (base != null && base != 1.0) {
+            throw new IOException("Le taux de la devise pivot EUR doit valoir 1.0");
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,338 @@
+package com.Account.Management.Project.infrastructure.adapter.currency;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Historique des instantanés de taux publiés par CurrencyConversionAdapter,
+ * indexé par date de publication.
+ *
+ * Stockage en tableaux primitifs: les dates, les versions et, par devise,
+ * le taux pour 1 EUR de chaque instantané. Le taux croisé à un instant est
+ * recalculé avec la même formule que ExchangeRateSnapshot (résultat
+ * identique) après une recherche dichotomique sur les dates.
+ *
+ * Un seul écrivain (la publication des taux) ajoute en fin de tableaux puis
+ * publie une vue par une écriture volatile: les lectures ne prennent aucun
+ * verrou et ne lisent que des cases déjà écrites. Au-delà de
+ * fx.history.max-entries, la moitié la plus ancienne est abandonnée.
+ *
+ * Si fx.history.file est renseigné, chaque instantané y est ajouté
+ * (enregistrements de taille fixe après un en-tête listant les devises)
+ * et l'historique est rechargé au démarrage (les plus récents, dans la
+ * limite de fx.history.max-entries; le fichier lui-même n'est pas purgé).
+ */
+@Component
+public class ExchangeRateHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateHistory.class);
+
+    private static final Currency[] CURRENCIES = Currency.values();
+    private static final int FILE_MAGIC = 0x46584853;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int maxEntries;
+    private final Path file;
+    private FileChannel channel;
+
+    // Tableaux de l'écrivain; les lecteurs passent par view
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private double[][] ratesPerEur = new double[CURRENCIES.length][INITIAL_CAPACITY];
+    private int size;
+    private long dropped;
+
+    private volatile View view = new View(0, timestamps, versions, ratesPerEur);
+
+    public ExchangeRateHistory(@Value("${fx.history.max-entries:1000000}") int maxEntries,
+                               @Value("${fx.history.file:}") String file) throws IOException {
+        this.maxEntries = Math.max(2, maxEntries);
+        this.file = file.isBlank() ? null : Path.of(file);
+        if (this.file != null) {
+            load();
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Ajoute un instantané publié; les dates sont rendues croissantes
+     * @param ratesPerEur Taux pour 1 EUR, une devise absente n'a pas de taux
+     */
+    public synchronized void record(long version, long publishedAtMillis, Map<Currency, Double> ratesPerEur) {
+        double[] rates = new double[CURRENCIES.length];
+        for (Currency currency : CURRENCIES) {
+            Double rate = ratesPerEur.get(currency);
+            rates[currency.ordinal()] = rate != null ? rate : Double.NaN;
+        }
+        long timestamp = size > 0 ? Math.max(publishedAtMillis, timestamps[size - 1]) : publishedAtMillis;
+        append(timestamp, version, rates);
+        publish();
+        if (channel != null) {
+            try {
+                writeRecord(channel, timestamp, version, rates);
+            } catch (IOException e) {
+                // L'historique en mémoire reste complet; seul le fichier est en retard
+                logger.warn("Écriture de l'historique des taux dans {} impossible: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Taux source -> cible en vigueur à un instant
+     * @return NaN si aucun instantané n'était publié à cet instant ou si
+     *         l'une des devises n'y avait pas de taux
+     */
+    public double rateAt(Currency source, Currency target, long atMillis) {
+        View current = view;
+        int index = floorIndex(current, atMillis);
+        if (index < 0) {
+            return Double.NaN;
+        }
+        double sourceRate = current.ratesPerEur[source.ordinal()][index];
+        double targetRate = current.ratesPerEur[target.ordinal()][index];
+        if (Double.isNaN(sourceRate) || Double.isNaN(targetRate)) {
+            return Double.NaN;
+        }
+        if (source == target) {
+            return 1.0;
+        }
+        // source -> pivot -> cible, comme ExchangeRateSnapshot
+        double sourceToBase = 1.0 / sourceRate;
+        return sourceToBase * targetRate;
+    }
+
+    /**
+     * Version de l'instantané en vigueur à un instant, 0 si aucun
+     */
+    public long versionAt(long atMillis) {
+        View current = view;
+        int index = floorIndex(current, atMillis);
+        return index < 0 ? 0 : current.versions[index];
+    }
+
+    public HistoryStatistics getStatistics() {
+        View current = view;
+        return new HistoryStatistics(
+                current.size,
+                maxEntries,
+                current.size > 0 ? current.timestamps[0] : 0,
+                current.size > 0 ? current.timestamps[current.size - 1] : 0,
+                dropped,
+                file != null ? file.toAbsolutePath().toString() : null);
+    }
+
+    /**
+     * @param fromMillis Date du plus ancien instantané conservé (0 si vide)
+     * @param dropped Instantanés abandonnés au-delà de maxEntries
+     */
+    public record HistoryStatistics(
+            int entries,
+            int maxEntries,
+            long fromMillis,
+            long toMillis,
+            long dropped,
+            String file
+    ) {}
+
+    // méthodes utilitaires privées
+
+    /**
+     * Dernier instantané publié au plus tard à atMillis, -1 si aucun
+     */
+    private static int floorIndex(View view, long atMillis) {
+        int low = 0;
+        int high = view.size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (view.timestamps[mid] <= atMillis) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private void append(long timestamp, long version, double[] rates) {
+        if (size == maxEntries) {
+            dropOldestHalf();
+        } else if (size == timestamps.length) {
+            grow(Math.min(maxEntries, timestamps.length * 2));
+        }
+        timestamps[size] = timestamp;
+        versions[size] = version;
+        for (int c = 0; c < rates.length; c++) {
+            ratesPerEur[c][size] = rates[c];
+        }
+        size++;
+    }
+
+    /**
+     * Publication des cases écrites; les tableaux d'une vue publiée ne sont
+     * plus modifiés en deçà de sa taille
+     */
+    private void publish() {
+        view = new View(size, timestamps, versions, ratesPerEur);
+    }
+
+    private void grow(int capacity) {
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        double[][] grown = new double[CURRENCIES.length][];
+        for (int c = 0; c < grown.length; c++) {
+            grown[c] = Arrays.copyOf(ratesPerEur[c], capacity);
+        }
+        ratesPerEur = grown;
+    }
+
+    /**
+     * Nouveaux tableaux: les lecteurs d'une vue précédente ne voient pas la copie
+     */
+    private void dropOldestHalf() {
+        int kept = size - size / 2;
+        int from = size - kept;
+        long[] keptTimestamps = new long[timestamps.length];
+        long[] keptVersions = new long[versions.length];
+        System.arraycopy(timestamps, from, keptTimestamps, 0, kept);
+        System.arraycopy(versions, from, keptVersions, 0, kept);
+        double[][] keptRates = new double[CURRENCIES.length][timestamps.length];
+        for (int c = 0; c < keptRates.length; c++) {
+            System.arraycopy(ratesPerEur[c], from, keptRates[c], 0, kept);
+        }
+        timestamps = keptTimestamps;
+        versions = keptVersions;
+        ratesPerEur = keptRates;
+        dropped += from;
+        size = kept;
+    }
+
+    /**
+     * Recharge le fichier puis l'ouvre en ajout. Une fin d'enregistrement
+     * incomplète est tronquée; un fichier écrit avec une autre liste de
+     * devises est réécrit avec la liste courante.
+     */
+    private void load() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        boolean rewrite = true;
+        if (Files.exists(file) && Files.size(file) > 0) {
+            long fileBytes = Files.size(file);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != FILE_MAGIC) {
+                    throw new IOException("Fichier d'historique des taux invalide: " + file);
+                }
+                int count = in.readInt();
+                int[] ordinals = new int[count];
+                boolean sameLayout = count == CURRENCIES.length;
+                long headerBytes = 8;
+                for (int i = 0; i < count; i++) {
+                    String code = in.readUTF();
+                    headerBytes += 2 + code.length();
+                    ordinals[i] = Currency.isSupported(code) ? Currency.fromCode(code).ordinal() : -1;
+                    sameLayout &= ordinals[i] == i;
+                }
+                long recordBytes = 16L + 8L * count;
+                long records = (fileBytes - headerBytes) / recordBytes;
+                for (long r = 0; r < records; r++) {
+                    long timestamp = in.readLong();
+                    long version = in.readLong();
+                    double[] rates = new double[CURRENCIES.length];
+                    Arrays.fill(rates, Double.NaN);
+                    for (int i = 0; i < count; i++) {
+                        double rate = in.readDouble();
+                        if (ordinals[i] >= 0) {
+                            rates[ordinals[i]] = rate;
+                        }
+                    }
+                    append(timestamp, version, rates);
+                }
+                long validLength = headerBytes + records * recordBytes;
+                if (sameLayout) {
+                    rewrite = false;
+                    if (validLength < fileBytes) {
+                        logger.warn("Fin de l'historique des taux incomplète, tronquée à {} octets", validLength);
+                        try (FileChannel truncate = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                            truncate.truncate(validLength);
+                        }
+                    }
+                }
+            }
+        }
+        if (rewrite) {
+            rewriteFile();
+        }
+        publish();
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logger.info("Historique des taux chargé depuis {}: {} instantanés", file, size);
+    }
+
+    /**
+     * Réécrit le fichier avec la liste de devises courante (fichier temporaire renommé)
+     */
+    private void rewriteFile() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(bytes);
+            header.writeInt(FILE_MAGIC);
+            header.writeInt(CURRENCIES.length);
+            for (Currency currency : CURRENCIES) {
+                header.writeUTF(currency.getCode());
+            }
+            writeFully(out, ByteBuffer.wrap(bytes.toByteArray()));
+            double[] rates = new double[CURRENCIES.length];
+            for (int i = 0; i < size; i++) {
+                for (int c = 0; c < rates.length; c++) {
+                    rates[c] = ratesPerEur[c][i];
+                }
+                writeRecord(out, timestamps[i], versions[i], rates);
+            }
+            out.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeRecord(FileChannel out, long timestamp, long version, double[] rates)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(16 + 8 * rates.length);
+        buffer.putLong(timestamp).putLong(version);
+        for (double rate : rates) {
+            buffer.putDouble(rate);
+        }
+        buffer.flip();
+        writeFully(out, buffer);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private record View(int size, long[] timestamps, long[] versions, double[][] ratesPerEur) {}
+}
@@ -0,0 +1,29 @@
+package com.Account.Management.Project.infrastructure.adapter.currency;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Source des taux de change alimentant CurrencyConversionAdapter
+ * (choisie par fx.source.type: static, file ou http).
+ *
+ * Les taux sont exprimés pour 1 EUR. Une source est interrogée
+ * périodiquement par un seul thread et n'a pas à être thread-safe.
+ */
+public interface ExchangeRateSource {
+
+    /**
+     * Lit les taux s'ils ont changé depuis le dernier appel réussi
+     * @return Les nouveaux taux (1 EUR = X devise), vide s'ils sont inchangés
+     * @throws IOException si la source est illisible; les taux en vigueur sont conservés
+     */
+    Optional<Map<Currency, Double>> fetchIfChanged() throws IOException;
+
+    /**
+     * Description de la source pour les journaux et les métriques
+     */
+    String describe();
+}
@@ -0,0 +1,55 @@
+package com.Account.Management.Project.infrastructure.adapter.currency;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Source lisant un fichier local surveillé (fx.source.file.path).
+ *
+ * Le fichier n'est relu que si sa date de modification ou sa taille a changé.
+ * Pour une mise à jour atomique, l'écrivain remplace le fichier par renommage;
+ * un fichier lu pendant son écriture est rejeté par l'analyse ou corrigé au
+ * passage suivant.
+ */
+@Component
+@ConditionalOnProperty(name = "fx.source.type", havingValue = "file")
+public class FileExchangeRateSource implements ExchangeRateSource {
+
+    private final Path path;
+    private FileTime lastModified;
+    private long lastSize = -1;
+
+    public FileExchangeRateSource(@Value("${fx.source.file.path:fx-rates.properties}") String path) {
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public Optional<Map<Currency, Double>> fetchIfChanged() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (attributes.lastModifiedTime().equals(lastModified) && attributes.size() == lastSize) {
+            return Optional.empty();
+        }
+        Map<Currency, Double> rates = ExchangeRateFeedFormat.parse(
+                Files.readString(path, StandardCharsets.UTF_8));
+        // Mémorisé seulement après une lecture valide: un fichier invalide est relu
+        lastModified = attributes.lastModifiedTime();
+        lastSize = attributes.size();
+        return Optional.of(rates);
+    }
+
+    @Override
+    public String describe() {
+        return "file:" + path.toAbsolutePath();
+    }
+}
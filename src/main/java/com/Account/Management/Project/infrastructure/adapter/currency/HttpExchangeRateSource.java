@@ -0,0 +1,76 @@
+package com.Account.Management.Project.infrastructure.adapter.currency;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Source interrogeant un point d'accès HTTP (fx.source.http.url) qui renvoie
+ * le format de ExchangeRateFeedFormat; un simple serveur de fichiers local
+ * peut servir de bouchon.
+ *
+ * Les requêtes sont conditionnelles (If-None-Match / If-Modified-Since):
+ * une réponse 304 signifie des taux inchangés, sans transfert du contenu.
+ */
+@Component
+@ConditionalOnProperty(name = "fx.source.type", havingValue = "http")
+public class HttpExchangeRateSource implements ExchangeRateSource {
+
+    private final URI uri;
+    private final Duration timeout;
+    private final HttpClient client;
+    private String etag;
+    private String lastModified;
+
+    public HttpExchangeRateSource(@Value("${fx.source.http.url:http://localhost:8089/rates}") String url,
+                                  @Value("${fx.source.http.timeout-ms:1000}") long timeoutMillis) {
+        this.uri = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public Optional<Map<Currency, Double>> fetchIfChanged() throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            request.header("If-Modified-Since", lastModified);
+        }
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Lecture des taux interrompue", e);
+        }
+        if (response.statusCode() == 304) {
+            return Optional.empty();
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Réponse HTTP " + response.statusCode() + " de " + uri);
+        }
+        Map<Currency, Double> rates = ExchangeRateFeedFormat.parse(response.body());
+        etag = response.headers().firstValue("ETag").orElse(null);
+        lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        return Optional.of(rates);
+    }
+
+    @Override
+    public String describe() {
+        return "http:" + uri;
+    }
+}
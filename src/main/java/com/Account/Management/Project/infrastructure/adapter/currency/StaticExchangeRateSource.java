@@ -0,0 +1,49 @@
+package com.Account.Management.Project.infrastructure.adapter.currency;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Source par défaut: taux fictifs figés, fournis une seule fois
+ */
+@Component
+@ConditionalOnProperty(name = "fx.source.type", havingValue = "static", matchIfMissing = true)
+public class StaticExchangeRateSource implements ExchangeRateSource {
+
+    // Taux de change par rapport à l'EUR (devise de base)
+    static final Map<Currency, Double> DEFAULT_RATES;
+
+    static {
+        // Taux de change fictifs (1 EUR = X devise)
+        Map<Currency, Double> rates = new EnumMap<>(Currency.class);
+        rates.put(Currency.EUR, 1.0);
+        rates.put(Currency.USD, 1.08);    // 1 EUR = 1.08 USD
+        rates.put(Currency.GBP, 0.86);    // 1 EUR = 0.86 GBP
+        rates.put(Currency.MAD, 10.85);   // 1 EUR = 10.85 MAD
+        rates.put(Currency.JPY, 162.50);  // 1 EUR = 162.50 JPY
+        rates.put(Currency.CHF, 0.94);    // 1 EUR = 0.94 CHF
+        DEFAULT_RATES = Collections.unmodifiableMap(rates);
+    }
+
+    private boolean delivered;
+
+    @Override
+    public Optional<Map<Currency, Double>> fetchIfChanged() {
+        if (delivered) {
+            return Optional.empty();
+        }
+        delivered = true;
+        return Optional.of(DEFAULT_RATES);
+    }
+
+    @Override
+    public String describe() {
+        return "static";
+    }
+}
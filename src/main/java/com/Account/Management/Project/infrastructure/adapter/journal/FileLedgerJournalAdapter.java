@@ -0,0 +1,402 @@
+package com.Account.Management.Project.infrastructure.adapter.journal;
+
+import com.Account.Management.Project.domain.model.LedgerCommand;
+import com.Account.Management.Project.domain.model.LedgerCommandType;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.port.output.LedgerJournalPort;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Adapter implémentant le port de sortie LedgerJournalPort
+ * avec des fichiers binaires en ajout seul.
+ *
+ * Le journal est découpé en segments (journal-&lt;première séquence&gt;.log);
+ * chaque enregistrement est préfixé de sa longueur et de son CRC32, si bien
+ * qu'une écriture interrompue en fin de segment est détectée et tronquée
+ * à la reprise. Chaque lot est écrit en un appel puis forcé sur disque
+ * (engine.journal.fsync), ce qui partage le coût du fsync entre les commandes.
+ *
+ * Les instantanés (snapshot-&lt;séquence&gt;.bin) sont écrits dans un fichier
+ * temporaire puis renommés atomiquement.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.in-memory.enabled", havingValue = "true")
+public class FileLedgerJournalAdapter implements LedgerJournalPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileLedgerJournalAdapter.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int SNAPSHOT_MAGIC = 0x4C534E50;
+
+    private final Path directory;
+    private final boolean fsync;
+    private FileChannel segment;
+
+    public FileLedgerJournalAdapter(@Value("${engine.journal.directory:data/ledger}") String directory,
+                                    @Value("${engine.journal.fsync:true}") boolean fsync) throws IOException {
+        this.directory = Paths.get(directory);
+        this.fsync = fsync;
+        Files.createDirectories(this.directory);
+    }
+
+    @Override
+    public synchronized void append(List<LedgerCommand> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(commands.size() * 128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(128);
+            DataOutputStream payloadOut = new DataOutputStream(payload);
+            CRC32 crc = new CRC32();
+            for (LedgerCommand command : commands) {
+                payload.reset();
+                encode(command, payloadOut);
+                crc.reset();
+                crc.update(payload.toByteArray());
+                out.writeInt(payload.size());
+                out.writeInt((int) crc.getValue());
+                payload.writeTo(out);
+            }
+
+            FileChannel channel = currentSegment(commands.get(0).sequence());
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du journal impossible", e);
+        }
+    }
+
+    @Override
+    public synchronized void replay(long afterSequence, Consumer<LedgerCommand> consumer) {
+        List<Path> segments = list(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            // Un segment entièrement antérieur n'a pas besoin d'être lu
+            if (i + 1 < segments.size()
+                    && sequenceOf(segments.get(i + 1), SEGMENT_PREFIX, SEGMENT_SUFFIX) - 1 <= afterSequence) {
+                continue;
+            }
+            long validLength = replaySegment(path, afterSequence, consumer);
+            try {
+                if (validLength < Files.size(path)) {
+                    logger.warn("Fin de segment {} incomplète, tronquée à {} octets", path.getFileName(), validLength);
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                        channel.truncate(validLength);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Réparation du journal impossible", e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void writeSnapshot(LedgerSnapshot snapshot) {
+        Path target = directory.resolve(name(SNAPSHOT_PREFIX, snapshot.sequence(), SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + snapshot.accounts().size() * 48);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(snapshot.sequence());
+            out.writeInt(snapshot.accounts().size());
+            for (AccountBalance account : snapshot.accounts()) {
+                writeUuid(out, account.accountId());
+                writeUuid(out, account.userId());
+                out.writeUTF(account.currency().getCode());
+                out.writeLong(account.balanceMinor());
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            // Les commandes suivantes vont dans un nouveau segment
+            closeSegment();
+            segment = openSegment(snapshot.sequence() + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture de l'instantané impossible", e);
+        }
+    }
+
+    @Override
+    public synchronized Optional<LedgerSnapshot> readSnapshot(long maxSequence) {
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path path = snapshots.get(i);
+            if (sequenceOf(path, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) > maxSequence) {
+                continue;
+            }
+            Optional<LedgerSnapshot> snapshot = readSnapshotFile(path);
+            if (snapshot.isPresent()) {
+                return snapshot;
+            }
+            logger.warn("Instantané {} illisible, ignoré", path.getFileName());
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void compact(long projectedSequence) {
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long anchor = -1;
+        for (Path path : snapshots) {
+            long sequence = sequenceOf(path, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (sequence <= projectedSequence) {
+                anchor = sequence;
+            }
+        }
+        if (anchor < 0) {
+            return;
+        }
+        try {
+            // Reprise possible depuis l'ancre: les instantanés et segments antérieurs sont inutiles
+            for (Path path : snapshots) {
+                if (sequenceOf(path, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < anchor) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            List<Path> segments = list(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                long lastSequence = sequenceOf(segments.get(i + 1), SEGMENT_PREFIX, SEGMENT_SUFFIX) - 1;
+                if (lastSequence <= anchor) {
+                    Files.deleteIfExists(segments.get(i));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Compactage du journal reporté: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeSegment();
+    }
+
+    // méthodes utilitaires privées
+
+    private FileChannel currentSegment(long firstSequence) throws IOException {
+        if (segment == null) {
+            List<Path> segments = list(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            segment = segments.isEmpty()
+                    ? openSegment(firstSequence)
+                    : FileChannel.open(segments.get(segments.size() - 1),
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return segment;
+    }
+
+    private FileChannel openSegment(long firstSequence) throws IOException {
+        return FileChannel.open(directory.resolve(name(SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void closeSegment() {
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                logger.warn("Fermeture du segment de journal: {}", e.getMessage());
+            }
+            segment = null;
+        }
+    }
+
+    /**
+     * @return La longueur de la partie valide du segment
+     */
+    private long replaySegment(Path path, long afterSequence, Consumer<LedgerCommand> consumer) {
+        long position = 0;
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > (1 << 20)) {
+                        return position;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    return position;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    return position;
+                }
+                position += 8 + length;
+
+                LedgerCommand command = decode(new DataInputStream(new ByteArrayInputStream(payload)));
+                if (command.sequence() > afterSequence) {
+                    consumer.accept(command);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du journal impossible", e);
+        }
+    }
+
+    private Optional<LedgerSnapshot> readSnapshotFile(Path path) {
+        try {
+            byte[] bytes = Files.readAllBytes(path);
+            if (bytes.length < 8) {
+                return Optional.empty();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - 8);
+            if (crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - 8, 8).getLong()) {
+                return Optional.empty();
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                return Optional.empty();
+            }
+            long sequence = in.readLong();
+            int count = in.readInt();
+            List<AccountBalance> accounts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                accounts.add(new AccountBalance(readUuid(in), readUuid(in),
+                        Currency.fromCode(in.readUTF()), in.readLong()));
+            }
+            return Optional.of(new LedgerSnapshot(sequence, accounts));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void encode(LedgerCommand command, DataOutputStream out) throws IOException {
+        out.writeLong(command.sequence());
+        out.writeByte(command.type().ordinal());
+        out.writeLong(command.timestampMillis());
+        writeNullableString(out, command.transactionId());
+        writeUuid(out, command.sourceAccountId());
+        writeUuid(out, command.targetAccountId());
+        out.writeLong(command.sourceAmountMinor());
+        out.writeUTF(command.sourceCurrency().getCode());
+        out.writeLong(command.targetAmountMinor());
+        out.writeUTF(command.targetCurrency().getCode());
+        out.writeDouble(command.exchangeRate());
+        writeNullableString(out, command.description());
+        // Champ ajouté en fin d'enregistrement: les anciens enregistrements restent lisibles
+        out.writeLong(command.rateVersion());
+    }
+
+    private static LedgerCommand decode(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        LedgerCommandType type = LedgerCommandType.values()[in.readByte()];
+        long timestamp = in.readLong();
+        String transactionId = readNullableString(in);
+        UUID source = readUuid(in);
+        UUID target = readUuid(in);
+        long sourceAmount = in.readLong();
+        Currency sourceCurrency = Currency.fromCode(in.readUTF());
+        long targetAmount = in.readLong();
+        Currency targetCurrency = Currency.fromCode(in.readUTF());
+        double exchangeRate = in.readDouble();
+        String description = readNullableString(in);
+        long rateVersion = in.available() >= Long.BYTES ? in.readLong() : 0;
+        return new LedgerCommand(sequence, type, transactionId, source, target,
+                sourceAmount, sourceCurrency, targetAmount, targetCurrency,
+                exchangeRate, rateVersion, description, timestamp);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private List<Path> list(String prefix, String suffix) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du répertoire " + directory + " impossible", e);
+        }
+    }
+
+    private static String name(String prefix, long sequence, String suffix) {
+        return String.format("%s%020d%s", prefix, sequence, suffix);
+    }
+
+    private static long sequenceOf(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+}
@@ -0,0 +1,161 @@
+package com.Account.Management.Project.infrastructure.adapter.lock;
+
+import com.Account.Management.Project.domain.exception.ConcurrentAccountUpdateException;
+import com.Account.Management.Project.port.output.AccountLockPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adapter implémentant le port de sortie AccountLockPort
+ *
+ * Un tableau fixe de verrous (stripes) est partagé par tous les comptes:
+ * l'UUID du compte est haché vers un indice de stripe. Les stripes sont
+ * toujours acquises par indice croissant, ce qui garantit l'absence
+ * d'interblocage quel que soit l'ordre source/destination du transfert.
+ *
+ * Les verrous sont relâchés après le commit ou le rollback de la transaction,
+ * afin qu'aucune autre opération ne lise un solde non encore validé.
+ */
+@Component
+public class StripedAccountLockAdapter implements AccountLockPort {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutNanos;
+
+    // Métriques de contention
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public StripedAccountLockAdapter(@Value("${account.lock.stripes:1024}") int stripeCount,
+                                     @Value("${account.lock.timeout-ms:5000}") long timeoutMs) {
+        // Arrondi à la puissance de 2 supérieure pour un calcul d'indice par masque
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    @Override
+    public void lockUntilTransactionEnd(Collection<UUID> accountIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException(
+                    "Le verrouillage des comptes nécessite une transaction active");
+        }
+
+        int[] indexes = orderedStripes(accountIds);
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                acquire(index, accountIds);
+                acquired++;
+            }
+        } finally {
+            if (acquired < indexes.length) {
+                // Échec partiel: libérer ce qui a déjà été pris
+                release(indexes, acquired);
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(indexes, indexes.length);
+            }
+        });
+    }
+
+    @Override
+    public LockStatistics getStatistics() {
+        return new LockStatistics(
+                stripes.length,
+                acquisitions.sum(),
+                contended.sum(),
+                timeouts.sum(),
+                totalWaitNanos.sum(),
+                maxWaitNanos.get()
+        );
+    }
+
+    // méthodes utilitaires privées
+
+    /**
+     * Calcule les indices de stripes distincts, triés par ordre croissant
+     */
+    private int[] orderedStripes(Collection<UUID> accountIds) {
+        int[] indexes = new int[accountIds.size()];
+        int n = 0;
+        for (UUID id : accountIds) {
+            indexes[n++] = stripeOf(id);
+        }
+        Arrays.sort(indexes);
+
+        // Dédoublonnage en place (deux comptes peuvent partager une stripe)
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || indexes[unique - 1] != indexes[i]) {
+                indexes[unique++] = indexes[i];
+            }
+        }
+        return unique == n ? indexes : Arrays.copyOf(indexes, unique);
+    }
+
+    private int stripeOf(UUID id) {
+        long h = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        int hash = (int) (h ^ (h >>> 32));
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void acquire(int index, Collection<UUID> accountIds) {
+        ReentrantLock lock = stripes[index];
+        acquisitions.increment();
+
+        // Chemin rapide: verrou libre
+        if (lock.tryLock()) {
+            return;
+        }
+
+        contended.increment();
+        long start = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentAccountUpdateException(
+                    "Attente du verrou interrompue pour les comptes " + accountIds, e);
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        if (!locked) {
+            timeouts.increment();
+            throw new ConcurrentAccountUpdateException(
+                    "Délai d'attente dépassé pour le verrouillage des comptes " + accountIds);
+        }
+    }
+
+    private void release(int[] indexes, int count) {
+        // Libération dans l'ordre inverse de l'acquisition
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+}
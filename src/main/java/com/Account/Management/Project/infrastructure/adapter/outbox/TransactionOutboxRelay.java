@@ -0,0 +1,111 @@
+package com.Account.Management.Project.infrastructure.adapter.outbox;
+
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.port.output.TransactionOutboxPort;
+import com.Account.Management.Project.port.output.TransactionRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Relais de la boîte d'envoi: copie les transactions validées dans PostgreSQL
+ * vers MongoDB par une écriture groupée non ordonnée de remplacements avec
+ * insertion, puis les supprime de l'outbox.
+ *
+ * Un transfert asynchrone remplace ainsi son document PENDING dans la même
+ * écriture groupée que les nouvelles transactions.
+ *
+ * Chaque lot est réservé (FOR UPDATE SKIP LOCKED), publié puis supprimé dans
+ * une même transaction PostgreSQL: plusieurs instances peuvent relayer en
+ * parallèle, et un arrêt entre l'écriture MongoDB et la suppression provoque
+ * seulement une republication, écrasée à l'identique.
+ */
+@Component
+public class TransactionOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionOutboxRelay.class);
+
+    private final TransactionOutboxPort outbox;
+    private final TransactionRepositoryPort transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder replaced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong lastRelayMillis = new AtomicLong();
+
+    public TransactionOutboxRelay(TransactionOutboxPort outbox,
+                                  TransactionRepositoryPort transactionRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${transaction.outbox.batch-size:500}") int batchSize) {
+        this.outbox = outbox;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Relaie les lots tant que l'outbox en contient
+     */
+    @Scheduled(fixedDelayString = "${transaction.outbox.relay-interval-ms:100}")
+    public void relay() {
+        try {
+            int count;
+            do {
+                Integer relayedInBatch = transactionTemplate.execute(status -> relayBatch());
+                count = relayedInBatch != null ? relayedInBatch : 0;
+            } while (count == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.warn("Relais de l'outbox interrompu, nouvel essai au prochain cycle: {}", e.getMessage());
+        }
+    }
+
+    public RelayStatistics getStatistics() {
+        return new RelayStatistics(
+                outbox.countPending(),
+                relayed.sum(),
+                batches.sum(),
+                replaced.sum(),
+                failures.sum(),
+                lastRelayMillis.get());
+    }
+
+    public record RelayStatistics(
+            long pending,
+            long relayed,
+            long batches,
+            long replaced,
+            long failures,
+            long lastBatchMillis
+    ) {}
+
+    // méthodes utilitaires privées
+
+    private int relayBatch() {
+        List<Transaction> transactions = outbox.claimBatch(batchSize);
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+
+        // Documents existants: PENDING d'un transfert asynchrone ou lot déjà publié avant un arrêt
+        replaced.add(transactionRepository.upsertAll(transactions));
+        outbox.delete(transactions.stream().map(Transaction::getId).toList());
+
+        relayed.add(transactions.size());
+        batches.increment();
+        lastRelayMillis.set(System.currentTimeMillis() - start);
+        return transactions.size();
+    }
+}
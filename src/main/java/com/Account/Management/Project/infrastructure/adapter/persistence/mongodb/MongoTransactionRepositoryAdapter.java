@@ -1,17 +1,34 @@
 package com.Account.Management.Project.infrastructure.adapter.persistence.mongodb;
 
 import com.Account.Management.Project.domain.model.Transaction;
-import com.Account.Management.Project.infrastructure.adapter.persistence.mongodb.entity.TransactionDocument;
+import com.Account.Management.Project.domain.model.TransactionStatus;
+import com.Account.Management.Project.infrastructure.adapter.persistence.mongodb.codec.TransactionCodec;
 import com.Account.Management.Project.port.output.TransactionRepositoryPort;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import jakarta.annotation.PostConstruct;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.conversions.Bson;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * Adapter implémentant le port de sortie TransactionRepositoryPort
@@ -21,82 +38,187 @@ import java.util.stream.Collectors;
  * - Haute performance en lecture pour l'historique
  * - Scalabilité horizontale (sharding)
  * - Schéma flexible pour les métadonnées de transaction
+ *
+ * Les documents sont lus et écrits par TransactionCodec, directement depuis
+ * et vers le modèle de domaine. Les filtres sur les comptes et le statut
+ * couvrent aussi les documents de l'ancien format.
+ *
+ * Les index de l'ancien mapping (compte source et date, comptes, date) sont
+ * créés au démarrage, et les erreurs d'écriture sont traduites en exceptions
+ * Spring (DuplicateKeyException pour un _id déjà présent) comme auparavant.
  */
 @Component
 public class MongoTransactionRepositoryAdapter implements TransactionRepositoryPort {
 
-    private final MongoTransactionRepository mongoRepository;
+    private static final String COLLECTION = "transactions";
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    // Mêmes noms que les index créés par l'ancien mapping Spring Data
+    private static final List<IndexModel> INDEXES = List.of(
+            new IndexModel(Indexes.compoundIndex(Indexes.ascending("sourceAccountId"), Indexes.descending("createdAt")),
+                    new IndexOptions().name("account_date_idx")),
+            new IndexModel(Indexes.ascending("sourceAccountId"), new IndexOptions().name("sourceAccountId")),
+            new IndexModel(Indexes.ascending("targetAccountId"), new IndexOptions().name("targetAccountId")),
+            new IndexModel(Indexes.ascending("createdAt"), new IndexOptions().name("createdAt")));
+
+    private final TransactionCodec codec = new TransactionCodec();
+    private final MongoCollection<Transaction> collection;
+    private final PersistenceExceptionTranslator exceptionTranslator;
 
-    public MongoTransactionRepositoryAdapter(MongoTransactionRepository mongoRepository) {
-        this.mongoRepository = mongoRepository;
+    public MongoTransactionRepositoryAdapter(MongoTemplate mongoTemplate) {
+        MongoCollection<?> documents = mongoTemplate.getCollection(COLLECTION);
+        this.collection = documents
+                .withCodecRegistry(CodecRegistries.fromRegistries(
+                        CodecRegistries.fromCodecs(codec), documents.getCodecRegistry()))
+                .withDocumentClass(Transaction.class);
+        this.exceptionTranslator = mongoTemplate.getExceptionTranslator();
+    }
+
+    /**
+     * Crée les index s'ils n'existent pas (sans effet sinon)
+     */
+    @PostConstruct
+    void createIndexes() {
+        translate(() -> collection.createIndexes(INDEXES));
     }
 
     @Override
     public Transaction save(Transaction transaction) {
-        TransactionDocument document = TransactionDocument.fromDomain(transaction);
-        TransactionDocument savedDocument = mongoRepository.save(document);
-        return savedDocument.toDomain();
+        translate(() -> collection.replaceOne(Filters.eq("_id", transaction.getId()), transaction, UPSERT));
+        return transaction;
+    }
+
+    /**
+     * Insertion groupée (insertMany): un seul aller-retour vers MongoDB
+     */
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return transactions;
+        }
+        translate(() -> collection.insertMany(transactions));
+        return transactions;
+    }
+
+    /**
+     * Remplacements avec insertion (bulkWrite non ordonné): un seul aller-retour,
+     * que les documents existent déjà ou non
+     */
+    @Override
+    public long upsertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        List<ReplaceOneModel<Transaction>> replacements = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            replacements.add(new ReplaceOneModel<>(Filters.eq("_id", transaction.getId()), transaction, UPSERT));
+        }
+        return translate(() -> collection.bulkWrite(replacements, UNORDERED)).getMatchedCount();
+    }
+
+    /**
+     * Remplacement conditionnel: le filtre sur le statut rend l'opération
+     * atomique côté MongoDB (un seul document concerné)
+     */
+    @Override
+    public boolean updateIfPending(Transaction transaction) {
+        Bson filter = Filters.and(
+                Filters.eq("_id", transaction.getId()),
+                Filters.in("status", TransactionCodec.statusValues(TransactionStatus.PENDING)));
+        return translate(() -> collection.replaceOne(filter, transaction)).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean markProcessing(String transactionId) {
+        Bson filter = Filters.and(
+                Filters.eq("_id", transactionId),
+                Filters.in("status", TransactionCodec.statusValues(TransactionStatus.PENDING)));
+        Bson update = Updates.set("status", TransactionCodec.statusCode(TransactionStatus.PROCESSING));
+        return translate(() -> collection.updateOne(filter, update)).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean updateIfProcessing(Transaction transaction) {
+        Bson filter = Filters.and(
+                Filters.eq("_id", transaction.getId()),
+                Filters.eq("status", TransactionCodec.statusCode(TransactionStatus.PROCESSING)));
+        return translate(() -> collection.replaceOne(filter, transaction)).getModifiedCount() > 0;
     }
 
     @Override
     public Optional<Transaction> findById(String id) {
-        return mongoRepository.findById(id)
-                .map(TransactionDocument::toDomain);
+        return Optional.ofNullable(collection.find(Filters.eq("_id", id)).first());
     }
 
     @Override
     public List<Transaction> findByAccountId(UUID accountId) {
-        String accountIdStr = accountId.toString();
-        return mongoRepository.findByAccountId(accountIdStr)
-                .stream()
-                .map(TransactionDocument::toDomain)
-                .collect(Collectors.toList());
+        return collection.find(sourceOrTarget(accountId)).into(new ArrayList<>());
     }
 
     @Override
     public List<Transaction> findByAccountIdAndPeriod(UUID accountId,
                                                       LocalDateTime start,
                                                       LocalDateTime end) {
-        String accountIdStr = accountId.toString();
-        return mongoRepository.findByAccountIdAndPeriod(accountIdStr, start, end)
-                .stream()
-                .map(TransactionDocument::toDomain)
-                .collect(Collectors.toList());
+        Bson filter = Filters.and(
+                sourceOrTarget(accountId),
+                Filters.gte("createdAt", codec.dateValue(start)),
+                Filters.lte("createdAt", codec.dateValue(end)));
+        return collection.find(filter).into(new ArrayList<>());
     }
 
     @Override
     public List<Transaction> findBySourceAccountId(UUID accountId) {
-        return mongoRepository.findBySourceAccountId(accountId.toString())
-                .stream()
-                .map(TransactionDocument::toDomain)
-                .collect(Collectors.toList());
+        return collection.find(Filters.in("sourceAccountId", TransactionCodec.accountIdValues(accountId)))
+                .into(new ArrayList<>());
     }
 
     @Override
     public List<Transaction> findByTargetAccountId(UUID accountId) {
-        return mongoRepository.findByTargetAccountId(accountId.toString())
-                .stream()
-                .map(TransactionDocument::toDomain)
-                .collect(Collectors.toList());
+        return collection.find(Filters.in("targetAccountId", TransactionCodec.accountIdValues(accountId)))
+                .into(new ArrayList<>());
     }
 
     @Override
     public List<Transaction> findRecentByAccountId(UUID accountId, int limit) {
-        String accountIdStr = accountId.toString();
-        // Pagination avec tri par date décroissante
-        PageRequest pageRequest = PageRequest.of(0, limit,
-                Sort.by(Sort.Direction.DESC, "createdAt"));
+        // Tri par date décroissante
+        return collection.find(sourceOrTarget(accountId))
+                .sort(Sorts.descending("createdAt"))
+                .limit(limit)
+                .into(new ArrayList<>(limit));
+    }
 
-        return mongoRepository.findRecentByAccountId(accountIdStr, pageRequest)
-                .stream()
-                .map(TransactionDocument::toDomain)
-                .collect(Collectors.toList());
+    @Override
+    public List<Transaction> findByStatus(TransactionStatus status) {
+        return collection.find(Filters.in("status", TransactionCodec.statusValues(status)))
+                .sort(Sorts.ascending("createdAt"))
+                .into(new ArrayList<>());
     }
 
     @Override
     public long countByAccountId(UUID accountId) {
-        String accountIdStr = accountId.toString();
-        return mongoRepository.countBySourceAccountIdOrTargetAccountId(
-                accountIdStr, accountIdStr);
+        return collection.countDocuments(sourceOrTarget(accountId));
+    }
+
+    // méthodes utilitaires privées
+
+    /**
+     * Traduit les exceptions du pilote comme MongoTemplate
+     * (ex: clé dupliquée -> DuplicateKeyException)
+     */
+    private <T> T translate(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (MongoException e) {
+            DataAccessException translated = exceptionTranslator.translateExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+    }
+
+    private static Bson sourceOrTarget(UUID accountId) {
+        List<Object> values = TransactionCodec.accountIdValues(accountId);
+        return Filters.or(
+                Filters.in("sourceAccountId", values),
+                Filters.in("targetAccountId", values));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,292 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.mongodb.codec;
+
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionStatus;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDateTime;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Codec BSON des transactions de la collection "transactions": lit le BSON
+ * directement dans le modèle de domaine, sans document intermédiaire.
+ *
+ * Format écrit: identifiants de compte en binaire UUID (sous-type 4),
+ * montants en centimes (int64), devise, type et statut en petits entiers
+ * (codes des tableaux ci-dessous), dates en date BSON (fuseau du système).
+ *
+ * Les documents écrits par l'ancien mapping Spring Data restent lisibles:
+ * identifiants en chaîne, montants décimaux (chaîne, Decimal128 ou double),
+ * devise, type et statut par leur nom. Les requêtes doivent donc chercher
+ * les deux représentations (accountIdValues, statusValues).
+ */
+public final class TransactionCodec implements Codec<Transaction> {
+
+    // Codes persistés: l'ordre de ces tableaux ne doit jamais changer (ajouts en fin)
+    private static final TransactionType[] TYPES = {
+            TransactionType.LOCAL, TransactionType.FOREX};
+    private static final TransactionStatus[] STATUSES = {
+            TransactionStatus.PENDING, TransactionStatus.COMPLETED,
+            TransactionStatus.FAILED, TransactionStatus.CANCELLED, TransactionStatus.PROCESSING};
+    private static final Currency[] CURRENCIES = {
+            Currency.EUR, Currency.USD, Currency.GBP, Currency.MAD, Currency.JPY, Currency.CHF};
+
+    // Code de chaque valeur, indexé par ordinal
+    private static final int[] TYPE_CODES = codesByOrdinal(TYPES, TransactionType.values().length);
+    private static final int[] STATUS_CODES = codesByOrdinal(STATUSES, TransactionStatus.values().length);
+    private static final int[] CURRENCY_CODES = codesByOrdinal(CURRENCIES, Currency.values().length);
+
+    // Devises de l'ancien format, par code ISO
+    private static final Map<String, Currency> CURRENCIES_BY_ISO_CODE = new HashMap<>();
+
+    static {
+        for (Currency currency : Currency.values()) {
+            CURRENCIES_BY_ISO_CODE.put(currency.getCode(), currency);
+        }
+    }
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    @Override
+    public Class<Transaction> getEncoderClass() {
+        return Transaction.class;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Transaction transaction, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeString("_id", transaction.getId());
+        writer.writeBinaryData("sourceAccountId", uuidValue(transaction.getSourceAccountId()));
+        writer.writeBinaryData("targetAccountId", uuidValue(transaction.getTargetAccountId()));
+        writer.writeInt64("sourceAmount", transaction.getSourceAmount().getMinorAmount());
+        writer.writeInt32("sourceCurrency", CURRENCY_CODES[transaction.getSourceAmount().getCurrency().ordinal()]);
+        writer.writeInt64("targetAmount", transaction.getTargetAmount().getMinorAmount());
+        writer.writeInt32("targetCurrency", CURRENCY_CODES[transaction.getTargetAmount().getCurrency().ordinal()]);
+        writer.writeInt32("type", TYPE_CODES[transaction.getType().ordinal()]);
+        writer.writeInt32("status", STATUS_CODES[transaction.getStatus().ordinal()]);
+        if (transaction.getExchangeRate() != null) {
+            writer.writeDouble("exchangeRate", transaction.getExchangeRate());
+        }
+        if (transaction.getRateVersion() != null) {
+            writer.writeInt64("rateVersion", transaction.getRateVersion());
+        }
+        if (transaction.getDescription() != null) {
+            writer.writeString("description", transaction.getDescription());
+        }
+        if (transaction.getCreatedAt() != null) {
+            writer.writeDateTime("createdAt", toEpochMilli(transaction.getCreatedAt()));
+        }
+        if (transaction.getProcessedAt() != null) {
+            writer.writeDateTime("processedAt", toEpochMilli(transaction.getProcessedAt()));
+        }
+        if (transaction.getFailureReason() != null) {
+            writer.writeString("failureReason", transaction.getFailureReason());
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Transaction decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        UUID sourceAccountId = null;
+        UUID targetAccountId = null;
+        long sourceMinor = 0;
+        long targetMinor = 0;
+        BigDecimal sourceDecimal = null;
+        BigDecimal targetDecimal = null;
+        Currency sourceCurrency = null;
+        Currency targetCurrency = null;
+        TransactionType transactionType = null;
+        TransactionStatus status = null;
+        Double exchangeRate = null;
+        Long rateVersion = null;
+        String description = null;
+        LocalDateTime createdAt = null;
+        LocalDateTime processedAt = null;
+        String failureReason = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            BsonType type = reader.getCurrentBsonType();
+            if (type == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (name) {
+                case "_id" -> id = type == BsonType.OBJECT_ID
+                        ? reader.readObjectId().toHexString()
+                        : reader.readString();
+                case "sourceAccountId" -> sourceAccountId = readUuid(reader, type);
+                case "targetAccountId" -> targetAccountId = readUuid(reader, type);
+                case "sourceAmount" -> {
+                    if (type == BsonType.INT64) {
+                        sourceMinor = reader.readInt64();
+                    } else {
+                        sourceDecimal = readDecimal(reader, type);
+                    }
+                }
+                case "targetAmount" -> {
+                    if (type == BsonType.INT64) {
+                        targetMinor = reader.readInt64();
+                    } else {
+                        targetDecimal = readDecimal(reader, type);
+                    }
+                }
+                case "sourceCurrency" -> sourceCurrency = readCurrency(reader, type);
+                case "targetCurrency" -> targetCurrency = readCurrency(reader, type);
+                case "type" -> transactionType = type == BsonType.INT32
+                        ? byCode(TYPES, reader.readInt32())
+                        : TransactionType.valueOf(reader.readString());
+                case "status" -> status = type == BsonType.INT32
+                        ? byCode(STATUSES, reader.readInt32())
+                        : TransactionStatus.valueOf(reader.readString());
+                case "exchangeRate" -> exchangeRate = reader.readDouble();
+                case "rateVersion" -> rateVersion = type == BsonType.INT32
+                        ? (long) reader.readInt32()
+                        : reader.readInt64();
+                case "description" -> description = reader.readString();
+                case "createdAt" -> createdAt = toLocalDateTime(reader.readDateTime());
+                case "processedAt" -> processedAt = toLocalDateTime(reader.readDateTime());
+                case "failureReason" -> failureReason = reader.readString();
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+
+        Money sourceAmount = sourceDecimal != null
+                ? new Money(sourceDecimal, sourceCurrency)
+                : Money.ofMinor(sourceMinor, sourceCurrency);
+        Money targetAmount = targetDecimal != null
+                ? new Money(targetDecimal, targetCurrency)
+                : Money.ofMinor(targetMinor, targetCurrency);
+        return Transaction.restore(id, sourceAccountId, targetAccountId, sourceAmount, targetAmount,
+                transactionType, status, exchangeRate, rateVersion, description,
+                createdAt, processedAt, failureReason);
+    }
+
+    // Valeurs de filtre couvrant les deux formats
+
+    /**
+     * Identifiant de compte dans les deux formats: binaire (actuel) et chaîne (ancien)
+     */
+    public static List<Object> accountIdValues(UUID accountId) {
+        return List.of(uuidValue(accountId), accountId.toString());
+    }
+
+    /**
+     * Statut dans les deux formats: code (actuel) et nom (ancien)
+     */
+    public static List<Object> statusValues(TransactionStatus status) {
+        return List.of(STATUS_CODES[status.ordinal()], status.name());
+    }
+
+    /**
+     * Code persisté d'un statut (format actuel)
+     */
+    public static int statusCode(TransactionStatus status) {
+        return STATUS_CODES[status.ordinal()];
+    }
+
+    /**
+     * Date comparable aux dates stockées (même fuseau qu'à l'écriture)
+     */
+    public BsonDateTime dateValue(LocalDateTime dateTime) {
+        return new BsonDateTime(toEpochMilli(dateTime));
+    }
+
+    // méthodes utilitaires privées
+
+    private static BsonBinary uuidValue(UUID uuid) {
+        return new BsonBinary(uuid, UuidRepresentation.STANDARD);
+    }
+
+    private static UUID readUuid(BsonReader reader, BsonType type) {
+        if (type == BsonType.STRING) {
+            return UUID.fromString(reader.readString());
+        }
+        BsonBinary binary = reader.readBinaryData();
+        byte[] bytes = binary.getData();
+        if (binary.getType() != BsonBinarySubType.UUID_STANDARD.getValue() || bytes.length != 16) {
+            throw new BsonInvalidOperationException("UUID binaire attendu (sous-type 4)");
+        }
+        long most = 0;
+        long least = 0;
+        for (int i = 0; i < 8; i++) {
+            most = (most << 8) | (bytes[i] & 0xFF);
+            least = (least << 8) | (bytes[i + 8] & 0xFF);
+        }
+        return new UUID(most, least);
+    }
+
+    private static BigDecimal readDecimal(BsonReader reader, BsonType type) {
+        return switch (type) {
+            case STRING -> new BigDecimal(reader.readString());
+            case DECIMAL128 -> reader.readDecimal128().bigDecimalValue();
+            case DOUBLE -> BigDecimal.valueOf(reader.readDouble());
+            default -> throw new BsonInvalidOperationException("Montant de type BSON inattendu: " + type);
+        };
+    }
+
+    private static Currency readCurrency(BsonReader reader, BsonType type) {
+        if (type == BsonType.INT32) {
+            return byCode(CURRENCIES, reader.readInt32());
+        }
+        String code = reader.readString();
+        Currency currency = CURRENCIES_BY_ISO_CODE.get(code);
+        return currency != null ? currency : Currency.fromCode(code);
+    }
+
+    private static <E> E byCode(E[] table, int code) {
+        if (code < 0 || code >= table.length) {
+            throw new BsonInvalidOperationException("Code inconnu: " + code);
+        }
+        return table[code];
+    }
+
+    /**
+     * Inverse d'une table de codes; toute valeur de l'enum doit y figurer
+     */
+    private static <E extends Enum<E>> int[] codesByOrdinal(E[] table, int size) {
+        int[] codes = new int[size];
+        Arrays.fill(codes, -1);
+        for (int code = 0; code < table.length; code++) {
+            codes[table[code].ordinal()] = code;
+        }
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (codes[ordinal] < 0) {
+                throw new IllegalStateException("Code de persistance manquant dans "
+                        + table[0].getDeclaringClass().getSimpleName() + " pour l'ordinal " + ordinal);
+            }
+        }
+        return codes;
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), zone);
+    }
+}
@@ -0,0 +1,98 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres;
+
+import com.Account.Management.Project.domain.model.BalanceMutation;
+import com.Account.Management.Project.domain.model.LedgerCommand;
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.LedgerProjectionPort;
+import com.Account.Management.Project.port.output.TransactionOutboxPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Adapter implémentant le port de sortie LedgerProjectionPort.
+ *
+ * Les variations nettes de solde, les transactions (outbox, relayée ensuite
+ * vers MongoDB) et le point de reprise sont écrits dans la même transaction
+ * PostgreSQL: après un arrêt brutal, la projection reprend exactement
+ * après la dernière séquence validée. Une commande écartée est inscrite
+ * dans ledger_dead_letters avec le même point de reprise.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.in-memory.enabled", havingValue = "true")
+public class JdbcLedgerProjectionAdapter implements LedgerProjectionPort {
+
+    private static final int PROJECTION_ID = 1;
+
+    private static final String INIT_SQL =
+            "INSERT INTO ledger_projection (id, last_sequence) VALUES (?, 0) ON CONFLICT (id) DO NOTHING";
+
+    private static final String SELECT_SQL =
+            "SELECT last_sequence FROM ledger_projection WHERE id = ?";
+
+    private static final String ADVANCE_SQL =
+            "UPDATE ledger_projection SET last_sequence = ? WHERE id = ? AND last_sequence < ?";
+
+    private static final String DEAD_LETTER_SQL =
+            "INSERT INTO ledger_dead_letters (sequence, command_type, transaction_id, " +
+            "source_account_id, target_account_id, source_amount_minor, source_currency, " +
+            "target_amount_minor, target_currency, failure_reason, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (sequence) DO NOTHING";
+
+    private final AccountRepositoryPort accountRepository;
+    private final TransactionOutboxPort transactionOutbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcLedgerProjectionAdapter(AccountRepositoryPort accountRepository,
+                                       TransactionOutboxPort transactionOutbox,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.transactionOutbox = transactionOutbox;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public long lastProjectedSequence() {
+        jdbcTemplate.update(INIT_SQL, PROJECTION_ID);
+        Long sequence = jdbcTemplate.queryForObject(SELECT_SQL, Long.class, PROJECTION_ID);
+        return sequence != null ? sequence : 0;
+    }
+
+    @Override
+    public void project(long upToSequence, List<BalanceMutation> mutations, List<Transaction> transactions) {
+        transactionTemplate.executeWithoutResult(status -> {
+            accountRepository.applyBalanceMutations(mutations);
+            transactionOutbox.append(transactions);
+            jdbcTemplate.update(ADVANCE_SQL, upToSequence, PROJECTION_ID, upToSequence);
+        });
+    }
+
+    @Override
+    public void deadLetter(LedgerCommand command, String reason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DEAD_LETTER_SQL,
+                    command.sequence(),
+                    command.type().name(),
+                    command.transactionId(),
+                    command.sourceAccountId(),
+                    command.targetAccountId(),
+                    command.sourceAmountMinor(),
+                    command.sourceCurrency().getCode(),
+                    command.targetAmountMinor(),
+                    command.targetCurrency().getCode(),
+                    reason,
+                    Timestamp.valueOf(LocalDateTime.now()));
+            jdbcTemplate.update(ADVANCE_SQL, command.sequence(), PROJECTION_ID, command.sequence());
+        });
+    }
+}
@@ -0,0 +1,201 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres;
+
+import com.Account.Management.Project.domain.model.StandingOrder;
+import com.Account.Management.Project.domain.model.StandingOrderFrequency;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.port.output.StandingOrderRepositoryPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Adapter implémentant le port de sortie StandingOrderRepositoryPort
+ * Gère la table standing_orders dans PostgreSQL via JdbcTemplate.
+ *
+ * JdbcTemplate utilise la connexion de la transaction JPA en cours:
+ * l'avancement des échéances est validé ou annulé avec les transferts.
+ */
+@Component
+public class JdbcStandingOrderRepositoryAdapter implements StandingOrderRepositoryPort {
+
+    // Taille des lots JDBC et des tableaux d'identifiants
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String COLUMNS =
+            "id, source_account_id, target_account_id, type, amount, description, frequency, " +
+            "first_execution_at, end_at, next_execution_at, executions, skipped_occurrences, active, " +
+            "last_transaction_id, last_failure_reason, last_executed_at, created_at";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO standing_orders (" + COLUMNS + ") " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_SQL =
+            "SELECT " + COLUMNS + " FROM standing_orders WHERE id = ?";
+
+    private static final String LOCK_SQL =
+            "SELECT " + COLUMNS + " FROM standing_orders WHERE id = ? FOR UPDATE";
+
+    private static final String FIND_BY_ACCOUNT_SQL =
+            "SELECT " + COLUMNS + " FROM standing_orders " +
+            "WHERE source_account_id = ? OR target_account_id = ? ORDER BY created_at";
+
+    private static final String FIRST_UPCOMING_SQL =
+            "SELECT id, next_execution_at FROM standing_orders " +
+            "WHERE next_execution_at <= ? AND active " +
+            "ORDER BY next_execution_at, id LIMIT ?";
+
+    private static final String NEXT_UPCOMING_SQL =
+            "SELECT id, next_execution_at FROM standing_orders " +
+            "WHERE next_execution_at <= ? AND active AND (next_execution_at, id) > (?, ?) " +
+            "ORDER BY next_execution_at, id LIMIT ?";
+
+    private static final String LOCK_DUE_SQL =
+            "SELECT " + COLUMNS + " FROM standing_orders " +
+            "WHERE id = ANY (?) AND active AND next_execution_at <= ? " +
+            "ORDER BY next_execution_at, id FOR UPDATE SKIP LOCKED";
+
+    private static final String UPDATE_EXECUTION_SQL =
+            "UPDATE standing_orders SET next_execution_at = ?, executions = ?, skipped_occurrences = ?, active = ?, " +
+            "last_transaction_id = ?, last_failure_reason = ?, last_executed_at = ? WHERE id = ?";
+
+    private static final String DEACTIVATE_SQL =
+            "UPDATE standing_orders SET active = false, next_execution_at = NULL WHERE id = ? AND active";
+
+    private static final RowMapper<StandingOrder> ROW_MAPPER = (rs, rowNum) -> {
+        StandingOrder order = new StandingOrder();
+        order.setId(rs.getObject("id", UUID.class));
+        order.setSourceAccountId(rs.getObject("source_account_id", UUID.class));
+        order.setTargetAccountId(rs.getObject("target_account_id", UUID.class));
+        order.setType(TransactionType.valueOf(rs.getString("type")));
+        order.setAmount(rs.getBigDecimal("amount"));
+        order.setDescription(rs.getString("description"));
+        order.setFrequency(StandingOrderFrequency.valueOf(rs.getString("frequency")));
+        order.setFirstExecutionAt(rs.getTimestamp("first_execution_at").toLocalDateTime());
+        order.setEndAt(toLocalDateTime(rs.getTimestamp("end_at")));
+        order.setNextExecutionAt(toLocalDateTime(rs.getTimestamp("next_execution_at")));
+        order.setExecutions(rs.getLong("executions"));
+        order.setSkippedOccurrences(rs.getLong("skipped_occurrences"));
+        order.setActive(rs.getBoolean("active"));
+        order.setLastTransactionId(rs.getString("last_transaction_id"));
+        order.setLastFailureReason(rs.getString("last_failure_reason"));
+        order.setLastExecutedAt(toLocalDateTime(rs.getTimestamp("last_executed_at")));
+        order.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        return order;
+    };
+
+    private static final RowMapper<ScheduledOrder> SCHEDULED_ROW_MAPPER = (rs, rowNum) ->
+            new ScheduledOrder(rs.getObject("id", UUID.class),
+                    rs.getTimestamp("next_execution_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcStandingOrderRepositoryAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insert(StandingOrder order) {
+        jdbcTemplate.update(INSERT_SQL,
+                order.getId(),
+                order.getSourceAccountId(),
+                order.getTargetAccountId(),
+                order.getType().name(),
+                order.getAmount(),
+                order.getDescription(),
+                order.getFrequency().name(),
+                toTimestamp(order.getFirstExecutionAt()),
+                toTimestamp(order.getEndAt()),
+                toTimestamp(order.getNextExecutionAt()),
+                order.getExecutions(),
+                order.getSkippedOccurrences(),
+                order.isActive(),
+                order.getLastTransactionId(),
+                order.getLastFailureReason(),
+                toTimestamp(order.getLastExecutedAt()),
+                toTimestamp(order.getCreatedAt()));
+    }
+
+    @Override
+    public Optional<StandingOrder> findById(UUID id) {
+        return jdbcTemplate.query(FIND_SQL, ROW_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<StandingOrder> lockById(UUID id) {
+        return jdbcTemplate.query(LOCK_SQL, ROW_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<StandingOrder> findByAccountId(UUID accountId) {
+        return jdbcTemplate.query(FIND_BY_ACCOUNT_SQL, ROW_MAPPER, accountId, accountId);
+    }
+
+    @Override
+    public List<ScheduledOrder> findUpcoming(LocalDateTime until, ScheduledOrder after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(FIRST_UPCOMING_SQL, SCHEDULED_ROW_MAPPER,
+                    toTimestamp(until), limit);
+        }
+        return jdbcTemplate.query(NEXT_UPCOMING_SQL, SCHEDULED_ROW_MAPPER,
+                toTimestamp(until), toTimestamp(after.nextExecutionAt()), after.id(), limit);
+    }
+
+    @Override
+    public List<StandingOrder> lockDue(Collection<UUID> ids, LocalDateTime now) {
+        List<UUID> idList = new ArrayList<>(ids);
+        List<StandingOrder> orders = new ArrayList<>(idList.size());
+        Timestamp nowTimestamp = toTimestamp(now);
+        for (int from = 0; from < idList.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = idList.subList(from, Math.min(from + CHUNK_SIZE, idList.size()));
+            orders.addAll(jdbcTemplate.query(connection -> {
+                var ps = connection.prepareStatement(LOCK_DUE_SQL);
+                ps.setArray(1, connection.createArrayOf("uuid", chunk.toArray()));
+                ps.setTimestamp(2, nowTimestamp);
+                return ps;
+            }, ROW_MAPPER));
+        }
+        return orders;
+    }
+
+    @Override
+    public void updateExecutionState(List<StandingOrder> orders) {
+        jdbcTemplate.batchUpdate(UPDATE_EXECUTION_SQL, orders, CHUNK_SIZE, (ps, order) -> {
+            ps.setTimestamp(1, toTimestamp(order.getNextExecutionAt()));
+            ps.setLong(2, order.getExecutions());
+            ps.setLong(3, order.getSkippedOccurrences());
+            ps.setBoolean(4, order.isActive());
+            ps.setString(5, order.getLastTransactionId());
+            ps.setString(6, order.getLastFailureReason());
+            ps.setTimestamp(7, toTimestamp(order.getLastExecutedAt()));
+            ps.setObject(8, order.getId());
+        });
+    }
+
+    @Override
+    public boolean deactivate(UUID id) {
+        return jdbcTemplate.update(DEACTIVATE_SQL, id) > 0;
+    }
+
+    // méthodes utilitaires privées
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
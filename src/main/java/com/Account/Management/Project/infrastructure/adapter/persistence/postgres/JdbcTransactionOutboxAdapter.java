@@ -0,0 +1,147 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres;
+
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionStatus;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.output.TransactionOutboxPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Adapter implémentant le port de sortie TransactionOutboxPort
+ * Gère la table transaction_outbox dans PostgreSQL via JdbcTemplate.
+ *
+ * JdbcTemplate utilise la connexion de la transaction JPA en cours:
+ * les lignes de l'outbox sont validées ou annulées avec les soldes.
+ */
+@Component
+public class JdbcTransactionOutboxAdapter implements TransactionOutboxPort {
+
+    // Taille des lots JDBC et des clauses IN (limite de paramètres PostgreSQL)
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String COLUMNS =
+            "transaction_id, source_account_id, target_account_id, source_amount, source_currency, " +
+            "target_amount, target_currency, type, status, exchange_rate, rate_version, description, " +
+            "failure_reason, created_at, processed_at";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transaction_outbox (" + COLUMNS + ") " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CLAIM_SQL =
+            "SELECT " + COLUMNS + " FROM transaction_outbox " +
+            "ORDER BY sequence LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String FIND_SQL =
+            "SELECT " + COLUMNS + " FROM transaction_outbox WHERE transaction_id = ?";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM transaction_outbox WHERE transaction_id = ANY (?)";
+
+    private static final String COUNT_SQL =
+            "SELECT count(*) FROM transaction_outbox";
+
+    private static final RowMapper<Transaction> ROW_MAPPER = (rs, rowNum) -> {
+        Transaction transaction = new Transaction();
+        transaction.setId(rs.getString("transaction_id"));
+        transaction.setSourceAccountId(rs.getObject("source_account_id", UUID.class));
+        transaction.setTargetAccountId(rs.getObject("target_account_id", UUID.class));
+        transaction.setSourceAmount(new Money(rs.getBigDecimal("source_amount"),
+                Currency.fromCode(rs.getString("source_currency"))));
+        transaction.setTargetAmount(new Money(rs.getBigDecimal("target_amount"),
+                Currency.fromCode(rs.getString("target_currency"))));
+        transaction.setType(TransactionType.valueOf(rs.getString("type")));
+        transaction.setStatus(TransactionStatus.valueOf(rs.getString("status")));
+        double exchangeRate = rs.getDouble("exchange_rate");
+        transaction.setExchangeRate(rs.wasNull() ? null : exchangeRate);
+        long rateVersion = rs.getLong("rate_version");
+        transaction.setRateVersion(rs.wasNull() ? null : rateVersion);
+        transaction.setDescription(rs.getString("description"));
+        transaction.setFailureReason(rs.getString("failure_reason"));
+        transaction.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        Timestamp processedAt = rs.getTimestamp("processed_at");
+        transaction.setProcessedAt(processedAt != null ? processedAt.toLocalDateTime() : null);
+        return transaction;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcTransactionOutboxAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void append(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, CHUNK_SIZE, (ps, tx) -> {
+            ps.setString(1, tx.getId());
+            ps.setObject(2, tx.getSourceAccountId());
+            ps.setObject(3, tx.getTargetAccountId());
+            ps.setBigDecimal(4, tx.getSourceAmount().getAmount());
+            ps.setString(5, tx.getSourceAmount().getCurrency().getCode());
+            ps.setBigDecimal(6, tx.getTargetAmount().getAmount());
+            ps.setString(7, tx.getTargetAmount().getCurrency().getCode());
+            ps.setString(8, tx.getType().name());
+            ps.setString(9, tx.getStatus().name());
+            if (tx.getExchangeRate() != null) {
+                ps.setDouble(10, tx.getExchangeRate());
+            } else {
+                ps.setNull(10, Types.DOUBLE);
+            }
+            if (tx.getRateVersion() != null) {
+                ps.setLong(11, tx.getRateVersion());
+            } else {
+                ps.setNull(11, Types.BIGINT);
+            }
+            ps.setString(12, tx.getDescription());
+            ps.setString(13, tx.getFailureReason());
+            ps.setTimestamp(14, Timestamp.valueOf(tx.getCreatedAt()));
+            ps.setTimestamp(15, tx.getProcessedAt() != null ? Timestamp.valueOf(tx.getProcessedAt()) : null);
+        });
+    }
+
+    @Override
+    public List<Transaction> claimBatch(int limit) {
+        return jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, limit);
+    }
+
+    @Override
+    public void delete(Collection<String> transactionIds) {
+        List<String> ids = new ArrayList<>(transactionIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            jdbcTemplate.update(connection -> {
+                var ps = connection.prepareStatement(DELETE_SQL);
+                ps.setArray(1, connection.createArrayOf("varchar", chunk.toArray()));
+                return ps;
+            });
+        }
+    }
+
+    @Override
+    public Optional<Transaction> findById(String transactionId) {
+        return jdbcTemplate.query(FIND_SQL, ROW_MAPPER, transactionId)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -20,4 +20,4 @@ public interface JpaAccountRepository extends JpaRepository<AccountEntity, UUID>
     List<AccountEntity> findByUserId(UUID userId);
 
     boolean existsByAccountNumber(String accountNumber);
-}
\ No newline at end of file
+}
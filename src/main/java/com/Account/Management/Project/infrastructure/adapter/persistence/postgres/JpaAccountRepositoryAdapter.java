@@ -1,11 +1,27 @@
 package com.Account.Management.Project.infrastructure.adapter.persistence.postgres;
 
 
+import com.Account.Management.Project.domain.model.AccountOwnerView;
+import com.Account.Management.Project.domain.model.BalanceMutation;
 import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
 import com.Account.Management.Project.infrastructure.adapter.persistence.postgres.entity.AccountEntity;
 import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.BalanceTablePort;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,20 +30,127 @@ import java.util.stream.Collectors;
 /**
  * Adapter implémentant le port de sortie AccountRepositoryPort
  * Gère la persistance des comptes bancaires dans PostgreSQL via Jpa
+ *
+ * Si la table des soldes hors tas est active, chaque écriture y publie
+ * après commit l'état validé du compte (solde et version).
  */
 @Component
 public class JpaAccountRepositoryAdapter implements AccountRepositoryPort {
 
+    // Taille des lots JDBC et des clauses IN (limite de paramètres PostgreSQL)
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String APPLY_MUTATION_SQL =
+            "UPDATE bank_accounts " +
+            "SET balance = balance + ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND currency = ? AND balance + ? >= 0";
+
+    private static final String ACCOUNT_COLUMNS =
+            "id, account_number, user_id, balance, currency, active, version, balance_shards, created_at, updated_at";
+
+    // Propriétaire existant et non bloqué, vérifié par la requête d'écriture elle-même.
+    // FOR SHARE: un blocage ou une suppression concurrents attendent le commit de l'écriture
+    private static final String OWNER_ALLOWED =
+            "EXISTS (SELECT 1 FROM users u WHERE u.id = bank_accounts.user_id AND NOT u.blocked FOR SHARE)";
+
+    private static final String DEBIT_IF_ALLOWED_SQL =
+            "UPDATE bank_accounts SET balance = balance - ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND balance >= ? AND currency = COALESCE(?, currency) AND " + OWNER_ALLOWED +
+            " RETURNING " + ACCOUNT_COLUMNS;
+
+    private static final String CREDIT_IF_ALLOWED_SQL =
+            "UPDATE bank_accounts SET balance = balance + ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND balance_shards = 0 AND currency = COALESCE(?, currency) AND " + OWNER_ALLOWED +
+            " RETURNING " + ACCOUNT_COLUMNS;
+
+    private static final String CREDIT_SHARD_SQL =
+            "UPDATE account_balance_shards SET balance = balance + ?, updated_at = ? " +
+            "WHERE account_id = ? AND shard_index = ? AND currency = ? AND EXISTS (" +
+            "SELECT 1 FROM bank_accounts a JOIN users u ON u.id = a.user_id " +
+            "WHERE a.id = account_balance_shards.account_id AND NOT u.blocked FOR SHARE OF u)";
+
+    // Solde principal et sous-soldes lus par une seule requête, donc sur le même instantané
+    private static final String TOTAL_BALANCE_SQL =
+            "SELECT a.balance + COALESCE((SELECT SUM(s.balance) FROM account_balance_shards s " +
+            "WHERE s.account_id = a.id AND s.currency = a.currency), 0) AS total, a.currency " +
+            "FROM bank_accounts a WHERE a.id = ?";
+
+    // Verrouille tous les sous-soldes (aucun crédit concurrent ne reste en vol), remet à zéro
+    // les non nuls et reporte leur ancienne somme sur le solde principal, en une requête.
+    // Sans rien à reporter, le compte n'est pas modifié (ni version ni publication nouvelles)
+    private static final String CONSOLIDATE_SQL =
+            "WITH locked AS (" +
+            "  SELECT shard_index, balance FROM account_balance_shards " +
+            "  WHERE account_id = ? AND currency = ? FOR UPDATE), " +
+            "swept AS (" +
+            "  UPDATE account_balance_shards s SET balance = 0, updated_at = ? FROM locked " +
+            "  WHERE s.account_id = ? AND s.shard_index = locked.shard_index AND locked.balance <> 0 " +
+            "  RETURNING locked.balance AS amount), " +
+            "folded AS (" +
+            "  UPDATE bank_accounts SET balance = balance + (SELECT SUM(amount) FROM swept), " +
+            "  version = version + 1, updated_at = ? " +
+            "  WHERE id = ? AND currency = ? AND EXISTS (SELECT 1 FROM swept) " +
+            "  RETURNING balance, version, active, balance_shards) " +
+            "SELECT balance, version, active, balance_shards FROM folded " +
+            "UNION ALL " +
+            "SELECT balance, version, active, balance_shards FROM bank_accounts " +
+            "WHERE id = ? AND currency = ? AND NOT EXISTS (SELECT 1 FROM swept)";
+
+    // Supprime les sous-soldes en reportant leur montant (valeur supprimée, crédits
+    // concurrents compris) sur le solde principal, et enregistre le nouveau nombre
+    private static final String RESIZE_SHARDS_SQL =
+            "WITH removed AS (" +
+            "  DELETE FROM account_balance_shards WHERE account_id = ? AND currency = ? " +
+            "  RETURNING balance) " +
+            "UPDATE bank_accounts SET balance = balance + (SELECT COALESCE(SUM(balance), 0) FROM removed), " +
+            "balance_shards = ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND currency = ? RETURNING balance, version, active, balance_shards";
+
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO account_balance_shards (account_id, shard_index, balance, currency, updated_at) " +
+            "VALUES (?, ?, 0, ?, ?)";
+
+    private static final String FIND_BALANCE_STATES_SQL =
+            "SELECT id, balance, currency, version, active, balance_shards " +
+            "FROM bank_accounts WHERE id = ANY(?)";
+
+    // Compte et état du propriétaire en une requête (propriétaire absent: owner_found faux)
+    private static final String FIND_WITH_OWNER_STATUS_SQL =
+            "SELECT a.id, a.account_number, a.user_id, a.balance, a.currency, a.active, " +
+            "a.balance_shards, a.version, a.created_at, u.id IS NOT NULL AS owner_found, " +
+            "COALESCE(u.blocked, FALSE) AS owner_blocked " +
+            "FROM bank_accounts a LEFT JOIN users u ON u.id = a.user_id " +
+            "WHERE a.id = ANY(?)";
+
+    private static final String FIND_SHARDED_SQL =
+            "SELECT id FROM bank_accounts WHERE balance_shards > 0";
+
     private final JpaAccountRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Optional<BalanceTablePort> balanceTable;
 
-    public JpaAccountRepositoryAdapter(JpaAccountRepository jpaRepository) {
+    public JpaAccountRepositoryAdapter(JpaAccountRepository jpaRepository,
+                                       JdbcTemplate jdbcTemplate,
+                                       Optional<BalanceTablePort> balanceTable) {
         this.jpaRepository = jpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.balanceTable = balanceTable;
     }
 
+    /**
+     * Sauvegarde le compte en contrôlant sa version.
+     * Une version nulle correspond à un nouveau compte (insertion directe);
+     * sinon une version périmée lève ObjectOptimisticLockingFailureException,
+     * soit ici lors du merge, soit au flush (UPDATE ... WHERE version = ?).
+     */
     @Override
     public BankAccount save(BankAccount account) {
         AccountEntity entity = AccountEntity.fromDomain(account);
         AccountEntity savedEntity = jpaRepository.save(entity);
+        // Version lue après commit: elle n'est incrémentée qu'au flush
+        balanceTable.ifPresent(table -> afterCommit(() -> table.record(savedEntity.getId(),
+                new Money(savedEntity.getBalance(), savedEntity.getCurrency()), savedEntity.getVersion(),
+                savedEntity.isActive(), savedEntity.getBalanceShards() > 0)));
         return savedEntity.toDomain();
     }
 
@@ -37,6 +160,43 @@ public class JpaAccountRepositoryAdapter implements AccountRepositoryPort {
                 .map(AccountEntity::toDomain);
     }
 
+    @Override
+    public List<BankAccount> findAllById(Collection<UUID> ids) {
+        List<UUID> idList = new ArrayList<>(ids);
+        List<BankAccount> accounts = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = idList.subList(from, Math.min(from + CHUNK_SIZE, idList.size()));
+            jpaRepository.findAllById(chunk)
+                    .forEach(entity -> accounts.add(entity.toDomain()));
+        }
+        return accounts;
+    }
+
+    @Override
+    public List<AccountOwnerView> findWithOwnerStatus(Collection<UUID> ids) {
+        List<UUID> idList = new ArrayList<>(ids);
+        List<AccountOwnerView> views = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = idList.subList(from, Math.min(from + CHUNK_SIZE, idList.size()));
+            jdbcTemplate.query(FIND_WITH_OWNER_STATUS_SQL,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", chunk.toArray())),
+                    rs -> {
+                        views.add(new AccountOwnerView(
+                                rs.getObject("id", UUID.class),
+                                rs.getString("account_number"),
+                                rs.getObject("user_id", UUID.class),
+                                new Money(rs.getBigDecimal("balance"), Currency.valueOf(rs.getString("currency"))),
+                                rs.getBoolean("active"),
+                                rs.getInt("balance_shards"),
+                                rs.getLong("version"),
+                                rs.getTimestamp("created_at").toLocalDateTime(),
+                                rs.getBoolean("owner_found"),
+                                rs.getBoolean("owner_blocked")));
+                    });
+        }
+        return views;
+    }
+
     @Override
     public Optional<BankAccount> findByAccountNumber(String accountNumber) {
         return jpaRepository.findByAccountNumber(accountNumber)
@@ -62,6 +222,7 @@ public class JpaAccountRepositoryAdapter implements AccountRepositoryPort {
     @Override
     public void deleteById(UUID id) {
         jpaRepository.deleteById(id);
+        balanceTable.ifPresent(table -> afterCommit(() -> table.remove(id)));
     }
 
     @Override
@@ -73,4 +234,169 @@ public class JpaAccountRepositoryAdapter implements AccountRepositoryPort {
     public boolean existsByAccountNumber(String accountNumber) {
         return jpaRepository.existsByAccountNumber(accountNumber);
     }
+
+    @Override
+    public Optional<BankAccount> debitIfAllowed(UUID id, BigDecimal amount, Currency currency) {
+        return jdbcTemplate.query(DEBIT_IF_ALLOWED_SQL, this::publishAccount,
+                        amount, Timestamp.valueOf(LocalDateTime.now()), id, amount,
+                        currency != null ? currency.name() : null)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<BankAccount> creditIfAllowed(UUID id, BigDecimal amount, Currency currency) {
+        return jdbcTemplate.query(CREDIT_IF_ALLOWED_SQL, this::publishAccount,
+                        amount, Timestamp.valueOf(LocalDateTime.now()), id,
+                        currency != null ? currency.name() : null)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Envoie les variations par lots JDBC: un aller-retour réseau par lot
+     * au lieu d'un par compte. Les entités JPA éventuellement chargées dans
+     * la même transaction ne sont pas rafraîchies.
+     */
+    @Override
+    public void applyBalanceMutations(List<BalanceMutation> mutations) {
+        if (mutations.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] counts = jdbcTemplate.batchUpdate(APPLY_MUTATION_SQL, mutations, CHUNK_SIZE,
+                (ps, mutation) -> {
+                    ps.setBigDecimal(1, mutation.delta().getAmount());
+                    ps.setTimestamp(2, now);
+                    ps.setObject(3, mutation.accountId());
+                    ps.setString(4, mutation.delta().getCurrency().name());
+                    ps.setBigDecimal(5, mutation.delta().getAmount());
+                });
+
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count == 0) {
+                    throw new OptimisticLockingFailureException(
+                            "Variation de solde rejetée pour le compte "
+                                    + mutations.get(index).accountId());
+                }
+                index++;
+            }
+        }
+
+        if (balanceTable.isPresent()) {
+            // Relecture des lignes verrouillées par le lot: leur version est celle de ce commit
+            List<UUID> ids = mutations.stream().map(BalanceMutation::accountId).distinct().toList();
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<UUID> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                jdbcTemplate.query(FIND_BALANCE_STATES_SQL,
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", chunk.toArray())),
+                        rs -> {
+                            Currency currency = Currency.valueOf(rs.getString("currency"));
+                            publish(rs.getObject("id", UUID.class), currency, rs);
+                        });
+            }
+        }
+    }
+
+    @Override
+    public boolean creditShard(UUID id, int shardIndex, Money amount) {
+        return jdbcTemplate.update(CREDIT_SHARD_SQL,
+                amount.getAmount(), Timestamp.valueOf(LocalDateTime.now()),
+                id, shardIndex, amount.getCurrency().name()) > 0;
+    }
+
+    @Override
+    public Optional<Money> findTotalBalance(UUID id) {
+        return jdbcTemplate.query(TOTAL_BALANCE_SQL,
+                        (rs, rowNum) -> new Money(rs.getBigDecimal("total"), Currency.valueOf(rs.getString("currency"))),
+                        id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<Money> consolidateShards(UUID id, Currency currency) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(CONSOLIDATE_SQL,
+                        (rs, rowNum) -> publish(id, currency, rs),
+                        id, currency.name(), now, id, now, id, currency.name(), id, currency.name())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<Money> resizeShards(UUID id, int shardCount, Currency currency) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Optional<Money> balance = jdbcTemplate.query(RESIZE_SHARDS_SQL,
+                        (rs, rowNum) -> publish(id, currency, rs),
+                        id, currency.name(), shardCount, now, id, currency.name())
+                .stream()
+                .findFirst();
+        if (balance.isPresent() && shardCount > 0) {
+            List<Integer> indexes = new ArrayList<>(shardCount);
+            for (int i = 0; i < shardCount; i++) {
+                indexes.add(i);
+            }
+            jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, indexes, CHUNK_SIZE, (ps, index) -> {
+                ps.setObject(1, id);
+                ps.setInt(2, index);
+                ps.setString(3, currency.name());
+                ps.setTimestamp(4, now);
+            });
+        }
+        return balance;
+    }
+
+    @Override
+    public List<UUID> findShardedAccountIds() {
+        return jdbcTemplate.queryForList(FIND_SHARDED_SQL, UUID.class);
+    }
+
+    // Publication vers la table des soldes
+
+    private Money publish(UUID id, Currency currency, ResultSet rs) throws SQLException {
+        Money balance = new Money(rs.getBigDecimal("balance"), currency);
+        long version = rs.getLong("version");
+        boolean active = rs.getBoolean("active");
+        boolean sharded = rs.getInt("balance_shards") > 0;
+        balanceTable.ifPresent(table -> afterCommit(() -> table.record(id, balance, version, active, sharded)));
+        return balance;
+    }
+
+    /**
+     * Compte renvoyé par une écriture conditionnelle, publié après commit
+     */
+    private BankAccount publishAccount(ResultSet rs, int rowNum) throws SQLException {
+        BankAccount account = new BankAccount();
+        account.setId(rs.getObject("id", UUID.class));
+        account.setAccountNumber(rs.getString("account_number"));
+        account.setUserId(rs.getObject("user_id", UUID.class));
+        account.setBalance(publish(account.getId(), Currency.valueOf(rs.getString("currency")), rs));
+        account.setActive(rs.getBoolean("active"));
+        account.setVersion(rs.getLong("version"));
+        account.setBalanceShards(rs.getInt("balance_shards"));
+        account.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        account.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return account;
+    }
+
+    /**
+     * Exécute l'action après le commit de la transaction courante (jamais après un rollback),
+     * ou immédiatement hors transaction
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
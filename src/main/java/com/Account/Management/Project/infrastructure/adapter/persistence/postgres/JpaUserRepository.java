@@ -1,10 +1,14 @@
 package com.Account.Management.Project.infrastructure.adapter.persistence.postgres;
 
 import com.Account.Management.Project.infrastructure.adapter.persistence.postgres.entity.UserEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,4 +26,9 @@ public interface JpaUserRepository extends JpaRepository<UserEntity, UUID> {
 
     @Query("SELECT u FROM UserEntity u WHERE u.blocked = true")
     List<UserEntity> findAllBlocked();
+
+    // PESSIMISTIC_READ: SELECT ... FOR SHARE sous PostgreSQL
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT u FROM UserEntity u WHERE u.id IN :ids")
+    List<UserEntity> findAllByIdForShare(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
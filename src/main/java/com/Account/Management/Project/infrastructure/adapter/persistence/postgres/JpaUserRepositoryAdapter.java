@@ -6,6 +6,8 @@ import com.Account.Management.Project.infrastructure.adapter.persistence.postgre
 import com.Account.Management.Project.port.output.UserRepositoryPort;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +23,9 @@ import java.util.stream.Collectors;
 @Component
 public class JpaUserRepositoryAdapter implements UserRepositoryPort {
 
+    // Taille maximale des clauses IN (limite de paramètres PostgreSQL)
+    private static final int CHUNK_SIZE = 1000;
+
     private final JpaUserRepository jpaRepository;
 
     public JpaUserRepositoryAdapter(JpaUserRepository jpaRepository) {
@@ -43,6 +48,30 @@ public class JpaUserRepositoryAdapter implements UserRepositoryPort {
                 .map(UserEntity::toDomain);
     }
 
+    @Override
+    public List<User> findAllById(Collection<UUID> ids) {
+        List<UUID> idList = new ArrayList<>(ids);
+        List<User> users = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = idList.subList(from, Math.min(from + CHUNK_SIZE, idList.size()));
+            jpaRepository.findAllById(chunk)
+                    .forEach(entity -> users.add(entity.toDomain()));
+        }
+        return users;
+    }
+
+    @Override
+    public List<User> findAllByIdForShare(Collection<UUID> ids) {
+        List<UUID> idList = new ArrayList<>(ids);
+        List<User> users = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = idList.subList(from, Math.min(from + CHUNK_SIZE, idList.size()));
+            jpaRepository.findAllByIdForShare(chunk)
+                    .forEach(entity -> users.add(entity.toDomain()));
+        }
+        return users;
+    }
+
     @Override
     public Optional<User> findByEmail(String email) {
         return jpaRepository.findByEmail(email)
@@ -0,0 +1,103 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres;
+
+import com.Account.Management.Project.port.output.IdempotencyStorePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Adapter implémentant le port de sortie IdempotencyStorePort
+ * Partage les clés d'idempotence entre instances via la table idempotency_keys.
+ * Activé avec idempotency.postgres.enabled=true.
+ *
+ * La réservation et la libération sont des requêtes autonomes (auto-commit):
+ * la réservation doit être visible des autres instances avant l'exécution du
+ * transfert. La liaison à la transaction s'exécute dans la transaction du
+ * transfert quand il y en a une, et verrouille la ligne jusqu'à son commit.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.postgres.enabled", havingValue = "true")
+public class PostgresIdempotencyStoreAdapter implements IdempotencyStorePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresIdempotencyStoreAdapter.class);
+
+    // Insère la clé, ou reprend une clé expirée (bail d'une réservation non liée compris);
+    // aucune ligne affectée si elle est déjà détenue
+    private static final String RESERVE_SQL =
+            "INSERT INTO idempotency_keys " +
+            "(idempotency_key, fingerprint, transaction_id, reservation_id, created_at, expires_at) " +
+            "VALUES (?, ?, NULL, ?, ?, ?) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE " +
+            "SET fingerprint = EXCLUDED.fingerprint, transaction_id = NULL, " +
+            "reservation_id = EXCLUDED.reservation_id, " +
+            "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at < EXCLUDED.created_at";
+
+    private static final String FIND_SQL =
+            "SELECT fingerprint, transaction_id FROM idempotency_keys " +
+            "WHERE idempotency_key = ? AND expires_at >= ?";
+
+    private static final String BIND_SQL =
+            "UPDATE idempotency_keys SET transaction_id = ?, expires_at = ? " +
+            "WHERE idempotency_key = ? AND reservation_id = ? AND transaction_id IS NULL";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM idempotency_keys " +
+            "WHERE idempotency_key = ? AND reservation_id = ? AND transaction_id IS NULL";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM idempotency_keys WHERE expires_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresIdempotencyStoreAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean tryReserve(String idempotencyKey, String fingerprint, String reservationId,
+                              LocalDateTime expiresAt) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(RESERVE_SQL, idempotencyKey, fingerprint, reservationId,
+                now, Timestamp.valueOf(expiresAt)) > 0;
+    }
+
+    @Override
+    public Optional<StoredKey> find(String idempotencyKey) {
+        return jdbcTemplate.query(FIND_SQL,
+                        (rs, rowNum) -> new StoredKey(rs.getString("fingerprint"), rs.getString("transaction_id")),
+                        idempotencyKey, Timestamp.valueOf(LocalDateTime.now()))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean bind(String idempotencyKey, String reservationId, String transactionId,
+                        LocalDateTime expiresAt) {
+        return jdbcTemplate.update(BIND_SQL, transactionId, Timestamp.valueOf(expiresAt),
+                idempotencyKey, reservationId) > 0;
+    }
+
+    @Override
+    public void release(String idempotencyKey, String reservationId) {
+        jdbcTemplate.update(RELEASE_SQL, idempotencyKey, reservationId);
+    }
+
+    /**
+     * Supprime périodiquement les clés expirées
+     */
+    @Scheduled(fixedDelayString = "${idempotency.postgres.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now()));
+        if (purged > 0) {
+            logger.debug("{} clés d'idempotence expirées supprimées", purged);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Entité JPA représentant un sous-solde d'un compte fractionné dans Postgresql.
+ * Les crédits d'un compte "chaud" sont répartis sur plusieurs lignes afin de
+ * ne pas tous verrouiller la ligne bank_accounts; ils y sont ensuite consolidés.
+ * Déclarée pour que Hibernate crée la table; les accès passent par
+ * JpaAccountRepositoryAdapter (requêtes JDBC atomiques).
+ */
+@Entity
+@Table(name = "account_balance_shards")
+@IdClass(AccountBalanceShardEntity.ShardId.class)
+public class AccountBalanceShardEntity {
+
+    @Id
+    @Column(name = "account_id", columnDefinition = "uuid")
+    private UUID accountId;
+
+    @Id
+    @Column(name = "shard_index")
+    private int shardIndex;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructeur par défaut requis par JPA
+    public AccountBalanceShardEntity() {}
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    /**
+     * Clé composite (compte, index du sous-solde)
+     */
+    public static class ShardId implements Serializable {
+        private UUID accountId;
+        private int shardIndex;
+
+        public ShardId() {}
+
+        public ShardId(UUID accountId, int shardIndex) {
+            this.accountId = accountId;
+            this.shardIndex = shardIndex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ShardId other)) return false;
+            return shardIndex == other.shardIndex && Objects.equals(accountId, other.accountId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, shardIndex);
+        }
+    }
+}
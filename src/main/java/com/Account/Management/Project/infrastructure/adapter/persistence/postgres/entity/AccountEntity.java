@@ -41,6 +41,15 @@ public class AccountEntity {
     @Column(name = "active", nullable = false)
     private boolean active = true;
 
+    // Contrôle de concurrence optimiste: toute écriture avec une version périmée échoue
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // Nombre de sous-soldes (table account_balance_shards), 0 si non fractionné
+    @Column(name = "balance_shards", nullable = false, columnDefinition = "integer default 0")
+    private int balanceShards;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -61,6 +70,8 @@ public class AccountEntity {
         entity.balance = account.getBalance().getAmount();
         entity.currency = account.getBalance().getCurrency();
         entity.active = account.isActive();
+        entity.version = account.getVersion();
+        entity.balanceShards = account.getBalanceShards();
         entity.createdAt = account.getCreatedAt();
         entity.updatedAt = account.getUpdatedAt();
         return entity;
@@ -76,6 +87,8 @@ public class AccountEntity {
         account.setUserId(this.userId);
         account.setBalance(new Money(this.balance, this.currency));
         account.setActive(this.active);
+        account.setVersion(this.version);
+        account.setBalanceShards(this.balanceShards);
         account.setCreatedAt(this.createdAt);
         account.setUpdatedAt(this.updatedAt);
         return account;
@@ -94,6 +107,10 @@ public class AccountEntity {
     public void setCurrency(Currency currency) { this.currency = currency; }
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    public int getBalanceShards() { return balanceShards; }
+    public void setBalanceShards(int balanceShards) { this.balanceShards = balanceShards; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
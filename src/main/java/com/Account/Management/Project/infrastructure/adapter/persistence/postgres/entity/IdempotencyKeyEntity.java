@@ -0,0 +1,65 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entité JPA représentant une clé d'idempotence partagée dans Postgresql.
+ * Déclarée pour que Hibernate crée la table; les accès passent par
+ * PostgresIdempotencyStoreAdapter (requêtes JDBC atomiques).
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "fingerprint", nullable = false, length = 1024)
+    private String fingerprint;
+
+    // Null tant que la requête originale est en cours
+    @Column(name = "transaction_id", length = 64)
+    private String transactionId;
+
+    // Réservation en cours: seule elle peut lier ou libérer la clé
+    @Column(name = "reservation_id", length = 36)
+    private String reservationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructeur par défaut requis par JPA
+    public IdempotencyKeyEntity() {}
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
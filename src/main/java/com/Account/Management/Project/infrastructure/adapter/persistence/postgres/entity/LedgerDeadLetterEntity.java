@@ -0,0 +1,60 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entité JPA représentant une commande du moteur de soldes dont la
+ * projection a échoué de façon répétée: écartée pour ne pas bloquer les
+ * suivantes, elle reste à réconcilier manuellement avec les bases.
+ * Déclarée pour que Hibernate crée la table; les accès passent par
+ * JdbcLedgerProjectionAdapter.
+ */
+@Entity
+@Table(name = "ledger_dead_letters")
+public class LedgerDeadLetterEntity {
+
+    // Séquence de la commande dans le journal
+    @Id
+    @Column(name = "sequence")
+    private Long sequence;
+
+    @Column(name = "command_type", nullable = false, length = 20)
+    private String commandType;
+
+    @Column(name = "transaction_id", length = 64)
+    private String transactionId;
+
+    @Column(name = "source_account_id", nullable = false, columnDefinition = "uuid")
+    private UUID sourceAccountId;
+
+    @Column(name = "target_account_id", columnDefinition = "uuid")
+    private UUID targetAccountId;
+
+    @Column(name = "source_amount_minor", nullable = false)
+    private long sourceAmountMinor;
+
+    @Column(name = "source_currency", nullable = false, length = 3)
+    private String sourceCurrency;
+
+    @Column(name = "target_amount_minor", nullable = false)
+    private long targetAmountMinor;
+
+    @Column(name = "target_currency", nullable = false, length = 3)
+    private String targetCurrency;
+
+    @Column(name = "failure_reason", columnDefinition = "text")
+    private String failureReason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructeur par défaut requis par JPA
+    public LedgerDeadLetterEntity() {}
+
+    public Long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,32 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Entité JPA représentant le point de reprise de la projection du moteur
+ * de soldes en mémoire: dernière séquence du journal appliquée en base.
+ * Déclarée pour que Hibernate crée la table; les accès passent par
+ * JdbcLedgerProjectionAdapter.
+ */
+@Entity
+@Table(name = "ledger_projection")
+public class LedgerProjectionEntity {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    // Constructeur par défaut requis par JPA
+    public LedgerProjectionEntity() {}
+
+    public Integer getId() {
+        return id;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+}
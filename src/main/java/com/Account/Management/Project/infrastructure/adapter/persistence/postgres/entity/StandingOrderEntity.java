@@ -0,0 +1,82 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entité JPA représentant un ordre permanent.
+ * Déclarée pour que Hibernate crée la table; les accès passent par
+ * JdbcStandingOrderRepositoryAdapter (lectures par l'index des échéances,
+ * verrous SKIP LOCKED, mises à jour par lots).
+ */
+@Entity
+@Table(name = "standing_orders", indexes = {
+        @Index(name = "idx_standing_orders_next_execution", columnList = "next_execution_at, id"),
+        @Index(name = "idx_standing_orders_source", columnList = "source_account_id"),
+        @Index(name = "idx_standing_orders_target", columnList = "target_account_id")
+})
+public class StandingOrderEntity {
+
+    @Id
+    @Column(name = "id", columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(name = "source_account_id", nullable = false, columnDefinition = "uuid")
+    private UUID sourceAccountId;
+
+    @Column(name = "target_account_id", nullable = false, columnDefinition = "uuid")
+    private UUID targetAccountId;
+
+    @Column(name = "type", nullable = false, length = 10)
+    private String type;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "description", columnDefinition = "text")
+    private String description;
+
+    @Column(name = "frequency", nullable = false, length = 10)
+    private String frequency;
+
+    @Column(name = "first_execution_at", nullable = false)
+    private LocalDateTime firstExecutionAt;
+
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    // null pour un ordre terminé ou annulé: absent de l'index des échéances à venir
+    @Column(name = "next_execution_at")
+    private LocalDateTime nextExecutionAt;
+
+    @Column(name = "executions", nullable = false)
+    private long executions;
+
+    @Column(name = "skipped_occurrences", nullable = false, columnDefinition = "bigint default 0")
+    private long skippedOccurrences;
+
+    @Column(name = "active", nullable = false)
+    private boolean active;
+
+    @Column(name = "last_transaction_id", length = 64)
+    private String lastTransactionId;
+
+    @Column(name = "last_failure_reason", columnDefinition = "text")
+    private String lastFailureReason;
+
+    @Column(name = "last_executed_at")
+    private LocalDateTime lastExecutedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructeur par défaut requis par JPA
+    public StandingOrderEntity() {}
+
+    public UUID getId() {
+        return id;
+    }
+}
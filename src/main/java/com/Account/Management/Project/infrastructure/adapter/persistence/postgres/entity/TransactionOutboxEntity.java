@@ -0,0 +1,81 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.postgres.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entité JPA représentant une transaction en attente de relais vers MongoDB.
+ * Déclarée pour que Hibernate crée la table; les accès passent par
+ * JdbcTransactionOutboxAdapter (insertions par lots, verrous SKIP LOCKED).
+ */
+@Entity
+@Table(name = "transaction_outbox", indexes = {
+        @Index(name = "idx_outbox_transaction_id", columnList = "transaction_id", unique = true)
+})
+public class TransactionOutboxEntity {
+
+    // Ordre d'écriture, conservé lors du relais
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sequence")
+    private Long sequence;
+
+    @Column(name = "transaction_id", nullable = false, length = 64)
+    private String transactionId;
+
+    @Column(name = "source_account_id", nullable = false, columnDefinition = "uuid")
+    private UUID sourceAccountId;
+
+    @Column(name = "target_account_id", nullable = false, columnDefinition = "uuid")
+    private UUID targetAccountId;
+
+    @Column(name = "source_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal sourceAmount;
+
+    @Column(name = "source_currency", nullable = false, length = 3)
+    private String sourceCurrency;
+
+    @Column(name = "target_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal targetAmount;
+
+    @Column(name = "target_currency", nullable = false, length = 3)
+    private String targetCurrency;
+
+    @Column(name = "type", nullable = false, length = 10)
+    private String type;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "exchange_rate")
+    private Double exchangeRate;
+
+    @Column(name = "rate_version")
+    private Long rateVersion;
+
+    @Column(name = "description", columnDefinition = "text")
+    private String description;
+
+    @Column(name = "failure_reason", columnDefinition = "text")
+    private String failureReason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // Constructeur par défaut requis par JPA
+    public TransactionOutboxEntity() {}
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+}
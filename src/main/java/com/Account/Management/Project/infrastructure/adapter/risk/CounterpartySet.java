@@ -0,0 +1,98 @@
+package com.Account.Management.Project.infrastructure.adapter.risk;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ensemble des couples (compte source, compte destinataire) déjà vus,
+ * réduits à une empreinte de 64 bits dans des tables à adressage ouvert
+ * réparties sur des stripes. Une collision d'empreintes fait passer un
+ * nouveau destinataire pour connu, ce qui reste sans conséquence pour
+ * une règle de vigilance.
+ *
+ * La mémoire est bornée: une stripe pleine est vidée, ses destinataires
+ * redevenant "nouveaux".
+ */
+final class CounterpartySet {
+
+    private final long[][] tables;
+    private final int[] sizes;
+    private final ReentrantLock[] locks;
+    private final int stripeMask;
+    private final int maxPerStripe;
+
+    CounterpartySet(int stripeCount, long capacity) {
+        int stripes = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        long perStripe = Math.max(16, capacity / stripes);
+        int slots = (int) Math.min(1 << 30, Long.highestOneBit(perStripe * 2 - 1) << 1);
+        this.tables = new long[stripes][];
+        this.sizes = new int[stripes];
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            tables[i] = new long[slots];
+            locks[i] = new ReentrantLock();
+        }
+        this.stripeMask = stripes - 1;
+        this.maxPerStripe = slots / 2;
+    }
+
+    boolean contains(UUID source, UUID target) {
+        long fingerprint = fingerprint(source, target);
+        int stripe = (int) (fingerprint >>> 40) & stripeMask;
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            long[] table = tables[stripe];
+            int mask = table.length - 1;
+            for (int i = (int) fingerprint & mask; table[i] != 0; i = (i + 1) & mask) {
+                if (table[i] == fingerprint) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ajoute le couple
+     * @return true si le couple n'avait jamais été vu
+     */
+    boolean add(UUID source, UUID target) {
+        long fingerprint = fingerprint(source, target);
+        int stripe = (int) (fingerprint >>> 40) & stripeMask;
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            long[] table = tables[stripe];
+            int mask = table.length - 1;
+            int i = (int) fingerprint & mask;
+            for (; table[i] != 0; i = (i + 1) & mask) {
+                if (table[i] == fingerprint) {
+                    return false;
+                }
+            }
+            if (sizes[stripe] >= maxPerStripe) {
+                Arrays.fill(table, 0);
+                sizes[stripe] = 0;
+                i = (int) fingerprint & mask;
+            }
+            table[i] = fingerprint;
+            sizes[stripe]++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long fingerprint(UUID source, UUID target) {
+        long h = source.getMostSignificantBits() * 0x9e3779b97f4a7c15L;
+        h = (h ^ source.getLeastSignificantBits()) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ target.getMostSignificantBits()) * 0x94d049bb133111ebL;
+        h = (h ^ target.getLeastSignificantBits()) * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 31;
+        return h == 0 ? 1 : h;
+    }
+}
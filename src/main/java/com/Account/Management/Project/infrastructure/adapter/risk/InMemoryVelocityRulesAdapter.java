@@ -0,0 +1,335 @@
+package com.Account.Management.Project.infrastructure.adapter.risk;
+
+import com.Account.Management.Project.domain.exception.TransferRejectedException;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.port.output.CurrencyConversionPort;
+import com.Account.Management.Project.port.output.TransferRiskPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adapter implémentant le port de sortie TransferRiskPort
+ * (activé par transfer.rules.enabled).
+ *
+ * Les règles (transfer.rules.definitions, voir VelocityRule) sont compilées
+ * une seule fois au démarrage; les fenêtres qu'elles utilisent déterminent
+ * les compteurs tenus par compte source et par utilisateur. Une évaluation
+ * verrouille une stripe de chaque table (compte puis utilisateur, ordre fixe),
+ * lit les sommes, applique les règles puis, si aucune règle bloquante n'est
+ * déclenchée, ajoute le transfert: la vérification et l'ajout sont atomiques.
+ *
+ * Dans une transaction, la contrepartie n'est connue qu'après le commit
+ * et le transfert est retiré des compteurs en cas de rollback.
+ *
+ * Chaque déclenchement est journalisé et conservé dans un journal d'audit
+ * circulaire en mémoire. Les montants sont comparés dans la devise de
+ * référence (transfer.rules.reference-currency).
+ */
+@Component
+@ConditionalOnProperty(name = "transfer.rules.enabled", havingValue = "true")
+public class InMemoryVelocityRulesAdapter implements TransferRiskPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryVelocityRulesAdapter.class);
+
+    private static final String DEFAULT_RULES =
+            "account-burst = account.count.1m > 30;"
+                    + "account-hourly-amount = account.amount.1h > 20000;"
+                    + "user-daily-amount = user.amount.1d > 50000;"
+                    + "user-daily-count = user.count.1d > 500;"
+                    + "new-counterparty = counterparty.first.amount > 5000 review;"
+                    + "large-forex = forex.amount > 10000 review";
+
+    private final CurrencyConversionPort currencyConversion;
+    private final Currency referenceCurrency;
+    private final VelocityRule[] rules;
+    private final SlidingWindowCounters accountCounters;
+    private final SlidingWindowCounters userCounters;
+    private final CounterpartySet counterparties;
+
+    // Journal d'audit circulaire des déclenchements
+    private final AtomicReferenceArray<RuleFiring> audit;
+    private final AtomicLong auditSequence = new AtomicLong();
+
+    // Métriques: histogramme des durées par puissance de 2 de nanosecondes
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(64);
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public InMemoryVelocityRulesAdapter(CurrencyConversionPort currencyConversion,
+                                        @Value("${transfer.rules.definitions:" + DEFAULT_RULES + "}") String definitions,
+                                        @Value("${transfer.rules.reference-currency:EUR}") String referenceCurrency,
+                                        @Value("${transfer.rules.stripes:256}") int stripes,
+                                        @Value("${transfer.rules.buckets-per-window:12}") int buckets,
+                                        @Value("${transfer.rules.counterparty-capacity:1000000}") long counterpartyCapacity,
+                                        @Value("${transfer.rules.audit-size:1000}") int auditSize) {
+        this.currencyConversion = currencyConversion;
+        this.referenceCurrency = Currency.fromCode(referenceCurrency);
+        this.rules = VelocityRule.compile(definitions).toArray(new VelocityRule[0]);
+
+        // Une fenêtre de compteurs par durée distincte, pour chaque portée
+        List<Long> accountWindows = new ArrayList<>();
+        List<Long> userWindows = new ArrayList<>();
+        boolean counterpartyRule = false;
+        for (VelocityRule rule : rules) {
+            if (rule.isAccountWindow()) {
+                rule.window = indexOf(accountWindows, rule.windowMillis);
+            } else if (rule.isUserWindow()) {
+                rule.window = indexOf(userWindows, rule.windowMillis);
+            } else if (rule.kind == VelocityRule.Kind.FIRST_COUNTERPARTY_AMOUNT) {
+                counterpartyRule = true;
+            }
+        }
+        this.accountCounters = accountWindows.isEmpty() ? null
+                : new SlidingWindowCounters(stripes, toArray(accountWindows), buckets);
+        this.userCounters = userWindows.isEmpty() ? null
+                : new SlidingWindowCounters(stripes, toArray(userWindows), buckets);
+        this.counterparties = counterpartyRule ? new CounterpartySet(stripes, counterpartyCapacity) : null;
+        this.audit = new AtomicReferenceArray<>(Math.max(1, auditSize));
+
+        logger.info("{} règles de transfert compilées ({} fenêtres par compte, {} par utilisateur)",
+                rules.length, accountWindows.size(), userWindows.size());
+    }
+
+    @Override
+    public void checkAndRecord(TransferAttempt attempt) {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        VelocityRule.Evaluation evaluation = new VelocityRule.Evaluation(
+                accountCounters == null ? 0 : accountCounters.windows(),
+                userCounters == null ? 0 : userCounters.windows());
+        evaluation.amount = toReferenceMinor(attempt);
+        evaluation.forex = attempt.forex();
+        evaluation.firstCounterparty = counterparties != null
+                && !counterparties.contains(attempt.sourceAccountId(), attempt.targetAccountId());
+
+        int accountStripe = accountCounters == null ? -1 : accountCounters.stripeOf(attempt.sourceAccountId());
+        int userStripe = userCounters == null ? -1 : userCounters.stripeOf(attempt.sourceUserId());
+        List<VelocityRule> fired = null;
+        long[] observed = null;
+        VelocityRule rejectedBy = null;
+
+        lock(accountStripe, userStripe);
+        try {
+            if (accountCounters != null) {
+                accountCounters.totals(accountStripe, attempt.sourceAccountId(), now,
+                        evaluation.accountCounts, evaluation.accountAmounts);
+            }
+            if (userCounters != null) {
+                userCounters.totals(userStripe, attempt.sourceUserId(), now,
+                        evaluation.userCounts, evaluation.userAmounts);
+            }
+
+            for (int i = 0; i < rules.length; i++) {
+                VelocityRule rule = rules[i];
+                long value = rule.observe(evaluation);
+                if (value > rule.limit) {
+                    if (fired == null) {
+                        fired = new ArrayList<>(2);
+                        observed = new long[rules.length];
+                    }
+                    observed[fired.size()] = value;
+                    fired.add(rule);
+                    if (rule.action == RuleAction.REJECT && rejectedBy == null) {
+                        rejectedBy = rule;
+                    }
+                }
+            }
+
+            if (rejectedBy == null) {
+                record(accountStripe, userStripe, attempt, now, 1, evaluation.amount);
+            }
+        } finally {
+            unlock(accountStripe, userStripe);
+            recordLatency(System.nanoTime() - start);
+        }
+
+        if (fired != null) {
+            for (int i = 0; i < fired.size(); i++) {
+                audit(fired.get(i), observed[i], attempt);
+            }
+        }
+        if (rejectedBy != null) {
+            rejected.increment();
+            throw new TransferRejectedException(rejectedBy.id,
+                    rejectedBy.describe(observed[fired.indexOf(rejectedBy)]));
+        }
+
+        onCompletion(accountStripe, userStripe, attempt, now, evaluation.amount, evaluation.firstCounterparty);
+    }
+
+    @Override
+    public List<RuleFiring> getRecentFirings(int limit) {
+        long last = auditSequence.get();
+        int size = audit.length();
+        List<RuleFiring> firings = new ArrayList<>();
+        for (long seq = last - 1; seq >= 0 && seq >= last - size && firings.size() < limit; seq--) {
+            RuleFiring firing = audit.get((int) (seq % size));
+            if (firing != null) {
+                firings.add(firing);
+            }
+        }
+        return firings;
+    }
+
+    @Override
+    public RiskStatistics getStatistics() {
+        long count = evaluations.sum();
+        List<RuleStatistics> ruleStatistics = new ArrayList<>(rules.length);
+        for (VelocityRule rule : rules) {
+            ruleStatistics.add(new RuleStatistics(rule.id, rule.expression, rule.action, rule.fired.sum()));
+        }
+        return new RiskStatistics(
+                count,
+                rejected.sum(),
+                count == 0 ? 0.0 : totalNanos.sum() / 1_000.0 / count,
+                percentileMicros(count, 0.99),
+                maxNanos.get() / 1_000.0,
+                ruleStatistics
+        );
+    }
+
+    // Méthodes utilitaires privées
+
+    private long toReferenceMinor(TransferAttempt attempt) {
+        Currency currency = attempt.amount().getCurrency();
+        long minor = attempt.amount().getMinorAmount();
+        if (currency == referenceCurrency) {
+            return minor;
+        }
+        return Math.round(minor * currencyConversion.getExchangeRate(currency, referenceCurrency));
+    }
+
+    private void record(int accountStripe, int userStripe, TransferAttempt attempt,
+                        long at, long count, long amount) {
+        if (accountCounters != null) {
+            accountCounters.add(accountStripe, attempt.sourceAccountId(), at, count, amount);
+        }
+        if (userCounters != null) {
+            userCounters.add(userStripe, attempt.sourceUserId(), at, count, amount);
+        }
+    }
+
+    /**
+     * Au commit de la transaction courante, enregistre la nouvelle contrepartie;
+     * en cas d'annulation, retire le transfert des compteurs. Hors transaction,
+     * la contrepartie est enregistrée aussitôt et un transfert qui échoue
+     * ensuite reste compté.
+     */
+    private void onCompletion(int accountStripe, int userStripe, TransferAttempt attempt,
+                              long at, long amount, boolean firstCounterparty) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (firstCounterparty) {
+                counterparties.add(attempt.sourceAccountId(), attempt.targetAccountId());
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Un transfert annulé ne fait pas de sa destination une contrepartie connue
+                if (firstCounterparty) {
+                    counterparties.add(attempt.sourceAccountId(), attempt.targetAccountId());
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                lock(accountStripe, userStripe);
+                try {
+                    record(accountStripe, userStripe, attempt, at, -1, -amount);
+                } finally {
+                    unlock(accountStripe, userStripe);
+                }
+            }
+        });
+    }
+
+    // Toujours la stripe du compte avant celle de l'utilisateur: pas d'interblocage
+    private void lock(int accountStripe, int userStripe) {
+        if (accountStripe >= 0) {
+            accountCounters.lock(accountStripe).lock();
+        }
+        if (userStripe >= 0) {
+            userCounters.lock(userStripe).lock();
+        }
+    }
+
+    private void unlock(int accountStripe, int userStripe) {
+        if (userStripe >= 0) {
+            userCounters.lock(userStripe).unlock();
+        }
+        if (accountStripe >= 0) {
+            accountCounters.lock(accountStripe).unlock();
+        }
+    }
+
+    private void audit(VelocityRule rule, long observed, TransferAttempt attempt) {
+        rule.fired.increment();
+        String detail = rule.describe(observed);
+        RuleFiring firing = new RuleFiring(rule.id, rule.action,
+                attempt.sourceAccountId(), attempt.targetAccountId(),
+                attempt.amount().toString(), detail, LocalDateTime.now());
+        long seq = auditSequence.getAndIncrement();
+        audit.set((int) (seq % audit.length()), firing);
+        logger.warn("Règle {} déclenchée ({}) pour le transfert {} -> {} de {}: {}",
+                rule.id, rule.action, attempt.sourceAccountId(), attempt.targetAccountId(),
+                attempt.amount(), detail);
+    }
+
+    private void recordLatency(long nanos) {
+        evaluations.increment();
+        totalNanos.add(nanos);
+        latencyHistogram.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(1, nanos)) - 1);
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            // réessayer
+        }
+    }
+
+    private double percentileMicros(long count, double percentile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long threshold = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < latencyHistogram.length(); i++) {
+            seen += latencyHistogram.get(i);
+            if (seen >= threshold) {
+                return (1L << (i + 1)) / 1_000.0;
+            }
+        }
+        return maxNanos.get() / 1_000.0;
+    }
+
+    private static int indexOf(List<Long> windows, long windowMillis) {
+        int index = windows.indexOf(windowMillis);
+        if (index < 0) {
+            windows.add(windowMillis);
+            index = windows.size() - 1;
+        }
+        return index;
+    }
+
+    private static long[] toArray(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+}
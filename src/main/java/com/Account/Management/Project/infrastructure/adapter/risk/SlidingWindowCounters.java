@@ -0,0 +1,240 @@
+package com.Account.Management.Project.infrastructure.adapter.risk;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compteurs en fenêtres glissantes (nombre et montant) par clé UUID,
+ * stockés uniquement dans des tableaux de types primitifs.
+ *
+ * Les clés sont réparties sur des stripes indépendantes, chacune avec son
+ * verrou et sa table à adressage ouvert (deux longs par UUID). Chaque fenêtre
+ * est découpée en seaux circulaires: la somme couvre le seau courant et les
+ * précédents, soit une fenêtre glissante à la précision d'un seau près.
+ * Les seaux expirés sont remis à zéro au fil de l'eau, à la lecture ou à l'ajout;
+ * les clés dont toutes les fenêtres ont expiré sont purgées quand la table
+ * de leur stripe doit s'agrandir.
+ *
+ * Les méthodes d'accès supposent que le verrou de la stripe est détenu.
+ */
+final class SlidingWindowCounters {
+
+    private static final int INITIAL_SLOTS = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final long[] bucketMillis;
+    private final int windows;
+    private final int buckets;
+
+    SlidingWindowCounters(int stripeCount, long[] windowMillis, int buckets) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = size - 1;
+        this.windows = windowMillis.length;
+        this.buckets = Math.max(1, buckets);
+        this.bucketMillis = new long[windows];
+        for (int w = 0; w < windows; w++) {
+            bucketMillis[w] = Math.max(1, windowMillis[w] / this.buckets);
+        }
+    }
+
+    int windows() {
+        return windows;
+    }
+
+    int stripeOf(UUID key) {
+        long h = key.getMostSignificantBits() ^ key.getLeastSignificantBits();
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 29;
+        return (int) h & stripeMask;
+    }
+
+    ReentrantLock lock(int stripe) {
+        return stripes[stripe].lock;
+    }
+
+    /**
+     * Sommes de chaque fenêtre pour la clé (zéro si elle est inconnue)
+     */
+    void totals(int stripe, UUID key, long now, long[] counts, long[] amounts) {
+        Stripe s = stripes[stripe];
+        int slot = s.find(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        for (int w = 0; w < windows; w++) {
+            long count = 0;
+            long amount = 0;
+            if (slot >= 0) {
+                int cell = slot * windows + w;
+                advance(s, cell, now / bucketMillis[w]);
+                int first = cell * buckets;
+                for (int b = first; b < first + buckets; b++) {
+                    count += s.counts[b];
+                    amount += s.amounts[b];
+                }
+            }
+            counts[w] = count;
+            amounts[w] = amount;
+        }
+    }
+
+    /**
+     * Ajoute (ou retire, avec des valeurs négatives) une opération datée de {@code at}.
+     * Une opération sortie de toutes les fenêtres est ignorée.
+     */
+    void add(int stripe, UUID key, long at, long count, long amount) {
+        Stripe s = stripes[stripe];
+        int slot = s.findOrInsert(key.getMostSignificantBits(), key.getLeastSignificantBits(),
+                windows, buckets, at, bucketMillis);
+        for (int w = 0; w < windows; w++) {
+            int cell = slot * windows + w;
+            long epoch = at / bucketMillis[w];
+            if (epoch > s.epochs[cell]) {
+                advance(s, cell, epoch);
+            } else if (epoch <= s.epochs[cell] - buckets) {
+                continue;
+            }
+            int bucket = cell * buckets + (int) Math.floorMod(epoch, (long) buckets);
+            s.counts[bucket] += count;
+            s.amounts[bucket] += amount;
+        }
+    }
+
+    /**
+     * Fait avancer la fenêtre jusqu'au seau {@code epoch} en vidant les seaux dépassés
+     */
+    private void advance(Stripe s, int cell, long epoch) {
+        long last = s.epochs[cell];
+        if (epoch <= last) {
+            return;
+        }
+        int first = cell * buckets;
+        if (epoch - last >= buckets) {
+            Arrays.fill(s.counts, first, first + buckets, 0);
+            Arrays.fill(s.amounts, first, first + buckets, 0);
+        } else {
+            for (long e = last + 1; e <= epoch; e++) {
+                int bucket = first + (int) Math.floorMod(e, (long) buckets);
+                s.counts[bucket] = 0;
+                s.amounts[bucket] = 0;
+            }
+        }
+        s.epochs[cell] = epoch;
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        long[] keysHigh = new long[INITIAL_SLOTS];
+        long[] keysLow = new long[INITIAL_SLOTS];
+        boolean[] used = new boolean[INITIAL_SLOTS];
+        // Par (clé, fenêtre): dernier seau atteint; par (clé, fenêtre, seau): nombre et montant
+        long[] epochs = new long[0];
+        long[] counts = new long[0];
+        long[] amounts = new long[0];
+        int size;
+
+        int find(long high, long low) {
+            int mask = keysHigh.length - 1;
+            for (int i = index(high, low, mask); used[i]; i = (i + 1) & mask) {
+                if (keysHigh[i] == high && keysLow[i] == low) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int findOrInsert(long high, long low, int windows, int buckets, long now, long[] bucketMillis) {
+            if (epochs.length == 0) {
+                epochs = new long[keysHigh.length * windows];
+                counts = new long[keysHigh.length * windows * buckets];
+                amounts = new long[keysHigh.length * windows * buckets];
+            }
+            int mask = keysHigh.length - 1;
+            int i = index(high, low, mask);
+            for (; used[i]; i = (i + 1) & mask) {
+                if (keysHigh[i] == high && keysLow[i] == low) {
+                    return i;
+                }
+            }
+            if ((size + 1) * 2 > keysHigh.length) {
+                rehash(windows, buckets, now, bucketMillis);
+                return findOrInsert(high, low, windows, buckets, now, bucketMillis);
+            }
+            used[i] = true;
+            keysHigh[i] = high;
+            keysLow[i] = low;
+            // Seaux à zéro: la première avance les considère tous comme dépassés
+            Arrays.fill(epochs, i * windows, (i + 1) * windows, Long.MIN_VALUE / 2);
+            size++;
+            return i;
+        }
+
+        /**
+         * Purge les clés expirées puis, si nécessaire, double la table;
+         * les compteurs suivent leur clé
+         */
+        private void rehash(int windows, int buckets, long now, long[] bucketMillis) {
+            int live = 0;
+            for (int old = 0; old < keysHigh.length; old++) {
+                if (used[old] && isLive(old, windows, buckets, now, bucketMillis)) {
+                    live++;
+                }
+            }
+            long[] oldHigh = keysHigh;
+            long[] oldLow = keysLow;
+            boolean[] oldUsed = used;
+            long[] oldEpochs = epochs;
+            long[] oldCounts = counts;
+            long[] oldAmounts = amounts;
+
+            int capacity = (live + 1) * 2 > oldHigh.length ? oldHigh.length * 2 : oldHigh.length;
+            int mask = capacity - 1;
+            keysHigh = new long[capacity];
+            keysLow = new long[capacity];
+            used = new boolean[capacity];
+            epochs = new long[capacity * windows];
+            counts = new long[capacity * windows * buckets];
+            amounts = new long[capacity * windows * buckets];
+
+            for (int old = 0; old < oldHigh.length; old++) {
+                if (!oldUsed[old] || !isLiveIn(oldEpochs, old, windows, buckets, now, bucketMillis)) {
+                    continue;
+                }
+                int i = index(oldHigh[old], oldLow[old], mask);
+                while (used[i]) {
+                    i = (i + 1) & mask;
+                }
+                used[i] = true;
+                keysHigh[i] = oldHigh[old];
+                keysLow[i] = oldLow[old];
+                System.arraycopy(oldEpochs, old * windows, epochs, i * windows, windows);
+                System.arraycopy(oldCounts, old * windows * buckets, counts, i * windows * buckets, windows * buckets);
+                System.arraycopy(oldAmounts, old * windows * buckets, amounts, i * windows * buckets, windows * buckets);
+            }
+            size = live;
+        }
+
+        private boolean isLive(int slot, int windows, int buckets, long now, long[] bucketMillis) {
+            return isLiveIn(epochs, slot, windows, buckets, now, bucketMillis);
+        }
+
+        private static boolean isLiveIn(long[] epochs, int slot, int windows, int buckets,
+                                        long now, long[] bucketMillis) {
+            for (int w = 0; w < windows; w++) {
+                if (epochs[slot * windows + w] > now / bucketMillis[w] - buckets) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static int index(long high, long low, int mask) {
+            long h = high * 0x9e3779b97f4a7c15L + low;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.Account.Management.Project.infrastructure.adapter.risk;
+
+import com.Account.Management.Project.port.output.TransferRiskPort.RuleAction;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Règle compilée une fois au démarrage depuis sa définition textuelle:
+ *
+ *   identifiant = sujet > limite [review]
+ *
+ * Sujets reconnus (montants en unités de la devise de référence):
+ *   account.count.&lt;fenêtre&gt;, account.amount.&lt;fenêtre&gt;  par compte source
+ *   user.count.&lt;fenêtre&gt;, user.amount.&lt;fenêtre&gt;        par propriétaire du compte source
+ *   counterparty.first.amount   premier transfert vers ce destinataire
+ *   forex.amount                montant d'un transfert Forex
+ *   transfer.amount             montant d'un transfert
+ * Fenêtre: durée suivie de s, m, h ou d (ex: 1m, 1h, 1d).
+ * Sans mot-clé review, la règle est bloquante.
+ */
+final class VelocityRule {
+
+    private static final Pattern DEFINITION = Pattern.compile(
+            "\\s*([\\w.-]+)\\s*=\\s*([a-z]+(?:\\.[a-z]+)*)(?:\\.(\\d+[smhd]))?\\s*>\\s*(\\d+(?:\\.\\d+)?)\\s*(review)?\\s*");
+
+    enum Kind {
+        ACCOUNT_COUNT, ACCOUNT_AMOUNT, USER_COUNT, USER_AMOUNT,
+        FIRST_COUNTERPARTY_AMOUNT, FOREX_AMOUNT, TRANSFER_AMOUNT
+    }
+
+    final String id;
+    final String expression;
+    final String subject;
+    final RuleAction action;
+    final Kind kind;
+    final long windowMillis;
+    // Nombre d'opérations, ou montant en centimes de la devise de référence
+    final long limit;
+    final LongAdder fired = new LongAdder();
+    // Indice de la fenêtre dans les compteurs du compte ou de l'utilisateur
+    int window = -1;
+
+    private VelocityRule(String id, String expression, String subject, RuleAction action, Kind kind,
+                         long windowMillis, long limit) {
+        this.id = id;
+        this.expression = expression;
+        this.subject = subject;
+        this.action = action;
+        this.kind = kind;
+        this.windowMillis = windowMillis;
+        this.limit = limit;
+    }
+
+    /**
+     * Compile les définitions séparées par des points-virgules
+     * @throws IllegalStateException si une définition est invalide
+     */
+    static List<VelocityRule> compile(String definitions) {
+        List<VelocityRule> rules = new ArrayList<>();
+        for (String definition : definitions.split(";")) {
+            if (definition.isBlank()) {
+                continue;
+            }
+            Matcher matcher = DEFINITION.matcher(definition);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Règle de transfert invalide: " + definition.trim());
+            }
+            String subject = matcher.group(2);
+            String window = matcher.group(3);
+            Kind kind = kindOf(subject, window != null, definition);
+            boolean counted = kind == Kind.ACCOUNT_COUNT || kind == Kind.USER_COUNT;
+            BigDecimal limit = new BigDecimal(matcher.group(4));
+
+            rules.add(new VelocityRule(
+                    matcher.group(1),
+                    definition.substring(definition.indexOf('=') + 1).trim(),
+                    window != null ? subject + "." + window : subject,
+                    matcher.group(5) != null ? RuleAction.REVIEW : RuleAction.REJECT,
+                    kind,
+                    window != null ? windowMillis(window) : 0,
+                    counted ? limit.longValueExact() : limit.movePointRight(2).longValueExact()
+            ));
+        }
+        return rules;
+    }
+
+    boolean isCount() {
+        return kind == Kind.ACCOUNT_COUNT || kind == Kind.USER_COUNT;
+    }
+
+    boolean isAccountWindow() {
+        return kind == Kind.ACCOUNT_COUNT || kind == Kind.ACCOUNT_AMOUNT;
+    }
+
+    boolean isUserWindow() {
+        return kind == Kind.USER_COUNT || kind == Kind.USER_AMOUNT;
+    }
+
+    /**
+     * Valeur observée en incluant le transfert évalué, ou -1 si la règle ne s'applique pas
+     */
+    long observe(Evaluation evaluation) {
+        return switch (kind) {
+            case ACCOUNT_COUNT -> evaluation.accountCounts[window] + 1;
+            case ACCOUNT_AMOUNT -> evaluation.accountAmounts[window] + evaluation.amount;
+            case USER_COUNT -> evaluation.userCounts[window] + 1;
+            case USER_AMOUNT -> evaluation.userAmounts[window] + evaluation.amount;
+            case FIRST_COUNTERPARTY_AMOUNT -> evaluation.firstCounterparty ? evaluation.amount : -1;
+            case FOREX_AMOUNT -> evaluation.forex ? evaluation.amount : -1;
+            case TRANSFER_AMOUNT -> evaluation.amount;
+        };
+    }
+
+    String describe(long observed) {
+        return isCount()
+                ? String.format("%s = %d > %d", subject, observed, limit)
+                : String.format("%s = %s > %s", subject,
+                BigDecimal.valueOf(observed, 2), BigDecimal.valueOf(limit, 2));
+    }
+
+    private static Kind kindOf(String subject, boolean windowed, String definition) {
+        Kind kind = switch (subject) {
+            case "account.count" -> Kind.ACCOUNT_COUNT;
+            case "account.amount" -> Kind.ACCOUNT_AMOUNT;
+            case "user.count" -> Kind.USER_COUNT;
+            case "user.amount" -> Kind.USER_AMOUNT;
+            case "counterparty.first.amount" -> Kind.FIRST_COUNTERPARTY_AMOUNT;
+            case "forex.amount" -> Kind.FOREX_AMOUNT;
+            case "transfer.amount" -> Kind.TRANSFER_AMOUNT;
+            default -> throw new IllegalStateException("Sujet de règle inconnu: " + definition.trim());
+        };
+        boolean needsWindow = kind.ordinal() <= Kind.USER_AMOUNT.ordinal();
+        if (needsWindow != windowed) {
+            throw new IllegalStateException((needsWindow ? "Fenêtre manquante: " : "Fenêtre inattendue: ")
+                    + definition.trim());
+        }
+        return kind;
+    }
+
+    private static long windowMillis(String window) {
+        long value = Long.parseLong(window.substring(0, window.length() - 1));
+        return switch (window.charAt(window.length() - 1)) {
+            case 's' -> value * 1_000L;
+            case 'm' -> value * 60_000L;
+            case 'h' -> value * 3_600_000L;
+            default -> value * 86_400_000L;
+        };
+    }
+
+    /**
+     * Valeurs lues dans les compteurs pour un transfert
+     */
+    static final class Evaluation {
+        final long[] accountCounts;
+        final long[] accountAmounts;
+        final long[] userCounts;
+        final long[] userAmounts;
+        long amount;
+        boolean firstCounterparty;
+        boolean forex;
+
+        Evaluation(int accountWindows, int userWindows) {
+            this.accountCounts = new long[accountWindows];
+            this.accountAmounts = new long[accountWindows];
+            this.userCounts = new long[userWindows];
+            this.userAmounts = new long[userWindows];
+        }
+    }
+}
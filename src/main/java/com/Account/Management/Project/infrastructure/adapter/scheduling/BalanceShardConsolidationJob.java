@@ -0,0 +1,39 @@
+package com.Account.Management.Project.infrastructure.adapter.scheduling;
+
+import com.Account.Management.Project.port.input.AccountUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Consolidation périodique des comptes fractionnés: reporte les sous-soldes
+ * sur le solde principal pour que les débits y trouvent les fonds crédités
+ * sans devoir consolider eux-mêmes. Chaque compte est traité dans sa propre
+ * transaction, sous le verrou du compte.
+ */
+@Component
+public class BalanceShardConsolidationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceShardConsolidationJob.class);
+
+    private final AccountUseCase accountUseCase;
+
+    public BalanceShardConsolidationJob(AccountUseCase accountUseCase) {
+        this.accountUseCase = accountUseCase;
+    }
+
+    @Scheduled(fixedDelayString = "${account.shards.consolidation-interval-ms:5000}")
+    public void consolidate() {
+        for (UUID accountId : accountUseCase.getShardedAccountIds()) {
+            try {
+                accountUseCase.consolidateBalanceShards(accountId);
+            } catch (RuntimeException e) {
+                logger.warn("Consolidation des sous-soldes du compte {} reportée: {}",
+                        accountId, e.getMessage());
+            }
+        }
+    }
+}
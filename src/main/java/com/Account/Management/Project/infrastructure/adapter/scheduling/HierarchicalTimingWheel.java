@@ -0,0 +1,134 @@
+package com.Account.Management.Project.infrastructure.adapter.scheduling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Roue temporelle hiérarchique (à la Kafka): chaque niveau compte wheelSize
+ * cases d'un pas égal à la période complète du niveau inférieur.
+ * Ajouter une échéance coûte O(nombre de niveaux); seules les cases non vides
+ * sont suivies dans une file de priorité, si bien qu'avancer l'horloge ne
+ * coûte rien pour les cases vides. À l'expiration d'une case d'un niveau
+ * supérieur, ses entrées sont redescendues vers une roue plus fine.
+ *
+ * Non thread-safe: l'appelant synchronise les accès.
+ * Utilisée par la minuterie des ordres permanents et pour l'expiration
+ * des cotations de change.
+ */
+public final class HierarchicalTimingWheel {
+
+    private final PriorityQueue<Bucket> buckets =
+            new PriorityQueue<>(Comparator.comparingLong(bucket -> bucket.expiration));
+    private final Level root;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.root = new Level(tickMillis, wheelSize, startMillis);
+    }
+
+    /**
+     * @return false si l'échéance est déjà atteinte (à exécuter immédiatement)
+     */
+    public boolean add(UUID id, long dueMillis) {
+        if (root.add(new Entry(id, dueMillis))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Avance l'horloge et retourne les entrées arrivées à terme
+     */
+    public List<UUID> advance(long nowMillis) {
+        List<UUID> due = new ArrayList<>();
+        Bucket bucket;
+        while ((bucket = buckets.peek()) != null && bucket.expiration <= nowMillis) {
+            buckets.poll();
+            root.advanceClock(bucket.expiration);
+            List<Entry> entries = bucket.flush();
+            size -= entries.size();
+            for (Entry entry : entries) {
+                // Redescente vers un niveau plus fin, ou expiration
+                if (root.add(entry)) {
+                    size++;
+                } else {
+                    due.add(entry.id);
+                }
+            }
+        }
+        root.advanceClock(nowMillis);
+        return due;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private final class Level {
+        private final long tickMillis;
+        private final int wheelSize;
+        private final long intervalMillis;
+        private final Bucket[] slots;
+        private long currentTime;
+        private Level overflow;
+
+        Level(long tickMillis, int wheelSize, long startMillis) {
+            this.tickMillis = tickMillis;
+            this.wheelSize = wheelSize;
+            this.intervalMillis = tickMillis * wheelSize;
+            this.slots = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                slots[i] = new Bucket();
+            }
+            this.currentTime = startMillis - (startMillis % tickMillis);
+        }
+
+        boolean add(Entry entry) {
+            if (entry.dueMillis < currentTime + tickMillis) {
+                return false;
+            }
+            if (entry.dueMillis < currentTime + intervalMillis) {
+                long virtualId = entry.dueMillis / tickMillis;
+                Bucket bucket = slots[(int) (virtualId % wheelSize)];
+                bucket.entries.add(entry);
+                long expiration = virtualId * tickMillis;
+                if (bucket.expiration != expiration) {
+                    bucket.expiration = expiration;
+                    buckets.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(intervalMillis, wheelSize, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        void advanceClock(long timeMillis) {
+            if (timeMillis >= currentTime + tickMillis) {
+                currentTime = timeMillis - (timeMillis % tickMillis);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket {
+        final List<Entry> entries = new ArrayList<>();
+        long expiration = -1;
+
+        List<Entry> flush() {
+            List<Entry> flushed = new ArrayList<>(entries);
+            entries.clear();
+            expiration = -1;
+            return flushed;
+        }
+    }
+
+    private record Entry(UUID id, long dueMillis) {}
+}
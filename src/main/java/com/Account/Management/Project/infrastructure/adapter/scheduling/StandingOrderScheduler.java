@@ -0,0 +1,70 @@
+package com.Account.Management.Project.infrastructure.adapter.scheduling;
+
+import com.Account.Management.Project.port.input.StandingOrderUseCase;
+import com.Account.Management.Project.port.output.StandingOrderTimerPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pilote l'exécution des ordres permanents:
+ * - charge périodiquement les échéances de l'horizon à venir dans la minuterie
+ *   (au démarrage, puis toutes les standing-orders.reload-interval-ms);
+ * - à chaque pas, exécute par lots les échéances arrivées à terme.
+ *
+ * Un lot en échec n'avance aucune échéance: ses ordres restent dus en base
+ * et sont repris au prochain chargement de l'horizon.
+ */
+@Component
+@ConditionalOnProperty(name = "standing-orders.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class StandingOrderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandingOrderScheduler.class);
+
+    private final StandingOrderUseCase standingOrderUseCase;
+    private final StandingOrderTimerPort timer;
+    private final int batchSize;
+
+    public StandingOrderScheduler(StandingOrderUseCase standingOrderUseCase,
+                                  StandingOrderTimerPort timer,
+                                  @Value("${standing-orders.batch-size:500}") int batchSize) {
+        this.standingOrderUseCase = standingOrderUseCase;
+        this.timer = timer;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${standing-orders.reload-interval-ms:300000}",
+            fixedDelayString = "${standing-orders.reload-interval-ms:300000}")
+    public void loadUpcoming() {
+        try {
+            int loaded = standingOrderUseCase.scheduleUpcoming();
+            logger.debug("{} échéances d'ordres permanents chargées", loaded);
+        } catch (RuntimeException e) {
+            logger.warn("Chargement des ordres permanents reporté: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${standing-orders.timer.tick-ms:1000}")
+    public void executeDue() {
+        List<UUID> due = timer.pollDue(LocalDateTime.now());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<UUID> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                standingOrderUseCase.executeDueOrders(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Échec d'un lot de {} ordres permanents, reprise au prochain chargement: {}",
+                        batch.size(), e.getMessage());
+            }
+        }
+    }
+}
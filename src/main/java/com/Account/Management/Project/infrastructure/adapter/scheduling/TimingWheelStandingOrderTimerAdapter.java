@@ -0,0 +1,84 @@
+package com.Account.Management.Project.infrastructure.adapter.scheduling;
+
+import com.Account.Management.Project.port.output.StandingOrderTimerPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adapter implémentant le port de sortie StandingOrderTimerPort
+ * au moyen d'une roue temporelle hiérarchique en mémoire.
+ *
+ * Seules les échéances de l'horizon chargé (standing-orders.horizon-minutes)
+ * sont gardées en mémoire. Une échéance peut y figurer plusieurs fois
+ * (chargement et création concurrents): c'est sans effet, l'exécution
+ * vérifiant en base que l'ordre est encore dû.
+ */
+@Component
+public class TimingWheelStandingOrderTimerAdapter implements StandingOrderTimerPort {
+
+    private final HierarchicalTimingWheel wheel;
+    private final Duration horizon;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final List<UUID> overdue = new ArrayList<>();
+    private final LongAdder fired = new LongAdder();
+    private LocalDateTime horizonEnd;
+
+    public TimingWheelStandingOrderTimerAdapter(
+            @Value("${standing-orders.timer.tick-ms:1000}") long tickMillis,
+            @Value("${standing-orders.timer.wheel-size:64}") int wheelSize,
+            @Value("${standing-orders.horizon-minutes:10}") long horizonMinutes) {
+        LocalDateTime now = LocalDateTime.now();
+        this.wheel = new HierarchicalTimingWheel(Math.max(1, tickMillis), Math.max(2, wheelSize), toMillis(now));
+        this.horizon = Duration.ofMinutes(Math.max(1, horizonMinutes));
+        this.horizonEnd = now;
+    }
+
+    @Override
+    public synchronized void schedule(UUID orderId, LocalDateTime dueAt) {
+        if (dueAt == null || dueAt.isAfter(horizonEnd)) {
+            return;
+        }
+        if (!wheel.add(orderId, toMillis(dueAt))) {
+            overdue.add(orderId);
+        }
+    }
+
+    @Override
+    public synchronized List<UUID> pollDue(LocalDateTime now) {
+        List<UUID> due = wheel.advance(toMillis(now));
+        if (!overdue.isEmpty()) {
+            due.addAll(overdue);
+            overdue.clear();
+        }
+        fired.add(due.size());
+        return due;
+    }
+
+    @Override
+    public synchronized LocalDateTime extendHorizon(LocalDateTime now) {
+        LocalDateTime end = now.plus(horizon);
+        if (end.isAfter(horizonEnd)) {
+            horizonEnd = end;
+        }
+        return horizonEnd;
+    }
+
+    @Override
+    public synchronized TimerStatistics getStatistics() {
+        return new TimerStatistics(wheel.size() + overdue.size(), horizonEnd, fired.sum());
+    }
+
+    // méthodes utilitaires privées
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+}
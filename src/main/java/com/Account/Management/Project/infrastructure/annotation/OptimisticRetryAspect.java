@@ -0,0 +1,174 @@
+package com.Account.Management.Project.infrastructure.annotation;
+
+import com.Account.Management.Project.domain.exception.ConcurrentAccountUpdateException;
+import jakarta.persistence.OptimisticLockException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aspect AOP rejouant les opérations annotées avec @RetryOnConflict
+ * lorsqu'une écriture est rejetée pour cause de version périmée.
+ *
+ * Stratégie: backoff exponentiel plafonné avec jitter complet
+ * (délai aléatoire entre 0 et base * 2^tentative), jusqu'à un nombre
+ * maximal de tentatives configurable.
+ *
+ * L'aspect est ordonné avant l'intercepteur transactionnel (LOWEST_PRECEDENCE)
+ * afin de l'envelopper: chaque tentative s'exécute dans une transaction neuve.
+ * Il reste après l'ExposeInvocationInterceptor de Spring, requis pour lier
+ * l'annotation en paramètre de l'advice.
+ */
+@Aspect
+@Component
+@Order(0)
+public class OptimisticRetryAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryAspect.class);
+
+    // Nombre maximal de comptes suivis pour les statistiques de conflits
+    private static final int MAX_TRACKED_ACCOUNTS = 10_000;
+
+    private final int maxAttempts;
+    private final long baseDelayMicros;
+    private final long maxDelayMicros;
+
+    private final Map<String, OperationCounters> operations = new ConcurrentHashMap<>();
+    private final Map<UUID, LongAdder> conflictsByAccount = new ConcurrentHashMap<>();
+
+    public OptimisticRetryAspect(@Value("${account.retry.max-attempts:5}") int maxAttempts,
+                                 @Value("${account.retry.base-delay-ms:2}") long baseDelayMs,
+                                 @Value("${account.retry.max-delay-ms:100}") long maxDelayMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMicros = TimeUnit.MILLISECONDS.toMicros(baseDelayMs);
+        this.maxDelayMicros = TimeUnit.MILLISECONDS.toMicros(maxDelayMs);
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint,
+                        RetryOnConflict retryOnConflict) throws Throwable {
+        // Dans une transaction déjà ouverte, rejouer n'a pas de sens:
+        // la transaction englobante est marquée rollback-only
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operation = retryOnConflict.operation().isEmpty()
+                ? ((MethodSignature) joinPoint.getSignature()).getName()
+                : retryOnConflict.operation();
+        OperationCounters counters = operations.computeIfAbsent(operation, k -> new OperationCounters());
+        counters.invocations.increment();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                counters.conflicts.increment();
+                recordAccountConflicts(joinPoint.getArgs());
+
+                if (attempt >= maxAttempts) {
+                    counters.exhausted.increment();
+                    logger.warn("Conflit persistant sur {} après {} tentatives", operation, attempt);
+                    throw new ConcurrentAccountUpdateException(
+                            String.format("L'opération %s a échoué après %d tentatives " +
+                                    "suite à des modifications concurrentes", operation, attempt), e);
+                }
+
+                counters.retries.increment();
+                long delayMicros = backoffMicros(attempt);
+                logger.debug("Conflit sur {} (tentative {}), nouvel essai dans {}µs",
+                        operation, attempt, delayMicros);
+                TimeUnit.MICROSECONDS.sleep(delayMicros);
+            }
+        }
+    }
+
+    /**
+     * Statistiques de rejeu par opération
+     */
+    public List<OperationRetryStatistics> getOperationStatistics() {
+        List<OperationRetryStatistics> result = new ArrayList<>();
+        operations.forEach((name, c) -> result.add(new OperationRetryStatistics(
+                name,
+                c.invocations.sum(),
+                c.conflicts.sum(),
+                c.retries.sum(),
+                c.exhausted.sum())));
+        result.sort(Comparator.comparing(OperationRetryStatistics::operation));
+        return result;
+    }
+
+    /**
+     * Comptes ayant subi le plus de conflits (comptes "chauds")
+     */
+    public List<AccountConflictStatistics> getHotAccounts(int limit) {
+        return conflictsByAccount.entrySet().stream()
+                .map(e -> new AccountConflictStatistics(e.getKey(), e.getValue().sum()))
+                .sorted(Comparator.comparingLong(AccountConflictStatistics::conflicts).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public record OperationRetryStatistics(
+            String operation,
+            long invocations,
+            long conflicts,
+            long retries,
+            long exhausted
+    ) {
+        public double conflictRate() {
+            return invocations == 0 ? 0.0 : (double) conflicts / invocations;
+        }
+    }
+
+    public record AccountConflictStatistics(UUID accountId, long conflicts) {}
+
+    // méthodes utilitaires privées
+
+    private long backoffMicros(int attempt) {
+        long ceiling = Math.min(maxDelayMicros, baseDelayMicros << Math.min(attempt, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Les paramètres UUID d'une opération bancaire sont des identifiants de compte
+     */
+    private void recordAccountConflicts(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof UUID accountId) {
+                LongAdder counter = conflictsByAccount.get(accountId);
+                if (counter == null && conflictsByAccount.size() < MAX_TRACKED_ACCOUNTS) {
+                    counter = conflictsByAccount.computeIfAbsent(accountId, k -> new LongAdder());
+                }
+                if (counter != null) {
+                    counter.increment();
+                }
+            }
+        }
+    }
+
+    private static final class OperationCounters {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder exhausted = new LongAdder();
+    }
+}
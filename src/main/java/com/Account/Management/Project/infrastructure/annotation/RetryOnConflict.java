@@ -0,0 +1,24 @@
+package com.Account.Management.Project.infrastructure.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation marquant les opérations à rejouer automatiquement
+ * en cas de conflit de concurrence optimiste (version périmée).
+ *
+ * L'aspect OptimisticRetryAspect s'exécute AVANT l'intercepteur @Transactional:
+ * chaque tentative ouvre donc une nouvelle transaction.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /**
+     * Nom de l'opération pour les métriques
+     * Par défaut, le nom de la méthode est utilisé
+     */
+    String operation() default "";
+}
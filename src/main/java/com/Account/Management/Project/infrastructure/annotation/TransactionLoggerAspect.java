@@ -2,7 +2,6 @@ package com.Account.Management.Project.infrastructure.annotation;
 
 
 import com.Account.Management.Project.domain.model.Transaction;
-import com.Account.Management.Project.infrastructure.adapter.persistence.mongodb.MongoTransactionRepository;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
@@ -26,6 +25,10 @@ import java.util.UUID;
  *
  * L'aspect utilise @Around pour avoir un contrôle complet sur l'exécution
  * et mesurer le temps d'exécution.
+ *
+ * Seul l'appel le plus externe est journalisé: une méthode annotée appelée
+ * par une autre (ex: le group commit qui exécute directement le transfert)
+ * ne produit pas une seconde trace.
  */
 @Aspect
 @Component
@@ -33,11 +36,8 @@ public class TransactionLoggerAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionLoggerAspect.class);
 
-    private final MongoTransactionRepository mongoRepository;
-
-    public TransactionLoggerAspect(MongoTransactionRepository mongoRepository) {
-        this.mongoRepository = mongoRepository;
-    }
+    // Profondeur des méthodes annotées en cours d'exécution sur le thread
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
 
     /**
      * Point de coupe (Pointcut) ciblant toutes les méthodes annotées avec @LogTransaction
@@ -59,7 +59,20 @@ public class TransactionLoggerAspect {
     @Around("transactionMethods(logTransaction)")
     public Object logTransactionExecution(ProceedingJoinPoint joinPoint,
                                           LogTransaction logTransaction) throws Throwable {
+        int[] depth = DEPTH.get();
+        depth[0]++;
+        try {
+            return depth[0] == 1 ? logOutermostExecution(joinPoint, logTransaction) : joinPoint.proceed();
+        } finally {
+            depth[0]--;
+        }
+    }
 
+    /**
+     * Journalise l'appel le plus externe: paramètres, durée, résultat ou échec
+     */
+    private Object logOutermostExecution(ProceedingJoinPoint joinPoint,
+                                         LogTransaction logTransaction) throws Throwable {
         // Récupérer les informations sur la méthode
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         String methodName = signature.getName();
@@ -123,6 +136,9 @@ public class TransactionLoggerAspect {
      */
     @Before("transactionMethods(logTransaction)")
     public void beforeTransaction(JoinPoint joinPoint, LogTransaction logTransaction) {
+        if (isNested()) {
+            return;
+        }
         String description = logTransaction.description();
         if (!description.isEmpty()) {
             logger.debug("Démarrage transaction: {}", description);
@@ -139,7 +155,7 @@ public class TransactionLoggerAspect {
     public void afterSuccessfulTransaction(JoinPoint joinPoint,
                                            LogTransaction logTransaction,
                                            Object result) {
-        if (result instanceof Transaction tx) {
+        if (!isNested() && result instanceof Transaction tx) {
             logger.info("Transaction {} complétée avec succès - Type: {} - Montant: {}",
                     tx.getId(), tx.getType(), tx.getSourceAmount());
         }
@@ -155,6 +171,9 @@ public class TransactionLoggerAspect {
     public void afterFailedTransaction(JoinPoint joinPoint,
                                        LogTransaction logTransaction,
                                        Exception exception) {
+        if (isNested()) {
+            return;
+        }
         logger.error("Transaction échouée: {} - {}",
                 exception.getClass().getSimpleName(),
                 exception.getMessage());
@@ -162,6 +181,14 @@ public class TransactionLoggerAspect {
 
     // méthodes utilitaires privées
 
+    /**
+     * Vrai dans une méthode annotée appelée par une autre: l'advice @Around
+     * (exécuté en premier) a déjà compté l'appel externe
+     */
+    private static boolean isNested() {
+        return DEPTH.get()[0] != 1;
+    }
+
     /**
      * Formate les paramètres pour le logging
      */
@@ -199,6 +226,7 @@ public class TransactionLoggerAspect {
         logger.info("  - Montant cible: {}", transaction.getTargetAmount());
         if (transaction.isForex()) {
             logger.info("  - Taux de change: {}", transaction.getExchangeRate());
+            logger.info("  - Version des taux: {}", transaction.getRateVersion());
         }
         logger.info("  - Statut: {}", transaction.getStatus());
     }
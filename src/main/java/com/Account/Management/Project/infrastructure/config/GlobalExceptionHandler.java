@@ -39,6 +39,31 @@ public class GlobalExceptionHandler {
         }
     }
 
+    /**
+     * Code d'erreur d'une exception, seule table des codes: utilisée par les
+     * gestionnaires ci-dessous et pour les éléments en échec d'un lot
+     */
+    public static String errorCode(Throwable e) {
+        if (e instanceof InsufficientFundsException) return "INSUFFICIENT_FUNDS";
+        if (e instanceof BlockedUserException) return "USER_BLOCKED";
+        if (e instanceof AccountNotFoundException) return "ACCOUNT_NOT_FOUND";
+        if (e instanceof FxQuoteNotFoundException) return "QUOTE_NOT_FOUND";
+        if (e instanceof UserNotFoundException) return "USER_NOT_FOUND";
+        if (e instanceof InvalidCurrencyException) return "INVALID_CURRENCY";
+        if (e instanceof ConcurrentAccountUpdateException) return "CONCURRENT_UPDATE";
+        if (e instanceof IdempotencyConflictException) return "IDEMPOTENCY_CONFLICT";
+        if (e instanceof TransferQueueFullException) return "TRANSFER_QUEUE_FULL";
+        if (e instanceof FxQuoteCapacityExceededException) return "QUOTE_CAPACITY_EXCEEDED";
+        if (e instanceof TransferUnavailableException) return "TRANSFER_UNAVAILABLE";
+        if (e instanceof LedgerUnavailableException) return "LEDGER_UNAVAILABLE";
+        if (e instanceof TransferRejectedException) return "TRANSFER_REJECTED";
+        if (e instanceof InvalidTransactionStateException) return "INVALID_STATE";
+        if (e instanceof OperationNotSupportedException) return "OPERATION_NOT_SUPPORTED";
+        if (e instanceof ArithmeticException) return "AMOUNT_OUT_OF_RANGE";
+        if (e instanceof IllegalArgumentException) return "INVALID_ARGUMENT";
+        return "INTERNAL_ERROR";
+    }
+
     /**
      * Gère les exceptions de fonds insuffisants
      */
@@ -49,7 +74,7 @@ public class GlobalExceptionHandler {
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
                 .body(ErrorResponse.of(
-                        "INSUFFICIENT_FUNDS",
+                        errorCode(e),
                         e.getMessage(),
                         HttpStatus.BAD_REQUEST
                 ));
@@ -65,7 +90,7 @@ public class GlobalExceptionHandler {
         return ResponseEntity
                 .status(HttpStatus.FORBIDDEN)
                 .body(ErrorResponse.of(
-                        "USER_BLOCKED",
+                        errorCode(e),
                         e.getMessage(),
                         HttpStatus.FORBIDDEN
                 ));
@@ -81,7 +106,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .body(ErrorResponse.of(
-                        "ACCOUNT_NOT_FOUND",
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.NOT_FOUND
+                ));
+    }
+
+    /**
+     * Gère les cotations de change inconnues, expirées ou déjà utilisées
+     */
+    @ExceptionHandler(FxQuoteNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleFxQuoteNotFound(FxQuoteNotFoundException e) {
+        logger.warn("Cotation non trouvée: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ErrorResponse.of(
+                        errorCode(e),
                         e.getMessage(),
                         HttpStatus.NOT_FOUND
                 ));
@@ -97,7 +138,7 @@ public class GlobalExceptionHandler {
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
                 .body(ErrorResponse.of(
-                        "USER_NOT_FOUND",
+                        errorCode(e),
                         e.getMessage(),
                         HttpStatus.NOT_FOUND
                 ));
@@ -113,12 +154,172 @@ public class GlobalExceptionHandler {
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
                 .body(ErrorResponse.of(
-                        "INVALID_CURRENCY",
+                        errorCode(e),
                         e.getMessage(),
                         HttpStatus.BAD_REQUEST
                 ));
     }
 
+    /**
+     * Gère les conflits de modification concurrente d'un compte
+     */
+    @ExceptionHandler(ConcurrentAccountUpdateException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdate(ConcurrentAccountUpdateException e) {
+        logger.warn("Conflit de modification concurrente: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.CONFLICT
+                ));
+    }
+
+    /**
+     * Gère les clés d'idempotence réutilisées ou dont la requête est encore en cours
+     */
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException e) {
+        logger.warn("Conflit de clé d'idempotence: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.CONFLICT
+                ));
+    }
+
+    /**
+     * Gère la saturation des files de transferts asynchrones
+     */
+    @ExceptionHandler(TransferQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleTransferQueueFull(TransferQueueFullException e) {
+        logger.warn("File de transferts saturée: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.SERVICE_UNAVAILABLE
+                ));
+    }
+
+    /**
+     * Gère la saturation du stockage des cotations de change
+     */
+    @ExceptionHandler(FxQuoteCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleFxQuoteCapacityExceeded(FxQuoteCapacityExceededException e) {
+        logger.warn("Stockage des cotations saturé: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.SERVICE_UNAVAILABLE
+                ));
+    }
+
+    /**
+     * Gère les transferts en file non confirmés (service arrêté ou délai dépassé)
+     */
+    @ExceptionHandler(TransferUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleTransferUnavailable(TransferUnavailableException e) {
+        logger.warn("Transfert non confirmé: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.SERVICE_UNAVAILABLE
+                ));
+    }
+
+    /**
+     * Gère l'indisponibilité du moteur de soldes en mémoire (arrêté, en échec ou sans réponse)
+     */
+    @ExceptionHandler(LedgerUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleLedgerUnavailable(LedgerUnavailableException e) {
+        logger.warn("Moteur de soldes indisponible: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.SERVICE_UNAVAILABLE
+                ));
+    }
+
+    /**
+     * Gère les transferts refusés par une règle de vélocité ou de fraude
+     */
+    @ExceptionHandler(TransferRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTransferRejected(TransferRejectedException e) {
+        logger.warn("Transfert refusé: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.UNPROCESSABLE_ENTITY
+                ));
+    }
+
+    /**
+     * Gère les opérations incompatibles avec l'état d'un transfert (ex: annulation d'une transaction traitée)
+     */
+    @ExceptionHandler(InvalidTransactionStateException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidTransactionState(InvalidTransactionStateException e) {
+        logger.warn("État invalide: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.CONFLICT
+                ));
+    }
+
+    /**
+     * Gère les opérations indisponibles dans le mode de fonctionnement configuré
+     */
+    @ExceptionHandler(OperationNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleOperationNotSupported(OperationNotSupportedException e) {
+        logger.warn("Opération non supportée: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.CONFLICT
+                ));
+    }
+
+    /**
+     * Gère les montants hors limites (dépassement de Money en unités mineures)
+     */
+    @ExceptionHandler(ArithmeticException.class)
+    public ResponseEntity<ErrorResponse> handleArithmetic(ArithmeticException e) {
+        logger.warn("Montant hors limites: {}", e.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(ErrorResponse.of(
+                        errorCode(e),
+                        e.getMessage(),
+                        HttpStatus.UNPROCESSABLE_ENTITY
+                ));
+    }
+
     /**
      * Gère les arguments invalides
      */
@@ -129,7 +330,7 @@ public class GlobalExceptionHandler {
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
                 .body(ErrorResponse.of(
-                        "INVALID_ARGUMENT",
+                        errorCode(e),
                         e.getMessage(),
                         HttpStatus.BAD_REQUEST
                 ));
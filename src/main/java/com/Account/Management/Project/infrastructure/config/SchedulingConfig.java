@@ -0,0 +1,13 @@
+package com.Account.Management.Project.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration pour activer les tâches planifiées (@Scheduled)
+ * Utilisées pour les traitements de maintenance en arrière-plan
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -67,4 +67,22 @@ public interface AccountUseCase {
      * Réactive un compte bancaire
      */
     BankAccount activateAccount(UUID accountId);
-}
\ No newline at end of file
+
+    /**
+     * Fractionne le solde d'un compte "chaud" en sous-soldes (0 pour désactiver)
+     * Les crédits sont répartis au hasard sur les sous-soldes, les débits
+     * puisent dans le solde principal après consolidation si nécessaire.
+     */
+    BankAccount configureBalanceShards(UUID accountId, int shardCount);
+
+    /**
+     * Reporte les sous-soldes d'un compte sur son solde principal
+     * @return Le solde principal après consolidation
+     */
+    Money consolidateBalanceShards(UUID accountId);
+
+    /**
+     * IDs des comptes fractionnés (pour la consolidation périodique)
+     */
+    List<UUID> getShardedAccountIds();
+}
@@ -0,0 +1,28 @@
+package com.Account.Management.Project.port.input;
+
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.port.input.TransactionUseCase.TransferCommand;
+
+import java.util.Optional;
+
+/**
+ * Port d'entrée pour la soumission asynchrone des transferts.
+ * Implémenté par AsyncTransferService dans la couche application.
+ */
+public interface AsyncTransferUseCase {
+
+    /**
+     * Enregistre le transfert à l'état PENDING et le confie aux travailleurs.
+     * Pour un transfert Forex, le montant cible est indicatif jusqu'à l'exécution.
+     * @return La transaction en attente
+     */
+    Transaction submitTransfer(TransferCommand command);
+
+    /**
+     * Annule un transfert encore en attente
+     * @return La transaction annulée, vide si elle n'existe pas
+     * @throws com.Account.Management.Project.domain.exception.InvalidTransactionStateException
+     *         si le transfert n'est plus en attente (en cours d'exécution ou traité)
+     */
+    Optional<Transaction> cancelTransfer(String transactionId);
+}
@@ -0,0 +1,30 @@
+package com.Account.Management.Project.port.input;
+
+import com.Account.Management.Project.domain.model.FxQuote;
+import com.Account.Management.Project.domain.valueObject.Currency;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port d'entrée pour les cotations de change.
+ * Implémenté par FxQuoteService; une cotation est exécutée par
+ * TransactionUseCase.transferForexWithQuote.
+ */
+public interface FxQuoteUseCase {
+
+    /**
+     * Cote la conversion d'un montant au taux courant, pour un transfert
+     * depuis le compte source uniquement
+     * @param sourceAccountId Compte source, dont la devise est celle du montant
+     * @param targetCurrency Devise du compte destinataire
+     * @param sourceAmount Montant en devise source
+     * @return La cotation, valable fx.quotes.ttl-ms
+     */
+    FxQuote createQuote(UUID sourceAccountId, Currency targetCurrency, Double sourceAmount);
+
+    /**
+     * Récupère une cotation encore valable
+     */
+    Optional<FxQuote> getQuote(UUID quoteId);
+}
@@ -0,0 +1,40 @@
+package com.Account.Management.Project.port.input;
+
+import com.Account.Management.Project.domain.model.Transaction;
+
+import java.util.UUID;
+
+/**
+ * Port d'entrée pour les transferts locaux en mode "group commit".
+ * Implémenté par GroupCommitTransferService dans la couche application.
+ */
+public interface GroupCommitTransferUseCase {
+
+    /**
+     * Transfert local regroupé avec les appels concurrents dans une même
+     * transaction PostgreSQL. Bloque jusqu'au commit du groupe.
+     * Sans group commit activé, équivaut à TransactionUseCase.transferLocal.
+     * @return La transaction complétée
+     */
+    Transaction transferLocal(UUID sourceAccountId, UUID targetAccountId,
+                              Double amount, String description);
+
+    /**
+     * Statistiques des groupes validés
+     */
+    GroupCommitStatistics getStatistics();
+
+    record GroupCommitStatistics(
+            boolean enabled,
+            long windowMicros,
+            int maxGroupSize,
+            int queued,
+            long groups,
+            long items,
+            long fallbacks
+    ) {
+        public double averageGroupSize() {
+            return groups == 0 ? 0.0 : (double) items / groups;
+        }
+    }
+}
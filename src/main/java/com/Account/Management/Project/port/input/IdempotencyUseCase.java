@@ -0,0 +1,31 @@
+package com.Account.Management.Project.port.input;
+
+import com.Account.Management.Project.domain.model.Transaction;
+
+import java.util.function.Supplier;
+
+/**
+ * Port d'entrée garantissant qu'une opération d'écriture identifiée
+ * par une clé d'idempotence n'est exécutée qu'une seule fois.
+ * Implémenté par IdempotencyService dans la couche application.
+ */
+public interface IdempotencyUseCase {
+
+    /**
+     * Exécute l'opération si la clé est inconnue, sinon renvoie la transaction
+     * produite par la première exécution. Un doublon concurrent attend la fin
+     * de l'exécution en cours.
+     * @param idempotencyKey Clé fournie par le client (en-tête Idempotency-Key)
+     * @param fingerprint Empreinte de la requête, pour détecter la réutilisation
+     *                    d'une clé avec un contenu différent
+     * @param operation Opération à exécuter une seule fois
+     */
+    IdempotentResult execute(String idempotencyKey, String fingerprint,
+                             Supplier<Transaction> operation);
+
+    /**
+     * Résultat d'une exécution idempotente
+     * replayed: true si la transaction provient d'une exécution antérieure
+     */
+    record IdempotentResult(Transaction transaction, boolean replayed) {}
+}
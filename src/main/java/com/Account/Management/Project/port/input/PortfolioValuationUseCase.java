@@ -0,0 +1,30 @@
+package com.Account.Management.Project.port.input;
+
+import com.Account.Management.Project.domain.model.NetWorth;
+import com.Account.Management.Project.domain.valueObject.Currency;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port d'entrée pour la valorisation des comptes d'un utilisateur.
+ * Implémenté par PortfolioValuationService.
+ */
+public interface PortfolioValuationUseCase {
+
+    /**
+     * Somme des soldes de tous les comptes d'un utilisateur, convertis dans une devise
+     * @param userId ID de l'utilisateur
+     * @param currency Devise de la valorisation
+     * @throws com.Account.Management.Project.domain.exception.UserNotFoundException si l'utilisateur n'existe pas
+     */
+    NetWorth getNetWorth(UUID userId, Currency currency);
+
+    /**
+     * Valorise plusieurs utilisateurs en parallèle, avec un seul instantané de taux.
+     * Un utilisateur inconnu ou sans compte est valorisé à zéro.
+     * @return Une valorisation par utilisateur distinct, dans l'ordre de la demande
+     */
+    List<NetWorth> getNetWorths(Collection<UUID> userIds, Currency currency);
+}
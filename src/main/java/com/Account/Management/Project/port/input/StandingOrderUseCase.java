@@ -0,0 +1,64 @@
+package com.Account.Management.Project.port.input;
+
+import com.Account.Management.Project.domain.model.StandingOrder;
+import com.Account.Management.Project.domain.model.StandingOrderFrequency;
+import com.Account.Management.Project.domain.model.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port d'entrée pour les ordres permanents (transferts récurrents ou programmés).
+ * Implémenté par StandingOrderService dans la couche application.
+ */
+public interface StandingOrderUseCase {
+
+    /**
+     * Crée un ordre permanent; sans date de première exécution, il est dû immédiatement
+     * @return L'ordre créé, avec sa première échéance
+     * @throws IllegalArgumentException si la première exécution est dans le passé
+     */
+    StandingOrder createStandingOrder(CreateStandingOrderCommand command);
+
+    Optional<StandingOrder> getStandingOrder(UUID orderId);
+
+    /**
+     * Ordres dont le compte est la source ou la destination
+     */
+    List<StandingOrder> getStandingOrdersByAccountId(UUID accountId);
+
+    /**
+     * Désactive un ordre permanent
+     * @return L'ordre désactivé, vide s'il n'existe pas
+     * @throws com.Account.Management.Project.domain.exception.InvalidTransactionStateException
+     *         si l'ordre n'est plus actif
+     */
+    Optional<StandingOrder> cancelStandingOrder(UUID orderId);
+
+    /**
+     * Charge dans la minuterie les échéances de l'horizon à venir
+     * @return Le nombre d'échéances chargées
+     */
+    int scheduleUpcoming();
+
+    /**
+     * Exécute en un lot les ordres encore dus parmi ceux donnés et avance
+     * leur échéance à la prochaine date future, dans une même transaction
+     * @return Le nombre d'échéances traitées
+     */
+    int executeDueOrders(Collection<UUID> orderIds);
+
+    record CreateStandingOrderCommand(
+            UUID sourceAccountId,
+            UUID targetAccountId,
+            TransactionType type,
+            Double amount,
+            String description,
+            StandingOrderFrequency frequency,
+            LocalDateTime firstExecutionAt,
+            LocalDateTime endAt
+    ) {}
+}
@@ -1,6 +1,7 @@
 package com.Account.Management.Project.port.input;
 
 import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionType;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -36,6 +37,33 @@ public interface TransactionUseCase {
     Transaction transferForex(UUID sourceAccountId, UUID targetAccountId,
                               Double sourceAmount, String description);
 
+    /**
+     * Effectue un transfert Forex aux montants d'une cotation (FxQuoteUseCase).
+     * La cotation est consommée avec la transaction, et rendue si elle est annulée.
+     * @param quoteId Cotation demandée pour sourceAccountId, dont les devises sont celles des deux comptes
+     * @return La transaction créée, aux montants et au taux de la cotation
+     */
+    Transaction transferForexWithQuote(UUID sourceAccountId, UUID targetAccountId,
+                                       UUID quoteId, String description);
+
+    /**
+     * Exécute un transfert asynchrone réservé par un travailleur (état PROCESSING)
+     * @param transactionId ID de la transaction réservée
+     * @return La transaction complétée, ou inchangée si elle n'est pas réservée
+     */
+    Transaction executePendingTransfer(String transactionId);
+
+    /**
+     * Exécute un lot de transferts en une seule unité de travail:
+     * validation de tous les éléments, compensation des variations de solde
+     * (une seule mise à jour nette par compte et par devise, par lots JDBC)
+     * et enregistrement groupé de chaque transaction.
+     * Un élément invalide est rejeté sans faire échouer les autres.
+     * @param commands Transferts à exécuter, dans l'ordre
+     * @return Le résultat de chaque élément, dans le même ordre
+     */
+    List<BatchItemResult> executeBatch(List<TransferCommand> commands);
+
     /**
      * Récupère une transaction par son ID
      */
@@ -61,4 +89,29 @@ public interface TransactionUseCase {
      * Récupère les dernières N transactions d'un compte
      */
     List<Transaction> getRecentTransactions(UUID accountId, int limit);
+
+    /**
+     * Demande de transfert (LOCAL ou FOREX) au sein d'un lot
+     * @param amount Montant en devise du compte source
+     */
+    record TransferCommand(
+            TransactionType type,
+            UUID sourceAccountId,
+            UUID targetAccountId,
+            Double amount,
+            String description
+    ) {}
+
+    /**
+     * Résultat d'un élément de lot: la transaction créée ou l'erreur rencontrée
+     */
+    record BatchItemResult(
+            int index,
+            Transaction transaction,
+            RuntimeException error
+    ) {
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.Account.Management.Project.port.output;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Port de sortie pour le verrouillage des comptes bancaires en mémoire.
+ * Implémenté par StripedAccountLockAdapter dans la couche infrastructure.
+ *
+ * Les verrous sont toujours acquis dans un ordre canonique, ce qui évite
+ * les interblocages entre deux transferts croisés (A→B et B→A).
+ */
+public interface AccountLockPort {
+
+    /**
+     * Verrouille les comptes jusqu'à la fin de la transaction Spring courante
+     * (commit ou rollback). Doit être appelé dans une méthode @Transactional.
+     * @param accountIds Comptes à verrouiller (les doublons sont ignorés)
+     * @throws com.Account.Management.Project.domain.exception.ConcurrentAccountUpdateException
+     *         si les verrous ne sont pas obtenus dans le délai configuré
+     */
+    void lockUntilTransactionEnd(Collection<UUID> accountIds);
+
+    /**
+     * Statistiques de contention des verrous
+     */
+    LockStatistics getStatistics();
+
+    /**
+     * Instantané des métriques de verrouillage
+     * @param stripes Nombre de verrous (stripes)
+     * @param acquisitions Nombre total d'acquisitions
+     * @param contended Acquisitions ayant dû attendre
+     * @param timeouts Acquisitions abandonnées après le délai
+     * @param totalWaitNanos Temps d'attente cumulé
+     * @param maxWaitNanos Temps d'attente maximal observé
+     */
+    record LockStatistics(
+            int stripes,
+            long acquisitions,
+            long contended,
+            long timeouts,
+            long totalWaitNanos,
+            long maxWaitNanos
+    ) {
+        public double contentionRate() {
+            return acquisitions == 0 ? 0.0 : (double) contended / acquisitions;
+        }
+
+        public double averageWaitMicros() {
+            return contended == 0 ? 0.0 : totalWaitNanos / 1_000.0 / contended;
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.Account.Management.Project.port.output;
 
+import com.Account.Management.Project.domain.model.AccountOwnerView;
+import com.Account.Management.Project.domain.model.BalanceMutation;
 import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +28,17 @@ public interface AccountRepositoryPort {
      */
     Optional<BankAccount> findById(UUID id);
 
+    /**
+     * Trouve plusieurs comptes par leurs IDs (en un minimum de requêtes)
+     */
+    List<BankAccount> findAllById(Collection<UUID> ids);
+
+    /**
+     * Trouve des comptes avec l'état de leur propriétaire (existant, bloqué),
+     * en une seule requête
+     */
+    List<AccountOwnerView> findWithOwnerStatus(Collection<UUID> ids);
+
     /**
      * Trouve un compte par son numéro
      */
@@ -51,4 +68,68 @@ public interface AccountRepositoryPort {
      * Vérifie si un numéro de compte existe
      */
     boolean existsByAccountNumber(String accountNumber);
+
+    /**
+     * Débite atomiquement un compte sans le charger, si le solde est suffisant
+     * et si son propriétaire existe et n'est pas bloqué
+     * @param amount Montant à débiter, dans la devise du compte
+     * @param currency Devise exigée, ou null pour accepter celle du compte
+     * @return Le compte après débit, vide si une condition n'est pas remplie
+     *         (la cause est à établir par une lecture, ex: findWithOwnerStatus)
+     */
+    Optional<BankAccount> debitIfAllowed(UUID id, BigDecimal amount, Currency currency);
+
+    /**
+     * Crédite atomiquement le solde principal d'un compte non fractionné, sans
+     * le charger, si son propriétaire existe et n'est pas bloqué
+     * @param amount Montant à créditer, dans la devise du compte
+     * @param currency Devise exigée, ou null pour accepter celle du compte
+     * @return Le compte après crédit, vide si une condition n'est pas remplie
+     *         (compte fractionné compris)
+     */
+    Optional<BankAccount> creditIfAllowed(UUID id, BigDecimal amount, Currency currency);
+
+    /**
+     * Applique une liste de variations de solde par lots JDBC, dans l'ordre.
+     * Chaque débit est conditionnel (solde résultant positif ou nul).
+     * @throws org.springframework.dao.OptimisticLockingFailureException
+     *         si une variation n'a pu être appliquée (solde modifié entre-temps)
+     */
+    void applyBalanceMutations(List<BalanceMutation> mutations);
+
+    /**
+     * Crédite atomiquement un sous-solde d'un compte fractionné, sans
+     * verrouiller la ligne principale du compte, si son propriétaire existe
+     * et n'est pas bloqué
+     * @return false si le sous-solde n'existe pas (fractionnement désactivé
+     *         entre-temps) ou si le propriétaire a été bloqué ou supprimé
+     */
+    boolean creditShard(UUID id, int shardIndex, Money amount);
+
+    /**
+     * Solde total d'un compte (principal et sous-soldes), lu en une seule
+     * requête: les deux parts proviennent du même instantané
+     * @return Le solde total, vide si le compte n'existe pas
+     */
+    Optional<Money> findTotalBalance(UUID id);
+
+    /**
+     * Transfère atomiquement tous les sous-soldes vers le solde principal.
+     * Sans sous-solde non nul, le compte n'est pas modifié.
+     * @return Le solde principal après report, vide si le compte n'existe pas dans cette devise
+     */
+    Optional<Money> consolidateShards(UUID id, Currency currency);
+
+    /**
+     * Redimensionne le fractionnement d'un compte (0 pour le désactiver).
+     * Les sous-soldes existants sont reportés sur le solde principal par la
+     * même requête qui les supprime: aucun crédit concurrent n'est perdu.
+     * @return Le solde principal après report, vide si le compte n'existe pas dans cette devise
+     */
+    Optional<Money> resizeShards(UUID id, int shardCount, Currency currency);
+
+    /**
+     * IDs des comptes fractionnés
+     */
+    List<UUID> findShardedAccountIds();
 }
@@ -0,0 +1,75 @@
+package com.Account.Management.Project.port.output;
+
+import com.Account.Management.Project.domain.valueObject.Money;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port de sortie pour la table des soldes hors tas (optionnelle).
+ * Implémenté par OffHeapBalanceTableAdapter dans la couche infrastructure.
+ *
+ * La table conserve, pour chaque compte, le dernier solde validé en base avec
+ * sa version: une écriture n'est retenue que si sa version est plus récente,
+ * ce qui rend l'ordre des publications après commit indifférent.
+ * Elle ne fait jamais autorité: le débit conditionnel en base reste seul juge.
+ */
+public interface BalanceTablePort {
+
+    /**
+     * Solde principal connu du compte; vide si le compte est absent
+     * de la table, supprimé ou fractionné (sous-soldes non suivis), ou si
+     * l'appelant exige une lecture fortement cohérente
+     */
+    Optional<Money> findBalance(UUID accountId);
+
+    /**
+     * Pré-contrôle des fonds, sans accès à la base
+     * @param amount Montant demandé, dans la devise du compte
+     */
+    FundsCheck checkFunds(UUID accountId, BigDecimal amount);
+
+    /**
+     * Enregistre l'état validé d'un compte s'il est plus récent que celui de la table
+     * @param version Version de la ligne bank_accounts correspondante
+     */
+    void record(UUID accountId, Money balance, long version, boolean active, boolean sharded);
+
+    /**
+     * Marque le compte comme supprimé; aucune version ultérieure ne le réinsère
+     */
+    void remove(UUID accountId);
+
+    TableStatistics getStatistics();
+
+    enum FundsCheck {
+        SUFFICIENT,
+        INSUFFICIENT,
+        // Compte inconnu, fractionné ou supprimé: décider en base
+        UNKNOWN
+    }
+
+    /**
+     * Instantané des métriques de la table
+     * @param capacity Nombre d'emplacements
+     * @param size Emplacements occupés
+     * @param offHeapBytes Mémoire native réservée
+     * @param hits Lectures servies par la table
+     * @param misses Lectures renvoyées vers la base
+     * @param rejected Comptes non insérés faute de place
+     */
+    record TableStatistics(
+            long capacity,
+            long size,
+            long offHeapBytes,
+            long hits,
+            long misses,
+            long rejected
+    ) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.Account.Management.Project.port.output;
+
+import java.util.UUID;
+
+/**
+ * Port de sortie (optionnel) pour l'ensemble en mémoire des utilisateurs
+ * bloqués ou supprimés, consulté par le moteur de soldes en mémoire.
+ * Implémenté par PostgresBlockedUserRegistryAdapter dans la couche infrastructure.
+ *
+ * Le registre répond sans accès à la base pour le cas courant (utilisateur
+ * actif). Seul un utilisateur signalé est relu en base, pour produire
+ * l'exception exacte. Les modifications faites sur un autre nœud sont
+ * propagées par un mécanisme d'invalidation propre à l'adapter.
+ */
+public interface BlockedUserRegistryPort {
+
+    /**
+     * Indique si l'utilisateur est connu comme bloqué ou supprimé.
+     * false garantit que l'utilisateur n'est ni bloqué ni supprimé
+     * (aux délais de propagation entre nœuds près).
+     */
+    boolean isRestricted(UUID userId);
+
+    /**
+     * Signale un blocage. Visible immédiatement, y compris avant le commit,
+     * et annulé si la transaction courante échoue.
+     */
+    void markBlocked(UUID userId);
+
+    /**
+     * Signale un déblocage. Visible seulement après le commit de la transaction courante.
+     */
+    void markUnblocked(UUID userId);
+
+    /**
+     * Signale une suppression. Visible immédiatement, annulée si la transaction échoue.
+     */
+    void markDeleted(UUID userId);
+
+    /**
+     * Statistiques du registre
+     */
+    RegistryStatistics getStatistics();
+
+    /**
+     * Instantané des métriques du registre
+     * @param blockedUsers Utilisateurs bloqués connus
+     * @param deletedUsers Utilisateurs supprimés connus
+     * @param lookups Vérifications effectuées
+     * @param restricted Vérifications ayant signalé un utilisateur
+     * @param invalidations Invalidations reçues des autres nœuds (et du nœud courant)
+     * @param reloads Rechargements complets depuis la base
+     * @param listening Réception des invalidations active
+     */
+    record RegistryStatistics(
+            int blockedUsers,
+            int deletedUsers,
+            long lookups,
+            long restricted,
+            long invalidations,
+            long reloads,
+            boolean listening
+    ) {}
+}
@@ -2,8 +2,11 @@ package com.Account.Management.Project.port.output;
 
 
 import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.ExchangeRateSnapshot;
 import com.Account.Management.Project.domain.valueObject.Money;
 
+import java.time.Instant;
+
 /**
  * Port de sortie pour la conversion de devises.
  * Peut être implémenté par un service externe ou une API de taux de change.
@@ -18,6 +21,16 @@ public interface CurrencyConversionPort {
      */
     Money convert(Money amount, Currency targetCurrency);
 
+    /**
+     * Convertit un lot de montants vers une devise avec un seul instantané
+     * de taux; chaque résultat est identique à celui de convert()
+     * @param minorAmounts Montants en unités mineures (centimes)
+     * @param sourceCurrencies Devise de chaque montant
+     * @param targetCurrency Devise cible
+     * @return Montants convertis en unités mineures, dans le même ordre
+     */
+    long[] convertAll(long[] minorAmounts, Currency[] sourceCurrencies, Currency targetCurrency);
+
     /**
      * Récupère le taux de change entre deux devises
      * @param source Devise source
@@ -26,8 +39,22 @@ public interface CurrencyConversionPort {
      */
     Double getExchangeRate(Currency source, Currency target);
 
+    /**
+     * Récupère le taux de change en vigueur à un instant passé, d'après
+     * l'historique des instantanés publiés (réévaluation d'opérations passées)
+     * @param at Instant de référence
+     * @return Taux de change, NaN si aucun taux n'était connu à cet instant
+     */
+    Double getExchangeRate(Currency source, Currency target, Instant at);
+
     /**
      * Vérifie si la conversion est supportée entre deux devises
      */
     boolean isConversionSupported(Currency source, Currency target);
+
+    /**
+     * Instantané des taux en vigueur. Un appelant qui convertit et enregistre
+     * le taux utilise le même instantané pour les deux, et note sa version.
+     */
+    ExchangeRateSnapshot currentRates();
 }
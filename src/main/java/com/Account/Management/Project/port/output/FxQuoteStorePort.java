@@ -0,0 +1,59 @@
+package com.Account.Management.Project.port.output;
+
+import com.Account.Management.Project.domain.exception.FxQuoteCapacityExceededException;
+import com.Account.Management.Project.domain.model.FxQuote;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port de sortie pour le stockage des cotations de change.
+ * Implémenté par InMemoryFxQuoteStoreAdapter.
+ *
+ * Une cotation expirée n'est jamais renvoyée, même si elle n'a pas
+ * encore été retirée du stockage.
+ */
+public interface FxQuoteStorePort {
+
+    /**
+     * Enregistre une cotation jusqu'à son expiration
+     * @throws FxQuoteCapacityExceededException si le nombre de cotations actives est atteint
+     */
+    void save(FxQuote quote);
+
+    /**
+     * Récupère une cotation active
+     */
+    Optional<FxQuote> findById(UUID quoteId);
+
+    /**
+     * Retire une cotation active pour l'utiliser depuis son compte source.
+     * Dans une transaction, elle est remise à disposition (jusqu'à son
+     * expiration) si la transaction est annulée.
+     * @param sourceAccountId Compte débité; une cotation d'un autre compte reste disponible
+     * @return La cotation, vide si elle est inconnue, expirée, déjà prise
+     *         ou demandée pour un autre compte
+     */
+    Optional<FxQuote> take(UUID quoteId, UUID sourceAccountId);
+
+    /**
+     * Remet à disposition une cotation prise dont l'utilisation a échoué
+     * hors transaction; sans effet si elle a expiré entre-temps
+     */
+    void release(FxQuote quote);
+
+    QuoteStoreStatistics getStatistics();
+
+    /**
+     * @param active Cotations en mémoire (dont les expirées non encore retirées)
+     * @param expired Cotations retirées à l'expiration par la minuterie
+     */
+    record QuoteStoreStatistics(
+            int active,
+            int maxActive,
+            long created,
+            long used,
+            long expired,
+            long restored
+    ) {}
+}
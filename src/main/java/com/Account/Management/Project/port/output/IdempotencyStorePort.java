@@ -0,0 +1,49 @@
+package com.Account.Management.Project.port.output;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Port de sortie pour le stockage partagé des clés d'idempotence.
+ * Optionnel: utilisé en complément du stockage mémoire lorsque
+ * plusieurs instances de l'application servent les mêmes clients.
+ */
+public interface IdempotencyStorePort {
+
+    /**
+     * Réserve la clé de façon atomique jusqu'à expiresAt (bail).
+     * Une clé expirée, ou réservée et non liée à l'issue du bail, peut être
+     * réservée à nouveau.
+     * @param reservationId Identifiant de cette réservation, exigé pour la lier ou la libérer
+     * @return true si la clé a été réservée par l'appelant
+     */
+    boolean tryReserve(String idempotencyKey, String fingerprint, String reservationId, LocalDateTime expiresAt);
+
+    /**
+     * Trouve une clé non expirée
+     */
+    Optional<StoredKey> find(String idempotencyKey);
+
+    /**
+     * Associe la transaction produite à la clé, si celle-ci porte encore cette
+     * réservation, et la conserve jusqu'à expiresAt. Appelé dans la transaction
+     * du transfert, la liaison est validée ou annulée avec lui
+     * @return false si la réservation a été reprise (bail expiré) ou liée entre-temps
+     */
+    boolean bind(String idempotencyKey, String reservationId, String transactionId, LocalDateTime expiresAt);
+
+    /**
+     * Libère une clé dont l'exécution a échoué sans rien valider
+     */
+    void release(String idempotencyKey, String reservationId);
+
+    /**
+     * Clé enregistrée
+     * transactionId: null tant que l'exécution originale est en cours
+     */
+    record StoredKey(String fingerprint, String transactionId) {
+        public boolean isCompleted() {
+            return transactionId != null;
+        }
+    }
+}
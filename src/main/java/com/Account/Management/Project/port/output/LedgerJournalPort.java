@@ -0,0 +1,46 @@
+package com.Account.Management.Project.port.output;
+
+import com.Account.Management.Project.domain.model.LedgerCommand;
+import com.Account.Management.Project.domain.valueObject.Currency;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Port de sortie pour le journal et les instantanés du moteur de soldes en mémoire.
+ * Implémenté par FileLedgerJournalAdapter (fichiers en ajout seul).
+ */
+public interface LedgerJournalPort {
+
+    /**
+     * Ajoute les commandes au journal; elles sont durables au retour
+     */
+    void append(List<LedgerCommand> commands);
+
+    /**
+     * Relit dans l'ordre les commandes de séquence strictement supérieure
+     */
+    void replay(long afterSequence, Consumer<LedgerCommand> consumer);
+
+    /**
+     * Écrit un instantané des soldes et ouvre un nouveau segment de journal
+     */
+    void writeSnapshot(LedgerSnapshot snapshot);
+
+    /**
+     * Instantané le plus récent dont la séquence ne dépasse pas maxSequence
+     */
+    Optional<LedgerSnapshot> readSnapshot(long maxSequence);
+
+    /**
+     * Supprime les instantanés et segments devenus inutiles pour une reprise
+     * à partir de la séquence projetée donnée
+     */
+    void compact(long projectedSequence);
+
+    record LedgerSnapshot(long sequence, List<AccountBalance> accounts) {}
+
+    record AccountBalance(UUID accountId, UUID userId, Currency currency, long balanceMinor) {}
+}
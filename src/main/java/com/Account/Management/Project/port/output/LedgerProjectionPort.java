@@ -0,0 +1,33 @@
+package com.Account.Management.Project.port.output;
+
+import com.Account.Management.Project.domain.model.BalanceMutation;
+import com.Account.Management.Project.domain.model.LedgerCommand;
+import com.Account.Management.Project.domain.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Port de sortie pour la projection asynchrone du moteur de soldes en mémoire
+ * vers les bases (soldes PostgreSQL, transactions via l'outbox vers MongoDB).
+ * Implémenté par JdbcLedgerProjectionAdapter.
+ */
+public interface LedgerProjectionPort {
+
+    /**
+     * Dernière séquence du journal déjà projetée (0 si aucune)
+     */
+    long lastProjectedSequence();
+
+    /**
+     * Applique les variations et enregistre les transactions, puis avance
+     * la séquence projetée, en une seule transaction
+     */
+    void project(long upToSequence, List<BalanceMutation> mutations, List<Transaction> transactions);
+
+    /**
+     * Écarte une commande dont la projection échoue de façon répétée:
+     * l'enregistre pour réconciliation et avance la séquence projetée
+     * jusqu'à elle, en une seule transaction
+     */
+    void deadLetter(LedgerCommand command, String reason);
+}
@@ -0,0 +1,53 @@
+package com.Account.Management.Project.port.output;
+
+import com.Account.Management.Project.domain.model.StandingOrder;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port de sortie pour la persistance des ordres permanents.
+ * Implémenté par JdbcStandingOrderRepositoryAdapter (PostgreSQL).
+ */
+public interface StandingOrderRepositoryPort {
+
+    void insert(StandingOrder order);
+
+    Optional<StandingOrder> findById(UUID id);
+
+    /**
+     * Lit l'ordre en le verrouillant jusqu'à la fin de la transaction
+     */
+    Optional<StandingOrder> lockById(UUID id);
+
+    List<StandingOrder> findByAccountId(UUID accountId);
+
+    /**
+     * Échéances actives jusqu'à la date donnée (retards compris), par pages
+     * triées sur (échéance, id): seul l'index de l'échéance est parcouru
+     * @param after Dernière échéance de la page précédente, null pour la première page
+     */
+    List<ScheduledOrder> findUpcoming(LocalDateTime until, ScheduledOrder after, int limit);
+
+    /**
+     * Verrouille les ordres encore dus parmi ceux donnés (FOR UPDATE SKIP LOCKED):
+     * un ordre déjà pris par une autre transaction ou déjà avancé est ignoré
+     */
+    List<StandingOrder> lockDue(Collection<UUID> ids, LocalDateTime now);
+
+    /**
+     * Enregistre l'état d'exécution (échéance suivante, compteur, dernier résultat)
+     */
+    void updateExecutionState(List<StandingOrder> orders);
+
+    /**
+     * Désactive l'ordre s'il est encore actif
+     * @return false si l'ordre n'existe pas ou n'est plus actif
+     */
+    boolean deactivate(UUID id);
+
+    record ScheduledOrder(UUID id, LocalDateTime nextExecutionAt) {}
+}
@@ -0,0 +1,39 @@
+package com.Account.Management.Project.port.output;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port de sortie pour la minuterie en mémoire des ordres permanents.
+ * Implémenté par TimingWheelStandingOrderTimerAdapter.
+ *
+ * La minuterie ne contient que les échéances de l'horizon chargé; les
+ * suivantes restent en base jusqu'au prochain chargement.
+ */
+public interface StandingOrderTimerPort {
+
+    /**
+     * Programme une échéance; ignorée si elle dépasse l'horizon chargé
+     */
+    void schedule(UUID orderId, LocalDateTime dueAt);
+
+    /**
+     * Retire les échéances arrivées à terme
+     */
+    List<UUID> pollDue(LocalDateTime now);
+
+    /**
+     * Repousse l'horizon chargé à partir de maintenant
+     * @return La nouvelle fin d'horizon
+     */
+    LocalDateTime extendHorizon(LocalDateTime now);
+
+    TimerStatistics getStatistics();
+
+    record TimerStatistics(
+            int scheduled,
+            LocalDateTime horizonEnd,
+            long fired
+    ) {}
+}
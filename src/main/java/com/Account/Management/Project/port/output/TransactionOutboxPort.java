@@ -0,0 +1,43 @@
+package com.Account.Management.Project.port.output;
+
+import com.Account.Management.Project.domain.model.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port de sortie pour la boîte d'envoi (outbox) des transactions.
+ * Les transactions y sont écrites dans la même transaction PostgreSQL que
+ * les soldes, puis relayées vers MongoDB de façon asynchrone.
+ */
+public interface TransactionOutboxPort {
+
+    /**
+     * Ajoute les transactions à la boîte d'envoi.
+     * Doit être appelé dans la transaction qui modifie les soldes.
+     */
+    void append(List<Transaction> transactions);
+
+    /**
+     * Réserve les plus anciennes transactions non relayées.
+     * Doit être appelé dans une transaction: les lignes restent verrouillées
+     * jusqu'à sa fin et sont ignorées par les autres relais.
+     */
+    List<Transaction> claimBatch(int limit);
+
+    /**
+     * Supprime les transactions relayées
+     */
+    void delete(Collection<String> transactionIds);
+
+    /**
+     * Trouve une transaction pas encore relayée
+     */
+    Optional<Transaction> findById(String transactionId);
+
+    /**
+     * Nombre de transactions en attente de relais
+     */
+    long countPending();
+}
@@ -1,6 +1,7 @@
 package com.Account.Management.Project.port.output;
 
 import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +20,38 @@ public interface TransactionRepositoryPort {
      */
     Transaction save(Transaction transaction);
 
+    /**
+     * Sauvegarde plusieurs transactions en une seule insertion groupée
+     */
+    List<Transaction> saveAll(List<Transaction> transactions);
+
+    /**
+     * Écrit plusieurs transactions en une seule écriture groupée non ordonnée,
+     * chacune remplaçant le document de même id ou l'insérant
+     * @return Le nombre de documents déjà présents, donc remplacés
+     */
+    long upsertAll(List<Transaction> transactions);
+
+    /**
+     * Remplace une transaction uniquement si elle est encore PENDING (opération atomique).
+     * Permet d'arbitrer entre l'exécution asynchrone et l'annulation.
+     * @return true si la transaction a été mise à jour
+     */
+    boolean updateIfPending(Transaction transaction);
+
+    /**
+     * Réserve une transaction PENDING pour exécution (PENDING -> PROCESSING,
+     * opération atomique): elle ne peut plus être annulée ensuite.
+     * @return true si la transaction a été réservée
+     */
+    boolean markProcessing(String transactionId);
+
+    /**
+     * Remplace une transaction uniquement si elle est encore PROCESSING (opération atomique)
+     * @return true si la transaction a été mise à jour
+     */
+    boolean updateIfProcessing(Transaction transaction);
+
     /**
      * Trouve une transaction par son ID
      */
@@ -51,6 +84,11 @@ public interface TransactionRepositoryPort {
      */
     List<Transaction> findRecentByAccountId(UUID accountId, int limit);
 
+    /**
+     * Trouve les transactions dans un état donné, de la plus ancienne à la plus récente
+     */
+    List<Transaction> findByStatus(TransactionStatus status);
+
     /**
      * Compte le nombre de transactions d'un compte
      */
@@ -0,0 +1,39 @@
+package com.Account.Management.Project.port.output;
+
+import java.util.UUID;
+
+/**
+ * Port de sortie pour l'exécution asynchrone des transferts.
+ * Les tâches d'une même clé de partition (compte source) sont exécutées
+ * dans leur ordre de soumission.
+ */
+public interface TransferDispatcherPort {
+
+    /**
+     * Met la tâche en file sur la partition de la clé
+     * @throws com.Account.Management.Project.domain.exception.TransferQueueFullException
+     *         si la partition est saturée
+     */
+    void dispatch(UUID partitionKey, Runnable task);
+
+    /**
+     * Met la tâche en file sur la partition de la clé après le délai donné.
+     * Si la partition est saturée à l'échéance, la tâche est à nouveau
+     * différée du même délai
+     */
+    void dispatchLater(UUID partitionKey, Runnable task, long delayMillis);
+
+    /**
+     * Statistiques des files de traitement
+     */
+    DispatcherStatistics getStatistics();
+
+    record DispatcherStatistics(
+            int partitions,
+            int queueCapacity,
+            long queued,
+            long maxPartitionQueued,
+            long completed,
+            long rejected
+    ) {}
+}
@@ -0,0 +1,82 @@
+package com.Account.Management.Project.port.output;
+
+import com.Account.Management.Project.domain.valueObject.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port de sortie pour les règles de vélocité et de fraude (optionnel).
+ * Implémenté par InMemoryVelocityRulesAdapter dans la couche infrastructure.
+ *
+ * Les règles sont évaluées sur des compteurs en mémoire (fenêtres glissantes
+ * par compte et par utilisateur), sans lecture de l'historique des transactions.
+ */
+public interface TransferRiskPort {
+
+    /**
+     * Évalue les règles pour un transfert puis, s'il est accepté, l'ajoute aux
+     * compteurs. Dans une transaction, il en est retiré en cas de rollback.
+     * Les règles en mode revue sont seulement auditées.
+     * @throws com.Account.Management.Project.domain.exception.TransferRejectedException
+     *         si une règle bloquante est déclenchée
+     */
+    void checkAndRecord(TransferAttempt attempt);
+
+    /**
+     * Dernières règles déclenchées, de la plus récente à la plus ancienne
+     */
+    List<RuleFiring> getRecentFirings(int limit);
+
+    RiskStatistics getStatistics();
+
+    /**
+     * Transfert soumis aux règles
+     * @param amount Montant débité, dans la devise du compte source
+     */
+    record TransferAttempt(
+            UUID sourceAccountId,
+            UUID sourceUserId,
+            UUID targetAccountId,
+            Money amount,
+            boolean forex
+    ) {}
+
+    enum RuleAction {
+        REJECT,
+        REVIEW
+    }
+
+    /**
+     * Entrée du journal d'audit des règles
+     */
+    record RuleFiring(
+            String ruleId,
+            RuleAction action,
+            UUID sourceAccountId,
+            UUID targetAccountId,
+            String amount,
+            String detail,
+            LocalDateTime firedAt
+    ) {}
+
+    record RuleStatistics(
+            String ruleId,
+            String expression,
+            RuleAction action,
+            long fired
+    ) {}
+
+    /**
+     * @param p99Micros Centile 99 du temps d'évaluation (borne supérieure, par puissance de 2)
+     */
+    record RiskStatistics(
+            long evaluations,
+            long rejected,
+            double averageMicros,
+            double p99Micros,
+            double maxMicros,
+            List<RuleStatistics> rules
+    ) {}
+}
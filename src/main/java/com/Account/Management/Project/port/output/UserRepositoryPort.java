@@ -2,6 +2,7 @@ package com.Account.Management.Project.port.output;
 
 import com.Account.Management.Project.domain.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +23,17 @@ public interface UserRepositoryPort {
      */
     Optional<User> findById(UUID id);
 
+    /**
+     * Trouve plusieurs utilisateurs par leurs IDs (en un minimum de requêtes)
+     */
+    List<User> findAllById(Collection<UUID> ids);
+
+    /**
+     * Comme findAllById, en verrouillant les utilisateurs en partage jusqu'à
+     * la fin de la transaction: un blocage concurrent attend le commit
+     */
+    List<User> findAllByIdForShare(Collection<UUID> ids);
+
     /**
      * Trouve un utilisateur par son email
      */
@@ -0,0 +1,205 @@
+package com.Account.Management.Project.application.engine;
+
+import com.Account.Management.Project.application.engine.LedgerEngine.LedgerResult;
+import com.Account.Management.Project.domain.model.BalanceMutation;
+import com.Account.Management.Project.domain.model.LedgerCommand;
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.infrastructure.adapter.journal.FileLedgerJournalAdapter;
+import com.Account.Management.Project.port.output.AccountRepositoryPort;
+import com.Account.Management.Project.port.output.LedgerProjectionPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Moteur de soldes sur un vrai journal en fichiers: reprise après arrêt,
+ * rejeu d'une fin de journal plus longue que la file de projection et
+ * crédits hors limites
+ */
+class LedgerEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private final InMemoryProjection projection = new InMemoryProjection();
+    private final List<LedgerEngine> engines = new ArrayList<>();
+
+    @AfterEach
+    void stopEngines() throws InterruptedException {
+        for (LedgerEngine engine : engines) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void stateAfterRestartEqualsStateBeforeStop() throws Exception {
+        LedgerEngine engine = start(50);
+        List<UUID> accounts = register(engine, 5);
+
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 300; i++) {
+            UUID source = accounts.get(random.nextInt(accounts.size()));
+            UUID target = accounts.get(random.nextInt(accounts.size()));
+            long amount = random.nextLong(1, 50_000);
+            LedgerCommand command = switch (random.nextInt(3)) {
+                case 0 -> LedgerCommand.deposit(source, amount, Currency.EUR);
+                case 1 -> LedgerCommand.withdraw(source, amount, Currency.EUR);
+                default -> LedgerCommand.transfer(UUID.randomUUID().toString(), source, target,
+                        amount, Currency.EUR, amount, Currency.EUR, Double.NaN, 0, null, 1_700_000_000_000L);
+            };
+            engine.await(engine.submit(command));
+        }
+        Map<UUID, Long> before = balances(engine, accounts);
+
+        engine.stop();
+        engines.remove(engine);
+        long sequence = engine.getStatistics().sequence();
+        assertEquals(305, sequence);
+        assertTrue(engine.getStatistics().snapshots() > 1, "aucun instantané intermédiaire");
+        assertEquals(sequence, projection.projected);
+
+        LedgerEngine restarted = start(50);
+        assertEquals(before, balances(restarted, accounts));
+        assertEquals(sequence, restarted.getStatistics().sequence());
+        // La projection a reçu exactement les variations appliquées en mémoire
+        assertEquals(before, projection.balances);
+    }
+
+    @Test
+    void replayedTailLongerThanProjectionQueueIsProjected() throws Exception {
+        UUID account = UUID.randomUUID();
+        FileLedgerJournalAdapter journal = new FileLedgerJournalAdapter(directory.toString(), false);
+        List<LedgerCommand> commands = new ArrayList<>();
+        commands.add(LedgerCommand.registerAccount(account, UUID.randomUUID(), 0, Currency.EUR).withSequence(1));
+        for (long sequence = 2; sequence <= 200; sequence++) {
+            commands.add(LedgerCommand.deposit(account, 100, Currency.EUR).withSequence(sequence));
+        }
+        journal.append(commands);
+        journal.close();
+
+        // Bases en retard de tout le journal, file de projection de 4 événements
+        LedgerEngine engine = new LedgerEngine(journal(), projection, mock(AccountRepositoryPort.class),
+                1024, 64, 16, 4, 1000, 5000, 5000, 3);
+        engines.add(engine);
+        engine.start();
+
+        assertEquals(199 * 100, engine.findAccount(account).orElseThrow().getBalance().getMinorAmount());
+        awaitProjected(200);
+        assertEquals(199 * 100L, projection.balances.get(account));
+    }
+
+    @Test
+    void creditBeyondLongRangeIsRejectedWithoutChangingBalances() throws Exception {
+        LedgerEngine engine = start(1000);
+        UUID source = UUID.randomUUID();
+        UUID full = UUID.randomUUID();
+        engine.await(engine.submit(LedgerCommand.registerAccount(source, UUID.randomUUID(), 1_000, Currency.EUR)));
+        engine.await(engine.submit(LedgerCommand.registerAccount(full, UUID.randomUUID(),
+                Long.MAX_VALUE - 10, Currency.EUR)));
+
+        LedgerResult deposit = engine.await(engine.submit(LedgerCommand.deposit(full, 100, Currency.EUR)));
+        assertFalse(deposit.success());
+        assertInstanceOf(ArithmeticException.class, deposit.error());
+
+        LedgerResult transfer = engine.await(engine.submit(LedgerCommand.transfer("tx", source, full,
+                100, Currency.EUR, 100, Currency.EUR, Double.NaN, 0, null, 1_700_000_000_000L)));
+        assertFalse(transfer.success());
+        assertInstanceOf(ArithmeticException.class, transfer.error());
+
+        Map<UUID, Long> expected = Map.of(source, 1_000L, full, Long.MAX_VALUE - 10);
+        assertEquals(expected, balances(engine, List.of(source, full)));
+
+        // Le moteur reste disponible et le rejeu refuse les mêmes commandes
+        assertTrue(engine.await(engine.submit(LedgerCommand.deposit(full, 10, Currency.EUR))).success());
+        engine.stop();
+        engines.remove(engine);
+
+        LedgerEngine restarted = start(1000);
+        assertEquals(Map.of(source, 1_000L, full, Long.MAX_VALUE), balances(restarted, List.of(source, full)));
+    }
+
+    // méthodes utilitaires privées
+
+    private LedgerEngine start(long snapshotInterval) throws IOException {
+        LedgerEngine engine = new LedgerEngine(journal(), projection, mock(AccountRepositoryPort.class),
+                1024, 64, 16, 1024, snapshotInterval, 5000, 5000, 3);
+        engines.add(engine);
+        engine.start();
+        return engine;
+    }
+
+    private FileLedgerJournalAdapter journal() throws IOException {
+        return new FileLedgerJournalAdapter(directory.toString(), false);
+    }
+
+    private static List<UUID> register(LedgerEngine engine, int count) {
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID account = UUID.randomUUID();
+            engine.await(engine.submit(LedgerCommand.registerAccount(account, UUID.randomUUID(), 0, Currency.EUR)));
+            accounts.add(account);
+        }
+        return accounts;
+    }
+
+    private static Map<UUID, Long> balances(LedgerEngine engine, List<UUID> accounts) {
+        Map<UUID, Long> balances = new HashMap<>();
+        for (UUID account : accounts) {
+            balances.put(account, engine.findAccount(account).orElseThrow().getBalance().getMinorAmount());
+        }
+        return balances;
+    }
+
+    private void awaitProjected(long sequence) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (projection.projected < sequence && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(sequence, projection.projected);
+    }
+
+    /**
+     * Projection en mémoire: cumule les variations par compte
+     */
+    private static final class InMemoryProjection implements LedgerProjectionPort {
+
+        private final Map<UUID, Long> balances = new ConcurrentHashMap<>();
+        private volatile long projected;
+
+        @Override
+        public long lastProjectedSequence() {
+            return projected;
+        }
+
+        @Override
+        public synchronized void project(long upToSequence, List<BalanceMutation> mutations,
+                                         List<Transaction> transactions) {
+            for (BalanceMutation mutation : mutations) {
+                balances.merge(mutation.accountId(), mutation.delta().getMinorAmount(), Long::sum);
+            }
+            projected = upToSequence;
+        }
+
+        @Override
+        public synchronized void deadLetter(LedgerCommand command, String reason) {
+            projected = command.sequence();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.Account.Management.Project.benchmark;
+
+import com.Account.Management.Project.AccountManagementApplication;
+import com.Account.Management.Project.domain.model.BankAccount;
+import com.Account.Management.Project.domain.model.Role;
+import com.Account.Management.Project.domain.model.User;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.input.AccountUseCase;
+import com.Account.Management.Project.port.input.UserUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dépôts concurrents sur un même compte, sans fractionnement (shards = 0,
+ * verrou de la ligne du compte) puis avec 1 à 16 sous-soldes (un crédit par
+ * sous-solde tiré au hasard), et lecture du solde total en une requête.
+ * shards = 1 isole le coût du chemin fractionné, sans gain de contention.
+ *
+ * L'application est démarrée sans serveur web sur les bases configurées
+ * (PostgreSQL et MongoDB locaux par défaut). Exécution:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main BalanceSharding
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(16)
+public class BalanceShardingBenchmark {
+
+    @Param({"0", "1", "2", "4", "8", "16"})
+    public int shards;
+
+    private ConfigurableApplicationContext context;
+    private AccountUseCase accountUseCase;
+    private UUID accountId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(AccountManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off", "--logging.level.root=WARN");
+        accountUseCase = context.getBean(AccountUseCase.class);
+        User user = context.getBean(UserUseCase.class).registerUser("Banc", "Essai",
+                "bench-" + UUID.randomUUID() + "@example.com", "secret", Role.CUSTOMER, "EUR");
+        accountId = accountUseCase.getAccountsByUserId(user.getId()).get(0).getId();
+        accountUseCase.configureBalanceShards(accountId, shards);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public BankAccount deposit() {
+        return accountUseCase.deposit(accountId, 1.0);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Money totalBalance() {
+        return accountUseCase.getBalance(accountId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BalanceShardingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.Account.Management.Project.benchmark;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.ExchangeRateSnapshot;
+import com.Account.Management.Project.domain.valueObject.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Taux croisés et conversions sur un instantané de taux, pour un lot de
+ * montants en devises aléatoires converti en EUR (temps par lot):
+ * - baseMapRates: ancien calcul des taux, (1 / source) × cible lus dans une
+ *   HashMap de Double, comparé à snapshotRates (matrice précalculée)
+ * - convertEach: conversion montant par montant (un Money par résultat),
+ *   comparée à convertAll (conversion groupée en unités mineures)
+ *
+ * Exécution:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main ExchangeRateSnapshot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ExchangeRateSnapshotBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Map<Currency, Double> baseRates;
+    private ExchangeRateSnapshot snapshot;
+    private long[] minorAmounts;
+    private Currency[] currencies;
+    private long[] result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<Currency, Double> ratesPerEur = new EnumMap<>(Currency.class);
+        ratesPerEur.put(Currency.EUR, 1.0);
+        ratesPerEur.put(Currency.USD, 1.08);
+        ratesPerEur.put(Currency.GBP, 0.86);
+        ratesPerEur.put(Currency.MAD, 10.85);
+        ratesPerEur.put(Currency.JPY, 162.50);
+        ratesPerEur.put(Currency.CHF, 0.94);
+        baseRates = new HashMap<>(ratesPerEur);
+        snapshot = ExchangeRateSnapshot.fromBaseRates(1, ratesPerEur);
+
+        SplittableRandom random = new SplittableRandom(42);
+        Currency[] all = Currency.values();
+        minorAmounts = new long[size];
+        currencies = new Currency[size];
+        result = new long[size];
+        for (int i = 0; i < size; i++) {
+            minorAmounts[i] = random.nextLong(1, 10_000_000);
+            currencies[i] = all[random.nextInt(all.length)];
+        }
+    }
+
+    @Benchmark
+    public double baseMapRates() {
+        double sum = 0;
+        for (Currency source : currencies) {
+            Double sourceRate = baseRates.get(source);
+            Double targetRate = baseRates.get(Currency.EUR);
+            sum += source == Currency.EUR ? 1.0 : (1.0 / sourceRate) * targetRate;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double snapshotRates() {
+        double sum = 0;
+        for (Currency source : currencies) {
+            sum += snapshot.rate(source, Currency.EUR);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long[] convertEach() {
+        for (int i = 0; i < size; i++) {
+            result[i] = snapshot.convert(Money.ofMinor(minorAmounts[i], currencies[i]), Currency.EUR)
+                    .getMinorAmount();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] convertAll() {
+        snapshot.convertAll(minorAmounts, currencies, Currency.EUR, result);
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExchangeRateSnapshotBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
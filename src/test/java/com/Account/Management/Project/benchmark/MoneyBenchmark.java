@@ -0,0 +1,85 @@
+package com.Account.Management.Project.benchmark;
+
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cycle dépôt, contrôle du solde puis retrait sur Money (centimes en long),
+ * comparé au même cycle en BigDecimal à 2 décimales (ancienne représentation).
+ * Les montants sont des doubles aléatoires, comme reçus par l'API.
+ * Avec -prof gc, gc.alloc.rate.norm donne les octets alloués par cycle.
+ *
+ * Exécution:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main Money -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int AMOUNTS = 1024;
+
+    private final double[] amounts = new double[AMOUNTS];
+    private final Money balance = Money.of("1000.00", Currency.EUR);
+    private final BigDecimal decimalBalance = new BigDecimal("1000.00");
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < AMOUNTS; i++) {
+            amounts[i] = random.nextInt(1, 100_000_00) / 100.0;
+        }
+    }
+
+    @Benchmark
+    public Money longMinorUnits() {
+        Money amount = new Money(nextAmount(), Currency.EUR);
+        Money credited = balance.add(amount);
+        return credited.isGreaterOrEqual(amount) ? credited.subtract(amount) : credited;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalBaseline() {
+        BigDecimal amount = BigDecimal.valueOf(nextAmount()).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal credited = decimalBalance.add(amount);
+        return credited.compareTo(amount) >= 0 ? credited.subtract(amount) : credited;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+    // méthodes utilitaires privées
+
+    private double nextAmount() {
+        next = (next + 1) & (AMOUNTS - 1);
+        return amounts[next];
+    }
+}
@@ -0,0 +1,90 @@
+package com.Account.Management.Project.benchmark;
+
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.infrastructure.adapter.persistence.mongodb.codec.TransactionCodec;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodage et décodage BSON d'une transaction Forex par TransactionCodec,
+ * comparé au décodage générique en Document (première étape d'un mapping
+ * par document intermédiaire). Avec -prof gc, gc.alloc.rate.norm donne
+ * les octets alloués par document.
+ *
+ * Exécution:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main TransactionCodec -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TransactionCodecBenchmark {
+
+    private final TransactionCodec codec = new TransactionCodec();
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final BasicOutputBuffer buffer = new BasicOutputBuffer(512);
+    private Transaction transaction;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transaction = Transaction.createForexTransaction(UUID.randomUUID(), UUID.randomUUID(),
+                Money.of("125.40", Currency.EUR), Money.of("135.43", Currency.USD),
+                1.08, 1L, "Virement mensuel");
+        transaction.complete();
+        encode();
+        encoded = buffer.toByteArray();
+    }
+
+    @Benchmark
+    public int encode() {
+        buffer.truncateToPosition(0);
+        codec.encode(new BsonBinaryWriter(buffer), transaction, EncoderContext.builder().build());
+        return buffer.getPosition();
+    }
+
+    @Benchmark
+    public Transaction decode() {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(encoded)), DecoderContext.builder().build());
+    }
+
+    @Benchmark
+    public Document decodeDocument() {
+        return documentCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(encoded)), DecoderContext.builder().build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransactionCodecBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.Account.Management.Project.benchmark;
+
+import com.Account.Management.Project.domain.exception.TransferRejectedException;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.infrastructure.adapter.risk.InMemoryVelocityRulesAdapter;
+import com.Account.Management.Project.port.output.CurrencyConversionPort;
+import com.Account.Management.Project.port.output.TransferRiskPort.TransferAttempt;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temps d'évaluation des règles de vélocité par défaut (distribution des
+ * latences, en microsecondes) sous 8 threads, sur un petit nombre de comptes
+ * très actifs (contention sur les stripes) ou sur une large population.
+ * Hors transaction: les contreparties sont enregistrées aussitôt.
+ *
+ * Exécution:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main VelocityRules
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+public class VelocityRulesBenchmark {
+
+    private static final String RULES =
+            "account-burst = account.count.1m > 1000000000;"
+                    + "account-hourly-amount = account.amount.1h > 1000000000;"
+                    + "user-daily-amount = user.amount.1d > 1000000000;"
+                    + "user-daily-count = user.count.1d > 1000000000;"
+                    + "new-counterparty = counterparty.first.amount > 5000 review;"
+                    + "large-forex = forex.amount > 10000 review";
+
+    @Param({"16", "100000"})
+    public int accounts;
+
+    private InMemoryVelocityRulesAdapter rules;
+    private UUID[] accountIds;
+    private UUID[] userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Limites hors d'atteinte: seul le coût de l'évaluation et de l'ajout est mesuré
+        rules = new InMemoryVelocityRulesAdapter(Mockito.mock(CurrencyConversionPort.class),
+                RULES, "EUR", 256, 12, 1_000_000, 1000);
+        accountIds = new UUID[accounts];
+        userIds = new UUID[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = UUID.randomUUID();
+            userIds[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    public void checkAndRecord() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int source = random.nextInt(accounts);
+        int target = random.nextInt(accounts);
+        try {
+            rules.checkAndRecord(new TransferAttempt(accountIds[source], userIds[source], accountIds[target],
+                    Money.ofMinor(random.nextLong(1, 100_000), Currency.EUR), false));
+        } catch (TransferRejectedException e) {
+            throw new IllegalStateException("Aucune règle bloquante ne doit se déclencher", e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VelocityRulesBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,129 @@
+package com.Account.Management.Project.domain.valueObject;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Arrondi en unités mineures (chemin rapide en double) comparé à la référence
+ * BigDecimal.valueOf(x).setScale(2, HALF_UP), dépassements et conversion groupée
+ */
+class MoneyTest {
+
+    private static final double MAX_EXACT_AMOUNT = 0x1p52 / 100.0;
+
+    @Test
+    void roundsTiesLikeBigDecimal() {
+        double[] ties = {1.005, 2.675, -0.125, 0.125, 0.005, -0.005, 1.115, 1.125, 8.345, 10.075,
+                1234567.885, -2.675, -1.005, 0.015, 0.045, 99999.995};
+        for (double amount : ties) {
+            assertRoundsLikeBigDecimal(amount);
+        }
+    }
+
+    @Test
+    void roundsTiesAroundEveryCent() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200_000; i++) {
+            long cents = random.nextLong(-10_000_000_000L, 10_000_000_000L);
+            double tie = (cents + 0.5) / 100.0;
+            assertRoundsLikeBigDecimal(tie);
+            assertRoundsLikeBigDecimal(Math.nextUp(tie));
+            assertRoundsLikeBigDecimal(Math.nextDown(tie));
+        }
+    }
+
+    @Test
+    void roundsRandomAmountsLikeBigDecimal() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 500_000; i++) {
+            assertRoundsLikeBigDecimal(random.nextDouble(-1e6, 1e6));
+            assertRoundsLikeBigDecimal(random.nextLong(-100_000_000, 100_000_000) / 1000.0);
+        }
+    }
+
+    @Test
+    void roundsAmountsNearDoubleExactLimit() {
+        for (double amount : new double[]{MAX_EXACT_AMOUNT, -MAX_EXACT_AMOUNT}) {
+            double below = amount;
+            double above = amount;
+            for (int i = 0; i < 1000; i++) {
+                assertRoundsLikeBigDecimal(below);
+                assertRoundsLikeBigDecimal(above);
+                below = Math.nextDown(below);
+                above = Math.nextUp(above);
+            }
+        }
+        assertRoundsLikeBigDecimal(45035996273704.955);
+        assertRoundsLikeBigDecimal(45035996273704.965);
+        assertRoundsLikeBigDecimal(92233720368547758.0 / 2);
+    }
+
+    @Test
+    void amountBeyondLongMinorUnitsIsRejected() {
+        assertThrows(ArithmeticException.class, () -> new Money(1e17, Currency.EUR));
+        assertThrows(ArithmeticException.class, () -> new Money(-1e17, Currency.EUR));
+        assertThrows(ArithmeticException.class, () -> Money.of("100000000000000000.00", Currency.EUR));
+    }
+
+    @Test
+    void addAndSubtractOverflowRaiseArithmeticException() {
+        Money max = Money.ofMinor(Long.MAX_VALUE, Currency.EUR);
+        Money min = Money.ofMinor(Long.MIN_VALUE, Currency.EUR);
+        Money cent = Money.ofMinor(1, Currency.EUR);
+
+        assertThrows(ArithmeticException.class, () -> max.add(cent));
+        assertThrows(ArithmeticException.class, () -> min.subtract(cent));
+        assertThrows(ArithmeticException.class, () -> min.add(min));
+        assertEquals(Long.MAX_VALUE, max.subtract(cent).add(cent).getMinorAmount());
+    }
+
+    @Test
+    void convertAllMatchesConvertForEachAmount() {
+        Map<Currency, Double> ratesPerEur = new EnumMap<>(Currency.class);
+        ratesPerEur.put(Currency.EUR, 1.0);
+        ratesPerEur.put(Currency.USD, 1.08);
+        ratesPerEur.put(Currency.GBP, 0.86);
+        ratesPerEur.put(Currency.MAD, 10.85);
+        ratesPerEur.put(Currency.JPY, 162.50);
+        ratesPerEur.put(Currency.CHF, 0.94);
+        ExchangeRateSnapshot snapshot = ExchangeRateSnapshot.fromBaseRates(1, ratesPerEur);
+
+        SplittableRandom random = new SplittableRandom(3);
+        Currency[] all = Currency.values();
+        int count = 200_000;
+        long[] minorAmounts = new long[count];
+        Currency[] currencies = new Currency[count];
+        for (int i = 0; i < count; i++) {
+            minorAmounts[i] = random.nextLong(-1_000_000_000L, 1_000_000_000L);
+            currencies[i] = all[random.nextInt(all.length)];
+        }
+
+        for (Currency target : all) {
+            long[] result = new long[count];
+            snapshot.convertAll(minorAmounts, currencies, target, result);
+            for (int i = 0; i < count; i++) {
+                long expected = snapshot.convert(Money.ofMinor(minorAmounts[i], currencies[i]), target)
+                        .getMinorAmount();
+                assertEquals(expected, result[i],
+                        minorAmounts[i] + " " + currencies[i] + " -> " + target);
+            }
+        }
+    }
+
+    // méthodes utilitaires privées
+
+    private static void assertRoundsLikeBigDecimal(double amount) {
+        long expected = BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP)
+                .movePointRight(2).longValueExact();
+        assertEquals(expected, Money.roundToMinor(amount), "arrondi de " + amount);
+        assertEquals(expected, new Money(amount, Currency.EUR).getMinorAmount(), "Money(" + amount + ")");
+    }
+}
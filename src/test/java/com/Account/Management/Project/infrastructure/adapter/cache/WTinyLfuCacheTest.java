@@ -0,0 +1,202 @@
+package com.Account.Management.Project.infrastructure.adapter.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Éviction, admission TinyLFU et protection contre les chargements périmés.
+ * Les valeurs sont leurs propres versions (Long), de poids 1 sauf mention contraire.
+ */
+class WTinyLfuCacheTest {
+
+    private final AtomicLong removals = new AtomicLong();
+
+    @Test
+    void evictsBeyondMaxEntries() {
+        WTinyLfuCache<Integer, Long> cache = cache(100, Long.MAX_VALUE, 0);
+
+        for (int key = 0; key < 250; key++) {
+            cache.put(key, 1L);
+        }
+
+        WTinyLfuCache.CacheStatistics statistics = cache.getStatistics();
+        assertEquals(100, statistics.entries());
+        assertEquals(100, statistics.weight());
+        assertEquals(150, statistics.evictions());
+        assertEquals(150, removals.get());
+    }
+
+    @Test
+    void evictsBeyondMaxWeight() {
+        WTinyLfuCache<Integer, Long> cache = new WTinyLfuCache<>(1000, 100, 0,
+                value -> 10, value -> value, (key, value) -> removals.incrementAndGet());
+
+        for (int key = 0; key < 30; key++) {
+            cache.put(key, 1L);
+        }
+
+        WTinyLfuCache.CacheStatistics statistics = cache.getStatistics();
+        assertEquals(10, statistics.entries());
+        assertEquals(100, statistics.weight());
+        assertEquals(200, statistics.evictedWeight());
+    }
+
+    @Test
+    void frequentEntriesSurviveScan() {
+        WTinyLfuCache<Integer, Long> cache = cache(100, Long.MAX_VALUE, 0);
+        for (int key = 0; key < 50; key++) {
+            cache.put(key, 1L);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key);
+            }
+        }
+
+        // Parcours de clés vues une seule fois: elles ne chassent pas les clés chaudes
+        for (int key = 1000; key < 3000; key++) {
+            cache.put(key, 1L);
+        }
+
+        for (int key = 0; key < 50; key++) {
+            assertNotNull(cache.get(key), "clé chaude évincée: " + key);
+        }
+    }
+
+    @Test
+    void admitsCandidateOnlyIfMoreFrequentThanVictim() {
+        WTinyLfuCache<Integer, Long> cache = cache(100, Long.MAX_VALUE, 0);
+        for (int key = 0; key < 100; key++) {
+            cache.put(key, 1L);
+        }
+
+        // Sans historique, le candidat sorti de la fenêtre est refusé
+        cache.put(500, 1L);
+        cache.put(501, 1L);
+        assertNull(cache.get(500));
+
+        // Demandé plusieurs fois avant son chargement, il est admis
+        for (int i = 0; i < 5; i++) {
+            cache.get(600);
+        }
+        cache.put(600, 1L);
+        cache.put(601, 1L);
+        assertNotNull(cache.get(600));
+        assertEquals(100, cache.getStatistics().entries());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        WTinyLfuCache<Integer, Long> cache = cache(100, Long.MAX_VALUE, 1);
+        cache.put(1, 1L);
+
+        Thread.sleep(5);
+
+        assertNull(cache.get(1));
+        assertEquals(1, cache.getStatistics().expirations());
+        assertEquals(0, cache.getStatistics().entries());
+    }
+
+    @Test
+    void loadStartedBeforeInvalidationIsDiscarded() {
+        WTinyLfuCache<Integer, Long> cache = cache(100, Long.MAX_VALUE, 0);
+
+        long generation = cache.generation(1);
+        cache.invalidate(1);
+
+        assertFalse(cache.putIfUnchanged(1, 1L, generation));
+        assertNull(cache.get(1));
+        assertEquals(1, cache.getStatistics().staleLoadsDiscarded());
+        assertTrue(cache.putIfUnchanged(1, 2L, cache.generation(1)));
+        assertEquals(2L, cache.get(1));
+    }
+
+    @Test
+    void loadStartedBeforeWriteThroughIsDiscarded() {
+        WTinyLfuCache<Integer, Long> cache = cache(100, Long.MAX_VALUE, 0);
+
+        long generation = cache.generation(1);
+        cache.put(1, 2L);
+
+        assertFalse(cache.putIfUnchanged(1, 1L, generation));
+        assertEquals(2L, cache.get(1));
+    }
+
+    @Test
+    void olderVersionDoesNotReplaceNewer() {
+        WTinyLfuCache<Integer, Long> cache = cache(100, Long.MAX_VALUE, 0);
+
+        cache.put(1, 5L);
+        cache.put(1, 3L);
+
+        assertEquals(5L, cache.get(1));
+    }
+
+    /**
+     * Chargements concurrents d'écritures en base suivies d'invalidations:
+     * une fois au repos, aucune valeur en cache n'est antérieure à la base
+     */
+    @Test
+    void concurrentLoadsNeverLeaveStaleValues() throws Exception {
+        int keys = 64;
+        WTinyLfuCache<Integer, Long> cache = cache(32, Long.MAX_VALUE, 0);
+        AtomicLongArray database = new AtomicLongArray(keys);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                boolean writer = thread % 2 == 0;
+                tasks.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = random.nextInt(keys);
+                        if (writer) {
+                            database.incrementAndGet(key);
+                            cache.invalidate(key);
+                        } else if (cache.get(key) == null) {
+                            long generation = cache.generation(key);
+                            cache.putIfUnchanged(key, database.get(key), generation);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int key = 0; key < keys; key++) {
+            Long cached = cache.get(key);
+            if (cached != null) {
+                assertEquals(database.get(key), cached, "valeur périmée pour la clé " + key);
+            }
+        }
+        WTinyLfuCache.CacheStatistics statistics = cache.getStatistics();
+        assertTrue(statistics.entries() <= 32);
+        assertEquals(statistics.entries(), statistics.weight());
+    }
+
+    // méthodes utilitaires privées
+
+    private WTinyLfuCache<Integer, Long> cache(long maxEntries, long maxWeight, long ttlMillis) {
+        return new WTinyLfuCache<>(maxEntries, maxWeight, ttlMillis,
+                value -> 1, value -> value, (key, value) -> removals.incrementAndGet());
+    }
+}
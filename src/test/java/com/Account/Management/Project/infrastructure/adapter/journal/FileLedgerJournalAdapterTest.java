@@ -0,0 +1,160 @@
+package com.Account.Management.Project.infrastructure.adapter.journal;
+
+import com.Account.Management.Project.domain.model.LedgerCommand;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.port.output.LedgerJournalPort.AccountBalance;
+import com.Account.Management.Project.port.output.LedgerJournalPort.LedgerSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Journal en ajout seul: relecture à l'identique, réparation d'une fin de
+ * segment incomplète, instantanés et compactage
+ */
+class FileLedgerJournalAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    private final UUID account = UUID.randomUUID();
+    private final UUID otherAccount = UUID.randomUUID();
+
+    @Test
+    void replaysAppendedCommandsInOrder() throws IOException {
+        FileLedgerJournalAdapter journal = journal();
+        List<LedgerCommand> commands = commands(1, 12);
+        journal.append(commands.subList(0, 5));
+        journal.append(commands.subList(5, 12));
+        journal.close();
+
+        FileLedgerJournalAdapter reopened = journal();
+        assertEquals(commands, replay(reopened, 0));
+        assertEquals(commands.subList(7, 12), replay(reopened, 7));
+        assertEquals(List.of(), replay(reopened, 12));
+    }
+
+    @Test
+    void truncatedTailIsDroppedAndRepaired() throws IOException {
+        FileLedgerJournalAdapter journal = journal();
+        List<LedgerCommand> commands = commands(1, 10);
+        journal.append(commands);
+        journal.close();
+
+        // Écriture interrompue au milieu du dernier enregistrement
+        Path segment = files("journal-").get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5);
+        }
+
+        FileLedgerJournalAdapter reopened = journal();
+        assertEquals(commands.subList(0, 9), replay(reopened, 0));
+        assertTrue(Files.size(segment) < size - 5, "fin incomplète non tronquée");
+
+        // Les ajouts suivants reprennent après la partie valide
+        reopened.append(List.of(commands.get(9)));
+        reopened.close();
+        assertEquals(commands, replay(journal(), 0));
+    }
+
+    @Test
+    void snapshotsOpenSegmentsAndCompactionKeepsWhatReplayNeeds() throws IOException {
+        FileLedgerJournalAdapter journal = journal();
+        List<LedgerCommand> commands = commands(1, 12);
+        journal.append(commands.subList(0, 5));
+        journal.writeSnapshot(snapshot(5, 500));
+        journal.append(commands.subList(5, 8));
+        journal.writeSnapshot(snapshot(8, 800));
+        journal.append(commands.subList(8, 12));
+        assertEquals(3, files("journal-").size());
+
+        // Projection à 6: seul l'instantané 5 et les segments suivants restent utiles
+        journal.compact(6);
+        assertEquals(2, files("journal-").size());
+        assertEquals(2, files("snapshot-").size());
+        assertEquals(5, journal.readSnapshot(7).orElseThrow().sequence());
+        assertEquals(commands.subList(5, 12), replay(journal, 5));
+
+        // Projection à 12: reprise depuis l'instantané 8
+        journal.compact(12);
+        assertEquals(1, files("journal-").size());
+        assertEquals(1, files("snapshot-").size());
+        LedgerSnapshot latest = journal.readSnapshot(Long.MAX_VALUE).orElseThrow();
+        assertEquals(snapshot(8, 800), latest);
+        assertEquals(commands.subList(8, 12), replay(journal, 8));
+    }
+
+    @Test
+    void corruptedSnapshotFallsBackToPreviousOne() throws IOException {
+        FileLedgerJournalAdapter journal = journal();
+        journal.writeSnapshot(snapshot(5, 500));
+        journal.writeSnapshot(snapshot(8, 800));
+
+        Path latest = files("snapshot-").get(1);
+        byte[] bytes = Files.readAllBytes(latest);
+        bytes[bytes.length / 2] ^= 0x7F;
+        Files.write(latest, bytes);
+
+        assertEquals(snapshot(5, 500), journal.readSnapshot(Long.MAX_VALUE).orElseThrow());
+    }
+
+    // méthodes utilitaires privées
+
+    private FileLedgerJournalAdapter journal() throws IOException {
+        return new FileLedgerJournalAdapter(directory.toString(), false);
+    }
+
+    /**
+     * Commandes de séquences first à last: prise en charge, dépôts, transferts
+     * locaux et Forex, retraits
+     */
+    private List<LedgerCommand> commands(long first, long last) {
+        List<LedgerCommand> commands = new ArrayList<>();
+        for (long sequence = first; sequence <= last; sequence++) {
+            LedgerCommand command = switch ((int) (sequence % 4)) {
+                case 1 -> LedgerCommand.registerAccount(account, UUID.randomUUID(), sequence * 100, Currency.EUR);
+                case 2 -> LedgerCommand.deposit(account, sequence, Currency.EUR);
+                case 3 -> LedgerCommand.transfer("tx-" + sequence, account, otherAccount,
+                        sequence, Currency.EUR, sequence * 108 / 100, Currency.USD, 1.08, 42,
+                        sequence % 2 == 0 ? null : "Virement é" + sequence, 1_700_000_000_000L + sequence);
+                default -> LedgerCommand.withdraw(account, sequence, Currency.EUR);
+            };
+            commands.add(command.withSequence(sequence));
+        }
+        return commands;
+    }
+
+    private LedgerSnapshot snapshot(long sequence, long balanceMinor) {
+        return new LedgerSnapshot(sequence, List.of(
+                new AccountBalance(account, new UUID(1, 2), Currency.EUR, balanceMinor),
+                new AccountBalance(otherAccount, new UUID(3, 4), Currency.USD, -balanceMinor)));
+    }
+
+    private static List<LedgerCommand> replay(FileLedgerJournalAdapter journal, long afterSequence) {
+        List<LedgerCommand> replayed = new ArrayList<>();
+        journal.replay(afterSequence, replayed::add);
+        return replayed;
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)
+                            && !path.getFileName().toString().endsWith(".tmp"))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
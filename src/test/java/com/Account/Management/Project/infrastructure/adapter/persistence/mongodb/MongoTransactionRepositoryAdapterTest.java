@@ -0,0 +1,153 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.mongodb;
+
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionStatus;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Requêtes de l'adapter sur une collection mêlant documents de l'ancien
+ * format (Spring Data) et du format du codec, dans une base dédiée
+ */
+class MongoTransactionRepositoryAdapterTest {
+
+    private static final String DATABASE = "banktransactions_adapter_test";
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private MongoTransactionRepositoryAdapter adapter;
+    private final UUID accountId = UUID.randomUUID();
+    private final UUID otherAccountId = UUID.randomUUID();
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(System.getProperty("spring.data.mongodb.uri", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+    }
+
+    @AfterAll
+    static void dropDatabase() {
+        client.getDatabase(DATABASE).drop();
+        client.close();
+    }
+
+    @BeforeEach
+    void createAdapter() {
+        mongoTemplate.dropCollection("transactions");
+        adapter = new MongoTransactionRepositoryAdapter(mongoTemplate);
+        adapter.createIndexes();
+    }
+
+    @Test
+    void createsIndexesOfFormerMapping() {
+        Set<String> names = mongoTemplate.getCollection("transactions").listIndexes()
+                .map(index -> index.getString("name"))
+                .into(new HashSet<>());
+
+        assertTrue(names.containsAll(Set.of("account_date_idx", "sourceAccountId", "targetAccountId", "createdAt")));
+        // Sans effet si les index existent déjà
+        adapter.createIndexes();
+    }
+
+    @Test
+    void accountAndStatusFiltersMatchBothFormats() {
+        insertLegacy("legacy-source", accountId, otherAccountId, "PENDING", LocalDateTime.now().minusDays(2));
+        insertLegacy("legacy-target", otherAccountId, accountId, "COMPLETED", LocalDateTime.now().minusDays(1));
+        insertLegacy("legacy-unrelated", otherAccountId, UUID.randomUUID(), "PENDING", LocalDateTime.now());
+        Transaction current = Transaction.createLocalTransaction(
+                accountId, otherAccountId, Money.of("5.00", Currency.EUR), "Nouveau format");
+        adapter.save(current);
+
+        assertEquals(Set.of("legacy-source", "legacy-target", current.getId()),
+                ids(adapter.findByAccountId(accountId)));
+        assertEquals(Set.of("legacy-source", current.getId()), ids(adapter.findBySourceAccountId(accountId)));
+        assertEquals(Set.of("legacy-target"), ids(adapter.findByTargetAccountId(accountId)));
+        assertEquals(Set.of("legacy-source", "legacy-unrelated", current.getId()),
+                ids(adapter.findByStatus(TransactionStatus.PENDING)));
+        assertEquals(3, adapter.countByAccountId(accountId));
+        assertEquals(List.of(current.getId(), "legacy-target"),
+                adapter.findRecentByAccountId(accountId, 2).stream().map(Transaction::getId).toList());
+    }
+
+    @Test
+    void updateIfPendingReplacesLegacyPendingDocument() {
+        insertLegacy("legacy-pending", accountId, otherAccountId, "PENDING", LocalDateTime.now());
+        Transaction transaction = adapter.findById("legacy-pending").orElseThrow();
+        transaction.cancel();
+
+        assertTrue(adapter.updateIfPending(transaction));
+        assertEquals(TransactionStatus.CANCELLED, adapter.findById("legacy-pending").orElseThrow().getStatus());
+        assertEquals(false, adapter.updateIfPending(transaction));
+    }
+
+    @Test
+    void insertOfExistingIdIsTranslatedToDuplicateKeyException() {
+        Transaction transaction = Transaction.createLocalTransaction(
+                accountId, otherAccountId, Money.of("1.00", Currency.EUR), null);
+        adapter.save(transaction);
+
+        assertThrows(DuplicateKeyException.class, () -> adapter.saveAll(List.of(transaction)));
+    }
+
+    @Test
+    void upsertAllReplacesExistingDocumentsAndInsertsNewOnes() {
+        Transaction pending = Transaction.createLocalTransaction(
+                accountId, otherAccountId, Money.of("3.00", Currency.EUR), "Asynchrone");
+        adapter.save(pending);
+        pending.complete();
+        Transaction created = Transaction.createLocalTransaction(
+                accountId, otherAccountId, Money.of("4.00", Currency.EUR), null);
+        created.complete();
+
+        assertEquals(1, adapter.upsertAll(List.of(pending, created)));
+        assertEquals(TransactionStatus.COMPLETED, adapter.findById(pending.getId()).orElseThrow().getStatus());
+        assertEquals(2, adapter.countByAccountId(accountId));
+        // Republication à l'identique
+        assertEquals(2, adapter.upsertAll(List.of(pending, created)));
+        assertEquals(2, adapter.countByAccountId(accountId));
+    }
+
+    // méthodes utilitaires privées
+
+    private void insertLegacy(String id, UUID source, UUID target, String status, LocalDateTime createdAt) {
+        mongoTemplate.getCollection("transactions").insertOne(new Document("_id", id)
+                .append("sourceAccountId", source.toString())
+                .append("targetAccountId", target.toString())
+                .append("sourceAmount", new Decimal128(new BigDecimal("12.50")))
+                .append("sourceCurrency", "EUR")
+                .append("targetAmount", new Decimal128(new BigDecimal("12.50")))
+                .append("targetCurrency", "EUR")
+                .append("type", "LOCAL")
+                .append("status", status)
+                .append("createdAt", Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant())));
+    }
+
+    private static Set<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).collect(Collectors.toSet());
+    }
+}
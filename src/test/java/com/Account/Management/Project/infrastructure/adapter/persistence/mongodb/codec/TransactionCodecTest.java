@@ -0,0 +1,181 @@
+package com.Account.Management.Project.infrastructure.adapter.persistence.mongodb.codec;
+
+import com.Account.Management.Project.domain.model.Transaction;
+import com.Account.Management.Project.domain.model.TransactionStatus;
+import com.Account.Management.Project.domain.model.TransactionType;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDateTime;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TransactionCodecTest {
+
+    private final TransactionCodec codec = new TransactionCodec();
+
+    @Test
+    void roundTripsForexTransactionInCurrentFormat() {
+        Transaction transaction = Transaction.createForexTransaction(
+                UUID.randomUUID(), UUID.randomUUID(),
+                Money.of("1234.56", Currency.EUR), Money.of("1337.99", Currency.USD),
+                1.0837, 42L, "Loyer");
+        transaction.complete();
+        // Les dates BSON sont à la milliseconde
+        transaction.setCreatedAt(transaction.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
+        transaction.setProcessedAt(transaction.getProcessedAt().truncatedTo(ChronoUnit.MILLIS));
+
+        BsonDocument document = encode(transaction);
+
+        assertEquals(BsonBinarySubType.UUID_STANDARD.getValue(),
+                document.getBinary("sourceAccountId").getType());
+        assertEquals(123456L, document.getInt64("sourceAmount").getValue());
+        assertEquals(133799L, document.getInt64("targetAmount").getValue());
+        assertEquals(1, document.getInt32("status").getValue());
+
+        assertSameTransaction(transaction, decode(document));
+    }
+
+    @Test
+    void roundTripsPendingLocalTransactionWithoutOptionalFields() {
+        Transaction transaction = Transaction.createLocalTransaction(
+                UUID.randomUUID(), UUID.randomUUID(), Money.of("-0.05", Currency.JPY), null);
+        transaction.setCreatedAt(transaction.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
+
+        BsonDocument document = encode(transaction);
+
+        assertFalse(document.containsKey("exchangeRate"));
+        assertFalse(document.containsKey("processedAt"));
+        assertSameTransaction(transaction, decode(document));
+    }
+
+    @Test
+    void decodesLegacyDocumentWithStringsAndDecimal128() {
+        UUID source = UUID.randomUUID();
+        UUID target = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+        BsonDocument legacy = new BsonDocument()
+                .append("_id", new BsonString("legacy-1"))
+                .append("sourceAccountId", new BsonString(source.toString()))
+                .append("targetAccountId", new BsonString(target.toString()))
+                .append("sourceAmount", new BsonDecimal128(new Decimal128(new BigDecimal("100.50"))))
+                .append("sourceCurrency", new BsonString("EUR"))
+                .append("targetAmount", new BsonDecimal128(new Decimal128(new BigDecimal("100.50"))))
+                .append("targetCurrency", new BsonString("EUR"))
+                .append("type", new BsonString("LOCAL"))
+                .append("status", new BsonString("CANCELLED"))
+                .append("rateVersion", new BsonInt32(7))
+                .append("createdAt", new BsonDateTime(epochMilli(createdAt)))
+                .append("_class", new BsonString("com.Account.Management.Project.infrastructure"
+                        + ".adapter.persistence.mongodb.entity.TransactionDocument"));
+
+        Transaction transaction = decode(legacy);
+
+        assertEquals("legacy-1", transaction.getId());
+        assertEquals(source, transaction.getSourceAccountId());
+        assertEquals(target, transaction.getTargetAccountId());
+        assertEquals(Money.of("100.50", Currency.EUR), transaction.getSourceAmount());
+        assertEquals(Money.of("100.50", Currency.EUR), transaction.getTargetAmount());
+        assertEquals(TransactionType.LOCAL, transaction.getType());
+        assertEquals(TransactionStatus.CANCELLED, transaction.getStatus());
+        assertEquals(7L, transaction.getRateVersion());
+        assertEquals(createdAt, transaction.getCreatedAt());
+        assertNull(transaction.getProcessedAt());
+    }
+
+    @Test
+    void decodesLegacyDocumentWithStringAndDoubleAmountsAndObjectId() {
+        ObjectId id = new ObjectId();
+        BsonDocument legacy = new BsonDocument()
+                .append("_id", new BsonObjectId(id))
+                .append("sourceAccountId", new BsonString(UUID.randomUUID().toString()))
+                .append("targetAccountId", new BsonString(UUID.randomUUID().toString()))
+                .append("sourceAmount", new BsonString("10.00"))
+                .append("sourceCurrency", new BsonString("GBP"))
+                .append("targetAmount", new BsonDouble(12.34))
+                .append("targetCurrency", new BsonString("CHF"))
+                .append("type", new BsonString("FOREX"))
+                .append("status", new BsonString("COMPLETED"))
+                .append("exchangeRate", new BsonDouble(1.234))
+                .append("description", new BsonString("Ancien format"));
+
+        Transaction transaction = decode(legacy);
+
+        assertEquals(id.toHexString(), transaction.getId());
+        assertEquals(Money.of("10.00", Currency.GBP), transaction.getSourceAmount());
+        assertEquals(Money.of("12.34", Currency.CHF), transaction.getTargetAmount());
+        assertEquals(TransactionType.FOREX, transaction.getType());
+        assertEquals(TransactionStatus.COMPLETED, transaction.getStatus());
+        assertEquals(1.234, transaction.getExchangeRate());
+        assertEquals("Ancien format", transaction.getDescription());
+        assertNull(transaction.getCreatedAt());
+    }
+
+    @Test
+    void filterValuesCoverBothFormats() {
+        UUID accountId = UUID.randomUUID();
+
+        assertEquals(new BsonBinary(accountId, UuidRepresentation.STANDARD),
+                TransactionCodec.accountIdValues(accountId).get(0));
+        assertEquals(accountId.toString(), TransactionCodec.accountIdValues(accountId).get(1));
+        assertEquals(0, TransactionCodec.statusValues(TransactionStatus.PENDING).get(0));
+        assertEquals("PENDING", TransactionCodec.statusValues(TransactionStatus.PENDING).get(1));
+        assertEquals(0L, codec.dateValue(LocalDateTime.ofInstant(Instant.EPOCH, ZoneId.systemDefault())).getValue());
+    }
+
+    // méthodes utilitaires privées
+
+    private BsonDocument encode(Transaction transaction) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), transaction, EncoderContext.builder().build());
+        return document;
+    }
+
+    private Transaction decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    private static long epochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void assertSameTransaction(Transaction expected, Transaction actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getSourceAccountId(), actual.getSourceAccountId());
+        assertEquals(expected.getTargetAccountId(), actual.getTargetAccountId());
+        assertEquals(expected.getSourceAmount(), actual.getSourceAmount());
+        assertEquals(expected.getTargetAmount(), actual.getTargetAmount());
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getExchangeRate(), actual.getExchangeRate());
+        assertEquals(expected.getRateVersion(), actual.getRateVersion());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getProcessedAt(), actual.getProcessedAt());
+        assertEquals(expected.getFailureReason(), actual.getFailureReason());
+    }
+}
@@ -0,0 +1,85 @@
+package com.Account.Management.Project.infrastructure.adapter.risk;
+
+import com.Account.Management.Project.domain.exception.TransferRejectedException;
+import com.Account.Management.Project.domain.valueObject.Currency;
+import com.Account.Management.Project.domain.valueObject.Money;
+import com.Account.Management.Project.port.output.CurrencyConversionPort;
+import com.Account.Management.Project.port.output.TransferRiskPort.TransferAttempt;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Règles évaluées dans une transaction simulée: la contrepartie n'est connue
+ * qu'au commit, et un transfert annulé est retiré des compteurs.
+ * Montants en EUR, devise de référence: aucune conversion.
+ */
+class InMemoryVelocityRulesAdapterTest {
+
+    private static final String RULES = "burst = account.count.1m > 2; new-counterparty = counterparty.first.amount > 10";
+
+    private final InMemoryVelocityRulesAdapter adapter = new InMemoryVelocityRulesAdapter(
+            mock(CurrencyConversionPort.class), RULES, "EUR", 16, 12, 1000, 100);
+    private final UUID source = UUID.randomUUID();
+    private final UUID user = UUID.randomUUID();
+    private final UUID target = UUID.randomUUID();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void counterpartyIsKnownOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        adapter.checkAndRecord(attempt("5.00"));
+
+        // Transaction encore ouverte: le destinataire reste une nouvelle contrepartie
+        assertThrows(TransferRejectedException.class, () -> adapter.checkAndRecord(attempt("20.00")));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertDoesNotThrow(() -> adapter.checkAndRecord(attempt("20.00")));
+    }
+
+    @Test
+    void rolledBackTransferLeavesNoTrace() {
+        TransactionSynchronizationManager.initSynchronization();
+        adapter.checkAndRecord(attempt("5.00"));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThrows(TransferRejectedException.class, () -> adapter.checkAndRecord(attempt("20.00")));
+        adapter.checkAndRecord(attempt("5.00"));
+        adapter.checkAndRecord(attempt("5.00"));
+        TransferRejectedException rejected = assertThrows(TransferRejectedException.class,
+                () -> adapter.checkAndRecord(attempt("5.00")));
+        assertEquals(2, adapter.getStatistics().rejected());
+        assertTrue(rejected.getMessage().contains("burst"));
+    }
+
+    // méthodes utilitaires privées
+
+    private TransferAttempt attempt(String amount) {
+        return new TransferAttempt(source, user, target, Money.of(amount, Currency.EUR), false);
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}